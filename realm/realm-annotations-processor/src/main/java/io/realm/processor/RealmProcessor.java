@@ -137,12 +137,21 @@ public class RealmProcessor extends AbstractProcessor {
             if (!success) {
                 return true; // Abort processing by claiming all annotations
             }
+            RealmQueryClassGenerator queryGenerator = new RealmQueryClassGenerator(processingEnv, metadata);
+            String clashingClassName = queryGenerator.getClashingClassName();
+            if (clashingClassName != null) {
+                Utils.error(String.format("The query class generated for %s would be named %s, which is already a " +
+                        "class of Realm. Rename the model class.", metadata.getSimpleClassName(), clashingClassName),
+                        classElement);
+                return true; // Abort processing by claiming all annotations
+            }
             classesToValidate.add(metadata);
             packages.add(metadata.getPackageName());
 
             RealmProxyClassGenerator sourceCodeGenerator = new RealmProxyClassGenerator(processingEnv, metadata);
             try {
                 sourceCodeGenerator.generate();
+                queryGenerator.generate();
             } catch (IOException e) {
                 Utils.error(e.getMessage(), classElement);
             } catch (UnsupportedOperationException e) {
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
@@ -110,6 +111,7 @@ public class RealmProxyClassGenerator {
         emitClassFields(writer);
         emitConstructor(writer);
         emitAccessors(writer);
+        emitClearCachedFieldsMethod(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
         emitGetTableNameMethod(writer);
@@ -119,6 +121,8 @@ public class RealmProxyClassGenerator {
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
         emitUpdateMethod(writer);
+        emitUpdateColumnsMethod(writer);
+        emitUpdateLinksMethod(writer);
         emitToStringMethod(writer);
         emitHashcodeMethod(writer);
         emitEqualsMethod(writer);
@@ -136,6 +140,24 @@ public class RealmProxyClassGenerator {
                 "ColumnInfo")                                // base class
                 .emitEmptyLine();
 
+        // layout of the table created by initTable()
+        List<String> columnNames = new ArrayList<String>();
+        List<String> columnTypes = new ArrayList<String>();
+        for (VariableElement variableElement : metadata.getFields()) {
+            columnNames.add("\"" + variableElement.getSimpleName().toString() + "\"");
+            columnTypes.add(columnType(variableElement));
+        }
+        writer.emitField("String[]", "COLUMN_NAMES", EnumSet.of(Modifier.STATIC, Modifier.FINAL),
+                "{" + Utils.join(columnNames, ", ") + "}");
+        writer.emitField("ColumnType[]", "COLUMN_TYPES", EnumSet.of(Modifier.STATIC, Modifier.FINAL),
+                "{" + Utils.join(columnTypes, ", ") + "}");
+        long columnIndex = 0;
+        for (VariableElement variableElement : metadata.getFields()) {
+            writer.emitField("long", columnIndexConstantName(variableElement),
+                    EnumSet.of(Modifier.STATIC, Modifier.FINAL), Long.toString(columnIndex++));
+        }
+        writer.emitEmptyLine();
+
         // fields
         for (VariableElement variableElement : metadata.getFields()) {
             writer.emitField("long", columnIndexVarName(variableElement),
@@ -146,14 +168,15 @@ public class RealmProxyClassGenerator {
         // constructor
         writer.beginConstructor(EnumSet.noneOf(Modifier.class),
                 "String", "path",
-                "Table", "table");
+                "Table", "table",
+                "boolean", "hasInitialLayout");
         writer.emitStatement("final Map<String, Long> indicesMap = new HashMap<String, Long>(%s)",
                 metadata.getFields().size());
         for (VariableElement variableElement : metadata.getFields()) {
             final String columnName = variableElement.getSimpleName().toString();
             final String columnIndexVarName = columnIndexVarName(variableElement);
-            writer.emitStatement("this.%s = getValidColumnIndex(path, table, \"%s\", \"%s\")",
-                    columnIndexVarName, className, columnName);
+            writer.emitStatement("this.%s = hasInitialLayout ? %s : getValidColumnIndex(path, table, \"%s\", \"%s\")",
+                    columnIndexVarName, columnIndexConstantName(variableElement), className, columnName);
             writer.emitStatement("indicesMap.put(\"%s\", this.%s)", columnName, columnIndexVarName);
             writer.emitEmptyLine();
         }
@@ -350,6 +373,26 @@ public class RealmProxyClassGenerator {
         }
     }
 
+    private void emitClearCachedFieldsMethod(JavaWriter writer) throws IOException {
+        List<String> cachedFields = new ArrayList<String>();
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmList(field)) {
+                cachedFields.add(field.getSimpleName().toString() + "RealmList");
+            }
+        }
+        if (cachedFields.isEmpty()) {
+            return;
+        }
+
+        writer.emitAnnotation("Override");
+        writer.beginMethod("void", "clearCachedFields", EnumSet.noneOf(Modifier.class));
+        for (String cachedField : cachedFields) {
+            writer.emitStatement("%s = null", cachedField);
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 "Table", // Return type
@@ -427,15 +470,21 @@ public class RealmProxyClassGenerator {
                 metadata.getFields().size());
         writer.endControlFlow();
 
+        // a table created by initTable() is checked with a single native call, its column indices are known
+        writer.emitStatement("final boolean hasInitialLayout = table.hasColumnLayout(%1$s.COLUMN_NAMES, %1$s.COLUMN_TYPES)",
+                columnInfoClassName());
+
         // create type dictionary for lookup
         writer.emitStatement("Map<String, ColumnType> columnTypes = new HashMap<String, ColumnType>()");
+        writer.beginControlFlow("if (!hasInitialLayout)");
         writer.beginControlFlow("for (long i = 0; i < " + metadata.getFields().size() + "; i++)");
         writer.emitStatement("columnTypes.put(table.getColumnName(i), table.getColumnType(i))");
         writer.endControlFlow();
+        writer.endControlFlow();
         writer.emitEmptyLine();
 
         // create an instance of ColumnInfo
-        writer.emitStatement("final %1$s columnInfo = new %1$s(transaction.getPath(), table)", columnInfoClassName());
+        writer.emitStatement("final %1$s columnInfo = new %1$s(transaction.getPath(), table, hasInitialLayout)", columnInfoClassName());
         writer.emitEmptyLine();
 
         // For each field verify there is a corresponding
@@ -447,6 +496,7 @@ public class RealmProxyClassGenerator {
 
             if (Constants.JAVA_TO_REALM_TYPES.containsKey(fieldTypeCanonicalName)) {
                 // make sure types align
+                writer.beginControlFlow("if (!hasInitialLayout)");
                 writer.beginControlFlow("if (!columnTypes.containsKey(\"%s\"))", fieldName);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing field '%s' in existing Realm file. " +
                         "Either remove field or migrate using io.realm.internal.Table.addColumn()." +
@@ -457,6 +507,7 @@ public class RealmProxyClassGenerator {
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Invalid type '%s' for field '%s' in existing Realm file.\")",
                         fieldTypeSimpleName, fieldName);
                 writer.endControlFlow();
+                writer.endControlFlow();
 
                 // make sure that nullability matches
                 if (metadata.isNullable(field)) {
@@ -508,6 +559,7 @@ public class RealmProxyClassGenerator {
                 }
 
             } else if (Utils.isRealmObject(field)) { // Links
+                writer.beginControlFlow("if (!hasInitialLayout)");
                 writer.beginControlFlow("if (!columnTypes.containsKey(\"%s\"))", fieldName);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing field '%s' in existing Realm file. " +
                         "Either remove field or migrate using io.realm.internal.Table.addColumn().\")", fieldName);
@@ -516,6 +568,7 @@ public class RealmProxyClassGenerator {
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Invalid type '%s' for field '%s'\")",
                         fieldTypeSimpleName, fieldName);
                 writer.endControlFlow();
+                writer.endControlFlow();
                 writer.beginControlFlow("if (!transaction.hasTable(\"%s%s\"))", Constants.TABLE_PREFIX, fieldTypeSimpleName);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing class '%s%s' for field '%s'\")",
                         Constants.TABLE_PREFIX, fieldTypeSimpleName, fieldName);
@@ -529,6 +582,7 @@ public class RealmProxyClassGenerator {
                 writer.endControlFlow();
             } else if (Utils.isRealmList(field)) { // Link Lists
                 String genericType = Utils.getGenericType(field);
+                writer.beginControlFlow("if (!hasInitialLayout)");
                 writer.beginControlFlow("if (!columnTypes.containsKey(\"%s\"))", fieldName);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing field '%s'\")", fieldName);
                 writer.endControlFlow();
@@ -536,6 +590,7 @@ public class RealmProxyClassGenerator {
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Invalid type '%s' for field '%s'\")",
                         genericType, fieldName);
                 writer.endControlFlow();
+                writer.endControlFlow();
                 writer.beginControlFlow("if (!transaction.hasTable(\"%s%s\"))", Constants.TABLE_PREFIX, genericType);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing class '%s%s' for field '%s'\")",
                         Constants.TABLE_PREFIX, genericType, fieldName);
@@ -711,6 +766,137 @@ public class RealmProxyClassGenerator {
                 EnumSet.of(Modifier.STATIC), // Modifiers
                 "Realm", "realm", className, "realmObject", className, "newObject", "Map<RealmObject, RealmObjectProxy>", "cache"); // Argument type & argument name
 
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmObject(field) || Utils.isRealmList(field) || field == metadata.getPrimaryKey()) {
+                continue;
+            }
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("realmObject.%s(newObject.%s())", metadata.getSetter(fieldName), metadata.getGetter(fieldName));
+        }
+
+        writer.emitStatement("return updateLinks(realm, realmObject, newObject, cache)");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // Emits the method writing the value fields of several objects to their rows, one column at a time with the bulk
+    // setters of Table. Binary fields have no bulk setter and are written row by row.
+    private void emitUpdateColumnsMethod(JavaWriter writer) throws IOException {
+        if (!metadata.hasPrimaryKey()) {
+            return;
+        }
+
+        writer.beginMethod(
+                "void", // Return type
+                "updateColumns", // Method name
+                EnumSet.of(Modifier.STATIC), // Modifiers
+                "Realm", "realm", "List<" + className + ">", "newObjects", "long[]", "rowIndices"); // Argument type & argument name
+
+        List<VariableElement> fields = new ArrayList<VariableElement>();
+        for (VariableElement field : metadata.getFields()) {
+            if (!Utils.isRealmObject(field) && !Utils.isRealmList(field) && field != metadata.getPrimaryKey()) {
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            writer.endMethod();
+            writer.emitEmptyLine();
+            return;
+        }
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%s columnInfo = (%s) realm.getColumnInfo(%s.class)", columnInfoClassName(), columnInfoClassName(), className)
+            .emitStatement("int size = newObjects.size()");
+        for (VariableElement field : fields) {
+            String valueType = getBulkValueType(field);
+            if (valueType.equals("byte[]")) {
+                writer.emitStatement("byte[][] %sValues = new byte[size][]", field.getSimpleName());
+            } else {
+                writer.emitStatement("%s[] %sValues = new %s[size]", valueType, field.getSimpleName(), valueType);
+            }
+        }
+
+        writer
+            .beginControlFlow("for (int i = 0; i < size; i++)")
+                .emitStatement("%s newObject = newObjects.get(i)", className);
+        for (VariableElement field : fields) {
+            String fieldName = field.getSimpleName().toString();
+            String getter = metadata.getGetter(fieldName);
+            String fieldTypeCanonicalName = field.asType().toString();
+            boolean isLongColumn = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName).equals("Long");
+            if (Utils.isPrimitiveType(field)) {
+                writer.emitStatement("%sValues[i] = newObject.%s()", fieldName, getter);
+            } else if (metadata.isNullable(field)) {
+                if (isLongColumn && !fieldTypeCanonicalName.equals("java.lang.Long")) {
+                    writer
+                        .emitStatement("%s %sValue = newObject.%s()", fieldTypeCanonicalName, fieldName, getter)
+                        .emitStatement("%sValues[i] = (%sValue != null) ? %sValue.longValue() : null", fieldName, fieldName, fieldName);
+                } else {
+                    writer.emitStatement("%sValues[i] = newObject.%s()", fieldName, getter);
+                }
+            } else {
+                writer
+                    .emitStatement("%s %sValue = newObject.%s()", fieldTypeCanonicalName, fieldName, getter)
+                    .beginControlFlow("if (%sValue == null)", fieldName)
+                        .emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName)
+                    .endControlFlow()
+                    .emitStatement("%sValues[i] = %sValue", fieldName, fieldName);
+            }
+        }
+        writer.endControlFlow();
+
+        boolean hasBinaryFields = false;
+        for (VariableElement field : fields) {
+            String realmType = Constants.JAVA_TO_REALM_TYPES.get(field.asType().toString());
+            if (realmType.equals("BinaryByteArray")) {
+                hasBinaryFields = true;
+            } else {
+                writer.emitStatement("table.set%ss(columnInfo.%sIndex, rowIndices, %sValues)",
+                        realmType, field.getSimpleName(), field.getSimpleName());
+            }
+        }
+        if (hasBinaryFields) {
+            writer.beginControlFlow("for (int i = 0; i < size; i++)");
+            for (VariableElement field : fields) {
+                if (Utils.isByteArray(field)) {
+                    writer.emitStatement("table.setBinaryByteArray(columnInfo.%sIndex, rowIndices[i], %sValues[i])",
+                            field.getSimpleName(), field.getSimpleName());
+                }
+            }
+            writer.endControlFlow();
+        }
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // The element type of the array holding the values of a field in updateColumns()
+    private String getBulkValueType(VariableElement field) {
+        String realmType = Constants.JAVA_TO_REALM_TYPES.get(field.asType().toString());
+        if (realmType.equals("String") || realmType.equals("Date")) {
+            return realmType;
+        } else if (realmType.equals("BinaryByteArray")) {
+            return "byte[]";
+        } else if (metadata.isNullable(field)) {
+            // Long, Float, Double or Boolean
+            return realmType;
+        } else {
+            return realmType.toLowerCase(Locale.US);
+        }
+    }
+
+    private void emitUpdateLinksMethod(JavaWriter writer) throws IOException {
+        if (!metadata.hasPrimaryKey()) {
+            return;
+        }
+
+        writer.beginMethod(
+                className, // Return type
+                "updateLinks", // Method name
+                EnumSet.of(Modifier.STATIC), // Modifiers
+                "Realm", "realm", className, "realmObject", className, "newObject", "Map<RealmObject, RealmObjectProxy>", "cache"); // Argument type & argument name
+
         for (VariableElement field : metadata.getFields()) {
             String fieldName = field.getSimpleName().toString();
             String setter = metadata.getSetter(fieldName);
@@ -750,12 +936,6 @@ public class RealmProxyClassGenerator {
                             .endControlFlow()
                         .endControlFlow()
                     .endControlFlow();
-
-            } else {
-                if (field == metadata.getPrimaryKey()) {
-                    continue;
-                }
-                writer.emitStatement("realmObject.%s(newObject.%s())", metadata.getSetter(fieldName), getter);
             }
         }
 
@@ -998,4 +1178,20 @@ public class RealmProxyClassGenerator {
     private String fieldIndexVariableReference(VariableElement variableElement) {
         return "columnInfo." + columnIndexVarName(variableElement);
     }
+
+    // Index of the column in the table created by initTable(). The field name is kept as-is, as field names only
+    // differing by case (e.g. id and ID) would otherwise get the same constant.
+    private String columnIndexConstantName(VariableElement variableElement) {
+        return "INDEX_" + variableElement.getSimpleName().toString();
+    }
+
+    private String columnType(VariableElement variableElement) {
+        if (Utils.isRealmObject(variableElement)) {
+            return "ColumnType.LINK";
+        } else if (Utils.isRealmList(variableElement)) {
+            return "ColumnType.LINK_LIST";
+        } else {
+            return Constants.JAVA_TO_COLUMN_TYPES.get(variableElement.asType().toString());
+        }
+    }
 }
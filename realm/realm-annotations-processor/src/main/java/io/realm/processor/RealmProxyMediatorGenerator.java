@@ -39,6 +39,9 @@ public class RealmProxyMediatorGenerator {
     private List<String> qualifiedModelClasses = new ArrayList<String>();
     private List<String> simpleModelClasses = new ArrayList<String>();
     private List<String> proxyClasses = new ArrayList<String>();
+    // primary key getters of the model classes, null for the classes without primary key
+    private List<String> primaryKeyGetters = new ArrayList<String>();
+    private List<Boolean> primaryKeyIsString = new ArrayList<Boolean>();
 
     private static final String REALM_PACKAGE_NAME = "io.realm";
 
@@ -52,6 +55,13 @@ public class RealmProxyMediatorGenerator {
             qualifiedModelClasses.add(metadata.getFullyQualifiedClassName());
             simpleModelClasses.add(simpleName);
             proxyClasses.add(getProxyClassName(simpleName));
+            if (metadata.hasPrimaryKey()) {
+                primaryKeyGetters.add(metadata.getPrimaryKeyGetter());
+                primaryKeyIsString.add(Utils.isString(metadata.getPrimaryKey()));
+            } else {
+                primaryKeyGetters.add(null);
+                primaryKeyIsString.add(false);
+            }
         }
     }
 
@@ -100,6 +110,10 @@ public class RealmProxyMediatorGenerator {
         emitNewInstanceMethod(writer);
         emitGetClassModelList(writer);
         emitCopyToRealmMethod(writer);
+        emitGetPrimaryKeyValueMethod(writer);
+        emitUpdateMethod(writer);
+        emitUpdateColumnsMethod(writer);
+        emitUpdateLinksMethod(writer);
         emitCreteOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
 
@@ -239,6 +253,101 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitGetPrimaryKeyValueMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "Object",
+                "getPrimaryKeyValue",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmObject>", "clazz", "RealmObject", "obj"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                if (primaryKeyGetters.get(i) == null) {
+                    writer.emitStatement("throw getMissingPrimaryKeyException(clazz)");
+                } else if (primaryKeyIsString.get(i)) {
+                    writer.emitStatement("return ((%s) obj).%s()", simpleModelClasses.get(i), primaryKeyGetters.get(i));
+                } else {
+                    // Integer types are all stored as long
+                    writer.emitStatement("return (long) ((%s) obj).%s()", simpleModelClasses.get(i), primaryKeyGetters.get(i));
+                }
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitUpdateMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "<E extends RealmObject> E",
+                "update",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "E", "realmObject", "E", "newObject", "Map<RealmObject, RealmObjectProxy>", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                if (primaryKeyGetters.get(i) == null) {
+                    writer.emitStatement("throw getMissingPrimaryKeyException(clazz)");
+                } else {
+                    writer.emitStatement("return clazz.cast(%s.update(realm, (%s) realmObject, (%s) newObject, cache))",
+                            proxyClasses.get(i), simpleModelClasses.get(i), simpleModelClasses.get(i));
+                }
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitUpdateColumnsMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.emitAnnotation("SuppressWarnings", "\"unchecked\"");
+        writer.beginMethod(
+                "<E extends RealmObject> void",
+                "updateColumns",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "List<E>", "newObjects", "long[]", "rowIndices"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                if (primaryKeyGetters.get(i) == null) {
+                    writer.emitStatement("throw getMissingPrimaryKeyException(clazz)");
+                } else {
+                    writer.emitStatement("%s.updateColumns(realm, (List<%s>) newObjects, rowIndices)",
+                            proxyClasses.get(i), simpleModelClasses.get(i));
+                }
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitUpdateLinksMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "<E extends RealmObject> E",
+                "updateLinks",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "E", "realmObject", "E", "newObject", "Map<RealmObject, RealmObjectProxy>", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                if (primaryKeyGetters.get(i) == null) {
+                    writer.emitStatement("throw getMissingPrimaryKeyException(clazz)");
+                } else {
+                    writer.emitStatement("return clazz.cast(%s.updateLinks(realm, (%s) realmObject, (%s) newObject, cache))",
+                            proxyClasses.get(i), simpleModelClasses.get(i), simpleModelClasses.get(i));
+                }
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreteOrUpdateUsingJsonObject(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.processor;
+
+import com.squareup.javawriter.JavaWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.JavaFileObject;
+
+/**
+ * This class is responsible for creating the type safe query of a model class, e.g. {@code PersonQuery} for
+ * {@code Person}. It has an accessor per field returning the conditions of the field bound to its column index.
+ */
+public class RealmQueryClassGenerator {
+
+    private static final String TYPED_REALM_QUERY_CLASS_NAME = Constants.REALM_PACKAGE_NAME + ".TypedRealmQuery";
+
+    // Factory method of io.realm.TypedRealmQuery returning the conditions of a column type
+    private static final Map<String, String> COLUMN_TYPE_TO_FIELD_FACTORY;
+    static {
+        COLUMN_TYPE_TO_FIELD_FACTORY = new HashMap<String, String>();
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.INTEGER", "longField");
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.FLOAT", "floatField");
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.DOUBLE", "doubleField");
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.BOOLEAN", "booleanField");
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.STRING", "stringField");
+        COLUMN_TYPE_TO_FIELD_FACTORY.put("ColumnType.DATE", "dateField");
+    }
+
+    // Methods without parameters of io.realm.TypedRealmQuery and java.lang.Object, an accessor can't be named after them
+    private static final Set<String> RESERVED_ACCESSOR_NAMES = new HashSet<String>(Arrays.asList(
+            "getQuery", "beginGroup", "endGroup", "or", "not", "findAll", "findFirst", "count",
+            "getClass", "hashCode", "toString", "clone", "finalize", "notify", "notifyAll", "wait"));
+
+    private final ProcessingEnvironment processingEnvironment;
+    private final ClassMetaData metadata;
+    private final String className;
+
+    public RealmQueryClassGenerator(ProcessingEnvironment processingEnvironment, ClassMetaData metadata) {
+        this.processingEnvironment = processingEnvironment;
+        this.metadata = metadata;
+        this.className = metadata.getSimpleClassName();
+    }
+
+    /**
+     * Returns the name of the generated class if another class already has it, e.g. {@code io.realm.RealmQuery} for a
+     * model class named {@code Realm}. The query classes generated by a previous build don't count.
+     *
+     * @return the fully qualified name of the generated class if it clashes with another class, {@code null} otherwise.
+     */
+    public String getClashingClassName() {
+        String qualifiedGeneratedClassName = getQualifiedGeneratedClassName();
+        TypeElement existingClass = processingEnvironment.getElementUtils().getTypeElement(qualifiedGeneratedClassName);
+        if (existingClass == null) {
+            return null;
+        }
+        TypeMirror superclass = existingClass.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superclassElement = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (superclassElement.getQualifiedName().contentEquals(TYPED_REALM_QUERY_CLASS_NAME)) {
+                return null;
+            }
+        }
+        return qualifiedGeneratedClassName;
+    }
+
+    private String getQualifiedGeneratedClassName() {
+        return String.format("%s.%s%s", Constants.REALM_PACKAGE_NAME, className, Constants.QUERY_SUFFIX);
+    }
+
+    public void generate() throws IOException {
+        String generatedClassName = className + Constants.QUERY_SUFFIX;
+        String qualifiedGeneratedClassName = getQualifiedGeneratedClassName();
+        JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName);
+        JavaWriter writer = new JavaWriter(new BufferedWriter(sourceFile.openWriter()));
+        writer.setIndent("    ");
+
+        writer.emitPackage(Constants.REALM_PACKAGE_NAME)
+                .emitEmptyLine();
+
+        writer.emitImports(metadata.getFullyQualifiedClassName())
+                .emitEmptyLine();
+
+        writer.beginType(
+                qualifiedGeneratedClassName, // full qualified name of the item to generate
+                "class",                     // the type of the item
+                EnumSet.of(Modifier.PUBLIC), // modifiers to apply
+                String.format("TypedRealmQuery<%s, %s>", className, generatedClassName)) // class to extend
+                .emitEmptyLine();
+
+        String columnInfoClassName = String.format("%s.%sColumnInfo", Utils.getProxyClassName(className), className);
+        writer.emitField(columnInfoClassName, "columnInfo", EnumSet.of(Modifier.PRIVATE, Modifier.FINAL))
+                .emitEmptyLine();
+
+        writer.beginConstructor(EnumSet.of(Modifier.PRIVATE), "Realm", "realm");
+        writer.emitStatement("super(realm.where(%s.class))", className);
+        writer.emitStatement("this.columnInfo = (%s) realm.columnIndices.getColumnInfo(%s.class)",
+                columnInfoClassName, className);
+        writer.endConstructor();
+        writer.emitEmptyLine();
+
+        writer.beginMethod(generatedClassName, "where", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), "Realm", "realm");
+        writer.emitStatement("return new %s(realm)", generatedClassName);
+        writer.endMethod();
+        writer.emitEmptyLine();
+
+        for (VariableElement field : metadata.getFields()) {
+            String factory = COLUMN_TYPE_TO_FIELD_FACTORY.get(Constants.JAVA_TO_COLUMN_TYPES.get(field.asType().toString()));
+            if (factory == null) {
+                continue; // links, link lists and binary fields are queried through getQuery()
+            }
+            String fieldName = field.getSimpleName().toString();
+            String accessorName = RESERVED_ACCESSOR_NAMES.contains(fieldName) ? fieldName + "Field" : fieldName;
+            String fieldConditionsType = Character.toUpperCase(factory.charAt(0)) + factory.substring(1);
+            writer.beginMethod(String.format("%s<%s>", fieldConditionsType, generatedClassName), accessorName,
+                    EnumSet.of(Modifier.PUBLIC));
+            writer.emitStatement("return %s(columnInfo.%sIndex)", factory, fieldName);
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
+
+        writer.endType();
+        writer.close();
+    }
+}
@@ -195,6 +195,20 @@ public class Utils {
         }
     }
 
+    /**
+     * Joins strings with a separator.
+     */
+    public static String join(List<String> strings, String separator) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < strings.size(); i++) {
+            if (i > 0) {
+                result.append(separator);
+            }
+            result.append(strings.get(i));
+        }
+        return result.toString();
+    }
+
     public static void error(String message, Element element) {
         messager.printMessage(Diagnostic.Kind.ERROR, message, element);
     }
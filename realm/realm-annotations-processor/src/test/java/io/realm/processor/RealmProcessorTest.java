@@ -33,6 +33,7 @@ public class RealmProcessorTest {
 
     private JavaFileObject simpleModel = JavaFileObjects.forResource("some/test/Simple.java");
     private JavaFileObject simpleProxy = JavaFileObjects.forResource("io/realm/SimpleRealmProxy.java");
+    private JavaFileObject simpleQuery = JavaFileObjects.forResource("io/realm/SimpleQuery.java");
     private JavaFileObject allTypesModel = JavaFileObjects.forResource("some/test/AllTypes.java");
     private JavaFileObject allTypesProxy = JavaFileObjects.forResource("io/realm/AllTypesRealmProxy.java");
     private JavaFileObject allTypesDefaultModule = JavaFileObjects.forResource("io/realm/RealmDefaultModule.java");
@@ -46,6 +47,7 @@ public class RealmProcessorTest {
     private JavaFileObject nullTypesModel = JavaFileObjects.forResource("some/test/NullTypes.java");
     private JavaFileObject nullTypesProxy = JavaFileObjects.forResource("io/realm/NullTypesRealmProxy.java");
     private JavaFileObject missingGenericTypeModel = JavaFileObjects.forResource("some/test/MissingGenericType.java");
+    private JavaFileObject preparedRealmModel = JavaFileObjects.forResource("some/test/PreparedRealm.java");
 
     @Test
     public void compileSimpleFile() {
@@ -87,6 +89,16 @@ public class RealmProcessorTest {
                 .generatesSources(simpleProxy);
     }
 
+    @Test
+    public void compareProcessedSimpleQueryFile() throws Exception {
+        ASSERT.about(javaSource())
+                .that(simpleModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(simpleQuery);
+    }
+
     @Test
     public void compileProcessedNullTypesFile() throws Exception {
         ASSERT.about(javaSource())
@@ -250,6 +262,15 @@ public class RealmProcessorTest {
                 .failsToCompile();
     }
 
+    @Test
+    public void compileQueryClassNameClashFails() {
+        ASSERT.about(javaSource())
+                .that(preparedRealmModel)
+                .processedWith(new RealmProcessor())
+                .failsToCompile()
+                .withErrorContaining("io.realm.PreparedRealmQuery");
+    }
+
     @Test
     public void compileFieldNamesFiles() {
         ASSERT.about(javaSource())
@@ -29,6 +29,18 @@ public class AllTypesRealmProxy extends AllTypes
 
     static final class AllTypesColumnInfo extends ColumnInfo {
 
+        static final String[] COLUMN_NAMES = {"columnString", "columnLong", "columnFloat", "columnDouble", "columnBoolean", "columnDate", "columnBinary", "columnObject", "columnRealmList"};
+        static final ColumnType[] COLUMN_TYPES = {ColumnType.STRING, ColumnType.INTEGER, ColumnType.FLOAT, ColumnType.DOUBLE, ColumnType.BOOLEAN, ColumnType.DATE, ColumnType.BINARY, ColumnType.LINK, ColumnType.LINK_LIST};
+        static final long INDEX_columnString = 0;
+        static final long INDEX_columnLong = 1;
+        static final long INDEX_columnFloat = 2;
+        static final long INDEX_columnDouble = 3;
+        static final long INDEX_columnBoolean = 4;
+        static final long INDEX_columnDate = 5;
+        static final long INDEX_columnBinary = 6;
+        static final long INDEX_columnObject = 7;
+        static final long INDEX_columnRealmList = 8;
+
         public final long columnStringIndex;
         public final long columnLongIndex;
         public final long columnFloatIndex;
@@ -39,33 +51,33 @@ public class AllTypesRealmProxy extends AllTypes
         public final long columnObjectIndex;
         public final long columnRealmListIndex;
 
-        AllTypesColumnInfo(String path, Table table) {
+        AllTypesColumnInfo(String path, Table table, boolean hasInitialLayout) {
             final Map<String, Long> indicesMap = new HashMap<String, Long>(9);
-            this.columnStringIndex = getValidColumnIndex(path, table, "AllTypes", "columnString");
+            this.columnStringIndex = hasInitialLayout ? INDEX_columnString : getValidColumnIndex(path, table, "AllTypes", "columnString");
             indicesMap.put("columnString", this.columnStringIndex);
 
-            this.columnLongIndex = getValidColumnIndex(path, table, "AllTypes", "columnLong");
+            this.columnLongIndex = hasInitialLayout ? INDEX_columnLong : getValidColumnIndex(path, table, "AllTypes", "columnLong");
             indicesMap.put("columnLong", this.columnLongIndex);
 
-            this.columnFloatIndex = getValidColumnIndex(path, table, "AllTypes", "columnFloat");
+            this.columnFloatIndex = hasInitialLayout ? INDEX_columnFloat : getValidColumnIndex(path, table, "AllTypes", "columnFloat");
             indicesMap.put("columnFloat", this.columnFloatIndex);
 
-            this.columnDoubleIndex = getValidColumnIndex(path, table, "AllTypes", "columnDouble");
+            this.columnDoubleIndex = hasInitialLayout ? INDEX_columnDouble : getValidColumnIndex(path, table, "AllTypes", "columnDouble");
             indicesMap.put("columnDouble", this.columnDoubleIndex);
 
-            this.columnBooleanIndex = getValidColumnIndex(path, table, "AllTypes", "columnBoolean");
+            this.columnBooleanIndex = hasInitialLayout ? INDEX_columnBoolean : getValidColumnIndex(path, table, "AllTypes", "columnBoolean");
             indicesMap.put("columnBoolean", this.columnBooleanIndex);
 
-            this.columnDateIndex = getValidColumnIndex(path, table, "AllTypes", "columnDate");
+            this.columnDateIndex = hasInitialLayout ? INDEX_columnDate : getValidColumnIndex(path, table, "AllTypes", "columnDate");
             indicesMap.put("columnDate", this.columnDateIndex);
 
-            this.columnBinaryIndex = getValidColumnIndex(path, table, "AllTypes", "columnBinary");
+            this.columnBinaryIndex = hasInitialLayout ? INDEX_columnBinary : getValidColumnIndex(path, table, "AllTypes", "columnBinary");
             indicesMap.put("columnBinary", this.columnBinaryIndex);
 
-            this.columnObjectIndex = getValidColumnIndex(path, table, "AllTypes", "columnObject");
+            this.columnObjectIndex = hasInitialLayout ? INDEX_columnObject : getValidColumnIndex(path, table, "AllTypes", "columnObject");
             indicesMap.put("columnObject", this.columnObjectIndex);
 
-            this.columnRealmListIndex = getValidColumnIndex(path, table, "AllTypes", "columnRealmList");
+            this.columnRealmListIndex = hasInitialLayout ? INDEX_columnRealmList : getValidColumnIndex(path, table, "AllTypes", "columnRealmList");
             indicesMap.put("columnRealmList", this.columnRealmListIndex);
 
             setIndicesMap(indicesMap);
@@ -258,6 +270,11 @@ public class AllTypesRealmProxy extends AllTypes
         }
     }
 
+    @Override
+    void clearCachedFields() {
+        columnRealmListRealmList = null;
+    }
+
     public static Table initTable(ImplicitTransaction transaction) {
         if (!transaction.hasTable("class_AllTypes")) {
             Table table = transaction.getTable("class_AllTypes");
@@ -289,18 +306,23 @@ public class AllTypesRealmProxy extends AllTypes
             if (table.getColumnCount() != 9) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 9 but was " + table.getColumnCount());
             }
+            final boolean hasInitialLayout = table.hasColumnLayout(AllTypesColumnInfo.COLUMN_NAMES, AllTypesColumnInfo.COLUMN_TYPES);
             Map<String, ColumnType> columnTypes = new HashMap<String, ColumnType>();
-            for (long i = 0; i < 9; i++) {
-                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            if (!hasInitialLayout) {
+                for (long i = 0; i < 9; i++) {
+                    columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+                }
             }
 
-            final AllTypesColumnInfo columnInfo = new AllTypesColumnInfo(transaction.getPath(), table);
+            final AllTypesColumnInfo columnInfo = new AllTypesColumnInfo(transaction.getPath(), table, hasInitialLayout);
 
-            if (!columnTypes.containsKey("columnString")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnString' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnString") != ColumnType.STRING) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'columnString' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnString")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnString' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnString") != ColumnType.STRING) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'columnString' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnStringIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnString' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'columnString' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
@@ -311,65 +333,79 @@ public class AllTypesRealmProxy extends AllTypes
             if (!table.hasSearchIndex(table.getColumnIndex("columnString"))) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Index not defined for field 'columnString' in existing Realm file. Either set @Index or migrate using io.realm.internal.Table.removeSearchIndex().");
             }
-            if (!columnTypes.containsKey("columnLong")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnLong' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnLong") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'long' for field 'columnLong' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnLong")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnLong' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnLong") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'long' for field 'columnLong' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnLongIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnLong' does support null values in the existing Realm file. Use corresponding boxed type for field 'columnLong' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnFloat")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnFloat' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnFloat") != ColumnType.FLOAT) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'float' for field 'columnFloat' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnFloat")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnFloat' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnFloat") != ColumnType.FLOAT) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'float' for field 'columnFloat' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnFloatIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnFloat' does support null values in the existing Realm file. Use corresponding boxed type for field 'columnFloat' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnDouble")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnDouble' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnDouble") != ColumnType.DOUBLE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'double' for field 'columnDouble' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnDouble")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnDouble' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnDouble") != ColumnType.DOUBLE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'double' for field 'columnDouble' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnDoubleIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnDouble' does support null values in the existing Realm file. Use corresponding boxed type for field 'columnDouble' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnBoolean")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnBoolean' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnBoolean") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'columnBoolean' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnBoolean")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnBoolean' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnBoolean") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'columnBoolean' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnBooleanIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnBoolean' does support null values in the existing Realm file. Use corresponding boxed type for field 'columnBoolean' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnDate")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnDate' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnDate") != ColumnType.DATE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'columnDate' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnDate")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnDate' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnDate") != ColumnType.DATE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'columnDate' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnDateIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnDate' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'columnDate' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnBinary")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnBinary' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnBinary") != ColumnType.BINARY) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'columnBinary' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnBinary")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnBinary' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnBinary") != ColumnType.BINARY) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'columnBinary' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.columnBinaryIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'columnBinary' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'columnBinary' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("columnObject")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnObject' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("columnObject") != ColumnType.LINK) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'AllTypes' for field 'columnObject'");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnObject")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnObject' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("columnObject") != ColumnType.LINK) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'AllTypes' for field 'columnObject'");
+                }
             }
             if (!transaction.hasTable("class_AllTypes")) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Missing class 'class_AllTypes' for field 'columnObject'");
@@ -378,11 +414,13 @@ public class AllTypesRealmProxy extends AllTypes
             if (!table.getLinkTarget(columnInfo.columnObjectIndex).hasSameSchema(table_7)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Invalid RealmObject for field 'columnObject': '" + table.getLinkTarget(columnInfo.columnObjectIndex).getName() + "' expected - was '" + table_7.getName() + "'");
             }
-            if (!columnTypes.containsKey("columnRealmList")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnRealmList'");
-            }
-            if (columnTypes.get("columnRealmList") != ColumnType.LINK_LIST) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'AllTypes' for field 'columnRealmList'");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("columnRealmList")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'columnRealmList'");
+                }
+                if (columnTypes.get("columnRealmList") != ColumnType.LINK_LIST) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'AllTypes' for field 'columnRealmList'");
+                }
             }
             if (!transaction.hasTable("class_AllTypes")) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Missing class 'class_AllTypes' for field 'columnRealmList'");
@@ -667,6 +705,47 @@ public class AllTypesRealmProxy extends AllTypes
         realmObject.setColumnBoolean(newObject.isColumnBoolean());
         realmObject.setColumnDate(newObject.getColumnDate());
         realmObject.setColumnBinary(newObject.getColumnBinary());
+        return updateLinks(realm, realmObject, newObject, cache);
+    }
+
+    static void updateColumns(Realm realm, List<AllTypes> newObjects, long[] rowIndices) {
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.getColumnInfo(AllTypes.class);
+        int size = newObjects.size();
+        long[] columnLongValues = new long[size];
+        float[] columnFloatValues = new float[size];
+        double[] columnDoubleValues = new double[size];
+        boolean[] columnBooleanValues = new boolean[size];
+        Date[] columnDateValues = new Date[size];
+        byte[][] columnBinaryValues = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            AllTypes newObject = newObjects.get(i);
+            columnLongValues[i] = newObject.getColumnLong();
+            columnFloatValues[i] = newObject.getColumnFloat();
+            columnDoubleValues[i] = newObject.getColumnDouble();
+            columnBooleanValues[i] = newObject.isColumnBoolean();
+            java.util.Date columnDateValue = newObject.getColumnDate();
+            if (columnDateValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field columnDate to null.");
+            }
+            columnDateValues[i] = columnDateValue;
+            byte[] columnBinaryValue = newObject.getColumnBinary();
+            if (columnBinaryValue == null) {
+                throw new IllegalArgumentException("Trying to set non-nullable field columnBinary to null.");
+            }
+            columnBinaryValues[i] = columnBinaryValue;
+        }
+        table.setLongs(columnInfo.columnLongIndex, rowIndices, columnLongValues);
+        table.setFloats(columnInfo.columnFloatIndex, rowIndices, columnFloatValues);
+        table.setDoubles(columnInfo.columnDoubleIndex, rowIndices, columnDoubleValues);
+        table.setBooleans(columnInfo.columnBooleanIndex, rowIndices, columnBooleanValues);
+        table.setDates(columnInfo.columnDateIndex, rowIndices, columnDateValues);
+        for (int i = 0; i < size; i++) {
+            table.setBinaryByteArray(columnInfo.columnBinaryIndex, rowIndices[i], columnBinaryValues[i]);
+        }
+    }
+
+    static AllTypes updateLinks(Realm realm, AllTypes realmObject, AllTypes newObject, Map<RealmObject, RealmObjectProxy> cache) {
         AllTypes columnObjectObj = newObject.getColumnObject();
         if (columnObjectObj != null) {
             AllTypes cachecolumnObject = (AllTypes) cache.get(columnObjectObj);
@@ -29,23 +29,30 @@ public class BooleansRealmProxy extends Booleans
 
     static final class BooleansColumnInfo extends ColumnInfo {
 
+        static final String[] COLUMN_NAMES = {"done", "isReady", "mCompleted", "anotherBoolean"};
+        static final ColumnType[] COLUMN_TYPES = {ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.BOOLEAN};
+        static final long INDEX_done = 0;
+        static final long INDEX_isReady = 1;
+        static final long INDEX_mCompleted = 2;
+        static final long INDEX_anotherBoolean = 3;
+
         public final long doneIndex;
         public final long isReadyIndex;
         public final long mCompletedIndex;
         public final long anotherBooleanIndex;
 
-        BooleansColumnInfo(String path, Table table) {
+        BooleansColumnInfo(String path, Table table, boolean hasInitialLayout) {
             final Map<String, Long> indicesMap = new HashMap<String, Long>(4);
-            this.doneIndex = getValidColumnIndex(path, table, "Booleans", "done");
+            this.doneIndex = hasInitialLayout ? INDEX_done : getValidColumnIndex(path, table, "Booleans", "done");
             indicesMap.put("done", this.doneIndex);
 
-            this.isReadyIndex = getValidColumnIndex(path, table, "Booleans", "isReady");
+            this.isReadyIndex = hasInitialLayout ? INDEX_isReady : getValidColumnIndex(path, table, "Booleans", "isReady");
             indicesMap.put("isReady", this.isReadyIndex);
 
-            this.mCompletedIndex = getValidColumnIndex(path, table, "Booleans", "mCompleted");
+            this.mCompletedIndex = hasInitialLayout ? INDEX_mCompleted : getValidColumnIndex(path, table, "Booleans", "mCompleted");
             indicesMap.put("mCompleted", this.mCompletedIndex);
 
-            this.anotherBooleanIndex = getValidColumnIndex(path, table, "Booleans", "anotherBoolean");
+            this.anotherBooleanIndex = hasInitialLayout ? INDEX_anotherBoolean : getValidColumnIndex(path, table, "Booleans", "anotherBoolean");
             indicesMap.put("anotherBoolean", this.anotherBooleanIndex);
 
             setIndicesMap(indicesMap);
@@ -138,45 +145,56 @@ public class BooleansRealmProxy extends Booleans
             if (table.getColumnCount() != 4) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 4 but was " + table.getColumnCount());
             }
+            final boolean hasInitialLayout = table.hasColumnLayout(BooleansColumnInfo.COLUMN_NAMES, BooleansColumnInfo.COLUMN_TYPES);
             Map<String, ColumnType> columnTypes = new HashMap<String, ColumnType>();
-            for (long i = 0; i < 4; i++) {
-                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            if (!hasInitialLayout) {
+                for (long i = 0; i < 4; i++) {
+                    columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+                }
             }
 
-            final BooleansColumnInfo columnInfo = new BooleansColumnInfo(transaction.getPath(), table);
+            final BooleansColumnInfo columnInfo = new BooleansColumnInfo(transaction.getPath(), table, hasInitialLayout);
 
-            if (!columnTypes.containsKey("done")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'done' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("done") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'done' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("done")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'done' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("done") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'done' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.doneIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'done' does support null values in the existing Realm file. Use corresponding boxed type for field 'done' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("isReady")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'isReady' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("isReady") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'isReady' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("isReady")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'isReady' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("isReady") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'isReady' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.isReadyIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'isReady' does support null values in the existing Realm file. Use corresponding boxed type for field 'isReady' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("mCompleted")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'mCompleted' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("mCompleted") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'mCompleted' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("mCompleted")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'mCompleted' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("mCompleted") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'mCompleted' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.mCompletedIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'mCompleted' does support null values in the existing Realm file. Use corresponding boxed type for field 'mCompleted' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("anotherBoolean")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'anotherBoolean' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("anotherBoolean") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'anotherBoolean' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("anotherBoolean")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'anotherBoolean' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("anotherBoolean") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'boolean' for field 'anotherBoolean' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.anotherBooleanIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'anotherBoolean' does support null values in the existing Realm file. Use corresponding boxed type for field 'anotherBoolean' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
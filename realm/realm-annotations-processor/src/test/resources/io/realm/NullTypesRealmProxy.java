@@ -29,6 +29,30 @@ public class NullTypesRealmProxy extends NullTypes
 
     static final class NullTypesColumnInfo extends ColumnInfo {
 
+        static final String[] COLUMN_NAMES = {"fieldStringNotNull", "fieldStringNull", "fieldBooleanNotNull", "fieldBooleanNull", "fieldBytesNotNull", "fieldBytesNull", "fieldByteNotNull", "fieldByteNull", "fieldShortNotNull", "fieldShortNull", "fieldIntegerNotNull", "fieldIntegerNull", "fieldLongNotNull", "fieldLongNull", "fieldFloatNotNull", "fieldFloatNull", "fieldDoubleNotNull", "fieldDoubleNull", "fieldDateNotNull", "fieldDateNull", "fieldObjectNull"};
+        static final ColumnType[] COLUMN_TYPES = {ColumnType.STRING, ColumnType.STRING, ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.BINARY, ColumnType.BINARY, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.FLOAT, ColumnType.FLOAT, ColumnType.DOUBLE, ColumnType.DOUBLE, ColumnType.DATE, ColumnType.DATE, ColumnType.LINK};
+        static final long INDEX_fieldStringNotNull = 0;
+        static final long INDEX_fieldStringNull = 1;
+        static final long INDEX_fieldBooleanNotNull = 2;
+        static final long INDEX_fieldBooleanNull = 3;
+        static final long INDEX_fieldBytesNotNull = 4;
+        static final long INDEX_fieldBytesNull = 5;
+        static final long INDEX_fieldByteNotNull = 6;
+        static final long INDEX_fieldByteNull = 7;
+        static final long INDEX_fieldShortNotNull = 8;
+        static final long INDEX_fieldShortNull = 9;
+        static final long INDEX_fieldIntegerNotNull = 10;
+        static final long INDEX_fieldIntegerNull = 11;
+        static final long INDEX_fieldLongNotNull = 12;
+        static final long INDEX_fieldLongNull = 13;
+        static final long INDEX_fieldFloatNotNull = 14;
+        static final long INDEX_fieldFloatNull = 15;
+        static final long INDEX_fieldDoubleNotNull = 16;
+        static final long INDEX_fieldDoubleNull = 17;
+        static final long INDEX_fieldDateNotNull = 18;
+        static final long INDEX_fieldDateNull = 19;
+        static final long INDEX_fieldObjectNull = 20;
+
         public final long fieldStringNotNullIndex;
         public final long fieldStringNullIndex;
         public final long fieldBooleanNotNullIndex;
@@ -51,69 +75,69 @@ public class NullTypesRealmProxy extends NullTypes
         public final long fieldDateNullIndex;
         public final long fieldObjectNullIndex;
 
-        NullTypesColumnInfo(String path, Table table) {
+        NullTypesColumnInfo(String path, Table table, boolean hasInitialLayout) {
             final Map<String, Long> indicesMap = new HashMap<String, Long>(21);
-            this.fieldStringNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldStringNotNull");
+            this.fieldStringNotNullIndex = hasInitialLayout ? INDEX_fieldStringNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldStringNotNull");
             indicesMap.put("fieldStringNotNull", this.fieldStringNotNullIndex);
 
-            this.fieldStringNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldStringNull");
+            this.fieldStringNullIndex = hasInitialLayout ? INDEX_fieldStringNull : getValidColumnIndex(path, table, "NullTypes", "fieldStringNull");
             indicesMap.put("fieldStringNull", this.fieldStringNullIndex);
 
-            this.fieldBooleanNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldBooleanNotNull");
+            this.fieldBooleanNotNullIndex = hasInitialLayout ? INDEX_fieldBooleanNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldBooleanNotNull");
             indicesMap.put("fieldBooleanNotNull", this.fieldBooleanNotNullIndex);
 
-            this.fieldBooleanNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldBooleanNull");
+            this.fieldBooleanNullIndex = hasInitialLayout ? INDEX_fieldBooleanNull : getValidColumnIndex(path, table, "NullTypes", "fieldBooleanNull");
             indicesMap.put("fieldBooleanNull", this.fieldBooleanNullIndex);
 
-            this.fieldBytesNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldBytesNotNull");
+            this.fieldBytesNotNullIndex = hasInitialLayout ? INDEX_fieldBytesNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldBytesNotNull");
             indicesMap.put("fieldBytesNotNull", this.fieldBytesNotNullIndex);
 
-            this.fieldBytesNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldBytesNull");
+            this.fieldBytesNullIndex = hasInitialLayout ? INDEX_fieldBytesNull : getValidColumnIndex(path, table, "NullTypes", "fieldBytesNull");
             indicesMap.put("fieldBytesNull", this.fieldBytesNullIndex);
 
-            this.fieldByteNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldByteNotNull");
+            this.fieldByteNotNullIndex = hasInitialLayout ? INDEX_fieldByteNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldByteNotNull");
             indicesMap.put("fieldByteNotNull", this.fieldByteNotNullIndex);
 
-            this.fieldByteNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldByteNull");
+            this.fieldByteNullIndex = hasInitialLayout ? INDEX_fieldByteNull : getValidColumnIndex(path, table, "NullTypes", "fieldByteNull");
             indicesMap.put("fieldByteNull", this.fieldByteNullIndex);
 
-            this.fieldShortNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldShortNotNull");
+            this.fieldShortNotNullIndex = hasInitialLayout ? INDEX_fieldShortNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldShortNotNull");
             indicesMap.put("fieldShortNotNull", this.fieldShortNotNullIndex);
 
-            this.fieldShortNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldShortNull");
+            this.fieldShortNullIndex = hasInitialLayout ? INDEX_fieldShortNull : getValidColumnIndex(path, table, "NullTypes", "fieldShortNull");
             indicesMap.put("fieldShortNull", this.fieldShortNullIndex);
 
-            this.fieldIntegerNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldIntegerNotNull");
+            this.fieldIntegerNotNullIndex = hasInitialLayout ? INDEX_fieldIntegerNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldIntegerNotNull");
             indicesMap.put("fieldIntegerNotNull", this.fieldIntegerNotNullIndex);
 
-            this.fieldIntegerNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldIntegerNull");
+            this.fieldIntegerNullIndex = hasInitialLayout ? INDEX_fieldIntegerNull : getValidColumnIndex(path, table, "NullTypes", "fieldIntegerNull");
             indicesMap.put("fieldIntegerNull", this.fieldIntegerNullIndex);
 
-            this.fieldLongNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldLongNotNull");
+            this.fieldLongNotNullIndex = hasInitialLayout ? INDEX_fieldLongNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldLongNotNull");
             indicesMap.put("fieldLongNotNull", this.fieldLongNotNullIndex);
 
-            this.fieldLongNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldLongNull");
+            this.fieldLongNullIndex = hasInitialLayout ? INDEX_fieldLongNull : getValidColumnIndex(path, table, "NullTypes", "fieldLongNull");
             indicesMap.put("fieldLongNull", this.fieldLongNullIndex);
 
-            this.fieldFloatNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldFloatNotNull");
+            this.fieldFloatNotNullIndex = hasInitialLayout ? INDEX_fieldFloatNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldFloatNotNull");
             indicesMap.put("fieldFloatNotNull", this.fieldFloatNotNullIndex);
 
-            this.fieldFloatNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldFloatNull");
+            this.fieldFloatNullIndex = hasInitialLayout ? INDEX_fieldFloatNull : getValidColumnIndex(path, table, "NullTypes", "fieldFloatNull");
             indicesMap.put("fieldFloatNull", this.fieldFloatNullIndex);
 
-            this.fieldDoubleNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldDoubleNotNull");
+            this.fieldDoubleNotNullIndex = hasInitialLayout ? INDEX_fieldDoubleNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldDoubleNotNull");
             indicesMap.put("fieldDoubleNotNull", this.fieldDoubleNotNullIndex);
 
-            this.fieldDoubleNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldDoubleNull");
+            this.fieldDoubleNullIndex = hasInitialLayout ? INDEX_fieldDoubleNull : getValidColumnIndex(path, table, "NullTypes", "fieldDoubleNull");
             indicesMap.put("fieldDoubleNull", this.fieldDoubleNullIndex);
 
-            this.fieldDateNotNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldDateNotNull");
+            this.fieldDateNotNullIndex = hasInitialLayout ? INDEX_fieldDateNotNull : getValidColumnIndex(path, table, "NullTypes", "fieldDateNotNull");
             indicesMap.put("fieldDateNotNull", this.fieldDateNotNullIndex);
 
-            this.fieldDateNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldDateNull");
+            this.fieldDateNullIndex = hasInitialLayout ? INDEX_fieldDateNull : getValidColumnIndex(path, table, "NullTypes", "fieldDateNull");
             indicesMap.put("fieldDateNull", this.fieldDateNullIndex);
 
-            this.fieldObjectNullIndex = getValidColumnIndex(path, table, "NullTypes", "fieldObjectNull");
+            this.fieldObjectNullIndex = hasInitialLayout ? INDEX_fieldObjectNull : getValidColumnIndex(path, table, "NullTypes", "fieldObjectNull");
             indicesMap.put("fieldObjectNull", this.fieldObjectNullIndex);
 
             setIndicesMap(indicesMap);
@@ -570,198 +594,243 @@ public class NullTypesRealmProxy extends NullTypes
             if (table.getColumnCount() != 21) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 21 but was " + table.getColumnCount());
             }
+            final boolean hasInitialLayout = table.hasColumnLayout(NullTypesColumnInfo.COLUMN_NAMES, NullTypesColumnInfo.COLUMN_TYPES);
             Map<String, ColumnType> columnTypes = new HashMap<String, ColumnType>();
-            for (long i = 0; i < 21; i++) {
-                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            if (!hasInitialLayout) {
+                for (long i = 0; i < 21; i++) {
+                    columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+                }
             }
 
-            final NullTypesColumnInfo columnInfo = new NullTypesColumnInfo(transaction.getPath(), table);
+            final NullTypesColumnInfo columnInfo = new NullTypesColumnInfo(transaction.getPath(), table, hasInitialLayout);
 
-            if (!columnTypes.containsKey("fieldStringNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldStringNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldStringNotNull") != ColumnType.STRING) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'fieldStringNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldStringNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldStringNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldStringNotNull") != ColumnType.STRING) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'fieldStringNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldStringNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldStringNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldStringNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldStringNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldStringNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldStringNull") != ColumnType.STRING) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'fieldStringNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldStringNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldStringNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldStringNull") != ColumnType.STRING) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'fieldStringNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldStringNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldStringNull' is required. Either set @Required to field 'fieldStringNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldBooleanNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBooleanNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldBooleanNotNull") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Boolean' for field 'fieldBooleanNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldBooleanNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBooleanNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldBooleanNotNull") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Boolean' for field 'fieldBooleanNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldBooleanNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldBooleanNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldBooleanNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldBooleanNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBooleanNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldBooleanNull") != ColumnType.BOOLEAN) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Boolean' for field 'fieldBooleanNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldBooleanNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBooleanNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldBooleanNull") != ColumnType.BOOLEAN) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Boolean' for field 'fieldBooleanNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldBooleanNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldBooleanNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldBooleanNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldBytesNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBytesNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldBytesNotNull") != ColumnType.BINARY) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'fieldBytesNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldBytesNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBytesNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldBytesNotNull") != ColumnType.BINARY) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'fieldBytesNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldBytesNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldBytesNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldBytesNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldBytesNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBytesNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldBytesNull") != ColumnType.BINARY) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'fieldBytesNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldBytesNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldBytesNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldBytesNull") != ColumnType.BINARY) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'byte[]' for field 'fieldBytesNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldBytesNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldBytesNull' is required. Either set @Required to field 'fieldBytesNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldByteNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldByteNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldByteNotNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Byte' for field 'fieldByteNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldByteNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldByteNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldByteNotNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Byte' for field 'fieldByteNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldByteNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldByteNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldByteNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldByteNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldByteNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldByteNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Byte' for field 'fieldByteNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldByteNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldByteNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldByteNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Byte' for field 'fieldByteNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldByteNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldByteNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldByteNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldShortNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldShortNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldShortNotNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Short' for field 'fieldShortNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldShortNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldShortNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldShortNotNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Short' for field 'fieldShortNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldShortNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldShortNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldShortNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldShortNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldShortNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldShortNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Short' for field 'fieldShortNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldShortNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldShortNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldShortNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Short' for field 'fieldShortNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldShortNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldShortNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldShortNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldIntegerNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldIntegerNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldIntegerNotNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Integer' for field 'fieldIntegerNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldIntegerNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldIntegerNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldIntegerNotNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Integer' for field 'fieldIntegerNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldIntegerNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldIntegerNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldIntegerNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldIntegerNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldIntegerNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldIntegerNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Integer' for field 'fieldIntegerNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldIntegerNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldIntegerNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldIntegerNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Integer' for field 'fieldIntegerNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldIntegerNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldIntegerNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldIntegerNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldLongNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldLongNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldLongNotNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Long' for field 'fieldLongNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldLongNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldLongNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldLongNotNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Long' for field 'fieldLongNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldLongNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldLongNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldLongNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldLongNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldLongNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldLongNull") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Long' for field 'fieldLongNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldLongNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldLongNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldLongNull") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Long' for field 'fieldLongNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldLongNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldLongNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldLongNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldFloatNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldFloatNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldFloatNotNull") != ColumnType.FLOAT) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Float' for field 'fieldFloatNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldFloatNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldFloatNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldFloatNotNull") != ColumnType.FLOAT) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Float' for field 'fieldFloatNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldFloatNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldFloatNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldFloatNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldFloatNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldFloatNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldFloatNull") != ColumnType.FLOAT) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Float' for field 'fieldFloatNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldFloatNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldFloatNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldFloatNull") != ColumnType.FLOAT) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Float' for field 'fieldFloatNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldFloatNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldFloatNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldFloatNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldDoubleNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDoubleNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldDoubleNotNull") != ColumnType.DOUBLE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Double' for field 'fieldDoubleNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldDoubleNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDoubleNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldDoubleNotNull") != ColumnType.DOUBLE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Double' for field 'fieldDoubleNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldDoubleNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldDoubleNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldDoubleNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldDoubleNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDoubleNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldDoubleNull") != ColumnType.DOUBLE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Double' for field 'fieldDoubleNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldDoubleNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDoubleNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldDoubleNull") != ColumnType.DOUBLE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Double' for field 'fieldDoubleNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldDoubleNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(),"Field 'fieldDoubleNull' does not support null values in the existing Realm file. Either set @Required, use the primitive type for field 'fieldDoubleNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldDateNotNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDateNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldDateNotNull") != ColumnType.DATE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'fieldDateNotNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldDateNotNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDateNotNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldDateNotNull") != ColumnType.DATE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'fieldDateNotNull' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.fieldDateNotNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldDateNotNull' does support null values in the existing Realm file. Remove @Required or @PrimaryKey from field 'fieldDateNotNull' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
             }
-            if (!columnTypes.containsKey("fieldDateNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDateNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldDateNull") != ColumnType.DATE) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'fieldDateNull' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldDateNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldDateNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldDateNull") != ColumnType.DATE) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'Date' for field 'fieldDateNull' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.fieldDateNullIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'fieldDateNull' is required. Either set @Required to field 'fieldDateNull' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("fieldObjectNull")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldObjectNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("fieldObjectNull") != ColumnType.LINK) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'NullTypes' for field 'fieldObjectNull'");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("fieldObjectNull")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'fieldObjectNull' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("fieldObjectNull") != ColumnType.LINK) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'NullTypes' for field 'fieldObjectNull'");
+                }
             }
             if (!transaction.hasTable("class_NullTypes")) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Missing class 'class_NullTypes' for field 'fieldObjectNull'");
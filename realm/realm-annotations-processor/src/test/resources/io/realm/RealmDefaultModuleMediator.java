@@ -100,6 +100,51 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public Object getPrimaryKeyValue(Class<? extends RealmObject> clazz, RealmObject obj) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return ((AllTypes) obj).getColumnString();
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public <E extends RealmObject> E update(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return clazz.cast(AllTypesRealmProxy.update(realm, (AllTypes) realmObject, (AllTypes) newObject, cache));
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> void updateColumns(Class<E> clazz, Realm realm, List<E> newObjects, long[] rowIndices) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            AllTypesRealmProxy.updateColumns(realm, (List<AllTypes>) newObjects, rowIndices);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public <E extends RealmObject> E updateLinks(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return clazz.cast(AllTypesRealmProxy.updateLinks(realm, (AllTypes) realmObject, (AllTypes) newObject, cache));
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
@@ -0,0 +1,25 @@
+package io.realm;
+
+import some.test.Simple;
+
+public class SimpleQuery extends TypedRealmQuery<Simple, SimpleQuery> {
+
+    private final SimpleRealmProxy.SimpleColumnInfo columnInfo;
+
+    private SimpleQuery(Realm realm) {
+        super(realm.where(Simple.class));
+        this.columnInfo = (SimpleRealmProxy.SimpleColumnInfo) realm.columnIndices.getColumnInfo(Simple.class);
+    }
+
+    public static SimpleQuery where(Realm realm) {
+        return new SimpleQuery(realm);
+    }
+
+    public StringField<SimpleQuery> name() {
+        return stringField(columnInfo.nameIndex);
+    }
+
+    public LongField<SimpleQuery> age() {
+        return longField(columnInfo.ageIndex);
+    }
+}
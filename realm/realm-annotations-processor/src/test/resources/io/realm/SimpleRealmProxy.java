@@ -29,15 +29,20 @@ public class SimpleRealmProxy extends Simple
 
     static final class SimpleColumnInfo extends ColumnInfo {
 
+        static final String[] COLUMN_NAMES = {"name", "age"};
+        static final ColumnType[] COLUMN_TYPES = {ColumnType.STRING, ColumnType.INTEGER};
+        static final long INDEX_name = 0;
+        static final long INDEX_age = 1;
+
         public final long nameIndex;
         public final long ageIndex;
 
-        SimpleColumnInfo(String path, Table table) {
+        SimpleColumnInfo(String path, Table table, boolean hasInitialLayout) {
             final Map<String, Long> indicesMap = new HashMap<String, Long>(2);
-            this.nameIndex = getValidColumnIndex(path, table, "Simple", "name");
+            this.nameIndex = hasInitialLayout ? INDEX_name : getValidColumnIndex(path, table, "Simple", "name");
             indicesMap.put("name", this.nameIndex);
 
-            this.ageIndex = getValidColumnIndex(path, table, "Simple", "age");
+            this.ageIndex = hasInitialLayout ? INDEX_age : getValidColumnIndex(path, table, "Simple", "age");
             indicesMap.put("age", this.ageIndex);
 
             setIndicesMap(indicesMap);
@@ -104,27 +109,34 @@ public class SimpleRealmProxy extends Simple
             if (table.getColumnCount() != 2) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field count does not match - expected 2 but was " + table.getColumnCount());
             }
+            final boolean hasInitialLayout = table.hasColumnLayout(SimpleColumnInfo.COLUMN_NAMES, SimpleColumnInfo.COLUMN_TYPES);
             Map<String, ColumnType> columnTypes = new HashMap<String, ColumnType>();
-            for (long i = 0; i < 2; i++) {
-                columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+            if (!hasInitialLayout) {
+                for (long i = 0; i < 2; i++) {
+                    columnTypes.put(table.getColumnName(i), table.getColumnType(i));
+                }
             }
 
-            final SimpleColumnInfo columnInfo = new SimpleColumnInfo(transaction.getPath(), table);
+            final SimpleColumnInfo columnInfo = new SimpleColumnInfo(transaction.getPath(), table, hasInitialLayout);
 
-            if (!columnTypes.containsKey("name")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'name' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("name") != ColumnType.STRING) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'name' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("name")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'name' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("name") != ColumnType.STRING) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'String' for field 'name' in existing Realm file.");
+                }
             }
             if (!table.isColumnNullable(columnInfo.nameIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'name' is required. Either set @Required to field 'name' or migrate using io.realm.internal.Table.convertColumnToNullable().");
             }
-            if (!columnTypes.containsKey("age")) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'age' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
-            }
-            if (columnTypes.get("age") != ColumnType.INTEGER) {
-                throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'int' for field 'age' in existing Realm file.");
+            if (!hasInitialLayout) {
+                if (!columnTypes.containsKey("age")) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Missing field 'age' in existing Realm file. Either remove field or migrate using io.realm.internal.Table.addColumn().");
+                }
+                if (columnTypes.get("age") != ColumnType.INTEGER) {
+                    throw new RealmMigrationNeededException(transaction.getPath(), "Invalid type 'int' for field 'age' in existing Realm file.");
+                }
             }
             if (table.isColumnNullable(columnInfo.ageIndex)) {
                 throw new RealmMigrationNeededException(transaction.getPath(), "Field 'age' does support null values in the existing Realm file. Use corresponding boxed type for field 'age' or migrate using io.realm.internal.Table.convertColumnToNotNullable().");
@@ -30,6 +30,9 @@ public class FieldNames extends RealmObject {
 
     private Simple name;
     private Simple cache;
+    // only differ by case
+    private long id;
+    private long ID;
 
     public Simple getName() {
         return name;
@@ -46,4 +49,20 @@ public class FieldNames extends RealmObject {
     public void setCache(Simple cache) {
         this.cache = cache;
     }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getID() {
+        return ID;
+    }
+
+    public void setID(long ID) {
+        this.ID = ID;
+    }
 }
\ No newline at end of file
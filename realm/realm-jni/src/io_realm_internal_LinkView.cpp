@@ -26,6 +26,16 @@ JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeClose
     LangBindHelper::unbind_linklist_ptr( LV( nativeLinkViewPtr ) );
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeCloseAll
+  (JNIEnv* env, jclass, jlongArray nativeLinkViewPtrs, jint count)
+{
+    TR_ENTER()
+    JniLongArray linkViewPtrs(env, nativeLinkViewPtrs);
+    for (jint i = 0; i < count; ++i) {
+        LangBindHelper::unbind_linklist_ptr( LV( linkViewPtrs[i] ) );
+    }
+}
+
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetRow
   (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong pos)
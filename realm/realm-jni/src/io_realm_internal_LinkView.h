@@ -15,6 +15,14 @@ extern "C" {
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeClose
   (JNIEnv *, jclass, jlong);
 
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeCloseAll
+ * Signature: ([JI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeCloseAll
+  (JNIEnv *, jclass, jlongArray, jint);
+
 /*
  * Class:     io_realm_internal_LinkView
  * Method:    nativeGetRow
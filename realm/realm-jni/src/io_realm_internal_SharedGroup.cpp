@@ -21,6 +21,9 @@
 #include <realm/group_shared.hpp>
 #include <realm/replication.hpp>
 #include <realm/commit_log.hpp>
+#include <realm/impl/transact_log.hpp>
+
+#include <set>
 
 #include "util.hpp"
 #include "io_realm_internal_SharedGroup.h"
@@ -323,4 +326,72 @@ JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeGetVersion
     env->SetLongArrayRegion(version_data, 0, 2, version_array);
 
     return version_data;
-}
\ No newline at end of file
+}
+namespace {
+
+// Records the group level tables selected by the transaction logs replayed during advance_read().
+// Tables are only selected by the logs when they are modified. Adding, removing or renaming tables shifts the
+// group level indices, in which case the set of tables cannot be trusted anymore.
+class ChangedTablesObserver : public _impl::NullInstructionObserver {
+public:
+    std::set<size_t> tables;
+    bool schema_changed = false;
+
+    bool select_table(size_t group_level_ndx, int, const size_t*)
+    {
+        tables.insert(group_level_ndx);
+        return true;
+    }
+
+    bool insert_group_level_table(size_t, size_t, StringData)
+    {
+        schema_changed = true;
+        return true;
+    }
+
+    bool erase_group_level_table(size_t, size_t)
+    {
+        schema_changed = true;
+        return true;
+    }
+
+    bool rename_group_level_table(size_t, StringData)
+    {
+        schema_changed = true;
+        return true;
+    }
+};
+
+} // anonymous namespace
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_SharedGroup_nativeGetChangedTables
+        (JNIEnv *env, jobject, jlong native_ptr, jlong native_replication_ptr, jlong version, jlong index)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        SG(native_ptr)->end_read();
+        const Group& group = SG(native_ptr)->begin_read(SharedGroup::VersionID(version, index));
+
+        ChangedTablesObserver observer;
+        LangBindHelper::advance_read(*SG(native_ptr), *CH(native_replication_ptr), observer);
+        if (observer.schema_changed) {
+            return NULL;
+        }
+
+        jclass string_class = env->FindClass("java/lang/String");
+        jobjectArray table_names = env->NewObjectArray(observer.tables.size(), string_class, NULL);
+        if (table_names == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the changed tables.");
+            return NULL;
+        }
+        jsize i = 0;
+        for (size_t group_level_ndx : observer.tables) {
+            jstring table_name = to_jstring(env, group.get_table_name(group_level_ndx));
+            env->SetObjectArrayElement(table_names, i++, table_name);
+            env->DeleteLocalRef(table_name);
+        }
+        return table_names;
+    }
+    CATCH_STD()
+    return NULL;
+}
@@ -176,6 +176,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeCloseReplication
 JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeGetVersionID
         (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_SharedGroup
+ * Method:    nativeGetChangedTables
+ * Signature: (JJJJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_SharedGroup_nativeGetChangedTables
+        (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
 #ifdef __cplusplus
 }
 #endif
@@ -277,6 +277,54 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_Table_nativeGetByteArray
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLongs
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDoubles
+ * Signature: (JJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDateTimes
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetDateTimes
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetStrings
+ * Signature: (JJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFillLongs
+ * Signature: (JJLjava/nio/LongBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillLongs
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFillDoubles
+ * Signature: (JJLjava/nio/DoubleBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillDoubles
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetMixedType
@@ -389,6 +437,118 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDouble
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongs
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleans
+ * Signature: (JJJ[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlong, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloats
+ * Signature: (JJJ[F)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlong, jfloatArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoubles
+ * Signature: (JJJ[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jdoubleArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDates
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStrings
+ * Signature: (JJJ[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings
+  (JNIEnv *, jobject, jlong, jlong, jlong, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongsInRows
+ * Signature: (JJ[J[J[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongsInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleansInRows
+ * Signature: (JJ[J[Z[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleansInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jbooleanArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloatsInRows
+ * Signature: (JJ[J[F[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloatsInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jfloatArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoublesInRows
+ * Signature: (JJ[J[D[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoublesInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jdoubleArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDatesInRows
+ * Signature: (JJ[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDatesInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStringsInRows
+ * Signature: (JJ[J[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStringsInRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstDuplicateLong
+ * Signature: (JJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateLong
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstDuplicateString
+ * Signature: (JJ[Ljava/lang/String;)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateString
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSetString
@@ -677,6 +837,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDate
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString
   (JNIEnv *, jobject, jlong, jlong, jstring);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstLongs
+ * Signature: (JJ[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstLongs
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstStrings
+ * Signature: (JJ[Ljava/lang/String;)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstStrings
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeFindAllInt
@@ -805,6 +981,14 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeRowToString
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeHasSameSchema
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeHasColumnLayout
+ * Signature: (J[Ljava/lang/String;[J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeHasColumnLayout
+  (JNIEnv *, jobject, jlong, jobjectArray, jlongArray);
+
 #ifdef __cplusplus
 }
 #endif
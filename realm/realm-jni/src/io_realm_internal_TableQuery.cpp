@@ -17,6 +17,14 @@
 #include <realm.hpp>
 #include <realm/group_shared.hpp>
 #include <realm/commit_log.hpp>
+#include <realm/impl/transact_log.hpp>
+
+#include <algorithm>
+#include <functional>
+#include <set>
+#include <unordered_map>
+#include <vector>
+
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
@@ -44,6 +52,7 @@ inline bool query_col_type_valid(JNIEnv* env, jlong nativeQueryPtr, jlong colInd
 
 const char* ERR_IMPORT_CLOSED_REALM = "Can not import results from a closed Realm";
 const char* ERR_SORT_NOT_SUPPORTED = "Sort is not supported on binary data, object references and RealmList";
+const char* ERR_SORT_WITH_LIMIT_NOT_SUPPORTED = "Sort with a limit is only supported on integer, float, double and date fields";
 //-------------------------------------------------------
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeClose(JNIEnv *, jclass, jlong nativeQueryPtr) {
@@ -675,6 +684,21 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JZ(
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual__J_3JZ(
+  JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jboolean value)
+{
+    JniLongArray arr(env, columnIndexes);
+    try {
+        jsize arr_len = arr.len();
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_Bool)) {
+            return;
+        }
+        // there is no bool overload of Query::not_equal(), the condition is built as an expression on the column
+        TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+        Q(nativeQueryPtr)->and_query(numeric_link_notequal<Bool, bool, jboolean>(table_ref, arr[arr_len-1], value));
+    } CATCH_STD()
+}
+
 // String
 
 enum StringPredicate {
@@ -772,6 +796,110 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeContains(
     TableQuery_StringPredicate(env, nativeQueryPtr, columnIndexes, value, caseSensitive, StringContains);
 }
 
+// In
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jlongArray values)
+{
+    JniLongArray arr(env, columnIndexes);
+    JniLongArray value_arr(env, values);
+    jsize arr_len = arr.len();
+    try {
+        if (arr_len == 1) {
+            if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_Int)) {
+                return;
+            }
+        }
+        // Duplicated values would only add conditions to the group
+        std::set<int64_t> distinct_values;
+        for (jsize i = 0; i < value_arr.len(); ++i) {
+            distinct_values.insert(static_cast<int64_t>(value_arr[i]));
+        }
+
+        Query* pQuery = Q(nativeQueryPtr);
+        pQuery->group();
+        for (std::set<int64_t>::const_iterator it = distinct_values.begin(); it != distinct_values.end(); ++it) {
+            if (it != distinct_values.begin()) {
+                pQuery->Or();
+            }
+            if (arr_len == 1) {
+                pQuery->equal(S(arr[0]), *it);
+            }
+            else {
+                TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+                pQuery->and_query(numeric_link_equal<Int, int64_t, int64_t>(table_ref, arr[arr_len-1], *it));
+            }
+        }
+        pQuery->end_group();
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2Z(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jobjectArray values, jboolean caseSensitive)
+{
+    JniLongArray arr(env, columnIndexes);
+    jsize arr_len = arr.len();
+    try {
+        if (arr_len == 1) {
+            if (!QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_String)) {
+                return;
+            }
+        }
+        bool is_case_sensitive = caseSensitive ? true : false;
+        jsize value_count = env->GetArrayLength(values);
+
+        // Duplicated values would only add conditions to the group
+        std::set<std::string> distinct_values;
+        bool has_null = false;
+        for (jsize i = 0; i < value_count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL) {
+                has_null = true;
+                continue;
+            }
+            JStringAccessor value2(env, value); // throws
+            StringData data = value2;
+            distinct_values.insert(std::string(data.data(), data.size()));
+            // The array can hold more values than the local reference table
+            env->DeleteLocalRef(value);
+        }
+        if (has_null && !TBL_AND_COL_NULLABLE(env, getTableByArray(nativeQueryPtr, arr).get(), arr[arr_len-1])) {
+            return;
+        }
+
+        Query* pQuery = Q(nativeQueryPtr);
+        pQuery->group();
+        bool first = true;
+        for (std::set<std::string>::const_iterator it = distinct_values.begin(); it != distinct_values.end(); ++it) {
+            if (!first) {
+                pQuery->Or();
+            }
+            first = false;
+            StringData value(it->data(), it->size());
+            if (arr_len == 1) {
+                pQuery->equal(S(arr[0]), value, is_case_sensitive);
+            }
+            else {
+                TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+                pQuery->and_query(table_ref->column<String>(size_t(arr[arr_len-1])).equal(value, is_case_sensitive));
+            }
+        }
+        if (has_null) {
+            if (!first) {
+                pQuery->Or();
+            }
+            if (arr_len == 1) {
+                pQuery->equal(S(arr[0]), StringData(NULL), is_case_sensitive);
+            }
+            else {
+                TableRef table_ref = getTableForLinkQuery(nativeQueryPtr, arr);
+                pQuery->and_query(table_ref->column<String>(size_t(arr[arr_len-1])).equal(StringData(NULL), is_case_sensitive));
+            }
+        }
+        pQuery->end_group();
+    } CATCH_STD()
+}
+
 
 // General ----------------------------------------------------
 // TODO:
@@ -992,6 +1120,256 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHando
       return 0;
   }
 
+// Finds the matches [offset, offset + limit) of the query, in table order. The matches before the window are skipped
+// one by one so only the rows of the window are put in the TableView.
+static TableView find_all_window(Query& query, size_t offset, size_t limit)
+{
+    size_t start = 0;
+    for (size_t i = 0; i < offset && start != not_found; ++i) {
+        start = query.find(start);
+        if (start != not_found) {
+            ++start;
+        }
+    }
+    if (start == not_found) {
+        return query.find_all(0, 0, 0);
+    }
+    return query.find_all(start, size_t(-1), limit);
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWindowWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong offset, jlong limit)
+  {
+      TR_ENTER()
+      if (offset < 0) {
+          ThrowException(env, IllegalArgument, "The offset must be 0 or higher.");
+          return 0;
+      }
+      try {
+          std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+          if (!QUERY_VALID(env, query.get())) {
+              return 0;
+          }
+
+          // run the query
+          TableView tableView(find_all_window(*query, S(offset), S(limit)));
+
+          // handover the result
+          std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
+                  bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+          return reinterpret_cast<jlong>(handover.release());
+      } CATCH_STD()
+      return 0;
+  }
+
+// Selects the value the limit-th match of the query has in the order of the column, in linear time with
+// std::nth_element instead of sorting all the matches. NaN values are skipped like nulls, since they aren't ordered.
+// If no more than limit matches have a value, the last value in the order is selected. Returns false if no match has
+// a value.
+template<class T, class Getter>
+static bool select_cut_off(const Table& table, const TableView& matches, size_t col, bool ascending, size_t limit,
+                           Getter get, T& cut_off)
+{
+    std::vector<T> values;
+    values.reserve(matches.size());
+    for (size_t i = 0; i < matches.size(); ++i) {
+        size_t row_ndx = matches.get_source_ndx(i);
+        if (table.is_null(col, row_ndx)) {
+            continue;
+        }
+        T value = get(table, row_ndx);
+        if (value == value) {
+            values.push_back(value);
+        }
+    }
+    if (values.empty()) {
+        return false;
+    }
+    typename std::vector<T>::iterator nth = values.begin() + (std::min(limit, values.size()) - 1);
+    if (ascending) {
+        std::nth_element(values.begin(), nth, values.end());
+    } else {
+        std::nth_element(values.begin(), nth, values.end(), std::greater<T>());
+    }
+    cut_off = *nth;
+    return true;
+}
+
+static bool top_column_valid(JNIEnv* env, Table* table, jlong columnIndex)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, table, columnIndex)) {
+        return false;
+    }
+    switch (table->get_column_type(S(columnIndex))) {
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, ERR_SORT_WITH_LIMIT_NOT_SUPPORTED);
+            return false;
+    }
+}
+
+// Finds the first limit matches in the order of the column, and the matches with the same value as the last of them.
+// top is a query over the same rows as the query the matches come from: the value of the limit-th match is selected
+// over the matches and the cut-off is added to top, so only the rows kept are sorted. Matches without a value are only
+// returned when no more than limit rows match. The returned TableView keeps the conditions of top and the cut-off
+// value, the cut-off is not selected again when it syncs.
+static TableView find_top(Query& top, const TableView& matches, size_t col, bool ascending, size_t limit)
+{
+    if (matches.size() > limit) {
+        const Table& table = matches.get_parent();
+        bool has_value = false;
+        switch (table.get_column_type(col)) {
+            case type_Int: {
+                int64_t cut_off;
+                has_value = select_cut_off(table, matches, col, ascending, limit,
+                        [col](const Table& t, size_t row_ndx) { return t.get_int(col, row_ndx); }, cut_off);
+                if (has_value && ascending) {
+                    top.less_equal(col, cut_off);
+                } else if (has_value) {
+                    top.greater_equal(col, cut_off);
+                }
+                break;
+            }
+            case type_DateTime: {
+                int64_t cut_off;
+                has_value = select_cut_off(table, matches, col, ascending, limit,
+                        [col](const Table& t, size_t row_ndx) { return t.get_datetime(col, row_ndx).get_datetime(); },
+                        cut_off);
+                if (has_value && ascending) {
+                    top.less_equal_datetime(col, DateTime(cut_off));
+                } else if (has_value) {
+                    top.greater_equal_datetime(col, DateTime(cut_off));
+                }
+                break;
+            }
+            case type_Float: {
+                float cut_off;
+                has_value = select_cut_off(table, matches, col, ascending, limit,
+                        [col](const Table& t, size_t row_ndx) { return t.get_float(col, row_ndx); }, cut_off);
+                if (has_value && ascending) {
+                    top.less_equal(col, cut_off);
+                } else if (has_value) {
+                    top.greater_equal(col, cut_off);
+                }
+                break;
+            }
+            case type_Double: {
+                double cut_off;
+                has_value = select_cut_off(table, matches, col, ascending, limit,
+                        [col](const Table& t, size_t row_ndx) { return t.get_double(col, row_ndx); }, cut_off);
+                if (has_value && ascending) {
+                    top.less_equal(col, cut_off);
+                } else if (has_value) {
+                    top.greater_equal(col, cut_off);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        if (!has_value) {
+            // an empty window, as in find_all_window()
+            return top.find_all(0, 0, 0);
+        }
+    }
+    TableView tableView(top.find_all());
+    tableView.sort(col, ascending);
+    return tableView;
+}
+
+// Runs the query once into matches, which the returned TableView is restricted to, and finds the first limit matches
+// in the order of the column. matches must outlive the returned TableView, and any export of it for handover. The
+// handed over results don't need the conditions of the query, as the query runs again after each change.
+static TableView find_all_sorted_top(Query& query, std::unique_ptr<TableView>& matches, size_t col, bool ascending,
+                                     size_t limit)
+{
+    matches.reset(new TableView(query.find_all()));
+    Query top = matches->get_parent().where(matches.get());
+    return find_top(top, *matches, col, ascending, limit);
+}
+
+// Runs a query and sorts its matches. A single sort column with a limit keeps the first matches in the sort order,
+// otherwise the limit is the one of the window of matches in table order. matches is only used for the former, see
+// find_all_sorted_top().
+static TableView find_all_ordered(Query& query, std::unique_ptr<TableView>& matches, const std::vector<size_t>& indices,
+                                  const std::vector<bool>& ascendings, size_t offset, size_t limit)
+{
+    if (indices.size() == 1 && limit != size_t(-1)) {
+        return find_all_sorted_top(query, matches, indices[0], ascendings[0], limit);
+    }
+    TableView tableView(find_all_window(query, offset, limit));
+    if (!indices.empty()) {
+        tableView.sort(indices, ascendings);
+    }
+    return tableView;
+}
+
+// nativeTopPtr is a query without conditions over the same rows as nativeQueryPtr. The conditions of the query are
+// added to it as a group, followed by the cut-off, so the returned TableView stays up to date when it syncs: rows
+// updated or added before the cut-off are part of it. See find_top().
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedTop(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeTopPtr, jlong columnIndex, jboolean ascending, jlong limit)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    TableRef table = query->get_table();
+    if (!QUERY_VALID(env, query) || !top_column_valid(env, table.get(), columnIndex)) {
+        return 0;
+    }
+    if (limit < 1) {
+        ThrowException(env, IllegalArgument, "The limit must be 1 or higher.");
+        return 0;
+    }
+    try {
+        TableView matches(query->find_all());
+        if (matches.size() <= S(limit)) {
+            // all the matches are kept, the TableView of the query is already up to date when it syncs
+            matches.sort(S(columnIndex), B(ascending));
+            return reinterpret_cast<jlong>(new TableView(matches));
+        }
+        Query* top = Q(nativeTopPtr);
+        top->group();
+        top->and_query(*query);
+        top->end_group();
+        TableView* tableView = new TableView(find_top(*top, matches, S(columnIndex), B(ascending), S(limit)));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return 0;
+}
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedTopWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex, jboolean ascending, jlong limit)
+  {
+      TR_ENTER()
+      if (limit < 1) {
+          ThrowException(env, IllegalArgument, "The limit must be 1 or higher.");
+          return 0;
+      }
+      try {
+          std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+          TableRef table = query->get_table();
+          if (!QUERY_VALID(env, query.get()) || !top_column_valid(env, table.get(), columnIndex)) {
+              return 0;
+          }
+
+          // run the query
+          std::unique_ptr<TableView> matches;
+          TableView tableView(find_all_sorted_top(*query, matches, S(columnIndex), B(ascending), S(limit)));
+
+          // handover the result
+          std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
+                  bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+          return reinterpret_cast<jlong>(handover.release());
+      } CATCH_STD()
+      return 0;
+  }
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewWithHandover
         (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
 {
@@ -1136,6 +1514,344 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSort
       return 0;
   }
 
+namespace {
+
+// Tracks the rows of one table modified by the transaction logs replayed during advance_read(). Row indices are
+// kept up to date with the rows moved or shifted by later instructions, so they refer to the latest version.
+class ModifiedRowsObserver : public _impl::NullInstructionObserver {
+public:
+    std::set<size_t> rows;
+    bool schema_changed = false;
+
+    explicit ModifiedRowsObserver(size_t table_ndx) : m_table_ndx(table_ndx) {}
+
+    bool select_table(size_t group_level_ndx, int levels, const size_t*)
+    {
+        m_selected = (levels == 0 && group_level_ndx == m_table_ndx);
+        return true;
+    }
+
+    bool insert_group_level_table(size_t, size_t, StringData) { schema_changed = true; return true; }
+    bool erase_group_level_table(size_t, size_t) { schema_changed = true; return true; }
+    bool rename_group_level_table(size_t, StringData) { schema_changed = true; return true; }
+
+    bool insert_empty_rows(size_t row_ndx, size_t num_rows_to_insert, size_t prior_num_rows, bool unordered)
+    {
+        if (m_selected && !unordered && row_ndx < prior_num_rows) {
+            shift_rows(row_ndx, static_cast<std::ptrdiff_t>(num_rows_to_insert));
+        }
+        return true;
+    }
+
+    bool erase_rows(size_t row_ndx, size_t num_rows_to_erase, size_t prior_num_rows, bool unordered)
+    {
+        if (!m_selected) {
+            return true;
+        }
+        if (unordered) {
+            // move_last_over(): the last row takes the place of the erased one
+            for (size_t i = 0; i < num_rows_to_erase; ++i) {
+                size_t last_row_ndx = prior_num_rows - 1 - i;
+                rows.erase(row_ndx + i);
+                if (rows.erase(last_row_ndx) != 0) {
+                    rows.insert(row_ndx + i);
+                }
+            }
+        } else {
+            rows.erase(rows.lower_bound(row_ndx), rows.lower_bound(row_ndx + num_rows_to_erase));
+            shift_rows(row_ndx + num_rows_to_erase, -static_cast<std::ptrdiff_t>(num_rows_to_erase));
+        }
+        return true;
+    }
+
+    bool clear_table()
+    {
+        if (m_selected) {
+            rows.clear();
+        }
+        return true;
+    }
+
+    bool set_int(size_t, size_t row_ndx, int_fast64_t) { return modify(row_ndx); }
+    bool set_bool(size_t, size_t row_ndx, bool) { return modify(row_ndx); }
+    bool set_float(size_t, size_t row_ndx, float) { return modify(row_ndx); }
+    bool set_double(size_t, size_t row_ndx, double) { return modify(row_ndx); }
+    bool set_string(size_t, size_t row_ndx, StringData) { return modify(row_ndx); }
+    bool set_binary(size_t, size_t row_ndx, BinaryData) { return modify(row_ndx); }
+    bool set_date_time(size_t, size_t row_ndx, DateTime) { return modify(row_ndx); }
+    bool set_table(size_t, size_t row_ndx) { return modify(row_ndx); }
+    bool set_mixed(size_t, size_t row_ndx, const Mixed&) { return modify(row_ndx); }
+    bool set_link(size_t, size_t row_ndx, size_t) { return modify(row_ndx); }
+    bool set_null(size_t, size_t row_ndx) { return modify(row_ndx); }
+    bool nullify_link(size_t, size_t row_ndx) { return modify(row_ndx); }
+    bool select_link_list(size_t, size_t row_ndx) { return modify(row_ndx); }
+
+private:
+    const size_t m_table_ndx;
+    bool m_selected = false;
+
+    bool modify(size_t row_ndx)
+    {
+        if (m_selected) {
+            rows.insert(row_ndx);
+        }
+        return true;
+    }
+
+    void shift_rows(size_t from_row_ndx, std::ptrdiff_t offset)
+    {
+        std::set<size_t> shifted(rows.begin(), rows.lower_bound(from_row_ndx));
+        for (auto it = rows.lower_bound(from_row_ndx); it != rows.end(); ++it) {
+            shifted.insert(*it + offset);
+        }
+        rows.swap(shifted);
+    }
+};
+
+} // anonymous namespace
+
+// Runs the handover query against the version it was exported from and against the latest version, and reports how
+// the rows of the results moved in between. Returns {handover TableView pointer, previous size, row mapping...}
+// where the mapping holds, for each row of the new results, its position in the previous results (or -1 if it was
+// not part of them), encoded as -(position + 2) if the row itself was modified. Only the handover pointer is
+// returned if the changes can't be determined.
+// queryPtr would be owned and released by this function
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHandoverAndChanges
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlongArray columnIndices, jbooleanArray ascending, jlong offset, jlong limit)
+  {
+      TR_ENTER()
+      try {
+          SharedGroup::Handover<Query> *handoverQueryPtr = HO(Query, queryPtr);
+          std::unique_ptr<SharedGroup::Handover<Query>> handoverQuery(handoverQueryPtr);
+
+          std::vector<size_t> indices;
+          std::vector<bool> ascendings;
+          {
+              JniLongArray long_arr(env, columnIndices);
+              JniBooleanArray bool_arr(env, ascending);
+              if (long_arr.len() != bool_arr.len()) {
+                  ThrowException(env, IllegalArgument, "Number of fields and sort orders do not match.");
+                  return NULL;
+              }
+              for (jsize i = 0; i < long_arr.len(); ++i) {
+                  indices.push_back(S(long_arr[i]));
+                  ascendings.push_back(B(bool_arr[i]));
+              }
+          }
+
+          // import the query at the version of the caller
+          SG(bgSharedGroupPtr)->end_read();
+          SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
+          std::unique_ptr<Query> query = SG(bgSharedGroupPtr)->import_from_handover(std::move(handoverQuery));
+          TableRef table = query->get_table();
+          if (!QUERY_VALID(env, query.get())) {
+              return NULL;
+          }
+          for (size_t column_ndx : indices) {
+              if (!COL_INDEX_VALID(env, table.get(), column_ndx)) {
+                  return NULL;
+              }
+          }
+
+          // row accessors follow their rows through the transaction logs, and are detached if the row is erased
+          std::unique_ptr<TableView> previous_matches;
+          TableView previous_view(find_all_ordered(*query, previous_matches, indices, ascendings, S(offset),
+                  S(limit)));
+          std::vector<Row> previous_rows;
+          previous_rows.reserve(previous_view.size());
+          for (size_t i = 0; i < previous_view.size(); ++i) {
+              previous_rows.push_back(table->get(previous_view.get_source_ndx(i)));
+          }
+
+          ModifiedRowsObserver observer(table->get_index_in_group());
+          LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr), observer);
+
+          std::unique_ptr<TableView> matches;
+          TableView tableView(find_all_ordered(*query, matches, indices, ascendings, S(offset), S(limit)));
+
+          std::vector<jlong> changes;
+          if (!observer.schema_changed) {
+              changes.reserve(tableView.size() + 2);
+              changes.push_back(0); // the handover pointer
+              changes.push_back(static_cast<jlong>(previous_rows.size()));
+              changes.insert(changes.end(), tableView.size(), -1);
+
+              std::unordered_map<size_t, size_t> positions(tableView.size());
+              for (size_t i = 0; i < tableView.size(); ++i) {
+                  positions[tableView.get_source_ndx(i)] = i;
+              }
+              for (size_t i = 0; i < previous_rows.size(); ++i) {
+                  if (!previous_rows[i].is_attached()) {
+                      continue;
+                  }
+                  size_t row_ndx = previous_rows[i].get_index();
+                  auto position = positions.find(row_ndx);
+                  if (position != positions.end()) {
+                      bool modified = observer.rows.count(row_ndx) != 0;
+                      changes[position->second + 2] = modified ? -static_cast<jlong>(i + 2) : static_cast<jlong>(i);
+                  }
+              }
+          } else {
+              changes.push_back(0);
+          }
+          previous_rows.clear();
+
+          // handover the result
+          std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+          changes[0] = reinterpret_cast<jlong>(handover.get());
+
+          jlongArray result = env->NewLongArray(changes.size());
+          if (result == NULL) {
+              ThrowException(env, OutOfMemory, "Could not allocate memory to return the changes.");
+              return NULL;
+          }
+          env->SetLongArrayRegion(result, 0, changes.size(), changes.data());
+          handover.release();
+          return result;
+      } CATCH_STD()
+      return NULL;
+  }
+
+namespace {
+
+enum class Aggregate { Sum, Average, Minimum, Maximum };
+
+// Runs an aggregate of a handover query, returns a Long, Float or Double depending on the column type (always a
+// Double for averages, a Long in seconds for the minimum or maximum of a date column), or NULL if there is no value
+// to return (the minimum or maximum of an empty result).
+jobject aggregate_with_handover(JNIEnv* env, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr,
+                                jlong columnIndex, Aggregate aggregate)
+{
+    std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+    TableRef table = query->get_table();
+    if (!QUERY_VALID(env, query.get()) || !COL_INDEX_VALID(env, table.get(), columnIndex)) {
+        return NULL;
+    }
+
+    size_t col = S(columnIndex);
+    size_t return_ndx = npos;
+    switch (table->get_column_type(col)) {
+        case type_Int:
+            switch (aggregate) {
+                case Aggregate::Sum: return NewLong(env, query->sum_int(col));
+                case Aggregate::Average: return NewDouble(env, query->average_int(col));
+                case Aggregate::Minimum: {
+                    int64_t result = query->minimum_int(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewLong(env, result) : NULL;
+                }
+                case Aggregate::Maximum: {
+                    int64_t result = query->maximum_int(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewLong(env, result) : NULL;
+                }
+            }
+            break;
+        case type_Float:
+            switch (aggregate) {
+                case Aggregate::Sum: return NewDouble(env, query->sum_float(col));
+                case Aggregate::Average: return NewDouble(env, query->average_float(col));
+                case Aggregate::Minimum: {
+                    float result = query->minimum_float(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewFloat(env, result) : NULL;
+                }
+                case Aggregate::Maximum: {
+                    float result = query->maximum_float(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewFloat(env, result) : NULL;
+                }
+            }
+            break;
+        case type_Double:
+            switch (aggregate) {
+                case Aggregate::Sum: return NewDouble(env, query->sum_double(col));
+                case Aggregate::Average: return NewDouble(env, query->average_double(col));
+                case Aggregate::Minimum: {
+                    double result = query->minimum_double(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewDouble(env, result) : NULL;
+                }
+                case Aggregate::Maximum: {
+                    double result = query->maximum_double(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewDouble(env, result) : NULL;
+                }
+            }
+            break;
+        case type_DateTime:
+            // dates are returned in seconds, like nativeMinimumDate() and nativeMaximumDate()
+            switch (aggregate) {
+                case Aggregate::Minimum: {
+                    DateTime result = query->minimum_int(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewLong(env, result.get_datetime()) : NULL;
+                }
+                case Aggregate::Maximum: {
+                    DateTime result = query->maximum_int(col, NULL, 0, size_t(-1), size_t(-1), &return_ndx);
+                    return (return_ndx != npos) ? NewLong(env, result.get_datetime()) : NULL;
+                }
+                default:
+                    break;
+            }
+            break;
+        default:
+            break;
+    }
+    ThrowException(env, IllegalArgument, "Invalid type - Only int, float, double or date fields can be aggregated.");
+    return NULL;
+}
+
+} // anonymous namespace
+
+// queryPtr would be owned and released by these functions
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeSumWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        return aggregate_with_handover(env, bgSharedGroupPtr, replicationPtr, queryPtr, columnIndex, Aggregate::Sum);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeAverageWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        return aggregate_with_handover(env, bgSharedGroupPtr, replicationPtr, queryPtr, columnIndex, Aggregate::Average);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMinimumWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        return aggregate_with_handover(env, bgSharedGroupPtr, replicationPtr, queryPtr, columnIndex, Aggregate::Minimum);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMaximumWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        return aggregate_with_handover(env, bgSharedGroupPtr, replicationPtr, queryPtr, columnIndex, Aggregate::Maximum);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        if (!QUERY_VALID(env, query.get())) {
+            return 0;
+        }
+        return static_cast<jlong>(query->count());
+    } CATCH_STD()
+    return 0;
+}
+
 // Integer Aggregates
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeSumInt(
@@ -255,6 +255,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeBetween__J_3JDD
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEqual__J_3JZ
   (JNIEnv *, jobject, jlong, jlongArray, jboolean);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeNotEqual
+ * Signature: (J[JZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual__J_3JZ
+  (JNIEnv *, jobject, jlong, jlongArray, jboolean);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeEqualDateTime
@@ -375,6 +383,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllSortedTop
+ * Signature: (JJJZJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedTop
+  (JNIEnv *, jobject, jlong, jlong, jlong, jboolean, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllWithHandover
@@ -407,6 +423,70 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWit
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSortedWithHandover
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jlongArray, jbooleanArray);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllWindowWithHandover
+ * Signature: (JJJJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWindowWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllSortedTopWithHandover
+ * Signature: (JJJJZJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedTopWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jboolean, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllWithHandoverAndChanges
+ * Signature: (JJJ[J[ZJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHandoverAndChanges
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray, jbooleanArray, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeSumWithHandover
+ * Signature: (JJJJ)Ljava/lang/Object;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeSumWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeAverageWithHandover
+ * Signature: (JJJJ)Ljava/lang/Object;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeAverageWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeMinimumWithHandover
+ * Signature: (JJJJ)Ljava/lang/Object;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMinimumWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeMaximumWithHandover
+ * Signature: (JJJJ)Ljava/lang/Object;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMaximumWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCountWithHandover
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCountWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeImportHandoverTableViewIntoSharedGroup
@@ -559,6 +639,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNull
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsEmpty
   (JNIEnv *, jobject, jlong, jlongArray);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J
+  (JNIEnv *, jobject, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[Ljava/lang/String;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2Z
+  (JNIEnv *, jobject, jlong, jlongArray, jobjectArray, jboolean);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeIsNotNull
@@ -119,6 +119,54 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeGetString
 JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_TableView_nativeGetByteArray
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetLongs
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDoubles
+ * Signature: (JJ)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDateTimes
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetDateTimes
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetStrings
+ * Signature: (JJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeFillLongs
+ * Signature: (JJLjava/nio/LongBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFillLongs
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeFillDoubles
+ * Signature: (JJLjava/nio/DoubleBuffer;J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFillDoubles
+  (JNIEnv *, jobject, jlong, jlong, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetMixedType
@@ -551,6 +599,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCopy
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopy
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGroupBy
+ * Signature: (JJJIJ)[Ljava/lang/Object;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint, jlong);
+
 #ifdef __cplusplus
 }
 #endif
@@ -374,6 +374,29 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeClose
     delete ROW(nativeRowPtr);
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeCloseAll
+  (JNIEnv *env, jclass, jlongArray nativeRowPtrs, jint count)
+{
+    TR_ENTER()
+    JniLongArray rowPtrs(env, nativeRowPtrs);
+    for (jint i = 0; i < count; ++i) {
+        delete ROW(rowPtrs[i]);
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeMoveTo
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong nativeTablePtr, jlong rowIndex)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!TBL_AND_ROW_INDEX_VALID(env, TBL(nativeTablePtr), rowIndex))
+        return;
+
+    try {
+        // reattaches the accessor, no new accessor is registered in the table
+        *ROW(nativeRowPtr) = (*TBL(nativeTablePtr))[ S(rowIndex) ];
+    } CATCH_STD()
+}
+
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeIsAttached
   (JNIEnv *, jobject, jlong nativeRowPtr)
 {
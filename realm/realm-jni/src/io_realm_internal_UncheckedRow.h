@@ -231,6 +231,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeNullifyLink
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeClose
   (JNIEnv *, jclass, jlong);
 
+/*
+ * Class:     io_realm_internal_UncheckedRow
+ * Method:    nativeCloseAll
+ * Signature: ([JI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeCloseAll
+  (JNIEnv *, jclass, jlongArray, jint);
+
+/*
+ * Class:     io_realm_internal_UncheckedRow
+ * Method:    nativeMoveTo
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeMoveTo
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_UncheckedRow
  * Method:    nativeIsAttached
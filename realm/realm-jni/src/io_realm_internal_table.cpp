@@ -15,6 +15,9 @@
  */
 
 #include <sstream>
+#include <string>
+#include <unordered_set>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -625,6 +628,72 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_Table_nativeGetByteArray(
     return tbl_GetByteArray<Table>(env, nativeTablePtr, columnIndex, rowIndex);  // noexcept
 }
 
+// Bulk getters
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return NULL;
+    try {
+        return tbl_GetLongs(env, TBL(nativeTablePtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return NULL;
+    try {
+        return tbl_GetDoubles(env, TBL(nativeTablePtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetDateTimes(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return NULL;
+    try {
+        return tbl_GetDateTimes(env, TBL(nativeTablePtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return NULL;
+    try {
+        return tbl_GetStrings(env, TBL(nativeTablePtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobject buffer, jlong position)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return;
+    try {
+        tbl_FillLongs(env, TBL(nativeTablePtr), columnIndex, buffer, position);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeFillDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobject buffer, jlong position)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return;
+    try {
+        tbl_FillDoubles(env, TBL(nativeTablePtr), columnIndex, buffer, position);
+    } CATCH_STD()
+}
+
 JNIEXPORT jint JNICALL Java_io_realm_internal_Table_nativeGetMixedType(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
 {
@@ -785,6 +854,359 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate(
     } CATCH_STD()
 }
 
+// Bulk setters: the values of an array are set in the rows [startRowIndex, startRowIndex + length of the array).
+
+static bool tbl_BulkRowsValid(JNIEnv* env, Table* pTable, jlong columnIndex, DataType expectType,
+                              jlong startRowIndex, jsize count)
+{
+    if (!TABLE_VALID(env, pTable))
+        return false;
+    if (columnIndex < 0 || S(columnIndex) >= pTable->get_column_count()) {
+        ThrowException(env, IndexOutOfBounds, "columnIndex is out of range.");
+        return false;
+    }
+    if (pTable->get_column_type( S(columnIndex)) != expectType) {
+        ThrowException(env, IllegalArgument, "ColumnType invalid.");
+        return false;
+    }
+    if (startRowIndex < 0 || S(startRowIndex) + S(count) > pTable->size()) {
+        ThrowException(env, IndexOutOfBounds, "rowIndex is out of range.");
+        return false;
+    }
+    return true;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jlongArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_Int, startRowIndex, count))
+        return;
+    try {
+        JniLongArray array(env, values);
+        for (jsize i = 0; i < count; ++i) {
+            pTable->set_int( S(columnIndex), S(startRowIndex + i), array[i]);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jbooleanArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_Bool, startRowIndex, count))
+        return;
+    try {
+        JniBooleanArray array(env, values);
+        for (jsize i = 0; i < count; ++i) {
+            pTable->set_bool( S(columnIndex), S(startRowIndex + i), array[i] != JNI_FALSE);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jfloatArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_Float, startRowIndex, count))
+        return;
+    try {
+        std::vector<jfloat> array(count);
+        env->GetFloatArrayRegion(values, 0, count, array.data());
+        for (jsize i = 0; i < count; ++i) {
+            pTable->set_float( S(columnIndex), S(startRowIndex + i), array[i]);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jdoubleArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_Double, startRowIndex, count))
+        return;
+    try {
+        std::vector<jdouble> array(count);
+        env->GetDoubleArrayRegion(values, 0, count, array.data());
+        for (jsize i = 0; i < count; ++i) {
+            pTable->set_double( S(columnIndex), S(startRowIndex + i), array[i]);
+        }
+    } CATCH_STD()
+}
+
+// the values are given in seconds, like nativeSetDate()
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jlongArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_DateTime, startRowIndex, count))
+        return;
+    try {
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        JniLongArray array(env, values);
+        for (jsize i = 0; i < count; ++i) {
+            if (array[i] != NULL_DATETIME_SECONDS) {
+                pTable->set_datetime( S(columnIndex), S(startRowIndex + i), array[i]);
+            } else if (isNullable) {
+                pTable->set_null( S(columnIndex), S(startRowIndex + i));
+            } else {
+                ThrowNullValueException(env, pTable, S(columnIndex));
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jobjectArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!tbl_BulkRowsValid(env, pTable, columnIndex, type_String, startRowIndex, count))
+        return;
+    try {
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL && !isNullable) {
+                ThrowNullValueException(env, pTable, S(columnIndex));
+                return;
+            }
+            JStringAccessor value2(env, value); // throws
+            pTable->set_string( S(columnIndex), S(startRowIndex + i), value2);
+            env->DeleteLocalRef(value);
+        }
+    } CATCH_STD()
+}
+
+// Bulk setters by row index: values[i] is set in the row rowIndices[i], in the order of the arrays. The optional
+// nulls array marks the values to set to null instead.
+
+static bool tbl_BulkRowIndicesValid(JNIEnv* env, Table* pTable, jlong columnIndex, DataType expectType,
+                                    JniLongArray& rowIndices)
+{
+    if (!TABLE_VALID(env, pTable))
+        return false;
+    if (columnIndex < 0 || S(columnIndex) >= pTable->get_column_count()) {
+        ThrowException(env, IndexOutOfBounds, "columnIndex is out of range.");
+        return false;
+    }
+    if (pTable->get_column_type( S(columnIndex)) != expectType) {
+        ThrowException(env, IllegalArgument, "ColumnType invalid.");
+        return false;
+    }
+    for (jsize i = 0; i < rowIndices.len(); ++i) {
+        if (rowIndices[i] < 0 || S(rowIndices[i]) >= pTable->size()) {
+            ThrowException(env, IndexOutOfBounds, "rowIndex is out of range.");
+            return false;
+        }
+    }
+    return true;
+}
+
+static std::vector<jboolean> tbl_GetNulls(JNIEnv* env, jbooleanArray nulls, jsize count)
+{
+    std::vector<jboolean> isNull(count, JNI_FALSE);
+    if (nulls != NULL) {
+        env->GetBooleanArrayRegion(nulls, 0, count, isNull.data());
+    }
+    return isNull;
+}
+
+// Sets the value of the row to null, or throws and returns false if the column isn't nullable
+static bool tbl_SetNull(JNIEnv* env, Table* pTable, jlong columnIndex, jlong rowIndex, bool isNullable)
+{
+    if (!isNullable) {
+        ThrowNullValueException(env, pTable, S(columnIndex));
+        return false;
+    }
+    pTable->set_null( S(columnIndex), S(rowIndex));
+    return true;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongsInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jlongArray values,
+    jbooleanArray nulls)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_Int, rows))
+            return;
+        JniLongArray array(env, values);
+        std::vector<jboolean> isNull = tbl_GetNulls(env, nulls, rows.len());
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (!isNull[i]) {
+                pTable->set_int( S(columnIndex), S(rows[i]), array[i]);
+            } else if (!tbl_SetNull(env, pTable, columnIndex, rows[i], isNullable)) {
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleansInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jbooleanArray values,
+    jbooleanArray nulls)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_Bool, rows))
+            return;
+        JniBooleanArray array(env, values);
+        std::vector<jboolean> isNull = tbl_GetNulls(env, nulls, rows.len());
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (!isNull[i]) {
+                pTable->set_bool( S(columnIndex), S(rows[i]), array[i] != JNI_FALSE);
+            } else if (!tbl_SetNull(env, pTable, columnIndex, rows[i], isNullable)) {
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloatsInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jfloatArray values,
+    jbooleanArray nulls)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_Float, rows))
+            return;
+        std::vector<jfloat> array(rows.len());
+        env->GetFloatArrayRegion(values, 0, rows.len(), array.data());
+        std::vector<jboolean> isNull = tbl_GetNulls(env, nulls, rows.len());
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (!isNull[i]) {
+                pTable->set_float( S(columnIndex), S(rows[i]), array[i]);
+            } else if (!tbl_SetNull(env, pTable, columnIndex, rows[i], isNullable)) {
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoublesInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jdoubleArray values,
+    jbooleanArray nulls)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_Double, rows))
+            return;
+        std::vector<jdouble> array(rows.len());
+        env->GetDoubleArrayRegion(values, 0, rows.len(), array.data());
+        std::vector<jboolean> isNull = tbl_GetNulls(env, nulls, rows.len());
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (!isNull[i]) {
+                pTable->set_double( S(columnIndex), S(rows[i]), array[i]);
+            } else if (!tbl_SetNull(env, pTable, columnIndex, rows[i], isNullable)) {
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+// the values are given in seconds, like nativeSetDates()
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDatesInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jlongArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_DateTime, rows))
+            return;
+        JniLongArray array(env, values);
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            if (array[i] != NULL_DATETIME_SECONDS) {
+                pTable->set_datetime( S(columnIndex), S(rows[i]), array[i]);
+            } else if (!tbl_SetNull(env, pTable, columnIndex, rows[i], isNullable)) {
+                return;
+            }
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStringsInRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndices, jobjectArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    try {
+        JniLongArray rows(env, rowIndices);
+        if (!tbl_BulkRowIndicesValid(env, pTable, columnIndex, type_String, rows))
+            return;
+        bool isNullable = pTable->is_nullable( S(columnIndex));
+        for (jsize i = 0; i < rows.len(); ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL && !isNullable) {
+                ThrowNullValueException(env, pTable, S(columnIndex));
+                return;
+            }
+            JStringAccessor value2(env, value); // throws
+            pTable->set_string( S(columnIndex), S(rows[i]), value2);
+            env->DeleteLocalRef(value);
+        }
+    } CATCH_STD()
+}
+
+// Returns the position of the first key already in the column or repeated in the array, or -1 if they are all unique.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateLong(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray keys)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return 0;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        JniLongArray array(env, keys);
+        std::unordered_set<jlong> batchKeys;
+        for (jsize i = 0; i < array.len(); ++i) {
+            if (!batchKeys.insert(array[i]).second ||
+                    pTable->find_first_int( S(columnIndex), array[i]) != realm::not_found) {
+                return i;
+            }
+        }
+        return -1;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateString(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray keys)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return 0;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        jsize count = env->GetArrayLength(keys);
+        std::unordered_set<std::string> batchKeys;
+        for (jsize i = 0; i < count; ++i) {
+            jstring key = static_cast<jstring>(env->GetObjectArrayElement(keys, i));
+            JStringAccessor key2(env, key); // throws
+            env->DeleteLocalRef(key);
+            StringData keyData = key2;
+            if (!batchKeys.insert(std::string(keyData.data(), keyData.size())).second ||
+                    pTable->find_first_string( S(columnIndex), keyData) != realm::not_found) {
+                return i;
+            }
+        }
+        return -1;
+    } CATCH_STD()
+    return 0;
+}
+
 /*
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteBuffer(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobject byteBuffer)
@@ -1199,6 +1621,50 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString(
     return 0;
 }
 
+// Looks up each of the values in a single call, the result holds the matching row indices or -1.
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        JniLongArray array(env, values);
+        std::vector<jlong> rowIndices(array.len());
+        for (jsize i = 0; i < array.len(); ++i) {
+            rowIndices[i] = to_jlong_or_not_found( pTable->find_first_int( S(columnIndex), array[i]) );
+        }
+        jlongArray result = env->NewLongArray(array.len());
+        if (result)
+            env->SetLongArrayRegion(result, 0, array.len(), rowIndices.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeFindFirstStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        jsize count = env->GetArrayLength(values);
+        std::vector<jlong> rowIndices(count);
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            JStringAccessor value2(env, value); // throws
+            env->DeleteLocalRef(value);
+            rowIndices[i] = to_jlong_or_not_found( pTable->find_first_string( S(columnIndex), value2) );
+        }
+        jlongArray result = env->NewLongArray(count);
+        if (result)
+            env->SetLongArrayRegion(result, 0, count, rowIndices.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 // FindAll
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindAllInt(
@@ -1683,3 +2149,28 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeHasSameSchema
 {
     return *TBL(thisTablePtr)->get_descriptor() == *TBL(otherTablePtr)->get_descriptor();
 }
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeHasColumnLayout
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jobjectArray columnNames, jlongArray columnTypes)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return JNI_FALSE;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        JniLongArray types(env, columnTypes);
+        jsize count = env->GetArrayLength(columnNames);
+        if (count != types.len() || pTable->get_column_count() != S(count))
+            return JNI_FALSE;
+        for (jsize i = 0; i < count; ++i) {
+            if (pTable->get_column_type( S(i)) != DataType(types[i]))
+                return JNI_FALSE;
+            jstring name = static_cast<jstring>(env->GetObjectArrayElement(columnNames, i));
+            JStringAccessor name2(env, name); // throws
+            env->DeleteLocalRef(name);
+            if (pTable->get_column_name( S(i)) != StringData(name2))
+                return JNI_FALSE;
+        }
+        return JNI_TRUE;
+    } CATCH_STD()
+    return JNI_FALSE;
+}
@@ -20,7 +20,11 @@
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
 #include "realm/array.hpp"
+#include <algorithm>
+#include <map>
 #include <ostream>
+#include <string>
+#include <vector>
 
 using namespace realm;
 
@@ -251,6 +255,72 @@ JNIEXPORT jbyteArray JNICALL Java_io_realm_internal_TableView_nativeGetByteArray
     return NULL;
 }
 
+// Bulk getters
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        return tbl_GetLongs(env, TV(nativeViewPtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_TableView_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        return tbl_GetDoubles(env, TV(nativeViewPtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetDateTimes(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        return tbl_GetDateTimes(env, TV(nativeViewPtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetStrings(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        return tbl_GetStrings(env, TV(nativeViewPtr), columnIndex);
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFillLongs(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jobject buffer, jlong position)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+        tbl_FillLongs(env, TV(nativeViewPtr), columnIndex, buffer, position);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFillDoubles(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jobject buffer, jlong position)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+        tbl_FillDoubles(env, TV(nativeViewPtr), columnIndex, buffer, position);
+    } CATCH_STD()
+}
+
 JNIEXPORT jint JNICALL Java_io_realm_internal_TableView_nativeGetMixedType(
     JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong rowIndex)
 {
@@ -1015,3 +1085,225 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync(
     } CATCH_STD()
     return 0;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCopy(
+    JNIEnv* env, jobject, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+        return 0;
+    try {
+        TableView* copy = new TableView(*TV(nativeViewPtr));
+        return reinterpret_cast<jlong>(copy);
+    } CATCH_STD()
+    return 0;
+}
+
+namespace {
+
+// Aggregates of the value column for one group, as numbered by TableOrView.PivotType
+enum GroupAggregate { group_count = 0, group_sum = 1, group_average = 2, group_minimum = 3, group_maximum = 4 };
+
+struct GroupValues {
+    int64_t count = 0; // rows of the group, or values of the value column for aggregates other than count
+    int64_t int_value = 0;
+    double double_value = 0;
+};
+
+template<class T>
+void add_value(GroupValues& group, GroupAggregate aggregate, T value, T& result)
+{
+    if (aggregate == group_minimum) {
+        result = (group.count == 0 || value < result) ? value : result;
+    } else if (aggregate == group_maximum) {
+        result = (group.count == 0 || value > result) ? value : result;
+    } else {
+        result += value;
+    }
+    ++group.count;
+}
+
+jobject new_key_array(JNIEnv* env, const std::map<int64_t, GroupValues>& groups, const std::vector<bool>& kept)
+{
+    std::vector<jlong> keys;
+    size_t i = 0;
+    for (auto it = groups.begin(); it != groups.end(); ++it, ++i) {
+        if (kept[i]) {
+            keys.push_back(it->first);
+        }
+    }
+    jlongArray result = env->NewLongArray(keys.size());
+    if (result != NULL) {
+        env->SetLongArrayRegion(result, 0, keys.size(), keys.data());
+    }
+    return result;
+}
+
+jobject new_key_array(JNIEnv* env, const std::map<std::string, GroupValues>& groups, const std::vector<bool>& kept)
+{
+    jsize size = static_cast<jsize>(std::count(kept.begin(), kept.end(), true));
+    jobjectArray result = env->NewObjectArray(size, env->FindClass("java/lang/String"), NULL);
+    if (result == NULL) {
+        return NULL;
+    }
+    jsize j = 0;
+    size_t i = 0;
+    for (auto it = groups.begin(); it != groups.end(); ++it, ++i) {
+        if (kept[i]) {
+            jstring key = to_jstring(env, StringData(it->first));
+            env->SetObjectArrayElement(result, j++, key);
+            env->DeleteLocalRef(key);
+        }
+    }
+    return result;
+}
+
+// Groups the rows of a view by the key returned by get_key and aggregates the value column of each group, in a single
+// pass over the view. Rows without a key and values that are null are skipped. Groups are ordered by key. Returns
+// {keys, values}, the values being a long[] for counts and for the sum, minimum and maximum of integers, and a double[]
+// otherwise. The minimum and maximum leave out groups without any value.
+template<class K, class GetKey>
+jobjectArray group_by(JNIEnv* env, TableView& view, size_t key_col, GetKey get_key, GroupAggregate aggregate,
+                      size_t value_col)
+{
+    const Table& table = view.get_parent();
+    DataType value_type = aggregate == group_count ? type_Int : table.get_column_type(value_col);
+    std::map<K, GroupValues> groups;
+    for (size_t i = 0; i < view.size(); ++i) {
+        size_t row_ndx = view.get_source_ndx(i);
+        if (table.is_null(key_col, row_ndx)) {
+            continue;
+        }
+        GroupValues& group = groups[get_key(table, row_ndx)];
+        if (aggregate == group_count) {
+            ++group.count;
+        } else if (table.is_null(value_col, row_ndx)) {
+            continue;
+        } else if (value_type == type_Int && aggregate != group_average) {
+            add_value(group, aggregate, table.get_int(value_col, row_ndx), group.int_value);
+        } else if (value_type == type_Int) {
+            add_value(group, aggregate, static_cast<double>(table.get_int(value_col, row_ndx)), group.double_value);
+        } else if (value_type == type_Float) {
+            add_value(group, aggregate, static_cast<double>(table.get_float(value_col, row_ndx)), group.double_value);
+        } else {
+            add_value(group, aggregate, table.get_double(value_col, row_ndx), group.double_value);
+        }
+    }
+
+    bool long_values = aggregate == group_count || (value_type == type_Int && aggregate != group_average);
+    bool skip_empty = aggregate == group_minimum || aggregate == group_maximum;
+    std::vector<bool> kept;
+    std::vector<jlong> long_results;
+    std::vector<jdouble> double_results;
+    for (auto it = groups.begin(); it != groups.end(); ++it) {
+        const GroupValues& group = it->second;
+        kept.push_back(!skip_empty || group.count != 0);
+        if (!kept.back()) {
+            continue;
+        }
+        if (aggregate == group_count) {
+            long_results.push_back(group.count);
+        } else if (long_values) {
+            long_results.push_back(group.int_value);
+        } else if (aggregate == group_average) {
+            double_results.push_back(group.count == 0 ? 0 : group.double_value / group.count);
+        } else {
+            double_results.push_back(group.double_value);
+        }
+    }
+
+    jobject keys = new_key_array(env, groups, kept);
+    if (keys == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the groups.");
+        return NULL;
+    }
+    jobject values;
+    if (long_values) {
+        jlongArray array = env->NewLongArray(long_results.size());
+        if (array != NULL) {
+            env->SetLongArrayRegion(array, 0, long_results.size(), long_results.data());
+        }
+        values = array;
+    } else {
+        jdoubleArray array = env->NewDoubleArray(double_results.size());
+        if (array != NULL) {
+            env->SetDoubleArrayRegion(array, 0, double_results.size(), double_results.data());
+        }
+        values = array;
+    }
+    if (values == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the groups.");
+        return NULL;
+    }
+
+    jobjectArray result = env->NewObjectArray(2, env->FindClass("java/lang/Object"), NULL);
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the groups.");
+        return NULL;
+    }
+    env->SetObjectArrayElement(result, 0, keys);
+    env->SetObjectArrayElement(result, 1, values);
+    return result;
+}
+
+// Floor division, so dates before 1970 go to the bucket starting before them
+int64_t bucket_start(int64_t seconds, int64_t bucket_seconds)
+{
+    int64_t bucket = seconds / bucket_seconds;
+    if (seconds % bucket_seconds < 0) {
+        --bucket;
+    }
+    return bucket * bucket_seconds;
+}
+
+} // anonymous namespace
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGroupBy(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong keyColumnIndex, jlong bucketSeconds, jint aggregate,
+    jlong valueColumnIndex)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+        !COL_INDEX_VALID(env, TV(nativeViewPtr), keyColumnIndex)) {
+        return NULL;
+    }
+    if (aggregate < group_count || aggregate > group_maximum) {
+        ThrowException(env, UnsupportedOperation, "No group by operation specified.");
+        return NULL;
+    }
+    if (aggregate != group_count && !COL_INDEX_VALID(env, TV(nativeViewPtr), valueColumnIndex)) {
+        return NULL;
+    }
+    try {
+        TableView& view = *TV(nativeViewPtr);
+        size_t key_col = S(keyColumnIndex);
+        size_t value_col = aggregate == group_count ? 0 : S(valueColumnIndex);
+        GroupAggregate group_aggregate = static_cast<GroupAggregate>(aggregate);
+        switch (view.get_column_type(key_col)) {
+            case type_Int:
+                return group_by<int64_t>(env, view, key_col,
+                        [key_col](const Table& table, size_t row_ndx) { return table.get_int(key_col, row_ndx); },
+                        group_aggregate, value_col);
+            case type_DateTime: {
+                int64_t bucket = bucketSeconds < 1 ? 1 : bucketSeconds;
+                return group_by<int64_t>(env, view, key_col,
+                        [key_col, bucket](const Table& table, size_t row_ndx) {
+                            // keys are returned in milliseconds, as java.util.Date uses
+                            return bucket_start(table.get_datetime(key_col, row_ndx).get_datetime(), bucket) * 1000;
+                        },
+                        group_aggregate, value_col);
+            }
+            case type_String:
+                return group_by<std::string>(env, view, key_col,
+                        [key_col](const Table& table, size_t row_ndx) {
+                            StringData value = table.get_string(key_col, row_ndx);
+                            return std::string(value.data(), value.size());
+                        },
+                        group_aggregate, value_col);
+            default:
+                ThrowException(env, IllegalArgument, "Group by is only supported on integer, date and String fields.");
+                return NULL;
+        }
+    } CATCH_STD()
+    return NULL;
+}
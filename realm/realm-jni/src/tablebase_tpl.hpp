@@ -17,6 +17,8 @@
 #ifndef REALM_JNI_TABLEBASE_TPL_HPP
 #define REALM_JNI_TABLEBASE_TPL_HPP
 
+#include <limits>
+#include <vector>
 
 template <class T>
 jbyteArray tbl_GetByteArray(JNIEnv* env, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
@@ -236,4 +238,167 @@ void row_nativeSetMixed(R* pRow, JNIEnv* env, jlong columnIndex, jobject jMixedV
 }
 
 
+// Bulk getters for Table or TableView: the values of a column in all the rows are copied with a single JNI call.
+
+template <class T>
+bool tbl_BulkColumnValid(JNIEnv* env, T* pTable, jlong columnIndex, DataType expectType1, DataType expectType2)
+{
+    if (columnIndex < 0 || S(columnIndex) >= pTable->get_column_count()) {
+        ThrowException(env, IndexOutOfBounds, "columnIndex is out of range.");
+        return false;
+    }
+    DataType type = pTable->get_column_type( S(columnIndex));
+    if (type != expectType1 && type != expectType2) {
+        ThrowException(env, IllegalArgument, "ColumnType invalid.");
+        return false;
+    }
+    if (pTable->size() > MAX_JSIZE) {
+        ThrowException(env, IllegalArgument, "Too many rows to be copied to an array.");
+        return false;
+    }
+    return true;
+}
+
+template <class T>
+jlongArray tbl_GetLongs(JNIEnv* env, T* pTable, jlong columnIndex)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_Int, type_Int))
+        return NULL;
+
+    jsize size = static_cast<jsize>(pTable->size());
+    std::vector<jlong> values(size);
+    for (jsize i = 0; i < size; ++i) {
+        values[i] = pTable->get_int( S(columnIndex), S(i));
+    }
+    jlongArray result = env->NewLongArray(size);
+    if (result)
+        env->SetLongArrayRegion(result, 0, size, values.data());
+    return result;
+}
+
+// float columns are widened, so a single array type serves both kinds of floating point columns
+template <class T>
+jdoubleArray tbl_GetDoubles(JNIEnv* env, T* pTable, jlong columnIndex)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_Double, type_Float))
+        return NULL;
+
+    jsize size = static_cast<jsize>(pTable->size());
+    std::vector<jdouble> values(size);
+    if (pTable->get_column_type( S(columnIndex)) == type_Float) {
+        for (jsize i = 0; i < size; ++i) {
+            values[i] = pTable->get_float( S(columnIndex), S(i));
+        }
+    }
+    else {
+        for (jsize i = 0; i < size; ++i) {
+            values[i] = pTable->get_double( S(columnIndex), S(i));
+        }
+    }
+    jdoubleArray result = env->NewDoubleArray(size);
+    if (result)
+        env->SetDoubleArrayRegion(result, 0, size, values.data());
+    return result;
+}
+
+inline bool tbl_BulkIsNull(Table* pTable, size_t columnIndex, size_t rowIndex)
+{
+    return pTable->is_null(columnIndex, rowIndex);
+}
+
+inline bool tbl_BulkIsNull(TableView* pView, size_t columnIndex, size_t rowIndex)
+{
+    return pView->get_parent().is_null(columnIndex, pView->get_source_ndx(rowIndex));
+}
+
+// Returned and taken for a null date by the bulk date accessors. No Java Date is that many seconds away from the epoch, see Table.toDates().
+const jlong NULL_DATETIME_SECONDS = std::numeric_limits<jlong>::min();
+
+// the values are returned in seconds, like the single DateTime getters
+template <class T>
+jlongArray tbl_GetDateTimes(JNIEnv* env, T* pTable, jlong columnIndex)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_DateTime, type_DateTime))
+        return NULL;
+
+    jsize size = static_cast<jsize>(pTable->size());
+    std::vector<jlong> values(size);
+    for (jsize i = 0; i < size; ++i) {
+        if (tbl_BulkIsNull(pTable, S(columnIndex), S(i))) {
+            values[i] = NULL_DATETIME_SECONDS;
+        } else {
+            values[i] = pTable->get_datetime( S(columnIndex), S(i)).get_datetime();
+        }
+    }
+    jlongArray result = env->NewLongArray(size);
+    if (result)
+        env->SetLongArrayRegion(result, 0, size, values.data());
+    return result;
+}
+
+template <class T>
+jobjectArray tbl_GetStrings(JNIEnv* env, T* pTable, jlong columnIndex)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_String, type_String))
+        return NULL;
+
+    static jclass stringClass = GetClass(env, "java/lang/String");
+    if (stringClass == NULL)
+        return NULL;
+
+    jsize size = static_cast<jsize>(pTable->size());
+    jobjectArray result = env->NewObjectArray(size, stringClass, NULL);
+    if (result == NULL)
+        return NULL;
+    for (jsize i = 0; i < size; ++i) {
+        jstring value = to_jstring(env, pTable->get_string( S(columnIndex), S(i)));
+        env->SetObjectArrayElement(result, i, value);
+        // the local references would overflow the local reference table for large tables
+        env->DeleteLocalRef(value);
+    }
+    return result;
+}
+
+// Copies the values of an integer column to a direct LongBuffer in the native byte order, starting at position.
+template <class T>
+void tbl_FillLongs(JNIEnv* env, T* pTable, jlong columnIndex, jobject buffer, jlong position)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_Int, type_Int))
+        return;
+
+    jlong* values = static_cast<jlong*>(env->GetDirectBufferAddress(buffer));
+    if (values == NULL || position < 0 ||
+            S(env->GetDirectBufferCapacity(buffer)) < S(position) + pTable->size()) {
+        ThrowException(env, IllegalArgument, "The buffer must be a direct buffer with enough room for all the rows.");
+        return;
+    }
+    size_t size = pTable->size();
+    for (size_t i = 0; i < size; ++i) {
+        values[position + i] = pTable->get_int( S(columnIndex), i);
+    }
+}
+
+// Copies the values of a float or double column to a direct DoubleBuffer in the native byte order, starting at
+// position.
+template <class T>
+void tbl_FillDoubles(JNIEnv* env, T* pTable, jlong columnIndex, jobject buffer, jlong position)
+{
+    if (!tbl_BulkColumnValid(env, pTable, columnIndex, type_Double, type_Float))
+        return;
+
+    jdouble* values = static_cast<jdouble*>(env->GetDirectBufferAddress(buffer));
+    if (values == NULL || position < 0 ||
+            S(env->GetDirectBufferCapacity(buffer)) < S(position) + pTable->size()) {
+        ThrowException(env, IllegalArgument, "The buffer must be a direct buffer with enough room for all the rows.");
+        return;
+    }
+    size_t size = pTable->size();
+    bool isFloat = pTable->get_column_type( S(columnIndex)) == type_Float;
+    for (size_t i = 0; i < size; ++i) {
+        values[position + i] = isFloat ? pTable->get_float( S(columnIndex), i)
+                                       : pTable->get_double( S(columnIndex), i);
+    }
+}
+
+
 #endif // REALM_JNI_TABLEBASE_TPL_HPP
@@ -25,8 +25,11 @@ import android.test.InstrumentationTestCase;
 import junit.framework.AssertionFailedError;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -39,6 +42,7 @@ import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.StringOnly;
 import io.realm.instrumentation.MockActivityManager;
 import io.realm.proxy.HandlerProxy;
 
@@ -113,6 +117,250 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
     }
 
+    // with group commit, a failing transaction doesn't prevent the others of its group from being committed
+    public void testGroupedAsyncTransactions() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(3);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Realm[] realm = new Realm[1];
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final AtomicInteger numberOfSuccesses = new AtomicInteger(0);
+        final AtomicInteger numberOfErrors = new AtomicInteger(0);
+        final RealmConfiguration[] realmConfiguration = new RealmConfiguration[1];
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                try {
+                    realmConfiguration[0] = new RealmConfiguration.Builder(getInstrumentation().getTargetContext())
+                            .name("testGroupedAsyncTransactions")
+                            .groupAsyncTransactions()
+                            .build();
+                    Realm.deleteRealm(realmConfiguration[0]);
+                    realm[0] = Realm.getInstance(realmConfiguration[0]);
+
+                    Realm.Transaction.Callback callback = new Realm.Transaction.Callback() {
+                        @Override
+                        public void onSuccess() {
+                            numberOfSuccesses.incrementAndGet();
+                            signalCallbackFinished.countDown();
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            numberOfErrors.incrementAndGet();
+                            signalCallbackFinished.countDown();
+                        }
+                    };
+                    for (int i = 0; i < 3; i++) {
+                        final String name = "Owner " + i;
+                        realm[0].executeTransaction(new Realm.Transaction() {
+                            @Override
+                            public void execute(Realm realm) {
+                                realm.createObject(Owner.class).setName(name);
+                                if (name.equals("Owner 1")) {
+                                    throw new RuntimeException("Boom");
+                                }
+                            }
+                        }, callback);
+                    }
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    while (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm.length > 0 && realm[0] != null) {
+                        realm[0].close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+
+        assertEquals(2, numberOfSuccesses.get());
+        assertEquals(1, numberOfErrors.get());
+        Realm checkRealm = Realm.getInstance(realmConfiguration[0]);
+        try {
+            assertEquals(2, checkRealm.allObjects(Owner.class).size());
+            assertEquals(0, checkRealm.where(Owner.class).equalTo("name", "Owner 1").count());
+        } finally {
+            checkRealm.close();
+        }
+    }
+
+    // an Error thrown by a grouped transaction fails its group, but not the transactions submitted later
+    public void testGroupedAsyncTransactionsAfterError() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(2);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Realm[] realm = new Realm[1];
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final AtomicInteger numberOfSuccesses = new AtomicInteger(0);
+        final AtomicInteger numberOfErrors = new AtomicInteger(0);
+        final RealmConfiguration[] realmConfiguration = new RealmConfiguration[1];
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                try {
+                    realmConfiguration[0] = new RealmConfiguration.Builder(getInstrumentation().getTargetContext())
+                            .name("testGroupedAsyncTransactionsAfterError")
+                            .groupAsyncTransactions()
+                            .build();
+                    Realm.deleteRealm(realmConfiguration[0]);
+                    realm[0] = Realm.getInstance(realmConfiguration[0]);
+
+                    final Realm.Transaction.Callback laterCallback = new Realm.Transaction.Callback() {
+                        @Override
+                        public void onSuccess() {
+                            numberOfSuccesses.incrementAndGet();
+                            signalCallbackFinished.countDown();
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            numberOfErrors.incrementAndGet();
+                            signalCallbackFinished.countDown();
+                        }
+                    };
+                    realm[0].executeTransaction(new Realm.Transaction() {
+                        @Override
+                        public void execute(Realm realm) {
+                            realm.createObject(Owner.class).setName("Failed");
+                            throw new AssertionError("Boom");
+                        }
+                    }, new Realm.Transaction.Callback() {
+                        @Override
+                        public void onError(Exception e) {
+                            numberOfErrors.incrementAndGet();
+                            signalCallbackFinished.countDown();
+                            realm[0].executeTransaction(new Realm.Transaction() {
+                                @Override
+                                public void execute(Realm realm) {
+                                    realm.createObject(Owner.class).setName("Later");
+                                }
+                            }, laterCallback);
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    while (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm.length > 0 && realm[0] != null) {
+                        realm[0].close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+
+        assertEquals(1, numberOfSuccesses.get());
+        assertEquals(1, numberOfErrors.get());
+        Realm checkRealm = Realm.getInstance(realmConfiguration[0]);
+        try {
+            assertEquals(1, checkRealm.allObjects(Owner.class).size());
+            assertEquals("Later", checkRealm.allObjects(Owner.class).first().getName());
+        } finally {
+            checkRealm.close();
+        }
+    }
+
+    // the JSON array is written in chunks, with one progress notification per chunk
+    public void testCreateAllFromJsonAsync() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Realm[] realm = new Realm[1];
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final List<Long> progress = new ArrayList<Long>();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                try {
+                    realm[0] = openRealmInstance("testCreateAllFromJsonAsync");
+
+                    StringBuilder json = new StringBuilder("[");
+                    for (int i = 0; i < 25; i++) {
+                        json.append(i == 0 ? "" : ",").append("{ \"name\": \"Dog ").append(i).append("\" }");
+                    }
+                    json.append("]");
+
+                    realm[0].createAllFromJsonAsync(Dog.class, TestHelper.stringToStream(json.toString()), 10,
+                            new Realm.JsonImportCallback() {
+                        @Override
+                        public void onProgress(long importedCount) {
+                            progress.add(importedCount);
+                        }
+
+                        @Override
+                        public void onSuccess(long importedCount) {
+                            try {
+                                assertEquals(25, importedCount);
+                                assertEquals(Arrays.asList(10L, 20L, 25L), progress);
+                                assertEquals(25, realm[0].allObjects(Dog.class).size());
+                                assertEquals("Dog 24", realm[0].where(Dog.class).findAll().last().getName());
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                            } finally {
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+
+                        @Override
+                        public void onError(Exception e) {
+                            threadAssertionError[0] = e;
+                            signalCallbackFinished.countDown();
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm.length > 0 && realm[0] != null) {
+                        realm[0].close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
     // ************************************
     // *** promises based async queries ***
     // ************************************
@@ -1049,6 +1297,416 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
     }
 
+    // a commit to a table not observed by the async query should not re-run it
+    // nor trigger its listeners, only the Realm listeners are notified
+    public void testFindAllAsyncNotUpdatedByUnrelatedCommit() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllAsyncNotUpdatedByUnrelatedCommit");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    final AtomicInteger numberOfResultsNotifications = new AtomicInteger(0);
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class).findAllAsync();
+                    realmResults.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            if (numberOfResultsNotifications.incrementAndGet() == 1) {
+                                // write to a table not linked from AllTypes
+                                new Thread() {
+                                    @Override
+                                    public void run() {
+                                        Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                        bgRealm.beginTransaction();
+                                        bgRealm.createObject(StringOnly.class).setChars("unrelated");
+                                        bgRealm.commitTransaction();
+                                        bgRealm.close();
+                                    }
+                                }.start();
+                            }
+                        }
+                    });
+
+                    final Realm finalRealm = realm;
+                    realm.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                assertEquals(1, finalRealm.allObjects(StringOnly.class).size());
+                                assertEquals(1, numberOfResultsNotifications.get());
+                                assertEquals(10, realmResults.size());
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                            } finally {
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
+    // the worker thread reports which rows of the results were deleted, inserted and modified
+    public void testFindAllSortedAsyncChangeSet() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllSortedAsyncChangeSet");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .findAllSortedAsync("columnLong");
+                    final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+                    realmResults.addChangeListener(new RealmResultsChangeListener() {
+                        @Override
+                        public void onChange(RealmResultsChangeSet changeSet) {
+                            try {
+                                if (numberOfNotifications.incrementAndGet() == 1) {
+                                    assertEquals(0, changeSet.getDeletions().length);
+                                    assertEquals(10, changeSet.getInsertions().length);
+                                    new Thread() {
+                                        @Override
+                                        public void run() {
+                                            Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                            bgRealm.beginTransaction();
+                                            bgRealm.where(AllTypes.class).equalTo("columnLong", 0).findFirst().removeFromRealm();
+                                            bgRealm.where(AllTypes.class).equalTo("columnLong", 5).findFirst().setColumnString("modified");
+                                            bgRealm.createObject(AllTypes.class).setColumnLong(100);
+                                            bgRealm.commitTransaction();
+                                            bgRealm.close();
+                                        }
+                                    }.start();
+
+                                } else {
+                                    assertEquals(10, changeSet.getPreviousSize());
+                                    assertTrue(Arrays.equals(new int[]{0}, changeSet.getDeletions()));
+                                    assertTrue(Arrays.equals(new int[]{9}, changeSet.getInsertions()));
+                                    assertTrue(Arrays.equals(new int[]{4}, changeSet.getModifications()));
+                                    assertEquals("modified", realmResults.get(4).getColumnString());
+                                    signalCallbackFinished.countDown();
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
+    // identical async queries are run once by the worker, each RealmResults gets its own copy of the result
+    public void testIdenticalFindAllAsyncUpdatedTogether() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testIdenticalFindAllAsyncUpdatedTogether");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    final RealmResults<AllTypes> realmResults1 = realm.where(AllTypes.class)
+                            .lessThan("columnLong", 5)
+                            .findAllSortedAsync("columnString");
+                    final RealmResults<AllTypes> realmResults2 = realm.where(AllTypes.class)
+                            .lessThan("columnLong", 5)
+                            .findAllSortedAsync("columnString");
+                    final AtomicInteger numberOfLoadedResults = new AtomicInteger(0);
+                    RealmChangeListener writeOnceLoaded = new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            if (numberOfLoadedResults.incrementAndGet() == 2) {
+                                new Thread() {
+                                    @Override
+                                    public void run() {
+                                        Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                        bgRealm.beginTransaction();
+                                        bgRealm.createObject(AllTypes.class).setColumnString("new data");
+                                        bgRealm.commitTransaction();
+                                        bgRealm.close();
+                                    }
+                                }.start();
+                            }
+                        }
+                    };
+                    realmResults1.addChangeListener(writeOnceLoaded);
+                    realmResults2.addChangeListener(writeOnceLoaded);
+
+                    realm.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                assertEquals(4, numberOfLoadedResults.get());
+                                assertEquals(6, realmResults1.size());
+                                assertEquals(6, realmResults2.size());
+                                for (int i = 0; i < realmResults1.size(); i++) {
+                                    assertEquals(realmResults1.get(i).getColumnString(),
+                                            realmResults2.get(i).getColumnString());
+                                }
+                                assertNotSame(realmResults1.getTable(), realmResults2.getTable());
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                            } finally {
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
+    // async query returning a page of the matches, kept up to date by background commits
+    public void testFindAllAsyncWindow() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllAsyncWindow");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    try {
+                        realm.where(AllTypes.class).findAllAsync(0);
+                        fail("A limit of 0 should throw");
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                    try {
+                        realm.where(AllTypes.class).findAllAsync(-1, 10);
+                        fail("A negative offset should throw");
+                    } catch (IllegalArgumentException ignored) {
+                    }
+
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .greaterThan("columnLong", 1)
+                            .findAllAsync(1, 3);
+                    final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+                    realmResults.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                if (numberOfNotifications.incrementAndGet() == 1) {
+                                    assertEquals(3, realmResults.size());
+                                    assertEquals(3, realmResults.get(0).getColumnLong());
+                                    assertEquals(5, realmResults.get(2).getColumnLong());
+                                    new Thread() {
+                                        @Override
+                                        public void run() {
+                                            Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                            bgRealm.beginTransaction();
+                                            bgRealm.where(AllTypes.class).equalTo("columnLong", 3).findFirst()
+                                                    .setColumnLong(-1);
+                                            bgRealm.commitTransaction();
+                                            bgRealm.close();
+                                        }
+                                    }.start();
+
+                                } else {
+                                    // the object left the matches, the page moved by one
+                                    assertEquals(3, realmResults.size());
+                                    assertEquals(4, realmResults.get(0).getColumnLong());
+                                    assertEquals(6, realmResults.get(2).getColumnLong());
+                                    signalCallbackFinished.countDown();
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
+    // async query returning the first matches in sort order, looked for again after background commits
+    public void testFindAllSortedAsyncWithLimit() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllSortedAsyncWithLimit");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    try {
+                        realm.where(AllTypes.class).findAllSortedAsync("columnLong", RealmResults.SORT_ORDER_DESCENDING, 0);
+                        fail("A limit of 0 should throw");
+                    } catch (IllegalArgumentException ignored) {
+                    }
+
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .findAllSortedAsync("columnLong", RealmResults.SORT_ORDER_DESCENDING, 3);
+                    final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+                    realmResults.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                if (numberOfNotifications.incrementAndGet() == 1) {
+                                    assertEquals(3, realmResults.size());
+                                    assertEquals(9, realmResults.get(0).getColumnLong());
+                                    assertEquals(7, realmResults.get(2).getColumnLong());
+                                    new Thread() {
+                                        @Override
+                                        public void run() {
+                                            Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                            bgRealm.beginTransaction();
+                                            bgRealm.where(AllTypes.class).equalTo("columnLong", 9).findFirst()
+                                                    .setColumnLong(-1);
+                                            bgRealm.commitTransaction();
+                                            bgRealm.close();
+                                        }
+                                    }.start();
+
+                                } else {
+                                    // the first object dropped out of the first three, the fourth one took its place
+                                    assertEquals(3, realmResults.size());
+                                    assertEquals(8, realmResults.get(0).getColumnLong());
+                                    assertEquals(6, realmResults.get(2).getColumnLong());
+                                    signalCallbackFinished.countDown();
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
     // **********************************
     // *** 'findFirst' async queries  ***
     // **********************************
@@ -2313,6 +2971,104 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
     }
 
+    // **********************************
+    // ***   async aggregate queries  ***
+    // **********************************
+
+    // the aggregates are computed in the background then kept up to date
+    public void testAggregatesAsync() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testAggregatesAsync");
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    populateTestRealm(realm, 10);
+
+                    final RealmAggregate<Number> sum = realm.where(AllTypes.class).sumAsync("columnLong");
+                    final RealmAggregate<Number> max = realm.where(AllTypes.class).maxAsync("columnLong");
+                    final RealmAggregate<Long> count = realm.where(AllTypes.class).countAsync();
+                    final RealmAggregate<Date> minDate = realm.where(AllTypes.class).minimumDateAsync("columnDate");
+                    assertFalse(sum.isLoaded());
+                    assertNull(sum.get());
+
+                    // load() computes the value on the caller thread
+                    RealmAggregate<Double> average = realm.where(AllTypes.class).averageAsync("columnLong");
+                    assertTrue(average.load());
+                    assertTrue(average.isLoaded());
+                    assertEquals(4.5, average.get(), 0.0001);
+                    RealmAggregate<Date> maxDate = realm.where(AllTypes.class).maximumDateAsync("columnDate");
+                    assertTrue(maxDate.load());
+                    assertEquals(realm.where(AllTypes.class).maximumDate("columnDate"), maxDate.get());
+                    try {
+                        realm.where(AllTypes.class).minimumDateAsync("columnLong");
+                        fail();
+                    } catch (IllegalArgumentException ignored) {
+                    }
+
+                    final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+                    count.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                if (numberOfNotifications.incrementAndGet() == 1) {
+                                    assertEquals(10, count.get().longValue());
+                                    new Thread() {
+                                        @Override
+                                        public void run() {
+                                            Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                            bgRealm.beginTransaction();
+                                            bgRealm.createObject(AllTypes.class).setColumnLong(100);
+                                            bgRealm.commitTransaction();
+                                            bgRealm.close();
+                                        }
+                                    }.start();
+
+                                } else {
+                                    // updated together with the other aggregates
+                                    assertEquals(11, count.get().longValue());
+                                    assertEquals(145, sum.get().longValue());
+                                    assertEquals(100, max.get().longValue());
+                                    // the date of the new object is left to its default value
+                                    assertEquals(new Date(0), minDate.get());
+                                    signalCallbackFinished.countDown();
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
     // *** Helper methods ***
 
     // This could be done from #setUp but then we can't control
@@ -29,6 +29,7 @@ import io.realm.entities.Dog;
 import io.realm.entities.HumanModule;
 import io.realm.entities.Owner;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 
 public class RealmConfigurationTest extends AndroidTestCase {
 
@@ -198,6 +199,30 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testNullAsyncExecutorThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).asyncExecutor(null).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testDefaultAsyncExecutorIsShared() {
+        assertSame(Realm.asyncQueryExecutor, defaultConfig.getAsyncExecutor());
+        assertNull(defaultConfig.getAsyncExecutorOptions());
+    }
+
+    public void testAsyncExecutorOptions() {
+        AsyncExecutorOptions options = new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.CALLER_RUNS);
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext()).asyncExecutor(options).build();
+        assertSame(options, config.getAsyncExecutorOptions());
+        assertSame(RealmThreadPoolExecutor.getInstance(options), config.getAsyncExecutor());
+        assertNotSame(defaultConfig.getAsyncExecutor(), config.getAsyncExecutor());
+        // the executor isn't part of the equality of configurations
+        assertEquals(defaultConfig, config);
+        assertEquals(defaultConfig.hashCode(), config.hashCode());
+    }
+
     public void testSetModulesNonRealmModulesThrows() {
         // Test first argument
         try {
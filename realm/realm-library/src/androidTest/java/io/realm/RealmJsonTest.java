@@ -688,6 +688,37 @@ public class RealmJsonTest extends AndroidTestCase {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    public void testCreateOrUpdateAllInputStream_primaryKeyLast() throws IOException {
+        String json = "[" +
+                "{ \"columnString\": \"Foo\", \"columnDouble\": 1.5, \"columnLong\": 1 }," +
+                "{ \"columnRealmObject\": { \"name\": \"Fido\", \"id\": 1 }," +
+                "  \"columnRealmList\": [{ \"name\": \"Rex\", \"id\": 2 }], \"columnLong\": 2 }," +
+                "{ \"columnString\": \"Bar\", \"columnBoxedBoolean\": null, \"columnLong\": 1 }" +
+                "]";
+        testRealm.beginTransaction();
+        testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream(json));
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(AllTypesPrimaryKey.class).size());
+        AllTypesPrimaryKey obj1 = testRealm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 1).findFirst();
+        assertEquals("Bar", obj1.getColumnString());
+        assertEquals(1.5D, obj1.getColumnDouble());
+        AllTypesPrimaryKey obj2 = testRealm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 2).findFirst();
+        assertEquals("Fido", obj2.getColumnRealmObject().getName());
+        assertEquals("Rex", obj2.getColumnRealmList().first().getName());
+    }
+
+    public void testCreateOrUpdateAllInputStream_notAnArrayThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("[1]"));
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
     public void testCreateOrUpdateAllString() throws IOException {
         String json = TestHelper.streamToString(loadJsonFromAssets("list_alltypes_primarykey.json"));
         testRealm.beginTransaction();
@@ -35,6 +35,7 @@ import io.realm.entities.AllTypes;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
 import io.realm.entities.NullTypes;
+import io.realm.entities.Owner;
 import io.realm.entities.StringAndInt;
 import io.realm.entities.Thread;
 import io.realm.internal.ColumnType;
@@ -1165,4 +1166,68 @@ public class RealmObjectTest extends AndroidTestCase {
             }
         });
     }
+
+    public void testIdentityMapReturnsSameObject() {
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .name("identity.realm")
+                .useIdentityMap()
+                .build();
+        Realm.deleteRealm(config);
+        Realm realm = Realm.getInstance(config);
+        try {
+            realm.beginTransaction();
+            Owner owner = realm.createObject(Owner.class);
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Fido");
+            dog.setOwner(owner);
+            owner.getDogs().add(dog);
+            realm.commitTransaction();
+
+            Dog dogFromQuery = realm.where(Dog.class).findFirst();
+            assertSame(dog, dogFromQuery);
+            assertSame(dog, owner.getDogs().first());
+            assertSame(owner, dogFromQuery.getOwner());
+            assertSame(owner.getDogs(), dogFromQuery.getOwner().getDogs());
+        } finally {
+            realm.close();
+        }
+    }
+
+    public void testIdentityMapFollowsRemovedRows() {
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .name("identity.realm")
+                .useIdentityMap()
+                .build();
+        Realm.deleteRealm(config);
+        Realm realm = Realm.getInstance(config);
+        try {
+            realm.beginTransaction();
+            Dog dog1 = realm.createObject(Dog.class);
+            dog1.setName("Dog 1");
+            Dog dog2 = realm.createObject(Dog.class);
+            dog2.setName("Dog 2");
+            Dog dog3 = realm.createObject(Dog.class);
+            dog3.setName("Dog 3");
+            // the last row is moved over the first one
+            dog1.removeFromRealm();
+            realm.commitTransaction();
+
+            RealmResults<Dog> dogs = realm.allObjects(Dog.class);
+            assertEquals(2, dogs.size());
+            assertSame(dog3, dogs.get(0));
+            assertSame(dog2, dogs.get(1));
+            assertFalse(dog1.isValid());
+
+            realm.beginTransaction();
+            realm.clear(Dog.class);
+            Dog dog4 = realm.createObject(Dog.class);
+            dog4.setName("Dog 4");
+            realm.commitTransaction();
+
+            assertSame(dog4, realm.where(Dog.class).findFirst());
+            assertFalse(dog3.isValid());
+        } finally {
+            realm.close();
+        }
+    }
 }
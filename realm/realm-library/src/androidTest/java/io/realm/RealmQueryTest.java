@@ -35,6 +35,7 @@ import io.realm.entities.NullTypes;
 import io.realm.entities.Owner;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmError;
+import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnType;
 
 public class RealmQueryTest extends AndroidTestCase {
@@ -117,6 +118,224 @@ public class RealmQueryTest extends AndroidTestCase {
                 new Date(DECADE_MILLIS * 50)).count());
     }
 
+    public void testTypedQuery() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmResults<AllTypes> resultList = AllTypesQuery.where(testRealm).columnLong().between(0, 9).findAll();
+        assertEquals(10, resultList.size());
+
+        resultList = AllTypesQuery.where(testRealm)
+                .columnString().beginsWith("test data 1")
+                .columnLong().between(2, 20)
+                .findAll();
+        assertEquals(10, resultList.size());
+
+        resultList = AllTypesQuery.where(testRealm)
+                .beginGroup()
+                    .columnLong().equalTo(5)
+                    .or()
+                    .columnString().equalTo("TEST DATA 7", RealmQuery.CASE_INSENSITIVE)
+                .endGroup()
+                .findAll();
+        assertEquals(2, resultList.size());
+
+        assertEquals(testRealm.where(AllTypes.class).greaterThan(FIELD_FLOAT, 10.234567f).count(),
+                AllTypesQuery.where(testRealm).columnFloat().greaterThan(10.234567f).count());
+        assertEquals(TEST_OBJECTS_COUNT / 2,
+                AllTypesQuery.where(testRealm).columnDate().lessThan(new Date(0)).count());
+        assertEquals(testRealm.where(AllTypes.class).equalTo("columnBoolean", true).count(),
+                AllTypesQuery.where(testRealm).columnBoolean().equalTo(true).count());
+    }
+
+    public void testIn() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_LONG, new long[] {3, 7, 7, 150, 1000}).findAll();
+        assertEquals(3, resultList.size());
+
+        resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_STRING, new String[] {"test data 4", "TEST DATA 5", "foo"}).findAll();
+        assertEquals(1, resultList.size());
+        assertEquals(4, resultList.first().getColumnLong());
+
+        resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_STRING, new String[] {"test data 4", "TEST DATA 5"}, RealmQuery.CASE_INSENSITIVE).findAll();
+        assertEquals(2, resultList.size());
+
+        // the values are grouped, so they don't interfere with the other conditions
+        resultList = testRealm.where(AllTypes.class)
+                .lessThan(FIELD_LONG, 5)
+                .in(FIELD_LONG, new long[] {1, 10, 20})
+                .findAll();
+        assertEquals(1, resultList.size());
+        assertEquals(TEST_OBJECTS_COUNT - 3,
+                testRealm.where(AllTypes.class).not().in(FIELD_LONG, new long[] {1, 10, 20}).count());
+
+        // a set larger than the local reference table of JNI
+        long[] longValues = new long[2000];
+        String[] stringValues = new String[2000];
+        for (int i = 0; i < longValues.length; i++) {
+            longValues[i] = i;
+            stringValues[i] = "test data " + i;
+        }
+        assertEquals(TEST_OBJECTS_COUNT, testRealm.where(AllTypes.class).in(FIELD_LONG, longValues).count());
+        assertEquals(TEST_OBJECTS_COUNT, testRealm.where(AllTypes.class).in(FIELD_STRING, stringValues).count());
+    }
+
+    public void testInNullAndLinks() {
+        String[] values = {"a", null, "b"};
+        testRealm.beginTransaction();
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i];
+            NullTypes nullTypes = new NullTypes();
+            nullTypes.setId(i);
+            nullTypes.setFieldStringNull(value);
+            testRealm.copyToRealm(nullTypes);
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setOwner(testRealm.createObject(Owner.class));
+            dog.getOwner().setName(value == null ? "c" : value);
+        }
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.where(NullTypes.class)
+                .in(NullTypes.FIELD_STRING_NULL, new String[] {null, "b"}).count());
+        assertEquals(2, testRealm.where(Dog.class).in("owner.name", new String[] {"a", "c"}).count());
+
+        try {
+            testRealm.where(NullTypes.class).in(NullTypes.FIELD_STRING_NOT_NULL, new String[] {null});
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testInEmptyValuesThrows() {
+        try {
+            testRealm.where(AllTypes.class).in(FIELD_LONG, new long[0]);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).in(FIELD_STRING, (String[]) null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testPreparedQuery() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        PreparedRealmQuery<AllTypes> prepared = testRealm.where(AllTypes.class).prepare()
+                .beginsWith(FIELD_STRING)
+                .between(FIELD_LONG);
+        assertEquals(3, prepared.getParameterCount());
+
+        // same results as the equivalent RealmQuery, for different values
+        for (int i = 1; i < 5; i++) {
+            RealmResults<AllTypes> expected = testRealm.where(AllTypes.class)
+                    .beginsWith(FIELD_STRING, "test data " + i)
+                    .between(FIELD_LONG, 0, i * 30)
+                    .findAll();
+            RealmResults<AllTypes> resultList = prepared.bind("test data " + i, 0, i * 30L).findAll();
+            assertEquals(expected.size(), resultList.size());
+        }
+
+        prepared = testRealm.where(AllTypes.class).prepare()
+                .beginGroup()
+                    .equalTo(FIELD_LONG)
+                    .or()
+                    .equalTo(FIELD_STRING, RealmQuery.CASE_INSENSITIVE)
+                .endGroup()
+                .greaterThan(FIELD_DATE);
+        assertEquals(2, prepared.bind(5, "TEST DATA 150", new Date(-DECADE_MILLIS * TEST_OBJECTS_COUNT)).count());
+        assertEquals(1, prepared.bind(50, "TEST DATA 150", new Date(DECADE_MILLIS * 10)).count());
+
+        prepared = testRealm.where(AllTypes.class).prepare().in(FIELD_LONG).not().lessThan(FIELD_FLOAT);
+        assertEquals(2, prepared.bind(new long[] {1, 10, 100}, 5f).count());
+    }
+
+    public void testPreparedQueryOnResults() {
+        populateTestRealm();
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 5).findAll();
+
+        PreparedRealmQuery<AllTypes> prepared = results.where().prepare().notEqualTo(FIELD_LONG);
+        assertEquals(4, prepared.bind(2).count());
+        assertEquals(5, prepared.bind(7).count());
+    }
+
+    public void testPreparedQueryInvalidArguments() {
+        try {
+            testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 1).prepare();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+
+        try {
+            testRealm.where(AllTypes.class).prepare().greaterThan("columnBoolean");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        PreparedRealmQuery<AllTypes> prepared = testRealm.where(AllTypes.class).prepare().equalTo(FIELD_LONG);
+        try {
+            prepared.bind();
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            prepared.bind("1");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testPreparedQueryBindNull() {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            NullTypes nullTypes = testRealm.createObject(NullTypes.class);
+            nullTypes.setId(i + 1);
+            nullTypes.setFieldStringNull((i == 0) ? null : "String " + i);
+        }
+        testRealm.commitTransaction();
+
+        PreparedRealmQuery<NullTypes> prepared = testRealm.where(NullTypes.class).prepare()
+                .equalTo(NullTypes.FIELD_STRING_NULL);
+        // bind(null) passes a null array
+        assertEquals(1, prepared.bind((Object[]) null).count());
+        assertEquals(1, prepared.bind((Object) null).count());
+        assertEquals(1, prepared.bind("String 1").count());
+    }
+
+    public void testFieldPathsAreCached() {
+        assertNull(testRealm.columnIndices.getFieldPath(Dog.class, "owner.name"));
+
+        testRealm.where(Dog.class).equalTo("owner.name", "Tim").findAll();
+        ColumnIndices.FieldPath fieldPath = testRealm.columnIndices.getFieldPath(Dog.class, "owner.name");
+        assertNotNull(fieldPath);
+        assertEquals(2, fieldPath.columnIndices.length);
+        assertEquals(ColumnType.STRING, fieldPath.columnType);
+
+        // the type is still checked for cached paths
+        try {
+            testRealm.where(Dog.class).greaterThan("owner.name", 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        // invalid paths aren't cached
+        for (int i = 0; i < 2; i++) {
+            try {
+                testRealm.where(Dog.class).equalTo("owner.foo", "Tim");
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        assertNull(testRealm.columnIndices.getFieldPath(Dog.class, "owner.foo"));
+    }
+
     public void testRealmQueryGreaterThan() {
         final int TEST_OBJECTS_COUNT = 200;
         populateTestRealm(TEST_OBJECTS_COUNT);
@@ -543,6 +762,160 @@ public class RealmQueryTest extends AndroidTestCase {
         assertEquals(0, sortedList.last().getColumnLong());
     }
 
+    public void testFindAllSortedWithLimit() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING, 20);
+        assertEquals(20, results.size());
+        assertEquals(199, results.first().getColumnLong());
+        assertEquals(180, results.last().getColumnLong());
+
+        results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 100)
+                .findAllSorted(FIELD_FLOAT, RealmResults.SORT_ORDER_DESCENDING, 3);
+        assertEquals(3, results.size());
+        assertEquals(99, results.get(0).getColumnLong());
+        assertEquals(97, results.get(2).getColumnLong());
+
+        results = testRealm.where(AllTypes.class)
+                .findAllSorted(FIELD_DATE, RealmResults.SORT_ORDER_ASCENDING, 1);
+        assertEquals(1, results.size());
+        assertEquals(0, results.first().getColumnLong());
+
+        // fewer matches than the limit
+        results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 5)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING, 20);
+        assertEquals(5, results.size());
+        assertEquals(4, results.first().getColumnLong());
+        assertEquals(0, results.last().getColumnLong());
+
+        // all the objects have the same value as the last one
+        results = testRealm.where(AllTypes.class)
+                .findAllSorted("columnDouble", RealmResults.SORT_ORDER_ASCENDING, 5);
+        assertEquals(TEST_OBJECTS_COUNT, results.size());
+    }
+
+    public void testFindAllSortedWithLimitAndOr() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        // the limit applies to all the matches, not only to the last condition
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class)
+                .lessThan(FIELD_LONG, 10).or().greaterThan(FIELD_LONG, 190)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_ASCENDING, 12);
+        assertEquals(12, results.size());
+        assertEquals(0, results.first().getColumnLong());
+        assertEquals(9, results.get(9).getColumnLong());
+        assertEquals(192, results.last().getColumnLong());
+    }
+
+    public void testFindAllSortedWithLimitLeavesOutNulls() {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            NullTypes nullTypes = testRealm.createObject(NullTypes.class);
+            nullTypes.setId(i + 1);
+            nullTypes.setFieldIntegerNull((i % 2 == 0) ? null : i);
+            nullTypes.setFieldDoubleNull((i == 1) ? Double.NaN : (double) i);
+        }
+        testRealm.commitTransaction();
+
+        RealmResults<NullTypes> results = testRealm.where(NullTypes.class)
+                .findAllSorted(NullTypes.FIELD_INTEGER_NULL, RealmResults.SORT_ORDER_ASCENDING, 8);
+        assertEquals(5, results.size());
+        for (NullTypes nullTypes : results) {
+            assertNotNull(nullTypes.getFieldIntegerNull());
+        }
+
+        results = testRealm.where(NullTypes.class)
+                .findAllSorted(NullTypes.FIELD_DOUBLE_NULL, RealmResults.SORT_ORDER_DESCENDING, 9);
+        assertEquals(9, results.size());
+        assertEquals(9D, results.first().getFieldDoubleNull());
+        assertEquals(0D, results.last().getFieldDoubleNull());
+
+        // no more matches than the limit
+        results = testRealm.where(NullTypes.class)
+                .findAllSorted(NullTypes.FIELD_INTEGER_NULL, RealmResults.SORT_ORDER_ASCENDING, 10);
+        assertEquals(10, results.size());
+    }
+
+    public void testFindAllSortedWithLimitIsUpdated() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING, 3);
+        assertEquals(197, results.last().getColumnLong());
+
+        testRealm.beginTransaction();
+        results.last().setColumnLong(500);
+        testRealm.commitTransaction();
+
+        assertEquals(3, results.size());
+        assertEquals(500, results.get(0).getColumnLong());
+        assertEquals(199, results.get(1).getColumnLong());
+        assertEquals(198, results.get(2).getColumnLong());
+    }
+
+    public void testPreparedQueryBooleanNotEqualTo() {
+        populateTestRealm();
+        PreparedRealmQuery<AllTypes> notTrue = testRealm.where(AllTypes.class).prepare().notEqualTo("columnBoolean");
+
+        assertEquals(testRealm.where(AllTypes.class).equalTo("columnBoolean", false).count(),
+                notTrue.bind(true).count());
+    }
+
+    public void testPrepareQueryOnResultsWithConditionsThrows() {
+        populateTestRealm();
+        RealmQuery<AllTypes> query = testRealm.allObjects(AllTypes.class).where().equalTo(FIELD_LONG, 1);
+
+        try {
+            query.prepare();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testFindAllSortedWithLimitIncludesNewTopObjects() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 1000)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING, 3);
+        assertEquals(3, results.size());
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnLong(500);
+        // doesn't fulfill the query conditions
+        testRealm.createObject(AllTypes.class).setColumnLong(2000);
+        testRealm.commitTransaction();
+
+        assertEquals(4, results.size());
+        assertEquals(500, results.get(0).getColumnLong());
+        assertEquals(199, results.get(1).getColumnLong());
+        assertEquals(197, results.get(3).getColumnLong());
+    }
+
+    public void testFindAllSortedWithLimitInvalidArgumentsThrows() {
+        populateTestRealm();
+
+        try {
+            testRealm.where(AllTypes.class).findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_ASCENDING, 0);
+            fail("A limit of 0 should throw");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).findAllSorted(FIELD_STRING, RealmResults.SORT_ORDER_ASCENDING, 5);
+            fail("String fields are not supported");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).findAllSorted("dont-exist", RealmResults.SORT_ORDER_ASCENDING, 5);
+            fail("Unknown fields should throw");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     public void testSubqueryScope() {
         populateTestRealm();
         RealmResults<AllTypes> result = testRealm.where(AllTypes.class).lessThan("columnLong", 5).findAll();
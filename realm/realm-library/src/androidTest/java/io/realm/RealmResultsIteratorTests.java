@@ -17,9 +17,11 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -28,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
 import io.realm.exceptions.RealmException;
 
 public class RealmResultsIteratorTests extends AndroidTestCase {
@@ -190,6 +193,83 @@ public class RealmResultsIteratorTests extends AndroidTestCase {
 
         assertEquals(sum(0, TEST_DATA_SIZE - 1), realmSum);
     }
+    public void testVisitAll() {
+        RealmResults<AllTypes> result = testRealm.where(AllTypes.class)
+                .findAllSorted("columnLong", RealmResults.SORT_ORDER_DESCENDING);
+
+        final long[] visited = new long[TEST_DATA_SIZE];
+        final int[] count = {0};
+        result.visitAll(new RealmVisitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                visited[count[0]++] = object.getColumnLong();
+            }
+        });
+
+        assertEquals(TEST_DATA_SIZE, count[0]);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertEquals(TEST_DATA_SIZE - 1 - i, visited[i]);
+        }
+    }
+
+    public void testVisitAllReusesTheObject() {
+        final List<AllTypes> visited = new ArrayList<AllTypes>();
+        testRealm.allObjects(AllTypes.class).visitAll(new RealmVisitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                visited.add(object);
+            }
+        });
+
+        assertEquals(TEST_DATA_SIZE, visited.size());
+        for (AllTypes object : visited) {
+            assertSame(visited.get(0), object);
+        }
+    }
+
+    public void testVisitAllReadsTheRealmListOfEachObject() {
+        testRealm.beginTransaction();
+        RealmResults<AllTypes> all = testRealm.allObjects(AllTypes.class);
+        for (int i = 0; i < all.size(); i++) {
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog " + all.get(i).getColumnLong());
+            all.get(i).getColumnRealmList().add(dog);
+        }
+        testRealm.commitTransaction();
+
+        final int[] count = {0};
+        testRealm.allObjects(AllTypes.class).visitAll(new RealmVisitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                // a RealmList cached for a previous row must not be returned
+                assertEquals(1, object.getColumnRealmList().size());
+                assertEquals("Dog " + object.getColumnLong(), object.getColumnRealmList().first().getName());
+                count[0]++;
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, count[0]);
+    }
+
+    public void testRemovingObjectsInsideVisitAll() {
+        RealmResults<AllTypes> result = testRealm.allObjects(AllTypes.class);
+
+        testRealm.beginTransaction();
+        try {
+            result.visitAll(new RealmVisitor<AllTypes>() {
+                @Override
+                public void visit(AllTypes object) {
+                    object.removeFromRealm();
+                }
+            });
+        } catch (ConcurrentModificationException ignored) {
+            return;
+        } finally {
+            testRealm.cancelTransaction();
+        }
+
+        fail("Modifying Realm while visiting is not allowed");
+    }
+
     // TODO: Should we reenable this test?
     public void DISABLEDtestIteratorRemove() {
         RealmResults<AllTypes> result = testRealm.allObjects(AllTypes.class);
@@ -18,6 +18,12 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -430,6 +436,168 @@ public class RealmResultsTest extends AndroidTestCase {
         assertEquals(3d, resultList.sum(NullTypes.FIELD_DOUBLE_NULL).doubleValue(), 0d);
     }
 
+    public void testGroupByString() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 3).findAll();
+
+        RealmGroupByResult counts = resultList.groupBy(FIELD_STRING).count();
+        assertEquals(3, counts.size());
+        assertTrue(Arrays.equals(new String[] {"test data 0", "test data 1", "test data 2"}, counts.getStringKeys()));
+        assertTrue(Arrays.equals(new long[] {1, 1, 1}, counts.getLongValues()));
+
+        // the groups are computed again from the current objects
+        testRealm.beginTransaction();
+        resultList.get(2).setColumnString("test data 0");
+        testRealm.commitTransaction();
+
+        counts = resultList.groupBy(FIELD_STRING).count();
+        assertEquals(2, counts.size());
+        assertEquals("test data 0", counts.getKey(0));
+        assertEquals(2L, counts.getValue(0));
+        assertEquals(1L, counts.getValue(1));
+    }
+
+    public void testGroupByLong() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 3).findAll();
+
+        RealmGroupByResult sums = resultList.groupBy(FIELD_LONG).sum(FIELD_DOUBLE);
+        assertTrue(Arrays.equals(new long[] {0, 1, 2}, sums.getLongKeys()));
+        assertEquals(3.1415, sums.getDoubleValues()[0], 0.0000001);
+        assertEquals(5.1415, sums.getDoubleValues()[2], 0.0000001);
+        try {
+            sums.getLongValues();
+            fail("The sums of a double field are double values");
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testGroupByDateBuckets() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+
+        // the dates are a year apart, and the first one starts a bucket of two years
+        RealmGroupBy<AllTypes> groupBy = resultList.groupBy(FIELD_DATE, 2 * 365, TimeUnit.DAYS);
+        RealmGroupByResult counts = groupBy.count();
+        assertEquals(5, counts.size());
+        assertEquals(new Date(YEAR_MILLIS * (-TEST_DATA_SIZE / 2)), counts.getKey(0));
+        assertEquals(2L, counts.getValue(4));
+
+        assertTrue(Arrays.equals(new long[] {1, 5, 9, 13, 17}, groupBy.sum(FIELD_LONG).getLongValues()));
+        assertTrue(Arrays.equals(new long[] {1, 3, 5, 7, 9}, groupBy.max(FIELD_LONG).getLongValues()));
+        assertEquals(1.234567f, groupBy.min(FIELD_FLOAT).getDoubleValues()[0], 0.0000001);
+        assertEquals(3.1415 + 8.5, groupBy.average(FIELD_DOUBLE).getValue(4).doubleValue(), 0.0000001);
+    }
+
+    public void testGroupByInvalidArgumentsThrows() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+
+        try {
+            resultList.groupBy("unknown");
+            fail("Unknown fields should throw");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.groupBy(FIELD_BOOLEAN);
+            fail("Boolean fields are not supported");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.groupBy(FIELD_LONG, 1, TimeUnit.DAYS);
+            fail("Only dates can be grouped in buckets");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.groupBy(FIELD_DATE, 10, TimeUnit.MILLISECONDS);
+            fail("Buckets shorter than a second should throw");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.groupBy(FIELD_LONG).sum(FIELD_STRING);
+            fail("Only number fields can be aggregated");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testBulkGetters() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING);
+
+        long[] longs = resultList.getLongs(FIELD_LONG);
+        double[] doubles = resultList.getDoubles(FIELD_DOUBLE);
+        double[] floats = resultList.getDoubles(FIELD_FLOAT);
+        Date[] dates = resultList.getDates(FIELD_DATE);
+        String[] strings = resultList.getStrings(FIELD_STRING);
+        assertEquals(TEST_DATA_SIZE, longs.length);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            AllTypes allTypes = resultList.get(i);
+            assertEquals(allTypes.getColumnLong(), longs[i]);
+            assertEquals(allTypes.getColumnDouble(), doubles[i], 0d);
+            assertEquals(allTypes.getColumnFloat(), (float) floats[i], 0f);
+            assertEquals(allTypes.getColumnDate(), dates[i]);
+            assertEquals(allTypes.getColumnString(), strings[i]);
+        }
+    }
+
+    public void testGetDatesWithNull() {
+        testRealm.beginTransaction();
+        testRealm.clear(NullTypes.class);
+        for (int i = 0; i < 3; i++) {
+            NullTypes nullTypes = testRealm.createObject(NullTypes.class);
+            nullTypes.setId(i + 1);
+            nullTypes.setFieldDateNull((i == 1) ? null : new Date(i * 1000));
+        }
+        testRealm.commitTransaction();
+
+        Date[] dates = testRealm.where(NullTypes.class).findAllSorted("id").getDates(NullTypes.FIELD_DATE_NULL);
+        assertEquals(3, dates.length);
+        assertEquals(new Date(0), dates[0]);
+        assertNull(dates[1]);
+        assertEquals(new Date(2000), dates[2]);
+    }
+
+    public void testBulkGettersWithBuffers() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+
+        // direct buffers are filled by the native code, heap buffers from an array
+        LongBuffer directLongs = ByteBuffer.allocateDirect(8 * (TEST_DATA_SIZE + 1))
+                .order(ByteOrder.nativeOrder()).asLongBuffer();
+        directLongs.put(-1);
+        resultList.getLongs(FIELD_LONG, directLongs);
+        assertEquals(TEST_DATA_SIZE + 1, directLongs.position());
+        DoubleBuffer heapDoubles = DoubleBuffer.allocate(TEST_DATA_SIZE);
+        resultList.getDoubles(FIELD_DOUBLE, heapDoubles);
+        assertEquals(TEST_DATA_SIZE, heapDoubles.position());
+
+        assertEquals(-1, directLongs.get(0));
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertEquals(i, directLongs.get(i + 1));
+            assertEquals(3.1415 + i, heapDoubles.get(i), 0d);
+        }
+
+        try {
+            resultList.getLongs(FIELD_LONG, LongBuffer.allocate(TEST_DATA_SIZE - 1));
+            fail();
+        } catch (BufferOverflowException ignored) {
+        }
+    }
+
+    public void testBulkGettersWrongFieldType() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        try {
+            resultList.getLongs(FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.getDoubles(FIELD_LONG);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.getStrings("nonExistingField");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     public void testRemove() {
         RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
         testRealm.beginTransaction();
@@ -30,8 +30,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.concurrent.Callable;
@@ -63,6 +66,7 @@ import io.realm.entities.PrimaryKeyMix;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.exceptions.RealmPrimaryKeyConstraintException;
 import io.realm.internal.Table;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
@@ -236,6 +240,19 @@ public class RealmTest extends AndroidTestCase {
         }
     }
 
+    public void testHandlersRegisteredWithTheirRealmPath() {
+        RealmConfiguration otherConfig = TestHelper.createConfiguration(getContext(), "test-otherhandlers");
+        Realm.deleteRealm(otherConfig);
+        Realm otherRealm = Realm.getInstance(otherConfig);
+        try {
+            assertEquals(testRealm.getPath(), Realm.getHandlers().get(testRealm.handler));
+            assertEquals(otherRealm.getPath(), Realm.getHandlers().get(otherRealm.handler));
+        } finally {
+            otherRealm.close();
+        }
+        assertEquals(1, Realm.getHandlers().size());
+    }
+
     public void testShouldCreateRealm() {
         assertNotNull("Realm.getInstance unexpectedly returns null", testRealm);
         assertTrue("Realm.getInstance does not contain expected table", testRealm.contains(AllTypes.class));
@@ -1314,6 +1331,97 @@ public class RealmTest extends AndroidTestCase {
         fail();
     }
 
+    public void testCreateAllFromColumns() {
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        Map<String, Object> columns = new HashMap<String, Object>();
+        columns.put("columnLong", new int[] {1, 2, 3});
+        columns.put("columnDouble", new double[] {1.5, 2.5, 3.5});
+        columns.put("columnBoolean", new boolean[] {true, false, true});
+        columns.put("columnDate", new Date[] {new Date(1000), new Date(2000), new Date(3000)});
+        columns.put("columnString", new String[] {"a", "b", "c"});
+        testRealm.createAllFromColumns(AllTypes.class, columns);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            AllTypes allTypes = results.get(i);
+            assertEquals(i + 1, allTypes.getColumnLong());
+            assertEquals(i + 1.5, allTypes.getColumnDouble());
+            assertEquals(i != 1, allTypes.isColumnBoolean());
+            assertEquals(new Date((i + 1) * 1000), allTypes.getColumnDate());
+            assertEquals(String.valueOf((char) ('a' + i)), allTypes.getColumnString());
+            // fields not given keep their default value
+            assertEquals(0f, allTypes.getColumnFloat());
+        }
+    }
+
+    public void testCreateAllFromColumnsWithNullDates() {
+        testRealm.beginTransaction();
+        Map<String, Object> columns = new HashMap<String, Object>();
+        columns.put("id", new long[] {1, 2, 3});
+        columns.put(NullTypes.FIELD_DATE_NULL, new Date[] {new Date(1000), null, new Date(3000)});
+        testRealm.createAllFromColumns(NullTypes.class, columns);
+        testRealm.commitTransaction();
+
+        RealmResults<NullTypes> results = testRealm.where(NullTypes.class).findAllSorted("id");
+        assertEquals(3, results.size());
+        assertEquals(new Date(1000), results.get(0).getFieldDateNull());
+        assertNull(results.get(1).getFieldDateNull());
+        assertEquals(new Date(3000), results.get(2).getFieldDateNull());
+    }
+
+    public void testCreateAllFromColumnsInvalidColumnsThrows() {
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        List<Map<String, Object>> invalidColumns = new ArrayList<Map<String, Object>>();
+        invalidColumns.add(Collections.<String, Object>singletonMap("columnLong", new double[] {1}));
+        invalidColumns.add(Collections.<String, Object>singletonMap("nonExisting", new long[] {1}));
+        invalidColumns.add(Collections.<String, Object>singletonMap("columnDate", new Date[] {null}));
+        invalidColumns.add(Collections.<String, Object>singletonMap("columnRealmObject", new long[] {1}));
+        Map<String, Object> differentLengths = new HashMap<String, Object>();
+        differentLengths.put("columnLong", new long[] {1, 2});
+        differentLengths.put("columnDouble", new double[] {1});
+        invalidColumns.add(differentLengths);
+
+        for (Map<String, Object> columns : invalidColumns) {
+            try {
+                testRealm.createAllFromColumns(AllTypes.class, columns);
+                fail("Invalid columns: " + columns.keySet());
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        // nothing is added when the columns are rejected
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+        testRealm.cancelTransaction();
+    }
+
+    public void testCreateAllFromColumnsWithPrimaryKey() {
+        testRealm.beginTransaction();
+        testRealm.createObject(PrimaryKeyAsLong.class).setId(1);
+        Map<String, Object> columns = new HashMap<String, Object>();
+        columns.put("id", new long[] {2, 3, 4});
+        columns.put("name", new String[] {"two", "three", "four"});
+        testRealm.createAllFromColumns(PrimaryKeyAsLong.class, columns);
+
+        assertEquals(4, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+        assertEquals("three", testRealm.where(PrimaryKeyAsLong.class).equalTo("id", 3).findFirst().getName());
+
+        // duplicates within the batch or with existing objects
+        for (long[] ids : new long[][] {{5, 5}, {6, 1}}) {
+            columns.put("id", ids);
+            columns.put("name", new String[] {"a", "b"});
+            try {
+                testRealm.createAllFromColumns(PrimaryKeyAsLong.class, columns);
+                fail();
+            } catch (RealmPrimaryKeyConstraintException ignored) {
+            }
+        }
+        assertEquals(4, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+        testRealm.cancelTransaction();
+    }
+
     public void testCopyToRealmOrUpdateNullPrimaryKeyThrows() {
         testRealm.beginTransaction();
         try {
@@ -1556,6 +1664,121 @@ public class RealmTest extends AndroidTestCase {
         assertEquals(1, testRealm.allObjects(DogPrimaryKey.class).size());
     }
 
+    public void testCopyOrUpdateIterableMixedObjects() {
+        testRealm.beginTransaction();
+        PrimaryKeyAsLong existing1 = testRealm.createObject(PrimaryKeyAsLong.class, 1);
+        existing1.setName("Foo");
+        PrimaryKeyAsLong existing2 = testRealm.createObject(PrimaryKeyAsLong.class, 2);
+        existing2.setName("Bar");
+        testRealm.commitTransaction();
+
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        for (long id : new long[] {2, 3, 1, 3}) {
+            PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+            obj.setId(id);
+            obj.setName("Object" + objects.size());
+            objects.add(obj);
+        }
+        objects.add(new PrimaryKeyAsString("Baz"));
+        objects.add(existing2);
+
+        testRealm.beginTransaction();
+        List<RealmObject> realmObjects = testRealm.copyToRealmOrUpdate(objects);
+        testRealm.commitTransaction();
+
+        assertEquals(objects.size(), realmObjects.size());
+        assertEquals(2, ((PrimaryKeyAsLong) realmObjects.get(0)).getId());
+        assertEquals(3, ((PrimaryKeyAsLong) realmObjects.get(1)).getId());
+        assertEquals(1, ((PrimaryKeyAsLong) realmObjects.get(2)).getId());
+        assertEquals(3, ((PrimaryKeyAsLong) realmObjects.get(3)).getId());
+        assertEquals("Baz", ((PrimaryKeyAsString) realmObjects.get(4)).getName());
+        assertSame(existing2, realmObjects.get(5));
+
+        assertEquals(3, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+        assertEquals(1, testRealm.allObjects(PrimaryKeyAsString.class).size());
+        assertEquals("Object2", testRealm.where(PrimaryKeyAsLong.class).equalTo("id", 1).findFirst().getName());
+        assertEquals("Object0", testRealm.where(PrimaryKeyAsLong.class).equalTo("id", 2).findFirst().getName());
+        // the last object with a key wins, as when the objects are copied one by one
+        assertEquals("Object3", testRealm.where(PrimaryKeyAsLong.class).equalTo("id", 3).findFirst().getName());
+    }
+
+    public void testCopyOrUpdateIterableKeepsTheOrderOfLinkedObjects() {
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        for (String name : new String[] {"a", "b", "c"}) {
+            DogPrimaryKey dog = new DogPrimaryKey();
+            dog.setId(1);
+            dog.setName(name);
+            if (name.equals("b")) {
+                objects.add(dog);
+            } else {
+                OwnerPrimaryKey owner = new OwnerPrimaryKey(objects.size(), "Owner " + name);
+                owner.setDog(dog);
+                objects.add(owner);
+            }
+        }
+
+        testRealm.beginTransaction();
+        testRealm.copyToRealmOrUpdate(objects);
+        testRealm.commitTransaction();
+
+        // the dog is written through the links and directly, the last one in the list wins
+        assertEquals(1, testRealm.allObjects(DogPrimaryKey.class).size());
+        assertEquals("c", testRealm.allObjects(DogPrimaryKey.class).first().getName());
+        assertEquals(2, testRealm.allObjects(OwnerPrimaryKey.class).size());
+    }
+
+    public void testCopyOrUpdateIterableNullPrimaryKeyThrows() {
+        testRealm.beginTransaction();
+        try {
+            testRealm.copyToRealmOrUpdate(Arrays.asList(new PrimaryKeyAsString("Foo"), new PrimaryKeyAsString()));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCopyOrUpdateIterableLinkedObjectBeforeTheDirectOne() {
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        for (String name : new String[] {"a", "b", "c"}) {
+            DogPrimaryKey dog = new DogPrimaryKey();
+            dog.setId(1);
+            dog.setName(name);
+            if (name.equals("c")) {
+                objects.add(dog);
+            } else {
+                OwnerPrimaryKey owner = new OwnerPrimaryKey(objects.size(), "Owner " + name);
+                owner.setDog(dog);
+                objects.add(owner);
+            }
+        }
+
+        testRealm.beginTransaction();
+        testRealm.copyToRealmOrUpdate(objects);
+        testRealm.commitTransaction();
+
+        // the dog written directly comes after the ones written through the links
+        assertEquals(1, testRealm.allObjects(DogPrimaryKey.class).size());
+        assertEquals("c", testRealm.allObjects(DogPrimaryKey.class).first().getName());
+    }
+
+    public void testCopyOrUpdateIterableNullPrimaryKeyAddsNoRow() {
+        PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+        obj.setId(1);
+        obj.setName("Foo");
+
+        testRealm.beginTransaction();
+        try {
+            // the keys of all the classes are checked before the rows of the first class are added
+            testRealm.copyToRealmOrUpdate(Arrays.<RealmObject>asList(obj, new PrimaryKeyAsString()));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            assertEquals(0, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
     public void testOpeningOfEncryptedRealmWithDifferentKeyInstances() {
         byte[] key1 = TestHelper.getRandomKey(42);
         byte[] key2 = TestHelper.getRandomKey(42);
@@ -1813,8 +2036,6 @@ public class RealmTest extends AndroidTestCase {
         realmFileReference.setAccessible(true);
         Field contextField = SharedGroup.class.getDeclaredField("context");
         contextField.setAccessible(true);
-        Field rowReferencesField = io.realm.internal.Context.class.getDeclaredField("rowReferences");
-        rowReferencesField.setAccessible(true);
 
         SharedGroupManager realmFile = (SharedGroupManager) realmFileReference.get(testRealm);
         assertNotNull(realmFile);
@@ -1822,9 +2043,6 @@ public class RealmTest extends AndroidTestCase {
         io.realm.internal.Context context = (io.realm.internal.Context) contextField.get(realmFile.getSharedGroup());
         assertNotNull(context);
 
-        Map<Reference<?>, Integer> rowReferences = (Map<Reference<?>, Integer>) rowReferencesField.get(context);
-        assertNotNull(rowReferences);
-
         // insert some rows, then give the thread some time to cleanup
         // we have 8 reference so far let's add more
         final int numberOfPopulateTest = 1000;
@@ -1841,7 +2059,7 @@ public class RealmTest extends AndroidTestCase {
         final int MAX_GC_RETRIES = 5;
         int numberOfRetries = 0;
         Log.i("GCing", "Hoping for the best");
-        while (rowReferences.size() > 0 && numberOfRetries < MAX_GC_RETRIES) {
+        while (context.getLiveReferenceCount() > 0 && numberOfRetries < MAX_GC_RETRIES) {
             SystemClock.sleep(TimeUnit.SECONDS.toMillis(1)); //1s
             TestHelper.allocGarbage(0);
             numberOfRetries++;
@@ -1850,13 +2068,13 @@ public class RealmTest extends AndroidTestCase {
         context.cleanNativeReferences();
 
         // we can't guarantee that all references have been GC'ed but we should detect a decrease
-        boolean isDecreasing = rowReferences.size() < totalNumberOfReferences;
+        boolean isDecreasing = context.getLiveReferenceCount() < totalNumberOfReferences;
         if (!isDecreasing) {
             fail("Native resources are not being closed");
 
         } else {
             android.util.Log.d(RealmTest.class.getName(), "References freed : "
-                    + (totalNumberOfReferences - rowReferences.size()) + " out of " + totalNumberOfReferences);
+                    + context.getReclaimedReferenceCount() + " out of " + totalNumberOfReferences);
         }
     }*/
 
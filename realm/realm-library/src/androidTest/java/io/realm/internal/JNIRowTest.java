@@ -20,7 +20,9 @@ import android.test.MoreAsserts;
 
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public class JNIRowTest extends TestCase {
 
@@ -123,4 +125,24 @@ public class JNIRowTest extends TestCase {
         assertTrue(row.isNull(colBoolIndex));
     }
 
+    public void testLiveReferenceCount() {
+        Table table = new Table();
+        table.addColumn(ColumnType.INTEGER, "integer");
+        for (int i = 0; i < 1000; i++) {
+            table.add(i);
+        }
+
+        // rows kept reachable can't be reclaimed, the registry has to grow and keep all of them
+        List<UncheckedRow> rows = new ArrayList<UncheckedRow>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(table.getUncheckedRow(i));
+        }
+        Context context = rows.get(0).context;
+        assertEquals(1000, context.getLiveReferenceCount());
+        assertEquals(0, context.getReclaimedReferenceCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, rows.get(i).getLong(0));
+        }
+    }
+
 }
@@ -375,6 +375,19 @@ public class JNITableTest extends AndroidTestCase {
         t.addColumn(STRING, "I am 63 characters.............................................");
     }
 
+    public void testHasColumnLayout() {
+        Table t = new Table();
+        t.addColumn(STRING, "name");
+        t.addColumn(INTEGER, "age");
+
+        assertTrue(t.hasColumnLayout(new String[] {"name", "age"}, new ColumnType[] {STRING, INTEGER}));
+        // Same columns in another order
+        assertFalse(t.hasColumnLayout(new String[] {"age", "name"}, new ColumnType[] {INTEGER, STRING}));
+        assertFalse(t.hasColumnLayout(new String[] {"name", "age"}, new ColumnType[] {STRING, DOUBLE}));
+        assertFalse(t.hasColumnLayout(new String[] {"name", "years"}, new ColumnType[] {STRING, INTEGER}));
+        assertFalse(t.hasColumnLayout(new String[] {"name"}, new ColumnType[] {STRING}));
+    }
+
     public void testTableNumbers() {
         Table t = new Table();
         t.addColumn(INTEGER, "intCol");
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import android.test.AndroidTestCase;
+
+import io.realm.Realm;
+import io.realm.RealmConfiguration;
+import io.realm.TestHelper;
+
+public class SharedGroupPoolTest extends AndroidTestCase {
+
+    private RealmConfiguration configuration;
+
+    @Override
+    protected void setUp() throws Exception {
+        configuration = TestHelper.createConfiguration(getContext(), "sharedgrouppool.realm");
+        Realm.deleteRealm(configuration);
+    }
+
+    public void testReleasedSharedGroupIsReused() {
+        Realm realm = Realm.getInstance(configuration);
+        try {
+            SharedGroup sharedGroup = SharedGroupPool.acquire(configuration);
+            SharedGroupPool.release(configuration, sharedGroup);
+            assertSame(sharedGroup, SharedGroupPool.acquire(configuration));
+            SharedGroupPool.release(configuration, sharedGroup);
+        } finally {
+            realm.close();
+        }
+    }
+
+    public void testIdleSharedGroupsClosedWithLastRealm() {
+        Realm realm = Realm.getInstance(configuration);
+        SharedGroup sharedGroup = SharedGroupPool.acquire(configuration);
+        SharedGroupPool.release(configuration, sharedGroup);
+        realm.close();
+
+        assertTrue(sharedGroup.isClosed());
+    }
+
+    public void testSharedGroupReleasedAfterLastRealmIsClosed() {
+        Realm realm = Realm.getInstance(configuration);
+        SharedGroup sharedGroup = SharedGroupPool.acquire(configuration);
+        realm.close();
+        SharedGroupPool.release(configuration, sharedGroup);
+
+        assertTrue(sharedGroup.isClosed());
+        assertTrue(Realm.deleteRealm(configuration));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.AsyncExecutorOptions;
+
+public class RealmThreadPoolExecutorTest extends TestCase {
+
+    private RealmThreadPoolExecutor executor;
+    private CountDownLatch releaseWorker;
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        if (releaseWorker != null) {
+            releaseWorker.countDown();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // keeps the single worker thread busy until releaseWorker is counted down
+    private void blockWorker() throws InterruptedException {
+        releaseWorker = new CountDownLatch(1);
+        final CountDownLatch workerBlocked = new CountDownLatch(1);
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                workerBlocked.countDown();
+                try {
+                    releaseWorker.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+    }
+
+    private Runnable record(final List<String> list, final String value) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                list.add(value);
+            }
+        };
+    }
+
+    public void testTasksRunByPriority() throws Exception {
+        executor = RealmThreadPoolExecutor.newInstance(
+                new AsyncExecutorOptions(1, 10, AsyncExecutorOptions.OverflowPolicy.ABORT));
+        List<String> order = new CopyOnWriteArrayList<String>();
+        blockWorker();
+
+        executor.submit(record(order, "write1"), RealmThreadPoolExecutor.PRIORITY_WRITE, null);
+        executor.submit(record(order, "write2"), RealmThreadPoolExecutor.PRIORITY_WRITE, null);
+        Future<?> last = executor.submit(record(order, "query"), RealmThreadPoolExecutor.PRIORITY_QUERY, null);
+        releaseWorker.countDown();
+        last.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(3, order.size());
+        assertEquals("query", order.get(0));
+        assertEquals("write1", order.get(1));
+        assertEquals("write2", order.get(2));
+    }
+
+    public void testSupersededTaskIsCancelled() throws Exception {
+        executor = RealmThreadPoolExecutor.newInstance(
+                new AsyncExecutorOptions(1, 10, AsyncExecutorOptions.OverflowPolicy.ABORT));
+        List<String> runs = new CopyOnWriteArrayList<String>();
+        Object key = new Object();
+        blockWorker();
+
+        Future<?> superseded = executor.submit(record(runs, "first"), RealmThreadPoolExecutor.PRIORITY_QUERY, key);
+        Future<?> latest = executor.submit(record(runs, "second"), RealmThreadPoolExecutor.PRIORITY_QUERY, key);
+        assertTrue(superseded.isCancelled());
+        assertEquals(1, executor.getQueue().size());
+
+        releaseWorker.countDown();
+        latest.get(5, TimeUnit.SECONDS);
+        assertEquals(1, runs.size());
+        assertEquals("second", runs.get(0));
+    }
+
+    public void testOverflowFallbackThread() throws Exception {
+        executor = RealmThreadPoolExecutor.newInstance(
+                new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.FALLBACK_THREAD));
+        final Thread[] runningThread = new Thread[1];
+        blockWorker();
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        Future<?> overflow = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                runningThread[0] = Thread.currentThread();
+            }
+        });
+        overflow.get(5, TimeUnit.SECONDS);
+        assertNotNull(runningThread[0]);
+        assertNotSame(Thread.currentThread(), runningThread[0]);
+    }
+
+    public void testOverflowCallerRuns() throws Exception {
+        executor = RealmThreadPoolExecutor.newInstance(
+                new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.CALLER_RUNS));
+        final Thread[] runningThread = new Thread[1];
+        blockWorker();
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        Future<?> overflow = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                runningThread[0] = Thread.currentThread();
+            }
+        });
+        assertTrue(overflow.isDone());
+        assertSame(Thread.currentThread(), runningThread[0]);
+    }
+
+    public void testOverflowAbort() throws Exception {
+        executor = RealmThreadPoolExecutor.newInstance(
+                new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.ABORT));
+        blockWorker();
+        Runnable noop = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        executor.submit(noop);
+        try {
+            executor.submit(noop);
+            fail();
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    public void testOptionsInvalidArgumentsThrows() {
+        try {
+            new AsyncExecutorOptions(0, 1, AsyncExecutorOptions.OverflowPolicy.ABORT);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            new AsyncExecutorOptions(1, 0, AsyncExecutorOptions.OverflowPolicy.ABORT);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            new AsyncExecutorOptions(1, 1, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testEqualOptionsShareTheExecutor() {
+        AsyncExecutorOptions options = new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.ABORT);
+        assertSame(RealmThreadPoolExecutor.getInstance(options), RealmThreadPoolExecutor.getInstance(
+                new AsyncExecutorOptions(1, 1, AsyncExecutorOptions.OverflowPolicy.ABORT)));
+        assertNotSame(RealmThreadPoolExecutor.getInstance(options), RealmThreadPoolExecutor.getInstance());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Settings of the executor running the async queries and transactions of a Realm, see
+ * {@link RealmConfiguration.Builder#asyncExecutor(AsyncExecutorOptions)}. The Realms configured with equal options
+ * share the same executor.
+ * <p>
+ * Waiting tasks are ordered by priority, queries before transactions, and an update of async queries supersedes the
+ * pending one of the same thread. Once the queue is full the {@link OverflowPolicy} decides what happens to new tasks.
+ */
+public final class AsyncExecutorOptions {
+
+    /**
+     * What happens to a task submitted while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The task is run by a single fallback thread, shared by the executors using this policy, so async operations
+         * stay asynchronous. The fallback thread has its own bounded queue, tasks submitted while it is full too are
+         * rejected with a {@link RejectedExecutionException}. This is the policy of the default executor.
+         */
+        FALLBACK_THREAD,
+        /**
+         * The task is run by the submitting thread, which makes the async operation synchronous.
+         * <p>
+         * An async transaction run this way uses the Realm instance of the submitting thread, and interferes with its
+         * transactions, so this policy should only be used by Realms that are not written to asynchronously.
+         */
+        CALLER_RUNS,
+        /**
+         * The task is rejected with a {@link RejectedExecutionException}.
+         */
+        ABORT
+    }
+
+    private final int poolSize;
+    private final int queueSize;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates the settings of an executor.
+     *
+     * @param poolSize the number of worker threads.
+     * @param queueSize the maximum number of tasks waiting for a worker thread.
+     * @param overflowPolicy what happens to tasks submitted once {@code queueSize} tasks are waiting.
+     * @throws IllegalArgumentException if {@code poolSize} or {@code queueSize} isn't positive, or
+     * {@code overflowPolicy} is {@code null}.
+     */
+    public AsyncExecutorOptions(int poolSize, int queueSize, OverflowPolicy overflowPolicy) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + poolSize);
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("The queue size must be positive: " + queueSize);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("A non-null OverflowPolicy must be provided");
+        }
+        this.poolSize = poolSize;
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        AsyncExecutorOptions that = (AsyncExecutorOptions) obj;
+
+        if (poolSize != that.poolSize) return false;
+        if (queueSize != that.queueSize) return false;
+        return overflowPolicy == that.overflowPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = poolSize;
+        result = 31 * result + queueSize;
+        result = 31 * result + overflowPolicy.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncExecutorOptions{poolSize=" + poolSize + ", queueSize=" + queueSize
+                + ", overflowPolicy=" + overflowPolicy + "}";
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Group commit of the async transactions of a Realm file, used when
+ * {@link RealmConfiguration#shouldGroupAsyncTransactions()} is set.
+ * <p>
+ * The transactions queued while a group is being written are executed back-to-back inside a single write transaction
+ * by one worker, so they cost one commit and one {@code REALM_CHANGED} notification of the Looper threads. A
+ * transaction throwing an exception (or cancelled before the commit) must not lose the others: the write transaction
+ * is then rolled back and the remaining transactions are executed again without it. Transactions of a group can
+ * thus be executed more than once, but their changes are only committed once. An {@link Error} fails all the
+ * transactions of the group being written, the transactions queued after them are still written.
+ */
+final class AsyncTransactionGroup {
+
+    // Map between canonical paths and the group of that file.
+    private static final ConcurrentMap<String, AsyncTransactionGroup> groups = new ConcurrentHashMap<String, AsyncTransactionGroup>();
+
+    private final Queue<PendingTransaction> pendingTransactions = new ConcurrentLinkedQueue<PendingTransaction>();
+    // set while a worker is scheduled to write the pending transactions
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+
+    private AsyncTransactionGroup() {
+    }
+
+    /**
+     * Queues a transaction to be written with the other transactions of the same Realm file.
+     *
+     * @param configuration the configuration of the caller Realm.
+     * @param transaction the transaction to execute.
+     * @param callback optional callback, invoked on the Looper of {@code handler}.
+     * @param handler the Handler of the caller Realm, or {@code null} if it has no Looper.
+     * @return a task which can be used to cancel the transaction as long as the group isn't committed.
+     */
+    static RealmAsyncTask submit(RealmConfiguration configuration, Realm.Transaction transaction,
+                                 Realm.Transaction.Callback callback, Handler handler) {
+        AsyncTransactionGroup group = groups.get(configuration.getPath());
+        if (group == null) {
+            AsyncTransactionGroup newGroup = new AsyncTransactionGroup();
+            group = groups.putIfAbsent(configuration.getPath(), newGroup);
+            if (group == null) {
+                group = newGroup;
+            }
+        }
+
+        PendingTransaction pendingTransaction = new PendingTransaction(configuration, transaction, callback, handler);
+        group.pendingTransactions.add(pendingTransaction);
+        group.schedule(configuration.getAsyncExecutor());
+        return new RealmAsyncTask(pendingTransaction, configuration.getAsyncExecutor());
+    }
+
+    private void schedule(final RealmThreadPoolExecutor executor) {
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    writePendingTransactions(executor);
+                }
+            }, RealmThreadPoolExecutor.PRIORITY_WRITE, null);
+        }
+    }
+
+    private void writePendingTransactions(RealmThreadPoolExecutor executor) {
+        try {
+            while (true) {
+                List<PendingTransaction> transactions = new ArrayList<PendingTransaction>();
+                PendingTransaction pendingTransaction;
+                while ((pendingTransaction = pendingTransactions.poll()) != null) {
+                    transactions.add(pendingTransaction);
+                }
+                if (transactions.isEmpty()) {
+                    return;
+                }
+                write(transactions);
+            }
+        } finally {
+            isScheduled.set(false);
+            // a transaction queued after the last poll, or left behind by an Error, would not be scheduled
+            if (!pendingTransactions.isEmpty()) {
+                schedule(executor);
+            }
+        }
+    }
+
+    private static void write(List<PendingTransaction> transactions) {
+        Realm bgRealm;
+        try {
+            bgRealm = Realm.getInstance(transactions.get(0).configuration);
+        } catch (Throwable e) {
+            failAll(transactions, e);
+            return;
+        }
+
+        try {
+            while (!transactions.isEmpty()) {
+                RealmLog.d("Writing a group of " + transactions.size() + " async transactions");
+                if (executeAll(bgRealm, transactions)) {
+                    bgRealm.commitTransaction();
+                    for (PendingTransaction transaction : transactions) {
+                        transaction.postSuccess();
+                    }
+                    return;
+                }
+                // one transaction failed or was cancelled, the others are executed again without it
+            }
+        } catch (Throwable e) {
+            if (bgRealm.isInTransaction()) {
+                bgRealm.cancelTransaction();
+            }
+            failAll(transactions, e);
+        } finally {
+            bgRealm.close();
+        }
+    }
+
+    // Reports the failure to each transaction, an Error is thrown again once reported.
+    private static void failAll(List<PendingTransaction> transactions, Throwable e) {
+        Exception error = (e instanceof Exception) ? (Exception) e
+                : new RealmException("The async transactions could not be written.", e);
+        for (PendingTransaction transaction : transactions) {
+            transaction.postError(error);
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+    }
+
+    /**
+     * Executes the given transactions inside one write transaction, left open if they all succeed.
+     *
+     * @return {@code true} if all the transactions were executed, {@code false} if there is nothing to commit or the
+     * write transaction was rolled back, in which case the failed or cancelled transactions have been removed from
+     * the list.
+     */
+    private static boolean executeAll(Realm bgRealm, List<PendingTransaction> transactions) {
+        Iterator<PendingTransaction> iterator = transactions.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isCancelled()) {
+                iterator.remove();
+            }
+        }
+        if (transactions.isEmpty()) {
+            return false;
+        }
+
+        bgRealm.beginTransaction();
+        for (iterator = transactions.iterator(); iterator.hasNext(); ) {
+            PendingTransaction transaction = iterator.next();
+            if (transaction.isCancelled()) {
+                bgRealm.cancelTransaction();
+                iterator.remove();
+                return false;
+            }
+            try {
+                transaction.transaction.execute(bgRealm);
+            } catch (Exception e) {
+                bgRealm.cancelTransaction();
+                iterator.remove();
+                transaction.postError(e);
+                return false;
+            }
+        }
+
+        // a transaction cancelled while the others were executed must not be committed
+        for (iterator = transactions.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isCancelled()) {
+                bgRealm.cancelTransaction();
+                iterator.remove();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A queued transaction. It's the Future given to {@link RealmAsyncTask}, it completes when the group holding it
+     * is committed and is never run by the executor itself.
+     */
+    private static class PendingTransaction extends FutureTask<Void> {
+        final RealmConfiguration configuration;
+        final Realm.Transaction transaction;
+        final Realm.Transaction.Callback callback;
+        final Handler handler;
+
+        PendingTransaction(RealmConfiguration configuration, Realm.Transaction transaction,
+                           Realm.Transaction.Callback callback, Handler handler) {
+            super(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }, null);
+            this.configuration = configuration;
+            this.transaction = transaction;
+            this.callback = callback;
+            this.handler = handler;
+        }
+
+        void postSuccess() {
+            // marks the Future as done
+            run();
+            if (canPostCallback()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onSuccess();
+                    }
+                });
+            }
+        }
+
+        void postError(final Exception e) {
+            if (canPostCallback()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onError(e);
+                    }
+                });
+            }
+            cancel(false);
+        }
+
+        private boolean canPostCallback() {
+            return callback != null
+                    && handler != null
+                    && !isCancelled()
+                    && handler.getLooper().getThread().isAlive();
+        }
+    }
+}
@@ -31,7 +31,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmEncryptionNotSupportedException;
 import io.realm.exceptions.RealmMigrationNeededException;
@@ -39,6 +41,7 @@ import io.realm.internal.ColumnType;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.SharedGroup;
 import io.realm.internal.SharedGroupManager;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.android.DebugAndroidLogger;
 import io.realm.internal.android.ReleaseAndroidLogger;
@@ -65,8 +68,11 @@ abstract class BaseRealm implements Closeable {
     // Reference count on currently open Realm instances (both normal and dynamic).
     protected static final Map<String, Integer> globalRealmFileReferenceCounter = new HashMap<String, Integer>();
 
-    // Map between a Handler and the canonical path to a Realm file
-    protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
+    // Map between the canonical path to a Realm file and the Handlers of the Realm instances using it. Each Handler is
+    // mapped to a flag telling if a REALM_CHANGED message is already pending for it. The maps of the paths are never
+    // removed, so registering a Handler doesn't need to synchronize with a concurrent commit.
+    protected static final ConcurrentMap<String, Map<Handler, AtomicBoolean>> handlers =
+            new ConcurrentHashMap<String, Map<Handler, AtomicBoolean>>();
 
     // thread pool for all async operations (Query & transaction)
     static final RealmThreadPoolExecutor asyncQueryExecutor = RealmThreadPoolExecutor.getInstance();
@@ -80,6 +86,8 @@ abstract class BaseRealm implements Closeable {
     protected boolean autoRefresh;
     Handler handler;
     HandlerController handlerController;
+    // set by the committing threads when they send REALM_CHANGED, cleared by the handler when it is processed
+    final AtomicBoolean notificationPending = new AtomicBoolean(false);
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -111,7 +119,7 @@ abstract class BaseRealm implements Closeable {
         if (autoRefresh && !this.autoRefresh) { // Switch it on
             handlerController = new HandlerController(this);
             handler = new Handler(handlerController);
-            handlers.put(handler, configuration.getPath());
+            addHandler(handler);
         } else if (!autoRefresh && this.autoRefresh && handler != null) { // Switch it off
             removeHandler();
         }
@@ -185,11 +193,29 @@ abstract class BaseRealm implements Closeable {
 
     void setHandler (Handler handler) {
         // remove the old one
-        handlers.remove(this.handler);
-        handlers.put(handler, configuration.getPath());
+        getPathHandlers().remove(this.handler);
+        addHandler(handler);
         this.handler = handler;
     }
 
+    private void addHandler(Handler handler) {
+        notificationPending.set(false);
+        getPathHandlers().put(handler, notificationPending);
+    }
+
+    private Map<Handler, AtomicBoolean> getPathHandlers() {
+        String path = configuration.getPath();
+        Map<Handler, AtomicBoolean> pathHandlers = handlers.get(path);
+        if (pathHandlers == null) {
+            pathHandlers = new ConcurrentHashMap<Handler, AtomicBoolean>();
+            Map<Handler, AtomicBoolean> existingPathHandlers = handlers.putIfAbsent(path, pathHandlers);
+            if (existingPathHandlers != null) {
+                pathHandlers = existingPathHandlers;
+            }
+        }
+        return pathHandlers;
+    }
+
     /**
      * Removes all user-defined change listeners.
      *
@@ -204,7 +230,7 @@ abstract class BaseRealm implements Closeable {
      * Removes and stops the current thread handler as gracefully as possible.
      */
     protected void removeHandler() {
-        handlers.remove(handler);
+        getPathHandlers().remove(handler);
         // Warning: This only clears the Looper queue. Handler.Callback is not removed.
         handler.removeCallbacksAndMessages(null);
         this.handler = null;
@@ -315,9 +341,13 @@ abstract class BaseRealm implements Closeable {
         checkIfValid();
         sharedGroupManager.commitAndContinueAsRead();
 
-        for (Map.Entry<Handler, String> handlerIntegerEntry : handlers.entrySet()) {
-            Handler handler = handlerIntegerEntry.getKey();
-            String realmPath = handlerIntegerEntry.getValue();
+        // Only the Handlers of the threads using this Realm file are visited
+        Map<Handler, AtomicBoolean> pathHandlers = handlers.get(configuration.getPath());
+        if (pathHandlers == null) {
+            return;
+        }
+        for (Map.Entry<Handler, AtomicBoolean> handlerEntry : pathHandlers.entrySet()) {
+            Handler handler = handlerEntry.getKey();
 
             // Notify at once on thread doing the commit
             if (handler.equals(this.handler)) {
@@ -326,15 +356,14 @@ abstract class BaseRealm implements Closeable {
             }
 
             // For all other threads, use the Handler
-            // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
-            // as the target thread consumes messages at the same time. In this case it is not a problem as worst
-            // case we end up with two REALM_CHANGED messages in the queue.
-            if (
-                    realmPath.equals(configuration.getPath())            // It's the right realm
-                            && !handler.hasMessages(HandlerController.REALM_CHANGED)       // The right message
-                            && handler.getLooper().getThread().isAlive() // The receiving thread is alive
-                    ) {
+            // A single pending REALM_CHANGED is enough as the receiving thread advances to the latest version. The
+            // flag is cleared when the message is processed, so a commit racing with it sends a new message. In
+            // the worst case we end up with two REALM_CHANGED messages in the queue.
+            AtomicBoolean notificationPending = handlerEntry.getValue();
+            if (handler.getLooper().getThread().isAlive()      // The receiving thread is alive
+                    && notificationPending.compareAndSet(false, true)) { // No REALM_CHANGED pending
                 if (!handler.sendEmptyMessage(HandlerController.REALM_CHANGED)) {
+                    notificationPending.set(false);
                     RealmLog.w("Cannot update Looper threads when the Looper has quit. Use realm.setAutoRefresh(false) " +
                             "to prevent this.");
                 }
@@ -480,6 +509,10 @@ abstract class BaseRealm implements Closeable {
         if (refCount == null) {
             refCount = 0;
         }
+        if (refCount == 0) {
+            // First instance for this file, let the async workers keep their SharedGroups around
+            SharedGroupPool.open(path);
+        }
         globalRealmFileReferenceCounter.put(path, refCount + 1);
     }
 
@@ -499,6 +532,10 @@ abstract class BaseRealm implements Closeable {
             throw new IllegalStateException("Trying to release a Realm file that is already closed");
         }
         globalRealmFileReferenceCounter.put(canonicalPath, refCount - 1);
+        if (refCount == 1) {
+            // Last instance for this file, release the SharedGroups kept by the async workers
+            SharedGroupPool.close(canonicalPath);
+        }
     }
 
     // package protected so unit tests can access it
@@ -641,10 +678,23 @@ abstract class BaseRealm implements Closeable {
         handlerController.asyncRealmObjects.put(realmObjectWeakReference, realmQuery);
     }
 
+    void addAsyncRealmAggregate (WeakReference<RealmAggregate<?>> weakAggregate,
+                                 RealmQuery<? extends RealmObject> realmQuery) {
+        handlerController.asyncRealmAggregates.put(weakAggregate, realmQuery);
+    }
+
     protected ReferenceQueue<RealmResults<? extends RealmObject>> getReferenceQueue () {
         return handlerController.referenceQueue;
     }
 
+    protected ReferenceQueue<RealmObject> getRealmObjectReferenceQueue () {
+        return handlerController.referenceQueueRealmObject;
+    }
+
+    ReferenceQueue<RealmAggregate<?>> getRealmAggregateReferenceQueue () {
+        return handlerController.referenceQueueRealmAggregate;
+    }
+
     // Internal delegate for migrations
     protected interface MigrationCallback {
         BaseRealm getRealm(RealmConfiguration configuration);
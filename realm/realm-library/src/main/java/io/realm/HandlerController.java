@@ -24,14 +24,18 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Future;
 
 import io.realm.internal.SharedGroup;
+import io.realm.internal.TableView;
 import io.realm.internal.async.QueryUpdateTask;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -43,38 +47,60 @@ public class HandlerController implements Handler.Callback {
     static final int REALM_COMPLETED_ASYNC_QUERY = 39088169;
     static final int REALM_COMPLETED_ASYNC_FIND_FIRST = 63245986;
     static final int REALM_ASYNC_BACKGROUND_EXCEPTION = 102334155;
+    static final int REALM_COMPLETED_ASYNC_AGGREGATE = 165580141;
     final BaseRealm realm;
-    // pending update of async queries
-    private Future updateAsyncQueriesTask;
 
+    // The WeakReferences used as keys below are registered with these queues, so GC'd instances can be purged
+    // without scanning the maps (or requesting a collection).
     final ReferenceQueue<RealmResults<? extends RealmObject>> referenceQueue = new ReferenceQueue<RealmResults<? extends RealmObject>>();
+    final ReferenceQueue<RealmObject> referenceQueueRealmObject = new ReferenceQueue<RealmObject>();
+    final ReferenceQueue<RealmAggregate<?>> referenceQueueRealmAggregate = new ReferenceQueue<RealmAggregate<?>>();
     // keep a WeakReference list to RealmResults obtained asynchronously in order to update them
     // RealmQuery is not WeakReferenced to prevent it from being GC'd. RealmQuery should be
     // cleaned if RealmResults is cleaned. we need to keep RealmQuery because it contains the query
     // pointer (to handover for each update) + all the arguments necessary to rerun the query:
     // sorting orders, soring columns, type (findAll, findFirst, findAllSorted etc.)
+    // The maps are keyed by the identity of the WeakReference, which makes them weak identity maps once the
+    // enqueued references are removed.
     final Map<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<? extends RealmObject>> asyncRealmResults =
             new IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<? extends RealmObject>>();
 
     final Map<WeakReference<RealmObject>, RealmQuery<? extends RealmObject>> asyncRealmObjects =
             new IdentityHashMap<WeakReference<RealmObject>, RealmQuery<? extends RealmObject>>();
 
+    // aggregates computed asynchronously are kept up to date like the async RealmResults
+    final Map<WeakReference<RealmAggregate<?>>, RealmQuery<? extends RealmObject>> asyncRealmAggregates =
+            new IdentityHashMap<WeakReference<RealmAggregate<?>>, RealmQuery<? extends RealmObject>>();
+
     public HandlerController(BaseRealm realm) {
         this.realm = realm;
     }
 
-    private void updateAsyncQueries () {
-        if (updateAsyncQueriesTask != null && !updateAsyncQueriesTask.isDone()) {
-            // try to cancel any pending update since we're submitting a new one anyway
-            updateAsyncQueriesTask.cancel(true);
-            Realm.asyncQueryExecutor.getQueue().remove(updateAsyncQueriesTask);
-            RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " cancelling pending REALM_UPDATE_ASYNC_QUERIES updates");
-        }
+    /**
+     * Submits a batch update of all the async queries of this thread.
+     *
+     * @return {@code true} if an update was submitted, {@code false} if all the async RealmResults and aggregates were
+     * GC'd.
+     */
+    private boolean updateAsyncQueries () {
         RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " updating async queries, total: " + asyncRealmResults.size());
         // prepare a QueryUpdateTask to current async queries in this thread
         QueryUpdateTask.Builder.UpdateQueryStep updateQueryStep = QueryUpdateTask.newBuilder()
                 .realmConfiguration(realm.getConfiguration());
         QueryUpdateTask.Builder.RealmResultsQueryStep realmResultsQueryStep = null;
+        // the worker only re-runs the queries observing a table changed since the version of this thread, the
+        // RealmResults of the other queries keep their TableViews and their listeners are not called
+
+        // identical queries are submitted once, the other RealmResults are updated from the same result: the map goes
+        // from the RealmResults whose query is submitted to the other RealmResults sharing its result, and is handed
+        // over with the batch
+        Map<WeakReference<RealmResults<? extends RealmObject>>, List<WeakReference<RealmResults<? extends RealmObject>>>> duplicateAsyncRealmResults =
+                new IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, List<WeakReference<RealmResults<? extends RealmObject>>>>();
+        Map<Object, WeakReference<RealmResults<? extends RealmObject>>> submittedQueries =
+                new HashMap<Object, WeakReference<RealmResults<? extends RealmObject>>>();
+        // the queries to submit, and whether a change set is needed by one of the RealmResults sharing their result
+        Map<WeakReference<RealmResults<? extends RealmObject>>, Boolean> computeChangeSets =
+                new LinkedHashMap<WeakReference<RealmResults<? extends RealmObject>>, Boolean>();
 
         // we iterate over non GC'd async RealmResults then add them to the list to be updated (in a batch)
         Iterator<Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<?>>> iterator = asyncRealmResults.entrySet().iterator();
@@ -87,10 +113,35 @@ public class HandlerController implements Handler.Callback {
                 iterator.remove();
 
             } else {
-                realmResultsQueryStep = updateQueryStep.add(weakReference,
-                        entry.getValue().handoverQueryPointer(),
-                        entry.getValue().getArgument());
+                Object resultsKey = entry.getValue().getResultsKey();
+                WeakReference<RealmResults<? extends RealmObject>> submitted = (resultsKey != null) ? submittedQueries.get(resultsKey) : null;
+                if (submitted != null) {
+                    List<WeakReference<RealmResults<? extends RealmObject>>> duplicates = duplicateAsyncRealmResults.get(submitted);
+                    if (duplicates == null) {
+                        duplicates = new ArrayList<WeakReference<RealmResults<? extends RealmObject>>>();
+                        duplicateAsyncRealmResults.put(submitted, duplicates);
+                    }
+                    duplicates.add(weakReference);
+                    if (realmResults.hasChangeSetListeners()) {
+                        computeChangeSets.put(submitted, true);
+                    }
+                    continue;
+                }
+                if (resultsKey != null) {
+                    submittedQueries.put(resultsKey, weakReference);
+                }
+                computeChangeSets.put(weakReference, realmResults.hasChangeSetListeners());
             }
+        }
+
+        for (Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, Boolean> entry : computeChangeSets.entrySet()) {
+            RealmQuery<?> query = asyncRealmResults.get(entry.getKey());
+            realmResultsQueryStep = updateQueryStep.add(entry.getKey(),
+                    query.handoverQueryPointer(),
+                    query.getArgument(),
+                    query.getObservedTables(),
+                    entry.getValue(),
+                    duplicateAsyncRealmResults.get(entry.getKey()));
 
             // Note: we're passing an WeakRef of a RealmResults to another thread
             //       this is safe as long as we don't invoke any of the RealmResults methods.
@@ -100,12 +151,31 @@ public class HandlerController implements Handler.Callback {
             //       watch out when you debug, as you're IDE try to evaluate RealmResults
             //       which break the Thread confinement constraints.
         }
+        Iterator<Map.Entry<WeakReference<RealmAggregate<?>>, RealmQuery<?>>> aggregatesIterator = asyncRealmAggregates.entrySet().iterator();
+        while (aggregatesIterator.hasNext()) {
+            Map.Entry<WeakReference<RealmAggregate<?>>, RealmQuery<?>> entry = aggregatesIterator.next();
+            if (entry.getKey().get() == null) {
+                aggregatesIterator.remove();
+            } else {
+                realmResultsQueryStep = updateQueryStep.addAggregate(entry.getKey(),
+                        entry.getValue().handoverQueryPointer(),
+                        entry.getValue().getArgument(),
+                        entry.getValue().getObservedTables());
+            }
+        }
+
         if (realmResultsQueryStep != null) {
             QueryUpdateTask queryUpdateTask = realmResultsQueryStep
+                    .skipUnchangedSince(realm.sharedGroupManager.getVersion())
                     .sendToHandler(realm.handler, REALM_UPDATE_ASYNC_QUERIES)
                     .build();
-            updateAsyncQueriesTask = Realm.asyncQueryExecutor.submit(queryUpdateTask);
+            // any pending update is cancelled since we're submitting a new one anyway, they are coalesced by
+            // using this controller as the key
+            realm.getConfiguration().getAsyncExecutor().submit(queryUpdateTask,
+                    RealmThreadPoolExecutor.PRIORITY_QUERY, this);
+            return true;
         }
+        return false;
     }
 
     private void completedAsyncQueryUpdate(QueryUpdateTask.Result result) {
@@ -153,11 +223,15 @@ public class HandlerController implements Handler.Callback {
                                 .realmConfiguration(realm.getConfiguration())
                                 .add(weakRealmResults,
                                         query.handoverQueryPointer(),
-                                        query.getArgument())
+                                        query.getArgument(),
+                                        null,
+                                        false,
+                                        null)
                                 .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_QUERY)
                                 .build();
 
-                        Realm.asyncQueryExecutor.submit(queryUpdateTask);
+                        realm.getConfiguration().getAsyncExecutor().submit(queryUpdateTask,
+                                RealmThreadPoolExecutor.PRIORITY_QUERY, weakRealmResults);
 
                     } else {
                         // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerIsAdvanced
@@ -201,39 +275,106 @@ public class HandlerController implements Handler.Callback {
             }
 
             ArrayList<RealmResults<? extends RealmObject>> callbacksToNotify = new ArrayList<RealmResults<? extends RealmObject>>(result.updatedTableViews.size());
+            ArrayList<RealmResultsChangeSet> changeSetsToNotify = new ArrayList<RealmResultsChangeSet>(result.updatedTableViews.size());
             // use updated TableViews pointers for the existing async RealmResults
             for (Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, Long> query : result.updatedTableViews.entrySet()) {
                 WeakReference<RealmResults<? extends RealmObject>> weakRealmResults = query.getKey();
-                RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
-                if (realmResults == null) {
-                    // don't update GC'd instance
-                    asyncRealmResults.remove(weakRealmResults);
-
-                } else {
-                    // it's dangerous to notify the callback about new results before updating
-                    // the pointers, because the callback may use another RealmResults not updated yet
-                    // this is why we defer the notification until we're done updating all pointers
+                // the handover pointer is imported once, by the first RealmResults still alive, the others
+                // sharing the same query get a copy of the imported TableView
+                RealmResults<? extends RealmObject> importedRealmResults = null;
+                List<WeakReference<RealmResults<? extends RealmObject>>> sharingRealmResults =
+                        new ArrayList<WeakReference<RealmResults<? extends RealmObject>>>();
+                sharingRealmResults.add(weakRealmResults);
+                List<WeakReference<RealmResults<? extends RealmObject>>> duplicates = result.sharedTableViews.get(weakRealmResults);
+                if (duplicates != null) {
+                    sharingRealmResults.addAll(duplicates);
+                }
 
-                    // TODO find a way to only notify callbacks if the underlying data changed compared
-                    //      to the existing value(s) for this RealmResults (use a hashCode?)
-                    callbacksToNotify.add(realmResults);
+                for (WeakReference<RealmResults<? extends RealmObject>> weakSharingRealmResults : sharingRealmResults) {
+                    RealmResults<? extends RealmObject> realmResults = weakSharingRealmResults.get();
+                    if (realmResults == null) {
+                        // don't update GC'd instance
+                        asyncRealmResults.remove(weakSharingRealmResults);
 
-                    RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " updating RealmResults " + weakRealmResults);
-                    // update the instance with the new pointer
-                    realmResults.swapTableViewPointer(query.getValue());
+                    } else {
+                        // it's dangerous to notify the callback about new results before updating
+                        // the pointers, because the callback may use another RealmResults not updated yet
+                        // this is why we defer the notification until we're done updating all pointers
+
+                        // only the queries observing a changed table are part of the result, but a query can still
+                        // return the same rows as before, the change set is then empty
+                        callbacksToNotify.add(realmResults);
+                        changeSetsToNotify.add(result.changeSets.get(weakRealmResults));
+
+                        RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " updating RealmResults " + weakSharingRealmResults);
+                        if (importedRealmResults == null) {
+                            // update the instance with the new pointer
+                            realmResults.swapTableViewPointer(query.getValue());
+                            importedRealmResults = realmResults;
+                        } else {
+                            realmResults.swapTableView(((TableView) importedRealmResults.getTable()).copy());
+                        }
+                    }
+                }
+            }
+            ArrayList<RealmAggregate<?>> aggregatesToNotify = new ArrayList<RealmAggregate<?>>(result.updatedAggregates.size());
+            for (Map.Entry<WeakReference<RealmAggregate<?>>, Object> value : result.updatedAggregates.entrySet()) {
+                RealmAggregate<?> aggregate = value.getKey().get();
+                if (aggregate == null) {
+                    asyncRealmAggregates.remove(value.getKey());
+                } else {
+                    aggregate.setValue(value.getValue());
+                    aggregatesToNotify.add(aggregate);
                 }
             }
 
-            for (RealmResults<? extends RealmObject> query : callbacksToNotify) {
-                query.notifyChangeListeners();
+            for (int i = 0; i < callbacksToNotify.size(); i++) {
+                callbacksToNotify.get(i).notifyChangeListeners(changeSetsToNotify.get(i));
+            }
+            for (RealmAggregate<?> aggregate : aggregatesToNotify) {
+                aggregate.notifyChangeListeners();
             }
 
             // notify listeners only when we advanced
             if (compare != 0) {
                 realm.sendNotifications();
             }
+        }
+    }
+
+    private void completedAsyncAggregate(QueryUpdateTask.Result result) {
+        Set<WeakReference<RealmAggregate<?>>> updatedAggregatesKeys = result.updatedAggregates.keySet();
+        if (updatedAggregatesKeys.size() > 0) {
+            WeakReference<RealmAggregate<?>> weakAggregate = updatedAggregatesKeys.iterator().next();
+            RealmAggregate<?> aggregate = weakAggregate.get();
+            if (aggregate == null) {
+                asyncRealmAggregates.remove(weakAggregate);
 
-            updateAsyncQueriesTask = null;
+            } else if (!aggregate.isLoaded()) {
+                SharedGroup.VersionID callerVersionID = realm.sharedGroupManager.getVersion();
+                int compare = callerVersionID.compareTo(result.versionID);
+                if (compare == 0) {
+                    aggregate.setValue(result.updatedAggregates.get(weakAggregate));
+                    aggregate.notifyChangeListeners();
+
+                } else if (compare > 0) {
+                    // the caller has advanced, the value is outdated, retry against the current version of the caller
+                    RealmQuery<?> query = asyncRealmAggregates.get(weakAggregate);
+                    QueryUpdateTask queryUpdateTask = QueryUpdateTask.newBuilder()
+                            .realmConfiguration(realm.getConfiguration())
+                            .addAggregate(weakAggregate,
+                                    query.handoverQueryPointer(),
+                                    query.getArgument(),
+                                    null)
+                            .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_AGGREGATE)
+                            .build();
+
+                    realm.getConfiguration().getAsyncExecutor().submit(queryUpdateTask,
+                            RealmThreadPoolExecutor.PRIORITY_QUERY, weakAggregate);
+                }
+                // otherwise the caller thread is behind the worker thread, the batch update following the
+                // REALM_CHANGED will compute the value again
+            }
         }
     }
 
@@ -265,13 +406,17 @@ public class HandlerController implements Handler.Callback {
                             .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_FIND_FIRST)
                             .build();
 
-                    Realm.asyncQueryExecutor.submit(queryUpdateTask);
+                    realm.getConfiguration().getAsyncExecutor().submit(queryUpdateTask,
+                            RealmThreadPoolExecutor.PRIORITY_QUERY, realmObjectWeakReference);
                 } else {
                     // should not happen, since the the background thread position itself against the provided version
                     // and the caller thread can only go forward (advance_read)
                     throw new IllegalStateException("Caller thread behind the worker thread");
                 }
-            } // else: element GC'd in the meanwhile
+            } else {
+                // element GC'd in the meanwhile
+                asyncRealmObjects.remove(realmObjectWeakReference);
+            }
         }
     }
 
@@ -285,10 +430,9 @@ public class HandlerController implements Handler.Callback {
         if (realm.sharedGroupManager != null) {
             switch (message.what) {
                 case REALM_CHANGED: {
-                    if (threadContainsAsyncQueries()) {
-                        updateAsyncQueries();
-
-                    } else {
+                    // any commit from now on needs to send a new REALM_CHANGED
+                    realm.notificationPending.set(false);
+                    if (!threadContainsAsyncQueries() || !updateAsyncQueries()) {
                         RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " no async queries, advance_read");
                         realm.sharedGroupManager.advanceRead();
                         realm.sendNotifications();
@@ -312,6 +456,11 @@ public class HandlerController implements Handler.Callback {
                     completedAsyncFindFirst(result);
                     break;
                 }
+                case REALM_COMPLETED_ASYNC_AGGREGATE: {
+                    QueryUpdateTask.Result result = (QueryUpdateTask.Result) message.obj;
+                    completedAsyncAggregate(result);
+                    break;
+                }
                 case REALM_ASYNC_BACKGROUND_EXCEPTION: {
                     // Don't fail silently in the background in case of Core exception
                     throw (Error) message.obj;
@@ -325,37 +474,30 @@ public class HandlerController implements Handler.Callback {
      * This will prevent advanceReading from accidentally advancing the thread and potentially re-run the queries in
      * this thread.
      *
-     * @return {@code true} if there is at least one (non GC'd) instance of {@link RealmResults} {@code false}
-     * otherwise.
+     * @return {@code true} if there is at least one (non GC'd) instance of {@link RealmResults} or {@link RealmAggregate}, {@code false}
+     * otherwise. Instances cleared by the GC but not enqueued yet are skipped by {@link #updateAsyncQueries()}.
      */
     private boolean threadContainsAsyncQueries () {
         deleteWeakReferences();
-        boolean isEmpty = true;
-        Iterator<Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<?>>> iterator = asyncRealmResults.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<?>> next = iterator.next();
-            if (next.getKey().get() == null) {
-                // clean the GC'ed instances
-                // we could've avoided this if we had a 'WeakIdentityHashmap' data structure. miss Guava :(
-                iterator.remove();
-            } else {
-                isEmpty = false;
-            }
-        }
-
-        return !isEmpty;
+        return !asyncRealmResults.isEmpty() || !asyncRealmAggregates.isEmpty();
     }
 
+    /**
+     * Removes the entries of the instances reclaimed by the GC. This only polls the reference queues, the GC is never
+     * requested to run.
+     */
     private void deleteWeakReferences() {
-        // From the AOSP FinalizationTest:
-        // https://android.googlesource.com/platform/libcore/+/master/support/src/test/java/libcore/
-        // java/lang/ref/FinalizationTester.java
-        // System.gc() does not garbage collect every time. Runtime.gc() is
-        // more likely to perform a gc.
-        Runtime.getRuntime().gc();
         Reference<? extends RealmResults<? extends RealmObject>> weakReference;
         while ((weakReference = referenceQueue.poll()) != null ) { // Does not wait for a reference to become available.
             asyncRealmResults.remove(weakReference);
         }
+        Reference<? extends RealmObject> weakRealmObject;
+        while ((weakRealmObject = referenceQueueRealmObject.poll()) != null ) {
+            asyncRealmObjects.remove(weakRealmObject);
+        }
+        Reference<? extends RealmAggregate<?>> weakAggregate;
+        while ((weakAggregate = referenceQueueRealmAggregate.poll()) != null ) {
+            asyncRealmAggregates.remove(weakAggregate);
+        }
     }
 }
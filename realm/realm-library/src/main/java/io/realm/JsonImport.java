@@ -0,0 +1,264 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.android.JsonUtils;
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Import of a JSON array, used by
+ * {@link Realm#createAllFromJsonAsync(Class, InputStream, int, Realm.JsonImportCallback)} and
+ * {@link Realm#createOrUpdateAllFromJsonAsync(Class, InputStream, int, Realm.JsonImportCallback)}.
+ * <p>
+ * The stream is parsed by a dedicated thread, which hands the objects over in chunks to a writer running on a dedicated
+ * thread too. The writer waits for the parser, so it must not hold a thread of the async executor, or run on the
+ * caller thread where it would share the Realm of the caller. Each chunk is written in its own write transaction, so
+ * parsing the next chunks overlaps with the native writes of the previous one. The queue between them is bounded, so a
+ * slow writer also bounds the memory used by the parser.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class JsonImport<E extends RealmObject> {
+
+    // Number of chunks the parser can be ahead of the writer
+    private static final int QUEUE_CAPACITY = 4;
+    private static final long OFFER_TIMEOUT_MS = 100;
+    // Queued by the parser once it's done, compared by identity
+    private static final List<JSONObject> END_OF_STREAM = Collections.emptyList();
+
+    private final RealmConfiguration configuration;
+    private final Class<E> clazz;
+    private final InputStream in;
+    private final boolean update;
+    private final int chunkSize;
+    private final Realm.JsonImportCallback callback;
+    private final Handler handler;
+
+    private final BlockingQueue<List<JSONObject>> chunks = new ArrayBlockingQueue<List<JSONObject>>(QUEUE_CAPACITY);
+    private volatile Future<?> writer;
+    private volatile Exception parseError;
+
+    private JsonImport(RealmConfiguration configuration, Class<E> clazz, InputStream in, boolean update,
+                       int chunkSize, Realm.JsonImportCallback callback, Handler handler) {
+        this.configuration = configuration;
+        this.clazz = clazz;
+        this.in = in;
+        this.update = update;
+        this.chunkSize = chunkSize;
+        this.callback = callback;
+        this.handler = handler;
+    }
+
+    /**
+     * Starts importing a JSON array.
+     *
+     * @param configuration the configuration of the caller Realm.
+     * @param clazz type of the objects of the array.
+     * @param in the stream holding the array, closed once it's read.
+     * @param update {@code true} to update the objects with the same primary key, {@code false} to create them.
+     * @param chunkSize number of objects written per write transaction.
+     * @param callback optional callback, invoked on the Looper of {@code handler}.
+     * @param handler the Handler of the caller Realm, or {@code null} if it has no Looper.
+     * @return a task which can be used to cancel the import. The chunks already committed are kept.
+     */
+    static <E extends RealmObject> RealmAsyncTask submit(RealmConfiguration configuration, Class<E> clazz,
+                                                         InputStream in, boolean update, int chunkSize,
+                                                         Realm.JsonImportCallback callback, Handler handler) {
+        final JsonImport<E> jsonImport = new JsonImport<E>(configuration, clazz, in, update, chunkSize, callback,
+                handler);
+
+        FutureTask<Void> writer = new FutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+                jsonImport.write();
+            }
+        }, null);
+        jsonImport.writer = writer;
+
+        Thread parser = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                jsonImport.parse();
+            }
+        }, "RealmJsonImport");
+        parser.start();
+        new Thread(writer, "RealmJsonImportWriter").start();
+
+        // the writer isn't queued by the executor, removing it from the queue on cancel does nothing
+        return new RealmAsyncTask(writer, configuration.getAsyncExecutor());
+    }
+
+    private void parse() {
+        JsonReader reader = null;
+        try {
+            reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new RealmException("Failed to read JSON: expected an array but was " + reader.peek());
+            }
+            reader.beginArray();
+            List<JSONObject> chunk = new ArrayList<JSONObject>(chunkSize);
+            while (reader.hasNext()) {
+                chunk.add(JsonUtils.readJsonObject(reader));
+                if (chunk.size() == chunkSize) {
+                    if (!put(chunk)) {
+                        return;
+                    }
+                    chunk = new ArrayList<JSONObject>(chunkSize);
+                }
+            }
+            reader.endArray();
+            if (!chunk.isEmpty()) {
+                put(chunk);
+            }
+        } catch (JSONException e) {
+            parseError = new RealmException("Failed to read JSON", e);
+        } catch (Exception e) {
+            parseError = e;
+        } finally {
+            try {
+                if (reader != null) {
+                    reader.close();
+                } else {
+                    in.close();
+                }
+            } catch (IOException e) {
+                RealmLog.w("Could not close the JSON stream: " + e.getMessage());
+            }
+            try {
+                put(END_OF_STREAM);
+            } catch (InterruptedException ignored) {
+            }
+        }
+    }
+
+    // Waits for room in the queue. Returns false if the writer has stopped, and won't take the chunk.
+    private boolean put(List<JSONObject> chunk) throws InterruptedException {
+        while (!chunks.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            Future<?> writer = this.writer;
+            if (writer != null && writer.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write() {
+        Realm bgRealm;
+        try {
+            bgRealm = Realm.getInstance(configuration);
+        } catch (Exception e) {
+            postError(e);
+            return;
+        }
+
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        long importedCount = 0;
+        try {
+            List<JSONObject> chunk;
+            while ((chunk = chunks.take()) != END_OF_STREAM) {
+                bgRealm.beginTransaction();
+                for (JSONObject json : chunk) {
+                    mediator.createOrUpdateUsingJsonObject(clazz, bgRealm, json, update);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    bgRealm.cancelTransaction();
+                    return;
+                }
+                bgRealm.commitTransaction();
+                importedCount += chunk.size();
+                postProgress(importedCount);
+            }
+
+            if (parseError != null) {
+                postError(parseError);
+            } else {
+                postSuccess(importedCount);
+            }
+        } catch (InterruptedException e) {
+            // the import was cancelled
+        } catch (Exception e) {
+            if (bgRealm.isInTransaction()) {
+                bgRealm.cancelTransaction();
+            }
+            postError(e instanceof JSONException ? new RealmException("Could not map Json", e) : e);
+        } finally {
+            bgRealm.close();
+        }
+    }
+
+    private void postProgress(final long importedCount) {
+        if (canPostCallback()) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onProgress(importedCount);
+                }
+            });
+        }
+    }
+
+    private void postSuccess(final long importedCount) {
+        if (canPostCallback()) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSuccess(importedCount);
+                }
+            });
+        }
+    }
+
+    private void postError(final Exception e) {
+        if (canPostCallback()) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onError(e);
+                }
+            });
+        }
+    }
+
+    private boolean canPostCallback() {
+        return callback != null
+                && handler != null
+                && !Thread.currentThread().isInterrupted()
+                && handler.getLooper().getThread().isAlive();
+    }
+}
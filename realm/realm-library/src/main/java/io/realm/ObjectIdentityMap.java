@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weak map between the rows of a Realm instance and the managed objects accessing them, used when
+ * {@link RealmConfiguration#shouldUseIdentityMap()} is set. The same object, with the RealmLists it has cached, is
+ * then returned each time a row is reached through a query, a link or a RealmList, as long as it is referenced.
+ * <p>
+ * Row accessors follow their row when rows are moved, so an entry is only returned if the row of its object still
+ * has the index of the entry. Rows moved by this Realm with {@link io.realm.internal.Table#moveLastOver(long)} are
+ * also re-mapped eagerly. Like the Realm instance owning it, the map is confined to one thread, and it is cleared
+ * when the instance is closed.
+ * <p>
+ * {@link RealmResults#visitAll(RealmVisitor)} skips the map by design: it creates a short-lived object for
+ * each row, without looking it up or adding it.
+ */
+final class ObjectIdentityMap {
+
+    private final Map<Class<? extends RealmObject>, Map<Long, ObjectReference>> classes =
+            new HashMap<Class<? extends RealmObject>, Map<Long, ObjectReference>>();
+    private final ReferenceQueue<RealmObject> collectedObjects = new ReferenceQueue<RealmObject>();
+
+    /**
+     * Returns the object accessing a row, or {@code null} if there is none.
+     */
+    <E extends RealmObject> E get(Class<E> clazz, long rowIndex) {
+        purge();
+        Map<Long, ObjectReference> objects = classes.get(clazz);
+        if (objects == null) {
+            return null;
+        }
+        ObjectReference reference = objects.get(rowIndex);
+        if (reference == null) {
+            return null;
+        }
+        RealmObject object = reference.get();
+        if (object == null || !object.row.isAttached() || object.row.getIndex() != rowIndex) {
+            objects.remove(rowIndex);
+            return null;
+        }
+        return clazz.cast(object);
+    }
+
+    void put(Class<? extends RealmObject> clazz, long rowIndex, RealmObject object) {
+        purge();
+        Map<Long, ObjectReference> objects = classes.get(clazz);
+        if (objects == null) {
+            objects = new HashMap<Long, ObjectReference>();
+            classes.put(clazz, objects);
+        }
+        objects.put(rowIndex, new ObjectReference(object, clazz, rowIndex, collectedObjects));
+    }
+
+    /**
+     * Updates the map after the row at {@code rowIndex} was removed and replaced by the last row of the table.
+     *
+     * @param clazz the class of the table.
+     * @param rowIndex the index of the removed row.
+     * @param lastRowIndex the index of the last row before it was moved.
+     */
+    void rowMovedOver(Class<? extends RealmObject> clazz, long rowIndex, long lastRowIndex) {
+        Map<Long, ObjectReference> objects = classes.get(clazz);
+        if (objects == null) {
+            return;
+        }
+        objects.remove(rowIndex);
+        ObjectReference lastRowReference = objects.remove(lastRowIndex);
+        if (lastRowReference != null && rowIndex != lastRowIndex) {
+            RealmObject object = lastRowReference.get();
+            if (object != null) {
+                objects.put(rowIndex, new ObjectReference(object, clazz, rowIndex, collectedObjects));
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries, when the Realm instance owning the map is closed.
+     */
+    void clear() {
+        classes.clear();
+        while (collectedObjects.poll() != null) {
+            // the references of the cleared entries don't need to be removed
+        }
+    }
+
+    // Removes the entries of the objects garbage collected
+    private void purge() {
+        ObjectReference reference;
+        while ((reference = (ObjectReference) collectedObjects.poll()) != null) {
+            Map<Long, ObjectReference> objects = classes.get(reference.clazz);
+            // the entry may have been replaced since
+            if (objects != null && objects.get(reference.rowIndex) == reference) {
+                objects.remove(reference.rowIndex);
+            }
+        }
+    }
+
+    private static class ObjectReference extends WeakReference<RealmObject> {
+        final Class<? extends RealmObject> clazz;
+        final long rowIndex;
+
+        ObjectReference(RealmObject object, Class<? extends RealmObject> clazz, long rowIndex,
+                        ReferenceQueue<RealmObject> queue) {
+            super(object, queue);
+            this.clazz = clazz;
+            this.rowIndex = rowIndex;
+        }
+    }
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.internal.ColumnIndices;
+import io.realm.internal.ColumnType;
+import io.realm.internal.TableQuery;
+
+/**
+ * A PreparedRealmQuery is the template of a query whose conditions compare fields with parameters. It is created by
+ * {@link RealmQuery#prepare()} and executed by binding values to its parameters:
+ *
+ * <pre>
+ * {@code
+ * PreparedRealmQuery<Dog> dogsByOwner = realm.where(Dog.class).prepare()
+ *         .equalTo("owner.name")
+ *         .greaterThan("age");
+ * RealmResults<Dog> dogs = dogsByOwner.bind("Tim", 3).findAll();
+ * }
+ * </pre>
+ *
+ * The field names are resolved and their types checked once, when the conditions are added to the template. Binding
+ * values only adds the conditions to a new native query, so a query built many times with different values is
+ * cheaper to prepare once than to build with a {@link RealmQuery} each time.
+ * <p>
+ * Each condition taking a value adds a parameter, numbered in the order the conditions are added. The parameters of
+ * {@link #between(String)} are the lower and upper bounds, the parameter of {@link #in(String)} is a {@code long[]}
+ * or a {@code String[]}.
+ * <p>
+ * Like a RealmQuery, a PreparedRealmQuery cannot be passed between different threads.
+ *
+ * @param <E> the class of the objects to be queried.
+ */
+public final class PreparedRealmQuery<E extends RealmObject> {
+
+    private enum Operator {
+        EQUAL_TO, NOT_EQUAL_TO, GREATER_THAN, GREATER_THAN_OR_EQUAL_TO, LESS_THAN, LESS_THAN_OR_EQUAL_TO, BETWEEN,
+        CONTAINS, BEGINS_WITH, ENDS_WITH, IN, IS_NULL, IS_NOT_NULL, IS_EMPTY, BEGIN_GROUP, END_GROUP, OR, NOT
+    }
+
+    private static final ColumnType[] COMPARABLE_TYPES = {ColumnType.INTEGER, ColumnType.FLOAT, ColumnType.DOUBLE,
+            ColumnType.DATE};
+    private static final ColumnType[] EQUATABLE_TYPES = {ColumnType.INTEGER, ColumnType.FLOAT, ColumnType.DOUBLE,
+            ColumnType.DATE, ColumnType.BOOLEAN, ColumnType.STRING};
+
+    private final RealmQuery<E> query;
+    private final List<Condition> conditions = new ArrayList<Condition>();
+    private int parameterCount;
+
+    PreparedRealmQuery(RealmQuery<E> query) {
+        this.query = query;
+    }
+
+    /**
+     * Binds values to the parameters and returns the resulting query, which can be executed like any other
+     * {@link RealmQuery}. The template is left unchanged, so it can be bound again.
+     *
+     * @param values the values of the parameters, in order. {@code null} can be bound to the parameters of
+     * {@link #equalTo(String)} and {@link #notEqualTo(String)} on nullable fields. A {@code null} array, as passed by
+     * {@code bind(null)}, binds {@code null} to a single parameter.
+     * @return a new query with the conditions of the template.
+     * @throws java.lang.IllegalArgumentException if the number of values doesn't match the number of parameters or
+     * if a value doesn't match the type of its field.
+     */
+    public RealmQuery<E> bind(Object... values) {
+        if (values == null) {
+            values = new Object[] {null};
+        }
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException(String.format("%d values expected but was %d.", parameterCount,
+                    values.length));
+        }
+        RealmQuery<E> boundQuery = query.newQuery();
+        TableQuery tableQuery = boundQuery.getTableQuery();
+        for (Condition condition : conditions) {
+            condition.addTo(tableQuery, values);
+        }
+        return boundQuery;
+    }
+
+    /**
+     * Returns the number of parameters of this template.
+     *
+     * @return the number of values expected by {@link #bind(Object...)}.
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or can't be compared.
+     */
+    public PreparedRealmQuery<E> equalTo(String fieldName) {
+        return equalTo(fieldName, RealmQuery.CASE_SENSITIVE);
+    }
+
+    /**
+     * Equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @param caseSensitive if true, String matching is case sensitive. Setting this to false only works for English
+     *                      locale characters.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or can't be compared.
+     */
+    public PreparedRealmQuery<E> equalTo(String fieldName, boolean caseSensitive) {
+        return addCondition(Operator.EQUAL_TO, fieldName, caseSensitive, 1, EQUATABLE_TYPES);
+    }
+
+    /**
+     * Not-equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or can't be compared.
+     */
+    public PreparedRealmQuery<E> notEqualTo(String fieldName) {
+        return notEqualTo(fieldName, RealmQuery.CASE_SENSITIVE);
+    }
+
+    /**
+     * Not-equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @param caseSensitive if true, String matching is case sensitive. Setting this to false only works for English
+     *                      locale characters.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or can't be compared.
+     */
+    public PreparedRealmQuery<E> notEqualTo(String fieldName, boolean caseSensitive) {
+        return addCondition(Operator.NOT_EQUAL_TO, fieldName, caseSensitive, 1, EQUATABLE_TYPES);
+    }
+
+    /**
+     * Greater-than comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a number or a Date.
+     */
+    public PreparedRealmQuery<E> greaterThan(String fieldName) {
+        return addCondition(Operator.GREATER_THAN, fieldName, true, 1, COMPARABLE_TYPES);
+    }
+
+    /**
+     * Greater-than-or-equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a number or a Date.
+     */
+    public PreparedRealmQuery<E> greaterThanOrEqualTo(String fieldName) {
+        return addCondition(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, true, 1, COMPARABLE_TYPES);
+    }
+
+    /**
+     * Less-than comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a number or a Date.
+     */
+    public PreparedRealmQuery<E> lessThan(String fieldName) {
+        return addCondition(Operator.LESS_THAN, fieldName, true, 1, COMPARABLE_TYPES);
+    }
+
+    /**
+     * Less-than-or-equal-to comparison with a parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a number or a Date.
+     */
+    public PreparedRealmQuery<E> lessThanOrEqualTo(String fieldName) {
+        return addCondition(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, true, 1, COMPARABLE_TYPES);
+    }
+
+    /**
+     * Between condition with two parameters, the lower and the upper bound.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a number or a Date.
+     */
+    public PreparedRealmQuery<E> between(String fieldName) {
+        return addCondition(Operator.BETWEEN, fieldName, true, 2, COMPARABLE_TYPES);
+    }
+
+    /**
+     * Condition that value of field contains the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> contains(String fieldName) {
+        return contains(fieldName, RealmQuery.CASE_SENSITIVE);
+    }
+
+    /**
+     * Condition that value of field contains the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @param caseSensitive if true, substring matching is case sensitive. Setting this to false only works for
+     *                      English locale characters.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> contains(String fieldName, boolean caseSensitive) {
+        return addCondition(Operator.CONTAINS, fieldName, caseSensitive, 1, ColumnType.STRING);
+    }
+
+    /**
+     * Condition that the value of field begins with the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> beginsWith(String fieldName) {
+        return beginsWith(fieldName, RealmQuery.CASE_SENSITIVE);
+    }
+
+    /**
+     * Condition that the value of field begins with the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @param caseSensitive if true, substring matching is case sensitive. Setting this to false only works for
+     *                      English locale characters.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> beginsWith(String fieldName, boolean caseSensitive) {
+        return addCondition(Operator.BEGINS_WITH, fieldName, caseSensitive, 1, ColumnType.STRING);
+    }
+
+    /**
+     * Condition that the value of field ends with the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> endsWith(String fieldName) {
+        return endsWith(fieldName, RealmQuery.CASE_SENSITIVE);
+    }
+
+    /**
+     * Condition that the value of field ends with the parameter.
+     *
+     * @param fieldName the field to compare.
+     * @param caseSensitive if true, substring matching is case sensitive. Setting this to false only works for
+     *                      English locale characters.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a String.
+     */
+    public PreparedRealmQuery<E> endsWith(String fieldName, boolean caseSensitive) {
+        return addCondition(Operator.ENDS_WITH, fieldName, caseSensitive, 1, ColumnType.STRING);
+    }
+
+    /**
+     * In comparison with a parameter, a {@code long[]} for integer fields or a {@code String[]} for String fields.
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't an integer or a String.
+     * @see RealmQuery#in(String, long[])
+     */
+    public PreparedRealmQuery<E> in(String fieldName) {
+        return addCondition(Operator.IN, fieldName, true, 1, ColumnType.INTEGER, ColumnType.STRING);
+    }
+
+    /**
+     * Tests if a field is {@code null}. Only works for nullable fields.
+     *
+     * @param fieldName the field name.
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> isNull(String fieldName) {
+        return addCondition(Operator.IS_NULL, fieldName, true, 0);
+    }
+
+    /**
+     * Tests if a field is not {@code null}. Only works for nullable fields.
+     *
+     * @param fieldName the field name.
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> isNotNull(String fieldName) {
+        return addCondition(Operator.IS_NOT_NULL, fieldName, true, 0);
+    }
+
+    /**
+     * Condition that finds values that are considered "empty".
+     *
+     * @param fieldName the field to compare.
+     * @return the template.
+     * @see RealmQuery#isEmpty(String)
+     */
+    public PreparedRealmQuery<E> isEmpty(String fieldName) {
+        return addCondition(Operator.IS_EMPTY, fieldName, true, 0,
+                ColumnType.STRING, ColumnType.BINARY, ColumnType.LINK_LIST);
+    }
+
+    /**
+     * Begin grouping of conditions ("left parenthesis").
+     *
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> beginGroup() {
+        conditions.add(new Condition(Operator.BEGIN_GROUP, null, null, true, -1));
+        return this;
+    }
+
+    /**
+     * End grouping of conditions ("right parenthesis").
+     *
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> endGroup() {
+        conditions.add(new Condition(Operator.END_GROUP, null, null, true, -1));
+        return this;
+    }
+
+    /**
+     * Logical-or two conditions.
+     *
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> or() {
+        conditions.add(new Condition(Operator.OR, null, null, true, -1));
+        return this;
+    }
+
+    /**
+     * Negate condition.
+     *
+     * @return the template.
+     */
+    public PreparedRealmQuery<E> not() {
+        conditions.add(new Condition(Operator.NOT, null, null, true, -1));
+        return this;
+    }
+
+    private PreparedRealmQuery<E> addCondition(Operator operator, String fieldName, boolean caseSensitive,
+                                               int parameters, ColumnType... validColumnTypes) {
+        ColumnIndices.FieldPath fieldPath = query.getFieldPath(fieldName, validColumnTypes);
+        conditions.add(new Condition(operator, fieldPath.columnIndices, fieldPath.columnType, caseSensitive,
+                (parameters > 0) ? parameterCount : -1));
+        parameterCount += parameters;
+        return this;
+    }
+
+    private static class Condition {
+        private final Operator operator;
+        private final long[] columnIndices;
+        private final ColumnType columnType;
+        private final boolean caseSensitive;
+        private final int parameterIndex;
+
+        Condition(Operator operator, long[] columnIndices, ColumnType columnType, boolean caseSensitive,
+                  int parameterIndex) {
+            this.operator = operator;
+            this.columnIndices = columnIndices;
+            this.columnType = columnType;
+            this.caseSensitive = caseSensitive;
+            this.parameterIndex = parameterIndex;
+        }
+
+        void addTo(TableQuery query, Object[] values) {
+            switch (operator) {
+                case EQUAL_TO:
+                case NOT_EQUAL_TO:
+                    addEquality(query, values[parameterIndex]);
+                    break;
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL_TO:
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL_TO:
+                    addComparison(query, values[parameterIndex]);
+                    break;
+                case BETWEEN:
+                    addBetween(query, values[parameterIndex], values[parameterIndex + 1]);
+                    break;
+                case CONTAINS:
+                    query.contains(columnIndices, (String) checkType(values[parameterIndex], 0, String.class),
+                            caseSensitive);
+                    break;
+                case BEGINS_WITH:
+                    query.beginsWith(columnIndices, (String) checkType(values[parameterIndex], 0, String.class),
+                            caseSensitive);
+                    break;
+                case ENDS_WITH:
+                    query.endsWith(columnIndices, (String) checkType(values[parameterIndex], 0, String.class),
+                            caseSensitive);
+                    break;
+                case IN:
+                    if (columnType == ColumnType.INTEGER) {
+                        long[] longValues = (long[]) checkType(values[parameterIndex], 0, long[].class);
+                        if (longValues.length == 0) {
+                            throw new IllegalArgumentException(parameterError(0, "Non-empty values expected."));
+                        }
+                        query.in(columnIndices, longValues);
+                    } else {
+                        String[] stringValues = (String[]) checkType(values[parameterIndex], 0, String[].class);
+                        if (stringValues.length == 0) {
+                            throw new IllegalArgumentException(parameterError(0, "Non-empty values expected."));
+                        }
+                        query.in(columnIndices, stringValues, caseSensitive);
+                    }
+                    break;
+                case IS_NULL:
+                    query.isNull(columnIndices);
+                    break;
+                case IS_NOT_NULL:
+                    query.isNotNull(columnIndices);
+                    break;
+                case IS_EMPTY:
+                    query.isEmpty(columnIndices);
+                    break;
+                case BEGIN_GROUP:
+                    query.group();
+                    break;
+                case END_GROUP:
+                    query.endGroup();
+                    break;
+                case OR:
+                    query.or();
+                    break;
+                case NOT:
+                    query.not();
+                    break;
+            }
+        }
+
+        private void addEquality(TableQuery query, Object value) {
+            boolean equal = (operator == Operator.EQUAL_TO);
+            if (value == null) {
+                if (equal) {
+                    query.isNull(columnIndices);
+                } else {
+                    query.isNotNull(columnIndices);
+                }
+                return;
+            }
+            switch (columnType) {
+                case INTEGER:
+                    long longValue = toLong(value, 0);
+                    if (equal) {
+                        query.equalTo(columnIndices, longValue);
+                    } else {
+                        query.notEqualTo(columnIndices, longValue);
+                    }
+                    break;
+                case FLOAT:
+                    float floatValue = (Float) checkType(value, 0, Float.class);
+                    if (equal) {
+                        query.equalTo(columnIndices, floatValue);
+                    } else {
+                        query.notEqualTo(columnIndices, floatValue);
+                    }
+                    break;
+                case DOUBLE:
+                    double doubleValue = (Double) checkType(value, 0, Double.class);
+                    if (equal) {
+                        query.equalTo(columnIndices, doubleValue);
+                    } else {
+                        query.notEqualTo(columnIndices, doubleValue);
+                    }
+                    break;
+                case BOOLEAN:
+                    boolean booleanValue = (Boolean) checkType(value, 0, Boolean.class);
+                    if (equal) {
+                        query.equalTo(columnIndices, booleanValue);
+                    } else {
+                        query.notEqualTo(columnIndices, booleanValue);
+                    }
+                    break;
+                case DATE:
+                    Date dateValue = (Date) checkType(value, 0, Date.class);
+                    if (equal) {
+                        query.equalTo(columnIndices, dateValue);
+                    } else {
+                        query.notEqualTo(columnIndices, dateValue);
+                    }
+                    break;
+                case STRING:
+                    String stringValue = (String) checkType(value, 0, String.class);
+                    if (equal) {
+                        query.equalTo(columnIndices, stringValue, caseSensitive);
+                    } else {
+                        query.notEqualTo(columnIndices, stringValue, caseSensitive);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported column type: " + columnType);
+            }
+        }
+
+        private void addComparison(TableQuery query, Object value) {
+            switch (columnType) {
+                case INTEGER:
+                    compare(query, toLong(value, 0));
+                    break;
+                case FLOAT:
+                    compare(query, (Float) checkType(value, 0, Float.class));
+                    break;
+                case DOUBLE:
+                    compare(query, (Double) checkType(value, 0, Double.class));
+                    break;
+                case DATE:
+                    compare(query, (Date) checkType(value, 0, Date.class));
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported column type: " + columnType);
+            }
+        }
+
+        private void compare(TableQuery query, long value) {
+            if (operator == Operator.GREATER_THAN) {
+                query.greaterThan(columnIndices, value);
+            } else if (operator == Operator.GREATER_THAN_OR_EQUAL_TO) {
+                query.greaterThanOrEqual(columnIndices, value);
+            } else if (operator == Operator.LESS_THAN) {
+                query.lessThan(columnIndices, value);
+            } else {
+                query.lessThanOrEqual(columnIndices, value);
+            }
+        }
+
+        private void compare(TableQuery query, float value) {
+            if (operator == Operator.GREATER_THAN) {
+                query.greaterThan(columnIndices, value);
+            } else if (operator == Operator.GREATER_THAN_OR_EQUAL_TO) {
+                query.greaterThanOrEqual(columnIndices, value);
+            } else if (operator == Operator.LESS_THAN) {
+                query.lessThan(columnIndices, value);
+            } else {
+                query.lessThanOrEqual(columnIndices, value);
+            }
+        }
+
+        private void compare(TableQuery query, double value) {
+            if (operator == Operator.GREATER_THAN) {
+                query.greaterThan(columnIndices, value);
+            } else if (operator == Operator.GREATER_THAN_OR_EQUAL_TO) {
+                query.greaterThanOrEqual(columnIndices, value);
+            } else if (operator == Operator.LESS_THAN) {
+                query.lessThan(columnIndices, value);
+            } else {
+                query.lessThanOrEqual(columnIndices, value);
+            }
+        }
+
+        private void compare(TableQuery query, Date value) {
+            if (operator == Operator.GREATER_THAN) {
+                query.greaterThan(columnIndices, value);
+            } else if (operator == Operator.GREATER_THAN_OR_EQUAL_TO) {
+                query.greaterThanOrEqual(columnIndices, value);
+            } else if (operator == Operator.LESS_THAN) {
+                query.lessThan(columnIndices, value);
+            } else {
+                query.lessThanOrEqual(columnIndices, value);
+            }
+        }
+
+        private void addBetween(TableQuery query, Object from, Object to) {
+            switch (columnType) {
+                case INTEGER:
+                    query.between(columnIndices, toLong(from, 0), toLong(to, 1));
+                    break;
+                case FLOAT:
+                    query.between(columnIndices, (Float) checkType(from, 0, Float.class),
+                            (Float) checkType(to, 1, Float.class));
+                    break;
+                case DOUBLE:
+                    query.between(columnIndices, (Double) checkType(from, 0, Double.class),
+                            (Double) checkType(to, 1, Double.class));
+                    break;
+                case DATE:
+                    query.between(columnIndices, (Date) checkType(from, 0, Date.class),
+                            (Date) checkType(to, 1, Date.class));
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported column type: " + columnType);
+            }
+        }
+
+        private long toLong(Object value, int offset) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            }
+            throw new IllegalArgumentException(parameterError(offset, "an integer expected but was " + value));
+        }
+
+        private Object checkType(Object value, int offset, Class<?> type) {
+            if (!type.isInstance(value)) {
+                throw new IllegalArgumentException(parameterError(offset, String.format("%s expected but was %s",
+                        type.getSimpleName(), value)));
+            }
+            return value;
+        }
+
+        private String parameterError(int offset, String message) {
+            return String.format("Parameter %d: %s", parameterIndex + offset, message);
+        }
+    }
+}
@@ -22,11 +22,14 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,13 +38,17 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.exceptions.RealmEncryptionNotSupportedException;
 import io.realm.exceptions.RealmException;
@@ -49,12 +56,16 @@ import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.ColumnType;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.Util;
+import io.realm.internal.android.JsonUtils;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -141,6 +152,8 @@ public final class Realm extends BaseRealm {
 
     private static RealmConfiguration defaultConfiguration;
     protected ColumnIndices columnIndices;
+    // null unless the configuration uses an identity map
+    private final ObjectIdentityMap identityMap;
     /**
      * The constructor is private to enforce the use of the static one.
      *
@@ -151,6 +164,7 @@ public final class Realm extends BaseRealm {
      */
     private Realm(RealmConfiguration configuration, boolean autoRefresh) {
         super(configuration, autoRefresh);
+        identityMap = configuration.shouldUseIdentityMap() ? new ObjectIdentityMap() : null;
     }
 
     @Override
@@ -374,6 +388,161 @@ public final class Realm extends BaseRealm {
         }
     }
 
+    /**
+     * Creates Realm objects from arrays of field values, one array per field. This must be done within a transaction.
+     * <p>
+     * The objects are appended together and each array is written with a single native call, without creating a
+     * RealmObject or calling a setter for each value. This is much faster than {@link #createObject(Class)} for
+     * loading many objects. If the class has a primary key, its values must be given and are checked for duplicates
+     * once for all the objects. Fields which aren't given are left to their default values.
+     * <p>
+     * The supported arrays are {@code long[]}, {@code int[]}, {@code short[]} and {@code byte[]} for integer fields,
+     * {@code boolean[]}, {@code float[]}, {@code double[]}, {@code Date[]} and {@code String[]}. Links, lists and
+     * binary fields can't be set this way.
+     *
+     * @param clazz type of Realm objects to create.
+     * @param columns map between field names and the values of the field for each object. All the arrays must have
+     *                the same length, the number of objects to create.
+     * @throws IllegalArgumentException if a field doesn't exist, can't be set from the given array, or a null value is
+     * given for a required field.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if a primary key already exists or is given twice.
+     */
+    public <E extends RealmObject> void createAllFromColumns(Class<E> clazz, Map<String, ?> columns) {
+        if (clazz == null || columns == null) {
+            throw new IllegalArgumentException("Non-null 'clazz' and 'columns' required.");
+        }
+        checkIfValid();
+        Table table = getTable(clazz);
+
+        // everything is checked before the first row is added
+        int numberOfRows = -1;
+        int numberOfColumns = 0;
+        long[] columnIndices = new long[columns.size()];
+        Object[] columnValues = new Object[columns.size()];
+        Object primaryKeys = null;
+        for (Map.Entry<String, ?> column : columns.entrySet()) {
+            String fieldName = column.getKey();
+            long columnIndex = table.getColumnIndex(fieldName);
+            if (columnIndex == TableOrView.NO_MATCH) {
+                throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+            }
+            Object values = toColumnValues(table, columnIndex, fieldName, column.getValue());
+            int length = java.lang.reflect.Array.getLength(values);
+            if (numberOfRows == -1) {
+                numberOfRows = length;
+            } else if (length != numberOfRows) {
+                throw new IllegalArgumentException(String.format(
+                        "Field '%s' has %d values while the other fields have %d.", fieldName, length, numberOfRows));
+            }
+            if (table.isPrimaryKey(columnIndex)) {
+                primaryKeys = values;
+            } else {
+                columnIndices[numberOfColumns] = columnIndex;
+                columnValues[numberOfColumns] = values;
+                numberOfColumns++;
+            }
+        }
+        if (table.hasPrimaryKey() && primaryKeys == null && numberOfRows > 0) {
+            throw new IllegalArgumentException("The primary key values of " + clazz.getSimpleName() + " must be given.");
+        }
+        if (numberOfRows <= 0) {
+            return;
+        }
+
+        long startRowIndex;
+        if (primaryKeys instanceof long[]) {
+            startRowIndex = table.addEmptyRowsWithPrimaryKeys((long[]) primaryKeys);
+        } else if (primaryKeys instanceof String[]) {
+            startRowIndex = table.addEmptyRowsWithPrimaryKeys((String[]) primaryKeys);
+        } else {
+            startRowIndex = table.addEmptyRows(numberOfRows);
+        }
+        for (int i = 0; i < numberOfColumns; i++) {
+            Object values = columnValues[i];
+            if (values instanceof long[]) {
+                table.setLongs(columnIndices[i], startRowIndex, (long[]) values);
+            } else if (values instanceof boolean[]) {
+                table.setBooleans(columnIndices[i], startRowIndex, (boolean[]) values);
+            } else if (values instanceof float[]) {
+                table.setFloats(columnIndices[i], startRowIndex, (float[]) values);
+            } else if (values instanceof double[]) {
+                table.setDoubles(columnIndices[i], startRowIndex, (double[]) values);
+            } else if (values instanceof Date[]) {
+                table.setDates(columnIndices[i], startRowIndex, (Date[]) values);
+            } else {
+                table.setStrings(columnIndices[i], startRowIndex, (String[]) values);
+            }
+        }
+    }
+
+    // Checks that the values can be written to the column, the integers are returned as a long[]
+    private static Object toColumnValues(Table table, long columnIndex, String fieldName, Object values) {
+        if (values == null) {
+            throw new IllegalArgumentException(String.format("Field '%s' has no values.", fieldName));
+        }
+        ColumnType type = table.getColumnType(columnIndex);
+        switch (type) {
+            case INTEGER:
+                if (values instanceof long[]) {
+                    return values;
+                }
+                if (values instanceof int[] || values instanceof short[] || values instanceof byte[]) {
+                    long[] longs = new long[java.lang.reflect.Array.getLength(values)];
+                    for (int i = 0; i < longs.length; i++) {
+                        longs[i] = java.lang.reflect.Array.getLong(values, i);
+                    }
+                    return longs;
+                }
+                break;
+            case BOOLEAN:
+                if (values instanceof boolean[]) {
+                    return values;
+                }
+                break;
+            case FLOAT:
+                if (values instanceof float[]) {
+                    return values;
+                }
+                break;
+            case DOUBLE:
+                if (values instanceof double[]) {
+                    return values;
+                }
+                break;
+            case DATE:
+                if (values instanceof Date[]) {
+                    if (!table.isColumnNullable(columnIndex)) {
+                        for (Date date : (Date[]) values) {
+                            if (date == null) {
+                                throw new IllegalArgumentException(
+                                        String.format("Field '%s' can't be null.", fieldName));
+                            }
+                        }
+                    }
+                    return values;
+                }
+                break;
+            case STRING:
+                if (values instanceof String[]) {
+                    if (!table.isColumnNullable(columnIndex) || table.isPrimaryKey(columnIndex)) {
+                        for (String value : (String[]) values) {
+                            if (value == null) {
+                                throw new IllegalArgumentException(
+                                        String.format("Field '%s' can't be null.", fieldName));
+                            }
+                        }
+                    }
+                    return values;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Field '%s' of type %s can't be set from an array.",
+                        fieldName, type));
+        }
+        throw new IllegalArgumentException(String.format("Field '%s' of type %s can't be set from a %s.",
+                fieldName, type, values.getClass().getSimpleName()));
+    }
+
     /**
      * Tries to update a list of existing objects identified by their primary key with new JSON data. If an existing
      * object could not be found in the Realm, a new object will be created. This must happen within a transaction.
@@ -493,24 +662,93 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // As we need the primary key value, which might be the last property, each object is read before it is
+        // created or updated. Only one object of the array is held in memory at a time.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new RealmException("Failed to read JSON: expected an array but was " + reader.peek());
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JSONObject json = JsonUtils.readJsonObject(reader);
+                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
             }
+            reader.endArray();
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
+    /**
+     * Creates a Realm object for each object in a JSON array, in the background. The stream is parsed by one thread
+     * while another thread writes the objects already parsed, committing a write transaction every {@code chunkSize}
+     * objects. The objects of the committed chunks are kept if the import fails or is cancelled.
+     *
+     * @param clazz type of Realm objects created.
+     * @param inputStream the JSON array as a InputStream. All objects in the array must be of the specified class.
+     *                    It's closed once the array is read.
+     * @param chunkSize number of objects written per write transaction.
+     * @param callback optional callback invoked on the caller thread with the progress and the result of the import.
+     * @return a {@link RealmAsyncTask} representing the import, which can be cancelled.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     * @throws IllegalStateException if a callback is provided from a thread without a Looper.
+     * @see #createAllFromJson(Class, java.io.InputStream)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> RealmAsyncTask createAllFromJsonAsync(Class<E> clazz, InputStream inputStream,
+                                                                         int chunkSize, JsonImportCallback callback) {
+        if (clazz == null || inputStream == null) {
+            throw new IllegalArgumentException("A class and an InputStream must be provided");
+        }
+        return importJsonAsync(clazz, inputStream, false, chunkSize, callback);
+    }
+
+    /**
+     * Creates or updates a Realm object for each object in a JSON array, in the background. The stream is parsed by
+     * one thread while another thread writes the objects already parsed, committing a write transaction every
+     * {@code chunkSize} objects. The objects of the committed chunks are kept if the import fails or is cancelled.
+     *
+     * @param clazz type of {@link io.realm.RealmObject} to create or update. It must have a primary key defined.
+     * @param in the InputStream with a list of object data in JSON format. It's closed once the array is read.
+     * @param chunkSize number of objects written per write transaction.
+     * @param callback optional callback invoked on the caller thread with the progress and the result of the import.
+     * @return a {@link RealmAsyncTask} representing the import, which can be cancelled.
+     * @throws IllegalArgumentException if trying to update a class without a {@link io.realm.annotations.PrimaryKey}
+     * or if {@code chunkSize} is less than 1.
+     * @throws IllegalStateException if a callback is provided from a thread without a Looper.
+     * @see #createOrUpdateAllFromJson(Class, java.io.InputStream)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> RealmAsyncTask createOrUpdateAllFromJsonAsync(Class<E> clazz, InputStream in,
+                                                                                 int chunkSize,
+                                                                                 JsonImportCallback callback) {
+        if (clazz == null || in == null) {
+            throw new IllegalArgumentException("A class and an InputStream must be provided");
+        }
+        checkHasPrimaryKey(clazz);
+        return importJsonAsync(clazz, in, true, chunkSize, callback);
+    }
+
+    private <E extends RealmObject> RealmAsyncTask importJsonAsync(Class<E> clazz, InputStream in, boolean update,
+                                                                   int chunkSize, JsonImportCallback callback) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, was " + chunkSize);
+        }
+        // The callback is delivered with the Handler of this Realm
+        if (callback != null && handler == null) {
+            throw new IllegalStateException("Your Realm is opened from a thread without a Looper" +
+                    " and you provided a callback, we need a Handler to invoke your callback");
+        }
+        return JsonImport.submit(getConfiguration(), clazz, in, update, chunkSize, callback, handler);
+    }
+
     /**
      * Creates a Realm object pre-filled with data from a JSON object. This must be done inside a transaction. JSON
      * properties with a null value will map to the default value for the data type in Realm and unknown properties will
@@ -652,26 +890,23 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // As we need the primary key value, which might be the last property, the object is read before it is
+        // created or updated
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
+            JSONObject json = JsonUtils.readJsonObject(reader);
             return configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
-    }
-
     /**
      * Instantiates and adds a new object to the Realm.
      *
@@ -703,10 +938,28 @@ public final class Realm extends BaseRealm {
     }
 
     void remove(Class<? extends RealmObject> clazz, long objectIndex) {
-        getTable(clazz).moveLastOver(objectIndex);
+        Table table = getTable(clazz);
+        long lastRowIndex = table.size() - 1;
+        table.moveLastOver(objectIndex);
+        if (identityMap != null) {
+            identityMap.rowMovedOver(clazz, objectIndex, lastRowIndex);
+        }
     }
 
     <E extends RealmObject> E get(Class<E> clazz, long rowIndex) {
+        if (identityMap == null) {
+            return newObject(clazz, rowIndex);
+        }
+        E result = identityMap.get(clazz, rowIndex);
+        if (result == null) {
+            result = newObject(clazz, rowIndex);
+            identityMap.put(clazz, rowIndex, result);
+        }
+        return result;
+    }
+
+    // Creates a new object for the row, even if the identity map has one
+    <E extends RealmObject> E newObject(Class<E> clazz, long rowIndex) {
         Table table = getTable(clazz);
         UncheckedRow row = table.getUncheckedRow(rowIndex);
         E result = configuration.getSchemaMediator().newInstance(clazz, getColumnInfo(clazz));
@@ -780,9 +1033,14 @@ public final class Realm extends BaseRealm {
      * Updates a list of existing RealmObjects that is identified by their {@link io.realm.annotations.PrimaryKey} or
      * creates a new copy if no existing object could be found. This is a deep copy or update, so all referenced objects
      * will be either copied or updated.
+     * <p>
+     * The primary keys of all the objects are checked before any row is added. The keys of a class are then looked up
+     * at once, the rows of the keys not found are added at once, and each field is written for all the objects of a
+     * class with a single native call. Links and lists are written object by object in the order of {@code objects}.
+     * An object updated several times, directly or through links, ends up with the values of its last occurrence.
      *
      * @param objects a list of objects to update or copy into Realm.
-     * @return a list of all the new or updated RealmObjects.
+     * @return a list of all the new or updated RealmObjects, in the order of {@code objects}.
      * @throws java.lang.IllegalArgumentException if RealmObject is {@code null} or doesn't have a Primary key defined.
      * @see #copyToRealm(Iterable)
      */
@@ -790,15 +1048,163 @@ public final class Realm extends BaseRealm {
         if (objects == null) {
             return new ArrayList<E>();
         }
+        checkIfValid();
 
         ArrayList<E> realmObjects = new ArrayList<E>();
+        // positions in realmObjects of the objects to copy or update, grouped by class
+        Map<Class<E>, List<Integer>> positions = new LinkedHashMap<Class<E>, List<Integer>>();
         for (E object : objects) {
-            realmObjects.add(copyToRealmOrUpdate(object));
+            checkNotNullObject(object);
+            // If object is already in the Realm there is nothing to update
+            if (object.realm == null || !object.realm.getPath().equals(getPath())) {
+                @SuppressWarnings("unchecked")
+                Class<E> clazz = (Class<E>) Util.getOriginalModelClass(object.getClass());
+                List<Integer> classPositions = positions.get(clazz);
+                if (classPositions == null) {
+                    checkHasPrimaryKey(clazz);
+                    classPositions = new ArrayList<Integer>();
+                    positions.put(clazz, classPositions);
+                }
+                classPositions.add(realmObjects.size());
+            }
+            realmObjects.add(object);
+        }
+
+        // all the keys are read and checked before the first row is added
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        Map<Class<E>, Object[]> keys = new HashMap<Class<E>, Object[]>();
+        for (Map.Entry<Class<E>, List<Integer>> entry : positions.entrySet()) {
+            List<Integer> classPositions = entry.getValue();
+            Object[] classKeys = new Object[classPositions.size()];
+            for (int i = 0; i < classKeys.length; i++) {
+                classKeys[i] = mediator.getPrimaryKeyValue(entry.getKey(), realmObjects.get(classPositions.get(i)));
+                if (classKeys[i] == null) {
+                    throw new IllegalArgumentException("Primary key value must not be null.");
+                }
+            }
+            keys.put(entry.getKey(), classKeys);
+        }
+
+        long[] rowIndices = new long[realmObjects.size()];
+        Arrays.fill(rowIndices, TableOrView.NO_MATCH);
+        for (Map.Entry<Class<E>, List<Integer>> entry : positions.entrySet()) {
+            findOrAddRows(entry.getKey(), entry.getValue(), keys.get(entry.getKey()), rowIndices);
+        }
+
+        // The fields of a class are written column by column, the objects of a row in the order of the list
+        for (Map.Entry<Class<E>, List<Integer>> entry : positions.entrySet()) {
+            List<Integer> classPositions = entry.getValue();
+            List<E> classObjects = new ArrayList<E>(classPositions.size());
+            long[] classRowIndices = new long[classPositions.size()];
+            for (int i = 0; i < classRowIndices.length; i++) {
+                classObjects.add(realmObjects.get(classPositions.get(i)));
+                classRowIndices[i] = rowIndices[classPositions.get(i)];
+            }
+            mediator.updateColumns(entry.getKey(), this, classObjects, classRowIndices);
         }
 
+        // Links are written in the order of the list, as the linked objects they copy or update can be objects of
+        // the list too. The last position at which each row is written through a link is kept.
+        Map<Class<? extends RealmObject>, Map<Long, Integer>> linkedRows =
+                new HashMap<Class<? extends RealmObject>, Map<Long, Integer>>();
+        for (int i = 0; i < realmObjects.size(); i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH) {
+                continue;
+            }
+            E object = realmObjects.get(i);
+            @SuppressWarnings("unchecked")
+            Class<E> clazz = (Class<E>) Util.getOriginalModelClass(object.getClass());
+            E realmObject = get(clazz, rowIndices[i]);
+            Map<RealmObject, RealmObjectProxy> cache = new HashMap<RealmObject, RealmObjectProxy>();
+            cache.put(object, (RealmObjectProxy) realmObject);
+            realmObjects.set(i, mediator.updateLinks(clazz, this, realmObject, object, cache));
+            for (Map.Entry<RealmObject, RealmObjectProxy> cached : cache.entrySet()) {
+                if (cached.getKey() == object) {
+                    continue;
+                }
+                RealmObject linkedObject = (RealmObject) cached.getValue();
+                Class<? extends RealmObject> linkedClass = Util.getOriginalModelClass(linkedObject.getClass());
+                Map<Long, Integer> classLinkedRows = linkedRows.get(linkedClass);
+                if (classLinkedRows == null) {
+                    classLinkedRows = new HashMap<Long, Integer>();
+                    linkedRows.put(linkedClass, classLinkedRows);
+                }
+                classLinkedRows.put(linkedObject.row.getIndex(), i);
+            }
+        }
+
+        // A row written through a link before the last object of the list with this row gets its fields back
+        for (Map.Entry<Class<E>, List<Integer>> entry : positions.entrySet()) {
+            Map<Long, Integer> classLinkedRows = linkedRows.get(entry.getKey());
+            if (classLinkedRows == null) {
+                continue;
+            }
+            List<Integer> classPositions = entry.getValue();
+            for (int i = classPositions.size() - 1; i >= 0; i--) {
+                int position = classPositions.get(i);
+                // removed, so only the last object of each row is looked at
+                Integer linkedPosition = classLinkedRows.remove(rowIndices[position]);
+                if (linkedPosition != null && linkedPosition < position) {
+                    mediator.updateColumns(entry.getKey(), this,
+                            Collections.singletonList(realmObjects.get(position)), new long[] {rowIndices[position]});
+                }
+            }
+        }
         return realmObjects;
     }
 
+    // Finds the rows of the objects at the given positions by their primary key, and adds the rows of the keys not
+    // found. All the objects are of the given class. The row of each position is set in rowIndicesByPosition.
+    private <E extends RealmObject> void findOrAddRows(Class<E> clazz, List<Integer> positions, Object[] keys,
+                                                       long[] rowIndicesByPosition) {
+        Table table = getTable(clazz);
+        long primaryKeyColumnIndex = table.getPrimaryKey();
+        boolean isStringKey = table.getColumnType(primaryKeyColumnIndex) == ColumnType.STRING;
+
+        int size = positions.size();
+        long[] rowIndices;
+        if (isStringKey) {
+            rowIndices = table.findFirstStrings(primaryKeyColumnIndex, Arrays.copyOf(keys, size, String[].class));
+        } else {
+            long[] longKeys = new long[size];
+            for (int i = 0; i < size; i++) {
+                longKeys[i] = (Long) keys[i];
+            }
+            rowIndices = table.findFirstLongs(primaryKeyColumnIndex, longKeys);
+        }
+
+        // A key not found gets a single new row, even if several objects of the list have it
+        Map<Object, Integer> missingKeys = new LinkedHashMap<Object, Integer>();
+        for (int i = 0; i < size; i++) {
+            if (rowIndices[i] == TableOrView.NO_MATCH && !missingKeys.containsKey(keys[i])) {
+                missingKeys.put(keys[i], missingKeys.size());
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            long startRowIndex;
+            if (isStringKey) {
+                startRowIndex = table.addEmptyRowsWithPrimaryKeys(
+                        missingKeys.keySet().toArray(new String[missingKeys.size()]));
+            } else {
+                long[] newKeys = new long[missingKeys.size()];
+                int i = 0;
+                for (Object key : missingKeys.keySet()) {
+                    newKeys[i++] = (Long) key;
+                }
+                startRowIndex = table.addEmptyRowsWithPrimaryKeys(newKeys);
+            }
+            for (int i = 0; i < size; i++) {
+                if (rowIndices[i] == TableOrView.NO_MATCH) {
+                    rowIndices[i] = startRowIndex + missingKeys.get(keys[i]);
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            rowIndicesByPosition[positions.get(i)] = rowIndices[i];
+        }
+    }
+
     boolean contains(Class<? extends RealmObject> clazz) {
         return configuration.getSchemaMediator().getModelClasses().contains(clazz);
     }
@@ -1046,7 +1452,12 @@ public final class Realm extends BaseRealm {
         // to perform the transaction
         final RealmConfiguration realmConfiguration = getConfiguration();
 
-        final Future<?> pendingQuery = asyncQueryExecutor.submit(new Runnable() {
+        if (realmConfiguration.shouldGroupAsyncTransactions()) {
+            return AsyncTransactionGroup.submit(realmConfiguration, transaction, callback, handler);
+        }
+
+        final RealmThreadPoolExecutor asyncExecutor = realmConfiguration.getAsyncExecutor();
+        final Future<?> pendingQuery = asyncExecutor.submit(new Runnable() {
             @Override
             public void run() {
                 if (!Thread.currentThread().isInterrupted()) {
@@ -1090,9 +1501,9 @@ public final class Realm extends BaseRealm {
                     }
                 }
             }
-        });
+        }, RealmThreadPoolExecutor.PRIORITY_WRITE, null);
 
-        return new RealmAsyncTask(pendingQuery);
+        return new RealmAsyncTask(pendingQuery, asyncExecutor);
     }
 
     /**
@@ -1139,6 +1550,10 @@ public final class Realm extends BaseRealm {
             }
         }
         realmsCache.get().remove(configuration);
+        if (identityMap != null) {
+            // the objects of the map are no longer valid, and must not be returned if the instance is reused
+            identityMap.clear();
+        }
     }
 
     /**
@@ -1209,9 +1624,15 @@ public final class Realm extends BaseRealm {
         }
     }
 
-    // Return all handlers registered for this Realm
+    // Return all handlers registered for all Realm files, mapped to the canonical path of their file
     static Map<Handler, String> getHandlers() {
-        return handlers;
+        Map<Handler, String> allHandlers = new HashMap<Handler, String>();
+        for (Map.Entry<String, Map<Handler, AtomicBoolean>> pathHandlers : handlers.entrySet()) {
+            for (Handler handler : pathHandlers.getValue().keySet()) {
+                allHandlers.put(handler, pathHandlers.getKey());
+            }
+        }
+        return allHandlers;
     }
 
     // Public because of migrations
@@ -1308,4 +1729,33 @@ public final class Realm extends BaseRealm {
             public void onError(Exception e) {}
         }
     }
+
+    /**
+     * Callback invoked on the caller thread while a JSON array is imported in the background.
+     *
+     * @see #createAllFromJsonAsync(Class, InputStream, int, JsonImportCallback)
+     */
+    public static class JsonImportCallback {
+        /**
+         * Called each time a chunk of objects has been committed.
+         *
+         * @param importedCount number of objects committed so far.
+         */
+        public void onProgress(long importedCount) {}
+
+        /**
+         * Called once all the objects of the array have been committed.
+         *
+         * @param importedCount total number of objects imported.
+         */
+        public void onSuccess(long importedCount) {}
+
+        /**
+         * Called if the JSON could not be read or an object could not be written. The chunks committed before are
+         * kept.
+         *
+         * @param e the cause of the failure.
+         */
+        public void onError(Exception e) {}
+    }
 }
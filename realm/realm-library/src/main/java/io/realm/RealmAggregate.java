@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The value of an aggregate (sum, average, minimum, maximum or count) computed asynchronously by a worker thread, see
+ * {@link RealmQuery#sumAsync(String)} for example.
+ * <p>
+ * Like the {@link RealmResults} of async queries, the value is kept up to date: the aggregate is computed again in
+ * the background when a table the query depends on changes, and the registered {@link RealmChangeListener}s are
+ * called with each new value.
+ *
+ * @param <T> the type of the value.
+ */
+public final class RealmAggregate<T> {
+
+    private final Realm realm;
+    private final RealmQuery<? extends RealmObject> query;
+    private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private T value;
+    private boolean isLoaded = false;
+
+    RealmAggregate(Realm realm, RealmQuery<? extends RealmObject> query) {
+        this.realm = realm;
+        this.query = query;
+    }
+
+    /**
+     * Returns the latest value of the aggregate.
+     *
+     * @return the value, or {@code null} if it is not loaded yet or if there are no values to compute a minimum or
+     * maximum from.
+     */
+    public T get() {
+        realm.checkIfValid();
+        return value;
+    }
+
+    /**
+     * Checks if the aggregate has been computed.
+     *
+     * @return {@code true} if the value has been computed, {@code false} if the query is still running.
+     */
+    public boolean isLoaded() {
+        realm.checkIfValid();
+        return isLoaded;
+    }
+
+    /**
+     * Makes an asynchronous aggregate blocking by computing it on the caller thread. This will also trigger any
+     * registered listeners.
+     *
+     * @return {@code true} if the value is loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean load() {
+        if (!isLoaded()) {
+            value = (T) query.computeAggregate();
+            isLoaded = true;
+            notifyChangeListeners();
+        }
+        return true;
+    }
+
+    /**
+     * Adds a change listener, notified each time a new value is available.
+     *
+     * @param listener the change listener to be notified.
+     */
+    public void addChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        listeners.remove(listener);
+    }
+
+    /**
+     * Removes all registered listeners.
+     */
+    public void removeChangeListeners() {
+        realm.checkIfValid();
+        listeners.clear();
+    }
+
+    /**
+     * Sets the value computed by a worker thread.
+     */
+    @SuppressWarnings("unchecked")
+    void setValue(Object value) {
+        this.value = (T) value;
+        isLoaded = true;
+    }
+
+    void notifyChangeListeners() {
+        realm.checkIfValid();
+        for (RealmChangeListener listener : listeners) {
+            listener.onChange();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RealmAggregate{" + (isLoaded ? value : "not loaded") + "}";
+    }
+}
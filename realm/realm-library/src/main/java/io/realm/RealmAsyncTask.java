@@ -17,6 +17,7 @@
 package io.realm;
 
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Represents a pending asynchronous Realm transaction.
@@ -27,10 +28,16 @@ import java.util.concurrent.Future;
  */
 public class RealmAsyncTask {
     private final Future<?> pendingQuery;
+    private final ThreadPoolExecutor executor;
     private volatile boolean isCancelled = false;
 
     public RealmAsyncTask(Future<?> pendingQuery) {
+        this(pendingQuery, Realm.asyncQueryExecutor);
+    }
+
+    RealmAsyncTask(Future<?> pendingQuery, ThreadPoolExecutor executor) {
         this.pendingQuery = pendingQuery;
+        this.executor = executor;
     }
 
     /**
@@ -49,7 +56,7 @@ public class RealmAsyncTask {
         // first thread is attempting to purge the queue the attempt to purge
         // the queue fails and the cancelled object remain in the queue.
         // A better way to cancel objects with thread pools is to use the remove()
-        Realm.asyncQueryExecutor.getQueue().remove(pendingQuery);
+        executor.getQueue().remove(pendingQuery);
     }
 
     /**
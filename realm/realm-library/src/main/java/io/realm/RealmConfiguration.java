@@ -30,6 +30,7 @@ import io.realm.annotations.RealmModule;
 import io.realm.exceptions.RealmException;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.modules.CompositeMediator;
 import io.realm.internal.modules.FilterableMediator;
 
@@ -77,6 +78,10 @@ public class RealmConfiguration {
     private final boolean deleteRealmIfMigrationNeeded;
     private final SharedGroup.Durability durability;
     private final RealmProxyMediator schemaMediator;
+    private final AsyncExecutorOptions asyncExecutorOptions;
+    private final RealmThreadPoolExecutor asyncExecutor;
+    private final boolean groupAsyncTransactions;
+    private final boolean useIdentityMap;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -88,6 +93,11 @@ public class RealmConfiguration {
         this.migration = builder.migration;
         this.durability = builder.durability;
         this.schemaMediator = createSchemaMediator(builder);
+        this.asyncExecutorOptions = builder.asyncExecutorOptions;
+        this.asyncExecutor = (asyncExecutorOptions != null) ? RealmThreadPoolExecutor.getInstance(asyncExecutorOptions)
+                : RealmThreadPoolExecutor.getInstance();
+        this.groupAsyncTransactions = builder.groupAsyncTransactions;
+        this.useIdentityMap = builder.useIdentityMap;
     }
 
     public File getRealmFolder() {
@@ -118,6 +128,27 @@ public class RealmConfiguration {
         return durability;
     }
 
+    /**
+     * Returns the settings of the executor given to {@link Builder#asyncExecutor(AsyncExecutorOptions)}.
+     *
+     * @return the settings of the executor, or {@code null} if the default executor is used.
+     */
+    public AsyncExecutorOptions getAsyncExecutorOptions() {
+        return asyncExecutorOptions;
+    }
+
+    RealmThreadPoolExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public boolean shouldGroupAsyncTransactions() {
+        return groupAsyncTransactions;
+    }
+
+    public boolean shouldUseIdentityMap() {
+        return useIdentityMap;
+    }
+
     public RealmProxyMediator getSchemaMediator() {
         return schemaMediator;
     }
@@ -141,6 +172,8 @@ public class RealmConfiguration {
         if (!Arrays.equals(key, that.key)) return false;
         if (!durability.equals(that.durability)) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
+        if (groupAsyncTransactions != that.groupAsyncTransactions) return false;
+        if (useIdentityMap != that.useIdentityMap) return false;
         return schemaMediator.equals(that.schemaMediator);
     }
 
@@ -155,6 +188,8 @@ public class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + (groupAsyncTransactions ? 1 : 0);
+        result = 31 * result + (useIdentityMap ? 1 : 0);
 
         return result;
     }
@@ -216,6 +251,9 @@ public class RealmConfiguration {
         private RealmMigration migration;
         private boolean deleteRealmIfMigrationNeeded;
         private SharedGroup.Durability durability;
+        private AsyncExecutorOptions asyncExecutorOptions;
+        private boolean groupAsyncTransactions;
+        private boolean useIdentityMap;
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
 
@@ -263,6 +301,9 @@ public class RealmConfiguration {
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
             this.durability = SharedGroup.Durability.FULL;
+            this.asyncExecutorOptions = null;
+            this.groupAsyncTransactions = false;
+            this.useIdentityMap = false;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -354,6 +395,50 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets the settings of the executor running the async queries and transactions of this Realm. By default all
+         * Realms share an executor with {@code 2 * cores + 1} threads, room for 100 waiting tasks, and running new
+         * tasks on a fallback thread once full. The Realms configured with equal options share an executor too.
+         * <p>
+         * All configurations of a Realm file should use the same options. The executor isn't part of the equality of
+         * configurations.
+         *
+         * @param options the settings of the executor to use for background work.
+         */
+        public Builder asyncExecutor(AsyncExecutorOptions options) {
+            if (options == null) {
+                throw new IllegalArgumentException("Non-null options must be provided");
+            }
+            this.asyncExecutorOptions = options;
+            return this;
+        }
+
+        /**
+         * Setting this will write the async transactions of this Realm in groups. Transactions queued by
+         * {@link Realm#executeTransaction(Realm.Transaction, Realm.Transaction.Callback)} while a previous group is being
+         * written are executed one after the other inside a single write transaction, which is committed once and
+         * notifies the other threads once.
+         * <p>
+         * A transaction throwing an exception, or cancelled before the group is committed, is rolled back without
+         * affecting the others, but this is done by executing the other transactions of the group again. Transactions
+         * must therefore not have side effects outside of the Realm.
+         */
+        public Builder groupAsyncTransactions() {
+            this.groupAsyncTransactions = true;
+            return this;
+        }
+
+        /**
+         * Setting this will make each Realm instance return the same managed object for a given object, as long as
+         * it is referenced. An object reached by a query, a link and a RealmList is then only created once, and the
+         * RealmLists it caches are reused. Objects are kept with weak references, so they don't prevent garbage
+         * collection.
+         */
+        public Builder useIdentityMap() {
+            this.useIdentityMap = true;
+            return this;
+        }
+
         /**
          * Replaces the existing module(s) with one or more {@link RealmModule}s. Using this method will replace the
          * current schema for this Realm with the schema defined by the provided modules.
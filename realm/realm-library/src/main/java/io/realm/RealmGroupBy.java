@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableView;
+
+/**
+ * A RealmGroupBy groups the objects of a {@link RealmResults} by the value of a field, and computes an aggregate for
+ * each group. It is created by {@link RealmResults#groupBy(String)} or
+ * {@link RealmResults#groupBy(String, long, java.util.concurrent.TimeUnit)}:
+ *
+ * <pre>
+ * {@code
+ * RealmGroupByResult ages = realm.where(Dog.class).findAll().groupBy("name").average("age");
+ * for (int i = 0; i < ages.size(); i++) {
+ *     Log.d(TAG, ages.getKey(i) + ": " + ages.getValue(i));
+ * }
+ * }
+ * </pre>
+ *
+ * Each aggregate is computed by native code in a single pass over the current objects of the results, and the groups
+ * are returned as arrays of keys and values in a {@link RealmGroupByResult}. Objects where the grouped field is
+ * {@code null} are left out.
+ * <p>
+ * Like a RealmResults, a RealmGroupBy cannot be passed between different threads.
+ *
+ * @param <E> the class of the grouped objects.
+ */
+public final class RealmGroupBy<E extends RealmObject> {
+
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+
+    private final RealmResults<E> results;
+    private final long keyColumnIndex;
+    private final ColumnType keyType;
+    private final long bucketSeconds;
+
+    RealmGroupBy(RealmResults<E> results, long keyColumnIndex, ColumnType keyType, long bucketSeconds) {
+        this.results = results;
+        this.keyColumnIndex = keyColumnIndex;
+        this.keyType = keyType;
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    /**
+     * Counts the objects of each group.
+     *
+     * @return the number of objects of each group, as {@code long} values.
+     */
+    public RealmGroupByResult count() {
+        return aggregate(TableOrView.PivotType.COUNT, null);
+    }
+
+    /**
+     * Calculates the sum of a field for each group.
+     *
+     * @param fieldName the field to sum. Only number fields are supported.
+     * @return the sum of each group, as {@code long} values for integer fields and {@code double} values otherwise.
+     * Objects with {@code null} values are ignored.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmGroupByResult sum(String fieldName) {
+        return aggregate(TableOrView.PivotType.SUM, fieldName);
+    }
+
+    /**
+     * Returns the average of a field for each group.
+     *
+     * @param fieldName the field to calculate the average on. Only number fields are supported.
+     * @return the average of each group, as {@code double} values. Objects with {@code null} values are ignored, and
+     * the average of a group without any value is {@code 0}.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmGroupByResult average(String fieldName) {
+        return aggregate(TableOrView.PivotType.AVG, fieldName);
+    }
+
+    /**
+     * Finds the minimum value of a field for each group.
+     *
+     * @param fieldName the field to look for a minimum on. Only number fields are supported.
+     * @return the minimum of each group, as {@code long} values for integer fields and {@code double} values
+     * otherwise. Objects with {@code null} values are ignored, and groups without any value are left out.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmGroupByResult min(String fieldName) {
+        return aggregate(TableOrView.PivotType.MIN, fieldName);
+    }
+
+    /**
+     * Finds the maximum value of a field for each group.
+     *
+     * @param fieldName the field to look for a maximum on. Only number fields are supported.
+     * @return the maximum of each group, as {@code long} values for integer fields and {@code double} values
+     * otherwise. Objects with {@code null} values are ignored, and groups without any value are left out.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmGroupByResult max(String fieldName) {
+        return aggregate(TableOrView.PivotType.MAX, fieldName);
+    }
+
+    private RealmGroupByResult aggregate(TableOrView.PivotType pivotType, String fieldName) {
+        results.getRealm().checkIfValid();
+        TableOrView table = results.getTable();
+        long valueColumnIndex = -1;
+        if (fieldName != null) {
+            valueColumnIndex = table.getColumnIndex(fieldName);
+            if (valueColumnIndex < 0) {
+                throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+            }
+            switch (table.getColumnType(valueColumnIndex)) {
+                case INTEGER:
+                case FLOAT:
+                case DOUBLE:
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+            }
+        }
+
+        if (!results.isLoaded()) {
+            // an async query not completed yet has no objects
+            boolean longValues = pivotType == TableOrView.PivotType.COUNT
+                    || (pivotType != TableOrView.PivotType.AVG
+                    && table.getColumnType(valueColumnIndex) == ColumnType.INTEGER);
+            Object keys = (keyType == ColumnType.STRING) ? new String[0] : new long[0];
+            Object values = longValues ? new long[0] : new double[0];
+            return new RealmGroupByResult(keys, keyType == ColumnType.DATE, values);
+        }
+        if (!(table instanceof TableView)) {
+            throw new IllegalArgumentException("Only RealmResults can be grouped - please use allObject() to create a RealmResults.");
+        }
+        Object[] groups = ((TableView) table).groupBy(keyColumnIndex, bucketSeconds, pivotType, valueColumnIndex);
+        return new RealmGroupByResult(groups[0], keyType == ColumnType.DATE, groups[1]);
+    }
+}
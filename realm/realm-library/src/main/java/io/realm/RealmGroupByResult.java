@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+
+/**
+ * The groups computed by a {@link RealmGroupBy}, held in two arrays of the same size: the keys of the groups in
+ * ascending order, and the aggregated value of each group.
+ * <p>
+ * The keys are {@code String} values for String fields and {@code long} values for integer fields. The keys of a
+ * date field are the start of each bucket, as {@link java.util.Date} values or in milliseconds since the epoch. The
+ * values are {@code long} values for counts and for the sum, minimum and maximum of integer fields, and
+ * {@code double} values otherwise.
+ * <p>
+ * A RealmGroupByResult is a copy of the aggregates when they were computed, it is not updated when the Realm changes.
+ */
+public final class RealmGroupByResult {
+
+    private final String[] stringKeys;
+    private final long[] longKeys;
+    private final boolean dateKeys;
+    private final long[] longValues;
+    private final double[] doubleValues;
+
+    RealmGroupByResult(Object keys, boolean dateKeys, Object values) {
+        this.stringKeys = (keys instanceof String[]) ? (String[]) keys : null;
+        this.longKeys = (keys instanceof long[]) ? (long[]) keys : null;
+        this.dateKeys = dateKeys;
+        this.longValues = (values instanceof long[]) ? (long[]) values : null;
+        this.doubleValues = (values instanceof double[]) ? (double[]) values : null;
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return the number of groups.
+     */
+    public int size() {
+        return (longValues != null) ? longValues.length : doubleValues.length;
+    }
+
+    /**
+     * Returns the key of a group.
+     *
+     * @param index the index of the group.
+     * @return the key of the group, a {@link String}, a {@link Long} or a {@link Date}.
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public Object getKey(int index) {
+        if (stringKeys != null) {
+            return stringKeys[index];
+        } else if (dateKeys) {
+            return new Date(longKeys[index]);
+        } else {
+            return longKeys[index];
+        }
+    }
+
+    /**
+     * Returns the aggregated value of a group.
+     *
+     * @param index the index of the group.
+     * @return the value of the group, a {@link Long} or a {@link Double}.
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is out of range.
+     */
+    public Number getValue(int index) {
+        if (longValues != null) {
+            return longValues[index];
+        } else {
+            return doubleValues[index];
+        }
+    }
+
+    /**
+     * Returns the keys of the groups of a String field.
+     *
+     * @return a copy of the keys.
+     * @throws java.lang.IllegalStateException if the grouped field isn't a String field.
+     */
+    public String[] getStringKeys() {
+        if (stringKeys == null) {
+            throw new IllegalStateException("The keys are not String values.");
+        }
+        return stringKeys.clone();
+    }
+
+    /**
+     * Returns the keys of the groups of an integer field, or the start of the buckets of a date field in milliseconds
+     * since the epoch.
+     *
+     * @return a copy of the keys.
+     * @throws java.lang.IllegalStateException if the grouped field is a String field.
+     */
+    public long[] getLongKeys() {
+        if (longKeys == null) {
+            throw new IllegalStateException("The keys are not long values.");
+        }
+        return longKeys.clone();
+    }
+
+    /**
+     * Returns the values of the groups, if they are {@code long} values.
+     *
+     * @return a copy of the values.
+     * @throws java.lang.IllegalStateException if the values are {@code double} values.
+     */
+    public long[] getLongValues() {
+        if (longValues == null) {
+            throw new IllegalStateException("The values are not long values.");
+        }
+        return longValues.clone();
+    }
+
+    /**
+     * Returns the values of the groups, if they are {@code double} values.
+     *
+     * @return a copy of the values.
+     * @throws java.lang.IllegalStateException if the values are {@code long} values.
+     */
+    public double[] getDoubleValues() {
+        if (doubleValues == null) {
+            throw new IllegalStateException("The values are not double values.");
+        }
+        return doubleValues.clone();
+    }
+}
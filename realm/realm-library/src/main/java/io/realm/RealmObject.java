@@ -26,6 +26,7 @@ import io.realm.internal.InvalidRow;
 import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
+import io.realm.internal.Util;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -105,7 +106,7 @@ public abstract class RealmObject {
         }
         realm.checkIfValid();
 
-        row.getTable().moveLastOver(row.getIndex());
+        realm.remove(Util.getOriginalModelClass(getClass()), row.getIndex());
         row = InvalidRow.INSTANCE;
     }
 
@@ -216,6 +217,13 @@ public abstract class RealmObject {
         }// else: already loaded query no need to import again the pointer
     }
 
+    /**
+     * Forgets the values cached from the current row, called when the row of this object is moved to another row.
+     * Proxies caching the {@link RealmList} of their fields override it.
+     */
+    void clearCachedFields() {
+    }
+
     /**
      * Adds a change listener to this RealmObject.
      *
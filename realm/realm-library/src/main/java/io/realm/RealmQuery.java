@@ -23,21 +23,26 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import io.realm.annotations.Required;
+import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnType;
 import io.realm.internal.LinkView;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.async.ArgumentsHolder;
 import io.realm.internal.async.QueryUpdateTask;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -63,17 +68,22 @@ public class RealmQuery<E extends RealmObject> {
     private final Realm realm;
     private final Table table;
     private final LinkView view;
+    private final RealmResults realmResults;
     private final TableQuery query;
     private final Map<String, Long> columns;
     private final Class<E> clazz;
 
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+    private static final String EMPTY_VALUES = "Non-empty 'values' must be provided.";
+    private static final ColumnType[] SORT_WITH_LIMIT_TYPES = new ColumnType[] {ColumnType.INTEGER, ColumnType.FLOAT,
+            ColumnType.DOUBLE, ColumnType.DATE};
 
     public static final boolean CASE_SENSITIVE = true;
     public static final boolean CASE_INSENSITIVE = false;
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
     private ArgumentsHolder argumentsHolder;
+    private Set<String> observedTables;
 
     /**
      * Creates a RealmQuery instance.
@@ -86,6 +96,7 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.table = realm.getTable(clazz);
         this.view = null;
+        this.realmResults = null;
         this.query = table.where();
         this.columns = realm.columnIndices.getColumnInfo(clazz).getIndicesMap();
     }
@@ -101,6 +112,7 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.table = realm.getTable(clazz);
         this.view = null;
+        this.realmResults = realmResults;
         this.query = realmResults.getTable().where();
         this.columns = realm.columnIndices.getColumnInfo(clazz).getIndicesMap();
     }
@@ -110,6 +122,7 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.query = view.where();
         this.view = view;
+        this.realmResults = null;
         this.table = realm.getTable(clazz);
         this.columns = realm.columnIndices.getColumnInfo(clazz).getIndicesMap();
     }
@@ -148,15 +161,46 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldDescription fieldName or link path to a field name.
      * @param validColumnTypes legal field type for the last field.
-     * @return the column indices for the given field name.
+     * @return the column indices for the given field name. The array is shared and must not be modified.
      */
-    // TODO: consider another caching strategy so linked classes are included in the cache.
-    private long[] getColumnIndices(String fieldDescription, ColumnType... validColumnTypes) {
+    long[] getColumnIndices(String fieldDescription, ColumnType... validColumnTypes) {
+        return getFieldPath(fieldDescription, validColumnTypes).columnIndices;
+    }
+
+    /**
+     * Returns the column indices and the type of the given field name. Resolved field names are cached by the
+     * {@link ColumnIndices} of the Realm file, so each link path is only resolved once per schema.
+     *
+     * @param fieldDescription fieldName or link path to a field name.
+     * @param validColumnTypes legal field type for the last field.
+     * @return the resolved field path.
+     */
+    ColumnIndices.FieldPath getFieldPath(String fieldDescription, ColumnType... validColumnTypes) {
         if (fieldDescription == null || fieldDescription.equals("")) {
             throw new IllegalArgumentException("Non-empty fieldname must be provided");
         }
-        Table table = this.table;
+        ColumnIndices.FieldPath fieldPath = realm.columnIndices.getFieldPath(clazz, fieldDescription);
+        if (fieldPath == null) {
+            fieldPath = resolveFieldPath(fieldDescription);
+            realm.columnIndices.putFieldPath(clazz, fieldDescription, fieldPath);
+        }
+
         boolean checkColumnType = validColumnTypes != null && validColumnTypes.length > 0;
+        if (checkColumnType && !isValidType(fieldPath.columnType, validColumnTypes)) {
+            if (fieldPath.columnIndices.length > 1) {
+                String fieldName = fieldDescription.substring(fieldDescription.lastIndexOf('.') + 1);
+                throw new IllegalArgumentException(String.format("Field '%s': type mismatch.", fieldName));
+            } else {
+                throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                        fieldDescription, fieldPath.columnType, Arrays.toString(validColumnTypes)));
+            }
+        }
+        return fieldPath;
+    }
+
+    // Resolves a field name or link path down to the last field name
+    private ColumnIndices.FieldPath resolveFieldPath(String fieldDescription) {
+        Table table = this.table;
         if (containsDot(fieldDescription)) {
 
             // Resolve field description down to last field name
@@ -183,20 +227,13 @@ public class RealmQuery<E extends RealmObject> {
             if (columnIndex < 0) {
                 throw new IllegalArgumentException(columnName + " is not a field name in class " + table.getName());
             }
-            if (checkColumnType && !isValidType(table.getColumnType(columnIndex), validColumnTypes)) {
-                throw new IllegalArgumentException(String.format("Field '%s': type mismatch.", names[names.length - 1]));
-            }
-            return columnIndices;
+            return new ColumnIndices.FieldPath(columnIndices, table.getColumnType(columnIndex));
         } else {
-            if (columns.get(fieldDescription) == null) {
+            Long columnIndex = columns.get(fieldDescription);
+            if (columnIndex == null) {
                 throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldDescription));
             }
-            ColumnType tableColumnType = table.getColumnType(columns.get(fieldDescription));
-            if (checkColumnType && !isValidType(tableColumnType, validColumnTypes)) {
-                throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
-                        fieldDescription, tableColumnType, Arrays.toString(validColumnTypes)));
-            }
-            return new long[] {columns.get(fieldDescription)};
+            return new ColumnIndices.FieldPath(new long[] {columnIndex}, table.getColumnType(columnIndex));
         }
     }
 
@@ -209,6 +246,22 @@ public class RealmQuery<E extends RealmObject> {
         return false;
     }
 
+    // Used by TypedRealmQuery to add conditions on column indices already resolved
+    TableQuery getTableQuery() {
+        return query;
+    }
+
+    // Returns a query without conditions on the same objects as this query
+    RealmQuery<E> newQuery() {
+        if (view != null) {
+            return new RealmQuery<E>(realm, view, clazz);
+        } else if (realmResults != null) {
+            return new RealmQuery<E>(realmResults, clazz);
+        } else {
+            return new RealmQuery<E>(realm, clazz);
+        }
+    }
+
     /**
      * Checks if {@link io.realm.RealmQuery} is still valid to use i.e. the {@link io.realm.Realm} instance hasn't been
      * closed and any parent {@link io.realm.RealmResults} is still valid.
@@ -1114,6 +1167,81 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    // In
+
+    /**
+     * In comparison. This allows you to test if objects match any value in an array of values. The whole array is
+     * added by a single native call, which is cheaper than chaining {@link #equalTo(String, Long)} and {@link #or()}
+     * for each value.
+     *
+     * @param fieldName the field to compare.
+     * @param values array of values to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't an integer field or {@code values} is
+     * {@code null} or empty.
+     */
+    public RealmQuery<E> in(String fieldName, long[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException(EMPTY_VALUES);
+        }
+        long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
+        this.query.in(columnIndices, values);
+        return this;
+    }
+
+    /**
+     * In comparison. This allows you to test if objects match any value in an array of values. The whole array is
+     * added by a single native call, which is cheaper than chaining {@link #equalTo(String, String)} and
+     * {@link #or()} for each value.
+     *
+     * @param fieldName the field to compare.
+     * @param values array of values to compare with. It can contain {@code null} if the field is nullable.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a String field or {@code values} is {@code null}
+     * or empty.
+     */
+    public RealmQuery<E> in(String fieldName, String[] values) {
+        return in(fieldName, values, CASE_SENSITIVE);
+    }
+
+    /**
+     * In comparison. This allows you to test if objects match any value in an array of values.
+     *
+     * @param fieldName the field to compare.
+     * @param values array of values to compare with. It can contain {@code null} if the field is nullable.
+     * @param caseSensitive if true, matching is case sensitive. Setting this to false only works for English locale
+     *                      characters.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a String field or {@code values} is {@code null}
+     * or empty.
+     * @see #in(String, String[])
+     */
+    public RealmQuery<E> in(String fieldName, String[] values, boolean caseSensitive) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException(EMPTY_VALUES);
+        }
+        long[] columnIndices = getColumnIndices(fieldName, ColumnType.STRING);
+        this.query.in(columnIndices, values, caseSensitive);
+        return this;
+    }
+
+    /**
+     * Creates a template of queries on the same objects as this query, with conditions on parameters. The conditions
+     * are resolved once, and added to a new query each time values are bound to the parameters.
+     * <p>
+     * Conditions added to this query after calling this method are not part of the template.
+     *
+     * @return a {@link PreparedRealmQuery} without conditions.
+     * @throws java.lang.IllegalStateException if conditions were already added to this query.
+     * @see PreparedRealmQuery#bind(Object...)
+     */
+    public PreparedRealmQuery<E> prepare() {
+        if (query.hasConditions()) {
+            throw new IllegalStateException("A query can only be prepared before adding conditions to it.");
+        }
+        return new PreparedRealmQuery<E>(this);
+    }
+
     // Aggregates
 
     // Sum
@@ -1423,6 +1551,179 @@ public class RealmQuery<E extends RealmObject> {
         return this.query.count();
     }
 
+    /**
+     * Similar to {@link #sum(String)} but runs asynchronously from a worker thread. The value is kept up to date
+     * when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the field to sum. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the sum is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> sumAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_SUM, fieldName);
+    }
+
+    /**
+     * Similar to {@link #average(String)} but runs asynchronously from a worker thread. The value is kept up to date
+     * when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the field to calculate average on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the average is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Double> averageAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_AVERAGE, fieldName);
+    }
+
+    /**
+     * Similar to {@link #min(String)} but runs asynchronously from a worker thread. The value is kept up to date
+     * when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the field to look for a minimum on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the minimum is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> minAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MINIMUM, fieldName);
+    }
+
+    /**
+     * Similar to {@link #max(String)} but runs asynchronously from a worker thread. The value is kept up to date
+     * when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the field to look for a maximum on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the maximum is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> maxAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MAXIMUM, fieldName);
+    }
+
+    /**
+     * Similar to {@link #minimumDate(String)} but runs asynchronously from a worker thread. The value is kept up to
+     * date when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the date field to look for a minimum on.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the minimum is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a Date.
+     */
+    public RealmAggregate<Date> minimumDateAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MINIMUM_DATE, fieldName);
+    }
+
+    /**
+     * Similar to {@link #maximumDate(String)} but runs asynchronously from a worker thread. The value is kept up to
+     * date when the Realm changes. This method is only available from a Looper thread.
+     *
+     * @param fieldName the date field to look for a maximum on.
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the maximum is computed.
+     * @throws java.lang.IllegalArgumentException if the field is not a Date.
+     */
+    public RealmAggregate<Date> maximumDateAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MAXIMUM_DATE, fieldName);
+    }
+
+    /**
+     * Similar to {@link #count()} but runs asynchronously from a worker thread. The value is kept up to date when
+     * the Realm changes. This method is only available from a Looper thread.
+     *
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the count is computed.
+     */
+    public RealmAggregate<Long> countAsync() {
+        return aggregateAsync(ArgumentsHolder.TYPE_COUNT, null);
+    }
+
+    private <T> RealmAggregate<T> aggregateAsync(int type, String fieldName) {
+        checkQueryIsNotReused();
+        final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
+
+        ArgumentsHolder arguments = new ArgumentsHolder(type);
+        if (fieldName != null) {
+            long columnIndex = columns.get(fieldName);
+            ColumnType columnType = table.getColumnType(columnIndex);
+            if (type == ArgumentsHolder.TYPE_MINIMUM_DATE || type == ArgumentsHolder.TYPE_MAXIMUM_DATE) {
+                if (columnType != ColumnType.DATE) {
+                    throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+                }
+            } else {
+                switch (columnType) {
+                    case INTEGER:
+                    case FLOAT:
+                    case DOUBLE:
+                        break;
+                    default:
+                        throw new IllegalArgumentException(
+                                String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+                }
+            }
+            arguments.columnIndex = columnIndex;
+        }
+        // save query arguments (for future update)
+        argumentsHolder = arguments;
+
+        RealmAggregate<T> aggregate = new RealmAggregate<T>(realm, this);
+        final WeakReference<RealmAggregate<?>> weakAggregate = new WeakReference<RealmAggregate<?>>(aggregate,
+                realm.getRealmAggregateReferenceQueue());
+        realm.addAsyncRealmAggregate(weakAggregate, this);
+
+        QueryUpdateTask queryUpdateTask = QueryUpdateTask.newBuilder()
+                .realmConfiguration(realm.getConfiguration())
+                .addAggregate(weakAggregate, handoverQueryPointer(), argumentsHolder, null)
+                .sendToHandler(weakHandler.get(), HandlerController.REALM_COMPLETED_ASYNC_AGGREGATE)
+                .build();
+        realm.getConfiguration().getAsyncExecutor().submit(queryUpdateTask,
+                RealmThreadPoolExecutor.PRIORITY_QUERY, weakAggregate);
+        return aggregate;
+    }
+
+    /**
+     * Computes the aggregate requested by one of the {@code *Async} aggregate methods on the caller thread.
+     */
+    Object computeAggregate() {
+        long columnIndex = argumentsHolder.columnIndex;
+        switch (argumentsHolder.type) {
+            case ArgumentsHolder.TYPE_COUNT:
+                return query.count();
+            case ArgumentsHolder.TYPE_SUM:
+                switch (table.getColumnType(columnIndex)) {
+                    case INTEGER: return query.sumInt(columnIndex);
+                    case FLOAT: return query.sumFloat(columnIndex);
+                    default: return query.sumDouble(columnIndex);
+                }
+            case ArgumentsHolder.TYPE_AVERAGE:
+                switch (table.getColumnType(columnIndex)) {
+                    case INTEGER: return query.averageInt(columnIndex);
+                    case FLOAT: return query.averageFloat(columnIndex);
+                    default: return query.averageDouble(columnIndex);
+                }
+            case ArgumentsHolder.TYPE_MINIMUM:
+                switch (table.getColumnType(columnIndex)) {
+                    case INTEGER: return query.minimumInt(columnIndex);
+                    case FLOAT: return query.minimumFloat(columnIndex);
+                    default: return query.minimumDouble(columnIndex);
+                }
+            case ArgumentsHolder.TYPE_MAXIMUM:
+                switch (table.getColumnType(columnIndex)) {
+                    case INTEGER: return query.maximumInt(columnIndex);
+                    case FLOAT: return query.maximumFloat(columnIndex);
+                    default: return query.maximumDouble(columnIndex);
+                }
+            case ArgumentsHolder.TYPE_MINIMUM_DATE:
+                return query.minimumDate(columnIndex);
+            case ArgumentsHolder.TYPE_MAXIMUM_DATE:
+                return query.maximumDate(columnIndex);
+            default:
+                throw new IllegalStateException("This RealmQuery is not used by an aggregate query");
+        }
+    }
+
     RealmResults<E> distinctAsync(final long columnIndex) {
         checkQueryIsNotReused();
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
@@ -1444,17 +1745,14 @@ public class RealmQuery<E extends RealmObject> {
         final WeakReference<RealmResults<?>> weakRealmResults = new WeakReference<RealmResults<?>>(realmResults, realm.getReferenceQueue());
         realm.addAsyncRealmResults(weakRealmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realmConfiguration.getAsyncExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         long handoverTableViewPointer = query.
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
@@ -1470,11 +1768,15 @@ public class RealmQuery<E extends RealmObject> {
                         return handoverTableViewPointer;
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage());
+                        // don't give back a SharedGroup left in an unknown state
+                        if (sharedGroup != null) {
+                            sharedGroup.close();
+                        }
                         sendMessageToHandler(weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            SharedGroupPool.release(realmConfiguration, sharedGroup);
                         }
                     }
                 } else {
@@ -1510,6 +1812,52 @@ public class RealmQuery<E extends RealmObject> {
      * @see io.realm.RealmResults
      */
     public RealmResults<E> findAllAsync() {
+        return findAllWindowAsync(0, Table.INFINITE);
+    }
+
+    /**
+     * Finds the first objects that fulfill the query conditions. This method is only available from a Looper thread.
+     * <p>
+     * Only the matching rows up to {@code limit} are fetched, which is cheaper than {@link #findAllAsync()} on
+     * large tables. The results are kept up to date like the ones of {@link #findAllAsync()}, they always contain
+     * the first {@code limit} matches at the time of the update.
+     *
+     * @param limit the maximum number of objects to return.
+     * @return immediately an empty {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
+     * @throws java.lang.IllegalArgumentException if {@code limit} isn't positive.
+     * @see io.realm.RealmResults
+     */
+    public RealmResults<E> findAllAsync(long limit) {
+        return findAllAsync(0, limit);
+    }
+
+    /**
+     * Finds a page of the objects that fulfill the query conditions. This method is only available from a Looper
+     * thread.
+     * <p>
+     * The matches are counted in the order of the table: the first {@code offset} matches are skipped and at most
+     * {@code limit} of the following ones are returned. The page is recomputed each time the Realm changes, so an
+     * object can move to another page when objects before it are added or removed.
+     *
+     * @param offset the number of matching objects to skip.
+     * @param limit the maximum number of objects to return.
+     * @return immediately an empty {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
+     * @throws java.lang.IllegalArgumentException if {@code offset} is negative or {@code limit} isn't positive.
+     * @see io.realm.RealmResults
+     */
+    public RealmResults<E> findAllAsync(long offset, long limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be non-negative: " + offset);
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return findAllWindowAsync(offset, limit);
+    }
+
+    private RealmResults<E> findAllWindowAsync(final long offset, final long limit) {
         checkQueryIsNotReused();
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
@@ -1518,6 +1866,8 @@ public class RealmQuery<E extends RealmObject> {
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        argumentsHolder.offset = offset;
+        argumentsHolder.limit = limit;
 
         // we need to use the same configuration to open a background SharedGroup (i.e Realm)
         // to perform the query
@@ -1529,22 +1879,20 @@ public class RealmQuery<E extends RealmObject> {
         final WeakReference<RealmResults<?>> weakRealmResults = new WeakReference<RealmResults<?>>(realmResults, realm.getReferenceQueue());
         realm.addAsyncRealmResults(weakRealmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realmConfiguration.getAsyncExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
                         // to import it.
-                        long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                        long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, offset, limit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1555,11 +1903,15 @@ public class RealmQuery<E extends RealmObject> {
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage());
+                        // don't give back a SharedGroup left in an unknown state
+                        if (sharedGroup != null) {
+                            sharedGroup.close();
+                        }
                         sendMessageToHandler(weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            SharedGroupPool.release(realmConfiguration, sharedGroup);
                         }
                     }
                 } else {
@@ -1609,16 +1961,83 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAllSortedAsync(String fieldName, boolean sortAscending) {
         checkQueryIsNotReused();
-        final TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
-        final Long columnIndex = columns.get(fieldName);
+        Long columnIndex = columns.get(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
+        return findAllSortedAsync(columnIndex, sortAscending, Table.INFINITE);
+    }
 
+    /**
+     * Finds the first {@code limit} objects that fulfill the query conditions in the order of a field. Only the value
+     * of the last object returned is looked for among all the matching objects, and only the objects kept are sorted,
+     * so this is much faster than {@link #findAllSorted(String, boolean)} when few of many objects are needed, e.g.
+     * the first entries of a leaderboard.
+     * <p>
+     * Objects with the same value as the last one are returned too, so the results can hold more than {@code limit}
+     * objects. Objects where the field is {@code null} or NaN are left out when more than {@code limit} objects match.
+     * <p>
+     * The value of the last object is looked for once, when the query runs. The results are kept up to date like
+     * other {@link io.realm.RealmResults}: they hold the objects fulfilling the query conditions with a value up to
+     * that one, including the objects added or updated later, so they can hold fewer or more than {@code limit}
+     * objects after the Realm changed. Run the query again to get the first {@code limit} objects, or use
+     * {@link #findAllSortedAsync(String, boolean, long)} which looks for them again after each change.
+     *
+     * @param fieldName the field name to sort by. Only integer, float, double and date fields are supported.
+     * @param sortAscending sort ascending if <code>SORT_ORDER_ASCENDING</code>, sort descending
+     *                      if <code>SORT_ORDER_DESCENDING</code>
+     * @param limit the number of objects to return.
+     * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
+     * objects is returned.
+     * @throws java.lang.IllegalArgumentException if field name does not exist, its type is not supported or
+     * {@code limit} isn't positive.
+     */
+    public RealmResults<E> findAllSorted(String fieldName, boolean sortAscending, long limit) {
+        checkQueryIsNotReused();
+        long columnIndex = getSortColumnIndex(fieldName, limit);
+        TableView tableView = query.findAllSorted(columnIndex, sortAscending, limit);
+        return new RealmResults<E>(realm, tableView, clazz);
+    }
+
+    /**
+     * Similar to {@link #findAllSorted(String, boolean, long)} but runs asynchronously on a worker thread (Need a Realm
+     * opened from a looper thread to work). The first objects are looked for again each time the Realm changes.
+     *
+     * @return immediately an empty {@link RealmResults}. Users need to register a listener
+     * {@link io.realm.RealmResults#addChangeListener(RealmChangeListener)} to be notified when the query completes.
+     * @throws java.lang.IllegalArgumentException if field name does not exist, its type is not supported or
+     * {@code limit} isn't positive.
+     */
+    public RealmResults<E> findAllSortedAsync(String fieldName, boolean sortAscending, long limit) {
+        checkQueryIsNotReused();
+        long columnIndex = getSortColumnIndex(fieldName, limit);
+        return findAllSortedAsync(columnIndex, sortAscending, limit);
+    }
+
+    // Returns the index of the field to sort on with a limit
+    private long getSortColumnIndex(String fieldName, long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        Long columnIndex = columns.get(fieldName);
+        if (columnIndex == null || columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        ColumnType columnType = table.getColumnType(columnIndex);
+        if (!isValidType(columnType, SORT_WITH_LIMIT_TYPES)) {
+            throw new IllegalArgumentException(String.format(
+                    "Field '%s': sorting with a limit is not supported on %s fields.", fieldName, columnType));
+        }
+        return columnIndex;
+    }
+
+    // Sorts all the matches if limit is Table.INFINITE, only the first ones otherwise
+    private RealmResults<E> findAllSortedAsync(final long columnIndex, final boolean sortAscending, final long limit) {
         // capture the query arguments for future retries & update
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
         argumentsHolder.ascending = sortAscending;
         argumentsHolder.columnIndex = columnIndex;
+        argumentsHolder.limit = limit;
 
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
@@ -1632,20 +2051,17 @@ public class RealmQuery<E extends RealmObject> {
         final WeakReference<RealmResults<?>> weakRealmResults = new WeakReference<RealmResults<?>>(realmResults, realm.getReferenceQueue());
         realm.addAsyncRealmResults(weakRealmResults, this);
 
-        final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realmConfiguration.getAsyncExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         // run the query & handover the table view for the caller thread
-                        long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, (order == TableView.Order.ascending));
+                        long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, sortAscending, limit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1655,11 +2071,15 @@ public class RealmQuery<E extends RealmObject> {
                         return handoverTableViewPointer;
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage());
+                        // don't give back a SharedGroup left in an unknown state
+                        if (sharedGroup != null) {
+                            sharedGroup.close();
+                        }
                         sendMessageToHandler(weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                     } finally {
                         if (sharedGroup != null) {
-                            sharedGroup.close();
+                            SharedGroupPool.release(realmConfiguration, sharedGroup);
                         }
                     }
                 } else {
@@ -1783,17 +2203,14 @@ public class RealmQuery<E extends RealmObject> {
             final WeakReference<RealmResults<?>> weakRealmResults = new WeakReference<RealmResults<?>>(realmResults, realm.getReferenceQueue());
             realm.addAsyncRealmResults(weakRealmResults, this);
 
-            final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+            final Future<Long> pendingQuery = realmConfiguration.getAsyncExecutor().submit(new Callable<Long>() {
                 @Override
                 public Long call() throws Exception {
                     if (!Thread.currentThread().isInterrupted()) {
                         SharedGroup sharedGroup = null;
 
                         try {
-                            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                    SharedGroup.IMPLICIT_TRANSACTION,
-                                    realmConfiguration.getDurability(),
-                                    realmConfiguration.getEncryptionKey());
+                            sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                             // run the query & handover the table view for the caller thread
                             long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
@@ -1807,11 +2224,15 @@ public class RealmQuery<E extends RealmObject> {
                             return handoverTableViewPointer;
                         } catch (Exception e) {
                             RealmLog.e(e.getMessage());
+                            // don't give back a SharedGroup left in an unknown state
+                            if (sharedGroup != null) {
+                                sharedGroup.close();
+                            }
                             sendMessageToHandler(weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
 
                         } finally {
                             if (sharedGroup != null) {
-                                sharedGroup.close();
+                                SharedGroupPool.release(realmConfiguration, sharedGroup);
                             }
                         }
                     } else {
@@ -1937,22 +2358,19 @@ public class RealmQuery<E extends RealmObject> {
         // prepare an empty reference of the RealmObject, so we can return it immediately (promise)
         // then update it once the query complete in the background.
         final E result = realm.getConfiguration().getSchemaMediator().newInstance(clazz, realm.getColumnInfo(clazz));
-        final WeakReference<RealmObject> realmObjectWeakReference = new WeakReference<RealmObject>(result);
+        final WeakReference<RealmObject> realmObjectWeakReference = new WeakReference<RealmObject>(result, realm.getRealmObjectReferenceQueue());
         realm.addAsyncRealmObject(realmObjectWeakReference, this);
         result.realm = realm;
         result.row = Row.EMPTY_ROW;
 
-        final Future<Long> pendingQuery = Realm.asyncQueryExecutor.submit(new Callable<Long>() {
+        final Future<Long> pendingQuery = realmConfiguration.getAsyncExecutor().submit(new Callable<Long>() {
             @Override
             public Long call() throws Exception {
                 if (!Thread.currentThread().isInterrupted()) {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
                         long handoverTableViewPointer = query.findWithHandover(sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
@@ -1966,12 +2384,16 @@ public class RealmQuery<E extends RealmObject> {
 
                     } catch (Exception e) {
                         RealmLog.e(e.getMessage());
+                        // don't give back a SharedGroup left in an unknown state
+                        if (sharedGroup != null) {
+                            sharedGroup.close();
+                        }
                         // handler can't throw a checked exception need to wrap it into unchecked Exception
                         sendMessageToHandler(weakHandler, HandlerController.REALM_COMPLETED_ASYNC_FIND_FIRST, new Error(e));
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            SharedGroupPool.release(realmConfiguration, sharedGroup);
                         }
                     }
                 } else {
@@ -2027,6 +2449,55 @@ public class RealmQuery<E extends RealmObject> {
         return argumentsHolder;
     }
 
+    /**
+     * Returns the names of the tables the results of this query depend on: the queried table and all the tables
+     * reachable from it through links, as they can be used by the predicate or accessed through the results.
+     *
+     * @return the names of the observed tables or {@code null} if they can't be determined and the query must be
+     * re-run on any change.
+     */
+    Set<String> getObservedTables() {
+        if (view != null) {
+            // the content of a RealmList is stored by the table holding the list, which isn't known here
+            return null;
+        }
+        if (observedTables == null) {
+            observedTables = new HashSet<String>();
+            addLinkedTables(table, observedTables);
+        }
+        return observedTables;
+    }
+
+    /**
+     * Returns a key identifying the results of this query. Two queries with equal keys return the same rows in the
+     * same order when run against the same version of the Realm, so they only need to be run once.
+     *
+     * @return the key of this query or {@code null} if the query can't be compared with others.
+     */
+    Object getResultsKey() {
+        if (view != null || argumentsHolder == null) {
+            return null;
+        }
+        String description = query.getDescription();
+        if (description == null) {
+            return null;
+        }
+        return Arrays.asList(table.getName(), description, argumentsHolder);
+    }
+
+    private static void addLinkedTables(Table table, Set<String> tableNames) {
+        if (!tableNames.add(table.getName())) {
+            return;
+        }
+        long columnCount = table.getColumnCount();
+        for (long columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            ColumnType type = table.getColumnType(columnIndex);
+            if (type == ColumnType.LINK || type == ColumnType.LINK_LIST) {
+                addLinkedTables(table.getLinkTarget(columnIndex), tableNames);
+            }
+        }
+    }
+
     /**
      * Exports & handovers the query to be used by a worker thread.
      *
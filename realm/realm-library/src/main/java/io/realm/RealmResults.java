@@ -17,6 +17,8 @@
 package io.realm;
 
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -27,12 +29,16 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.exceptions.RealmException;
+import io.realm.internal.ColumnInfo;
 import io.realm.internal.ColumnType;
+import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
+import io.realm.internal.UncheckedRow;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -71,6 +77,9 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     private final TableQuery query;
     private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private final List<RealmResultsChangeListener> changeSetListeners = new CopyOnWriteArrayList<RealmResultsChangeListener>();
+    // size of the results as seen by the RealmResultsChangeListeners, i.e. the size the next change set starts from
+    private int changeSetSize = 0;
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
 
@@ -226,6 +235,157 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return new RealmResultsListIterator(location);
     }
 
+    /**
+     * Calls the visitor for each object of the results, in order. Unlike the iterators, a single object and native
+     * row accessor are used for the whole scan: they are moved from one row to the next, so visiting large results
+     * doesn't create an object per row. The {@link RealmList} fields cached by the object are dropped on each move.
+     * This object bypasses the identity map of {@link RealmConfiguration#shouldUseIdentityMap()}, so it is never one
+     * of the objects returned by {@link #get(int)}. Any change to Realm while visiting will cause a
+     * {@link java.util.ConcurrentModificationException} to be thrown.
+     *
+     * @param visitor the visitor called for each object. The object it receives must not be kept, it is moved to the
+     *                next row after the visit.
+     * @throws IllegalArgumentException if the visitor is {@code null}.
+     * @see RealmVisitor
+     */
+    public void visitAll(RealmVisitor<E> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("Visitor should not be null");
+        }
+        realm.checkIfValid();
+        if (!isLoaded()) {
+            return;
+        }
+
+        TableOrView table = getTable();
+        TableView tableView = (table instanceof TableView) ? (TableView) table : null;
+        RealmProxyMediator mediator = realm.getConfiguration().getSchemaMediator();
+        ColumnInfo columnInfo = realm.getColumnInfo(classSpec);
+        long size = table.size();
+        currentTableViewVersion = -1;
+        UncheckedRow row = null;
+        E object = null;
+        for (long i = 0; i < size; i++) {
+            assertRealmIsStable();
+            long rowIndex = (tableView != null) ? tableView.getSourceRowIndex(i) : i;
+            if (object == null) {
+                // not shared through the identity map, as its row is moved
+                row = realm.getTable(classSpec).getUncheckedRow(rowIndex);
+                object = mediator.newInstance(classSpec, columnInfo);
+                object.row = row;
+                object.realm = realm;
+            } else {
+                row.moveToRowIndex(rowIndex);
+                object.clearCachedFields();
+            }
+            visitor.visit(object);
+        }
+        if (size > 0) {
+            assertRealmIsStable();
+        }
+    }
+
+    // Bulk getters
+
+    /**
+     * Returns the values of an integer field in all the objects of the results, read with a single native call
+     * instead of one call per object. {@code null} values are read as 0.
+     *
+     * @param fieldName the name of a {@code long}, {@code int}, {@code short} or {@code byte} field.
+     * @return the values, in the order of the results.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't an integer field.
+     */
+    public long[] getLongs(String fieldName) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.INTEGER, ColumnType.INTEGER, "int");
+        return isLoaded() ? table.getLongs(columnIndex) : new long[0];
+    }
+
+    /**
+     * Puts the values of an integer field in all the objects of the results into a buffer, starting at its current
+     * position. A direct buffer in the native byte order is filled without creating any array.
+     *
+     * @param fieldName the name of a {@code long}, {@code int}, {@code short} or {@code byte} field.
+     * @param buffer the buffer to fill. Its position is advanced by the number of objects.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't an integer field.
+     * @throws java.nio.BufferOverflowException if the buffer has less room than the number of objects.
+     */
+    public void getLongs(String fieldName, LongBuffer buffer) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.INTEGER, ColumnType.INTEGER, "int");
+        if (isLoaded()) {
+            table.getLongs(columnIndex, buffer);
+        }
+    }
+
+    /**
+     * Returns the values of a floating point field in all the objects of the results, read with a single native
+     * call instead of one call per object.
+     *
+     * @param fieldName the name of a {@code double} or {@code float} field.
+     * @return the values, in the order of the results.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a floating point field.
+     */
+    public double[] getDoubles(String fieldName) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.DOUBLE, ColumnType.FLOAT, "double or float");
+        return isLoaded() ? table.getDoubles(columnIndex) : new double[0];
+    }
+
+    /**
+     * Puts the values of a floating point field in all the objects of the results into a buffer, starting at its
+     * current position. A direct buffer in the native byte order is filled without creating any array.
+     *
+     * @param fieldName the name of a {@code double} or {@code float} field.
+     * @param buffer the buffer to fill. Its position is advanced by the number of objects.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a floating point field.
+     * @throws java.nio.BufferOverflowException if the buffer has less room than the number of objects.
+     */
+    public void getDoubles(String fieldName, DoubleBuffer buffer) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.DOUBLE, ColumnType.FLOAT, "double or float");
+        if (isLoaded()) {
+            table.getDoubles(columnIndex, buffer);
+        }
+    }
+
+    /**
+     * Returns the values of a date field in all the objects of the results, read with a single native call instead
+     * of one call per object.
+     *
+     * @param fieldName the name of a {@link Date} field.
+     * @return the values, in the order of the results, with {@code null} for the objects where the field is
+     * {@code null}.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a date field.
+     */
+    public Date[] getDates(String fieldName) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.DATE, ColumnType.DATE, "Date");
+        return isLoaded() ? table.getDates(columnIndex) : new Date[0];
+    }
+
+    /**
+     * Returns the values of a string field in all the objects of the results, read with a single native call
+     * instead of one call per object.
+     *
+     * @param fieldName the name of a {@link String} field.
+     * @return the values, in the order of the results.
+     * @throws java.lang.IllegalArgumentException if the field doesn't exist or isn't a string field.
+     */
+    public String[] getStrings(String fieldName) {
+        long columnIndex = getBulkColumnIndex(fieldName, ColumnType.STRING, ColumnType.STRING, "String");
+        return isLoaded() ? table.getStrings(columnIndex) : new String[0];
+    }
+
+    // aux. method used by bulk getters
+    private long getBulkColumnIndex(String fieldName, ColumnType type1, ColumnType type2, String expectedTypes) {
+        realm.checkIfValid();
+        long columnIndex = getTable().getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        ColumnType type = getTable().getColumnType(columnIndex);
+        if (type != type1 && type != type2) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, expectedTypes));
+        }
+        return columnIndex;
+    }
+
     // Sorting
 
     // aux. method used by sort methods
@@ -496,6 +656,64 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    // Grouping
+
+    /**
+     * Groups the objects by the value of a field, to compute an aggregate for each group, e.g.
+     * {@code results.groupBy("city").count()}. Objects where the field is {@code null} are left out.
+     *
+     * @param fieldName the field to group by. Only String, integer and Date fields are supported. Dates are grouped
+     *                  by their exact value, see {@link #groupBy(String, long, TimeUnit)} to group them in buckets.
+     * @return a {@link RealmGroupBy} computing the aggregates of the groups.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or its type is not supported.
+     */
+    public RealmGroupBy<E> groupBy(String fieldName) {
+        long columnIndex = getGroupByColumnIndex(fieldName);
+        return new RealmGroupBy<E>(this, columnIndex, getTable().getColumnType(columnIndex), 1);
+    }
+
+    /**
+     * Groups the objects by buckets of a Date field, to compute an aggregate for each bucket, e.g. the number of
+     * objects of each day with {@code results.groupBy("date", 1, TimeUnit.DAYS).count()}. Buckets are counted from
+     * the epoch (January 1, 1970 00:00:00 UTC) and the key of each group is the start of its bucket. Objects where
+     * the field is {@code null} are left out.
+     *
+     * @param fieldName the Date field to group by.
+     * @param bucketSize the size of the buckets, at least one second.
+     * @param unit the unit of {@code bucketSize}.
+     * @return a {@link RealmGroupBy} computing the aggregates of the groups.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or isn't a Date field, or if the buckets
+     * are shorter than a second.
+     */
+    public RealmGroupBy<E> groupBy(String fieldName, long bucketSize, TimeUnit unit) {
+        long columnIndex = getGroupByColumnIndex(fieldName);
+        if (getTable().getColumnType(columnIndex) != ColumnType.DATE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+        }
+        long bucketSeconds = unit.toSeconds(bucketSize);
+        if (bucketSeconds < 1) {
+            throw new IllegalArgumentException("Buckets must be at least one second long: " + bucketSize + " " + unit);
+        }
+        return new RealmGroupBy<E>(this, columnIndex, ColumnType.DATE, bucketSeconds);
+    }
+
+    // aux. method used by groupBy methods
+    private long getGroupByColumnIndex(String fieldName) {
+        realm.checkIfValid();
+        long columnIndex = getTable().getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        switch (getTable().getColumnType(columnIndex)) {
+            case STRING:
+            case INTEGER:
+            case DATE:
+                return columnIndex;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String, int or Date"));
+        }
+    }
+
 
     // Deleting
 
@@ -692,6 +910,17 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         isCompleted = true;
     }
 
+    /**
+     * Swaps the table_view used by this RealmResults with one already imported on the caller thread. Used when the
+     * result of a single worker query is shared between identical async queries.
+     *
+     * @param tableView the new table_view, owned by this RealmResults from now on.
+     */
+    void swapTableView(TableView tableView) {
+        table = tableView;
+        isCompleted = true;
+    }
+
     /**
      * Sets the Future instance returned by the worker thread, we need this instance to force {@link #load()} an async
      * query, we use it to determine if the current RealmResults is a sync or async one.
@@ -796,6 +1025,44 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         listeners.remove(listener);
     }
 
+    /**
+     * Adds a listener notified of the rows inserted, deleted and modified each time the results of an async query are
+     * updated. The change sets are computed by the worker thread updating the query, so only RealmResults obtained
+     * with one of the {@code find*Async} methods of {@link RealmQuery} are notified.
+     *
+     * @param listener the change listener to be notified.
+     */
+    public void addChangeListener(RealmResultsChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        }
+        if (changeSetListeners.isEmpty() && isLoaded()) {
+            // the first change set starts from the rows currently known by the caller
+            changeSetSize = size();
+        }
+        if (!changeSetListeners.contains(listener)) {
+            changeSetListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously registered change set listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmResultsChangeListener listener) {
+        if (listener == null)
+            throw new IllegalArgumentException("Listener should not be null");
+
+        if (realm != null) {
+            realm.checkIfValid();
+        }
+        changeSetListeners.remove(listener);
+    }
+
     /**
      * Removes all registered listeners.
      */
@@ -804,15 +1071,43 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             realm.checkIfValid();
         }
         listeners.clear();
+        changeSetListeners.clear();
+    }
+
+    /**
+     * Checks if the worker thread should compute the change sets of this RealmResults.
+     */
+    boolean hasChangeSetListeners() {
+        return !changeSetListeners.isEmpty();
     }
 
     /**
      * Notifies all registered listeners.
      */
     void notifyChangeListeners() {
+        notifyChangeListeners(null);
+    }
+
+    /**
+     * Notifies all registered listeners.
+     *
+     * @param changeSet the rows changed since the last notification, or {@code null} if they aren't known. All the
+     *                  rows are then reported as replaced.
+     */
+    void notifyChangeListeners(RealmResultsChangeSet changeSet) {
         realm.checkIfValid();
         for (RealmChangeListener listener : listeners) {
             listener.onChange();
         }
+        if (!changeSetListeners.isEmpty()) {
+            int size = size();
+            if (changeSet == null || changeSet.getPreviousSize() != changeSetSize) {
+                changeSet = RealmResultsChangeSet.newReload(changeSetSize, size);
+            }
+            changeSetSize = size;
+            for (RealmResultsChangeListener listener : changeSetListeners) {
+                listener.onChange(changeSet);
+            }
+        }
     }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Using RealmResultsChangeListener, it is possible to be notified of which rows of an async {@link RealmResults}
+ * were inserted, deleted or modified, instead of only being told that something changed. This makes it possible to
+ * only refresh the affected parts of a list.
+ *
+ * @see RealmResults#addChangeListener(RealmResultsChangeListener)
+ * @see RealmResultsChangeSet
+ */
+public interface RealmResultsChangeListener {
+
+    /**
+     * Called when the RealmResults have been updated, after all the {@link RealmChangeListener}s of the RealmResults.
+     *
+     * @param changeSet the rows changed since the previous notification.
+     */
+    void onChange(RealmResultsChangeSet changeSet);
+
+}
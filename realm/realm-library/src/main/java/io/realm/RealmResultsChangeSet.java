@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+
+/**
+ * Describes how the rows of a {@link RealmResults} changed between two notifications.
+ * <p>
+ * Rows are identified by the object they point to. Applying the deletions (in descending order) to the previous
+ * results, then the insertions (in ascending order), gives the new results. A row which changed position is reported
+ * as deleted from its previous position and inserted at its new one. Modifications cover the rows still at the same
+ * relative position whose own fields or lists were written, changes to linked objects are not reported.
+ * <p>
+ * When the changes can't be determined (e.g. the schema changed), all the previous rows are reported as deleted and
+ * all the new rows as inserted.
+ *
+ * @see RealmResultsChangeListener
+ */
+public final class RealmResultsChangeSet {
+
+    private final int previousSize;
+    private final int[] deletions;
+    private final int[] insertions;
+    private final int[] modifications;
+
+    /**
+     * Creates a change set.
+     *
+     * @param previousSize the size of the results before the change.
+     * @param deletions the ascending positions of the removed rows in the previous results.
+     * @param insertions the ascending positions of the added rows in the new results.
+     * @param modifications the ascending positions of the modified rows in the new results.
+     */
+    public RealmResultsChangeSet(int previousSize, int[] deletions, int[] insertions, int[] modifications) {
+        if (deletions == null || insertions == null || modifications == null) {
+            throw new IllegalArgumentException("Non-null arrays must be provided");
+        }
+        this.previousSize = previousSize;
+        this.deletions = deletions;
+        this.insertions = insertions;
+        this.modifications = modifications;
+    }
+
+    /**
+     * Creates a change set replacing all the previous rows by all the new ones.
+     */
+    static RealmResultsChangeSet newReload(int previousSize, int size) {
+        int[] deletions = new int[previousSize];
+        for (int i = 0; i < previousSize; i++) {
+            deletions[i] = i;
+        }
+        int[] insertions = new int[size];
+        for (int i = 0; i < size; i++) {
+            insertions[i] = i;
+        }
+        return new RealmResultsChangeSet(previousSize, deletions, insertions, new int[0]);
+    }
+
+    /**
+     * Returns the size of the results before the change.
+     */
+    public int getPreviousSize() {
+        return previousSize;
+    }
+
+    /**
+     * Returns the positions, in the previous results, of the rows which are no longer part of the results or moved.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getDeletions() {
+        return Arrays.copyOf(deletions, deletions.length);
+    }
+
+    /**
+     * Returns the positions, in the new results, of the rows which weren't part of the previous results or moved.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getInsertions() {
+        return Arrays.copyOf(insertions, insertions.length);
+    }
+
+    /**
+     * Returns the positions, in the new results, of the rows whose content was modified.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getModifications() {
+        return Arrays.copyOf(modifications, modifications.length);
+    }
+
+    /**
+     * Checks if the rows are unchanged, which happens when a table the results depend on was written without
+     * affecting them.
+     *
+     * @return {@code true} if there are no deletions, insertions or modifications, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return deletions.length == 0 && insertions.length == 0 && modifications.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmResultsChangeSet{" +
+                "deletions=" + Arrays.toString(deletions) +
+                ", insertions=" + Arrays.toString(insertions) +
+                ", modifications=" + Arrays.toString(modifications) +
+                '}';
+    }
+}
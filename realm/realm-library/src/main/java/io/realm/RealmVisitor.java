@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * A RealmVisitor is called for each object of a {@link RealmResults} by {@link RealmResults#visitAll(RealmVisitor)}.
+ * <p>
+ * The same object is given for every row: it's moved from one row to the next instead of being created for each
+ * row. It must therefore not be kept or compared once {@link #visit(RealmObject)} returns, use
+ * {@link RealmResults#get(int)} to get an object that can be kept.
+ *
+ * @param <E> the class of the visited objects.
+ * @see RealmResults#visitAll(RealmVisitor)
+ */
+public interface RealmVisitor<E extends RealmObject> {
+
+    /**
+     * Called for each object of the RealmResults, in the order of the results.
+     *
+     * @param object the object at the current position, only valid until this method returns.
+     */
+    void visit(E object);
+
+}
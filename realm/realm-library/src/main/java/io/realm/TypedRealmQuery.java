@@ -0,0 +1,590 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+
+import io.realm.internal.TableQuery;
+
+/**
+ * Base class of the type safe queries generated for each model class, e.g. {@code PersonQuery} for {@code Person}:
+ *
+ * <pre>
+ * {@code
+ * RealmResults<Person> adults = PersonQuery.where(realm).age().greaterThanOrEqualTo(18).findAll();
+ * }
+ * </pre>
+ *
+ * Each field of the model class has an accessor returning its conditions. The column index of the field is resolved
+ * when the query is created, so adding a condition doesn't look the field up by name or check its type like
+ * {@link RealmQuery} does. Link and binary fields don't have accessors, the conditions on them can be added to the
+ * underlying query returned by {@link #getQuery()}, which is also used to sort the results or run the query
+ * asynchronously.
+ * <p>
+ * Like a RealmQuery, a typed query cannot be passed between different threads.
+ *
+ * @param <E> the class of the objects to be queried.
+ * @param <Q> the generated query class.
+ */
+public abstract class TypedRealmQuery<E extends RealmObject, Q extends TypedRealmQuery<E, Q>> {
+
+    private final RealmQuery<E> query;
+    private final TableQuery tableQuery;
+
+    protected TypedRealmQuery(RealmQuery<E> query) {
+        this.query = query;
+        this.tableQuery = query.getTableQuery();
+    }
+
+    /**
+     * Returns the query the conditions are added to.
+     *
+     * @return the underlying {@link RealmQuery}.
+     */
+    public RealmQuery<E> getQuery() {
+        return query;
+    }
+
+    /**
+     * Begin grouping of conditions ("left parenthesis").
+     *
+     * @return the query object.
+     * @see RealmQuery#beginGroup()
+     */
+    public Q beginGroup() {
+        tableQuery.group();
+        return self();
+    }
+
+    /**
+     * End grouping of conditions ("right parenthesis").
+     *
+     * @return the query object.
+     * @see RealmQuery#endGroup()
+     */
+    public Q endGroup() {
+        tableQuery.endGroup();
+        return self();
+    }
+
+    /**
+     * Logical-or two conditions.
+     *
+     * @return the query object.
+     */
+    public Q or() {
+        tableQuery.or();
+        return self();
+    }
+
+    /**
+     * Negate condition.
+     *
+     * @return the query object.
+     */
+    public Q not() {
+        tableQuery.not();
+        return self();
+    }
+
+    /**
+     * Finds all objects that fulfill the query conditions.
+     *
+     * @return a {@link RealmResults} containing objects.
+     * @see RealmQuery#findAll()
+     */
+    public RealmResults<E> findAll() {
+        return query.findAll();
+    }
+
+    /**
+     * Finds the first object that fulfills the query conditions.
+     *
+     * @return the object found or {@code null} if no object matches the query conditions.
+     * @see RealmQuery#findFirst()
+     */
+    public E findFirst() {
+        return query.findFirst();
+    }
+
+    /**
+     * Counts the number of objects that fulfill the query conditions.
+     *
+     * @return the number of matching objects.
+     */
+    public long count() {
+        return query.count();
+    }
+
+    // Conditions on the fields, used by the accessors of the generated classes
+
+    protected LongField<Q> longField(long columnIndex) {
+        return new LongField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    protected DoubleField<Q> doubleField(long columnIndex) {
+        return new DoubleField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    protected FloatField<Q> floatField(long columnIndex) {
+        return new FloatField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    protected BooleanField<Q> booleanField(long columnIndex) {
+        return new BooleanField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    protected StringField<Q> stringField(long columnIndex) {
+        return new StringField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    protected DateField<Q> dateField(long columnIndex) {
+        return new DateField<Q>(self(), tableQuery, columnIndex);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Q self() {
+        return (Q) this;
+    }
+
+    /**
+     * Conditions on an integer field, i.e. a {@code byte}, {@code short}, {@code int} or {@code long} field.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class LongField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        LongField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(long value) {
+            tableQuery.equalTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q notEqualTo(long value) {
+            tableQuery.notEqualTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThan(long value) {
+            tableQuery.greaterThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThanOrEqualTo(long value) {
+            tableQuery.greaterThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThan(long value) {
+            tableQuery.lessThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThanOrEqualTo(long value) {
+            tableQuery.lessThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q between(long from, long to) {
+            tableQuery.between(columnIndices, from, to);
+            return owner;
+        }
+
+        /**
+         * Tests if the field matches any of the values.
+         *
+         * @see RealmQuery#in(String, long[])
+         */
+        public Q in(long... values) {
+            if (values.length == 0) {
+                throw new IllegalArgumentException("Non-empty 'values' must be provided.");
+            }
+            tableQuery.in(columnIndices, values);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+
+    /**
+     * Conditions on a {@code double} field.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class DoubleField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        DoubleField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(double value) {
+            tableQuery.equalTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q notEqualTo(double value) {
+            tableQuery.notEqualTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThan(double value) {
+            tableQuery.greaterThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThanOrEqualTo(double value) {
+            tableQuery.greaterThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThan(double value) {
+            tableQuery.lessThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThanOrEqualTo(double value) {
+            tableQuery.lessThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q between(double from, double to) {
+            tableQuery.between(columnIndices, from, to);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+
+    /**
+     * Conditions on a {@code float} field.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class FloatField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        FloatField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(float value) {
+            tableQuery.equalTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q notEqualTo(float value) {
+            tableQuery.notEqualTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThan(float value) {
+            tableQuery.greaterThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThanOrEqualTo(float value) {
+            tableQuery.greaterThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThan(float value) {
+            tableQuery.lessThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThanOrEqualTo(float value) {
+            tableQuery.lessThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q between(float from, float to) {
+            tableQuery.between(columnIndices, from, to);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+
+    /**
+     * Conditions on a {@code boolean} field.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class BooleanField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        BooleanField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(boolean value) {
+            tableQuery.equalTo(columnIndices, value);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+
+    /**
+     * Conditions on a {@link String} field. Setting {@code caseSensitive} to {@code false} only works for English
+     * locale characters.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class StringField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        StringField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(String value) {
+            return equalTo(value, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q equalTo(String value, boolean caseSensitive) {
+            tableQuery.equalTo(columnIndices, value, caseSensitive);
+            return owner;
+        }
+
+        public Q notEqualTo(String value) {
+            return notEqualTo(value, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q notEqualTo(String value, boolean caseSensitive) {
+            tableQuery.notEqualTo(columnIndices, value, caseSensitive);
+            return owner;
+        }
+
+        public Q contains(String value) {
+            return contains(value, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q contains(String value, boolean caseSensitive) {
+            tableQuery.contains(columnIndices, value, caseSensitive);
+            return owner;
+        }
+
+        public Q beginsWith(String value) {
+            return beginsWith(value, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q beginsWith(String value, boolean caseSensitive) {
+            tableQuery.beginsWith(columnIndices, value, caseSensitive);
+            return owner;
+        }
+
+        public Q endsWith(String value) {
+            return endsWith(value, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q endsWith(String value, boolean caseSensitive) {
+            tableQuery.endsWith(columnIndices, value, caseSensitive);
+            return owner;
+        }
+
+        /**
+         * Tests if the field matches any of the values.
+         *
+         * @see RealmQuery#in(String, String[])
+         */
+        public Q in(String... values) {
+            return in(values, RealmQuery.CASE_SENSITIVE);
+        }
+
+        public Q in(String[] values, boolean caseSensitive) {
+            if (values.length == 0) {
+                throw new IllegalArgumentException("Non-empty 'values' must be provided.");
+            }
+            tableQuery.in(columnIndices, values, caseSensitive);
+            return owner;
+        }
+
+        /**
+         * Condition that finds the 0-length strings.
+         */
+        public Q isEmpty() {
+            tableQuery.isEmpty(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+
+    /**
+     * Conditions on a {@link Date} field.
+     *
+     * @param <Q> the generated query class.
+     */
+    public static final class DateField<Q extends TypedRealmQuery<?, Q>> {
+        private final Q owner;
+        private final TableQuery tableQuery;
+        private final long[] columnIndices;
+
+        DateField(Q owner, TableQuery tableQuery, long columnIndex) {
+            this.owner = owner;
+            this.tableQuery = tableQuery;
+            this.columnIndices = new long[] {columnIndex};
+        }
+
+        public Q equalTo(Date value) {
+            tableQuery.equalTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q notEqualTo(Date value) {
+            tableQuery.notEqualTo(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThan(Date value) {
+            tableQuery.greaterThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q greaterThanOrEqualTo(Date value) {
+            tableQuery.greaterThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThan(Date value) {
+            tableQuery.lessThan(columnIndices, value);
+            return owner;
+        }
+
+        public Q lessThanOrEqualTo(Date value) {
+            tableQuery.lessThanOrEqual(columnIndices, value);
+            return owner;
+        }
+
+        public Q between(Date from, Date to) {
+            tableQuery.between(columnIndices, from, to);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is {@code null}. Only works for nullable fields.
+         */
+        public Q isNull() {
+            tableQuery.isNull(columnIndices);
+            return owner;
+        }
+
+        /**
+         * Tests if the field is not {@code null}. Only works for nullable fields.
+         */
+        public Q isNotNull() {
+            tableQuery.isNotNull(columnIndices);
+            return owner;
+        }
+    }
+}
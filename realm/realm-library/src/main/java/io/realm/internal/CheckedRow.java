@@ -51,8 +51,7 @@ public class CheckedRow extends UncheckedRow {
     public static CheckedRow get(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         CheckedRow row = new CheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -68,8 +67,7 @@ public class CheckedRow extends UncheckedRow {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativePointer, index);
         CheckedRow row = new CheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent),
                 nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -16,19 +16,31 @@
 
 package io.realm.internal;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.realm.RealmObject;
 
 /**
  * Utility class used to cache the mapping between object field names and their column indices.
+ * <p>
+ * It also caches the field paths resolved by queries, e.g. {@code "owner.address.city"}. An instance is shared by
+ * all the Realm instances of a file and is replaced when the schema of the file is migrated, so the cached paths
+ * never outlive the schema they were resolved with.
  */
 public class ColumnIndices {
 
     private final Map<Class<? extends RealmObject>, ColumnInfo> classes;
+    // Read and written by the threads of all the Realm instances of the file
+    private final Map<Class<? extends RealmObject>, Map<String, FieldPath>> fieldPaths;
 
     public ColumnIndices(Map<Class<? extends RealmObject>, ColumnInfo> classes) {
         this.classes = classes;
+        this.fieldPaths = new HashMap<Class<? extends RealmObject>, Map<String, FieldPath>>(classes.size());
+        for (Class<? extends RealmObject> clazz : classes.keySet()) {
+            fieldPaths.put(clazz, new ConcurrentHashMap<String, FieldPath>());
+        }
     }
 
     /**
@@ -50,4 +62,36 @@ public class ColumnIndices {
             return -1;
         }
     }
+
+    /**
+     * Returns the resolved field path of a clazz or {@code null} if it hasn't been resolved yet.
+     */
+    public FieldPath getFieldPath(Class<? extends RealmObject> clazz, String fieldDescription) {
+        Map<String, FieldPath> paths = fieldPaths.get(clazz);
+        return (paths != null) ? paths.get(fieldDescription) : null;
+    }
+
+    /**
+     * Caches the resolved field path of a clazz.
+     */
+    public void putFieldPath(Class<? extends RealmObject> clazz, String fieldDescription, FieldPath fieldPath) {
+        Map<String, FieldPath> paths = fieldPaths.get(clazz);
+        if (paths != null) {
+            paths.put(fieldDescription, fieldPath);
+        }
+    }
+
+    /**
+     * A field name or link path resolved to the column indices of each of its fields.
+     */
+    public static final class FieldPath {
+        // Shared by all the queries using the path, must not be modified
+        public final long[] columnIndices;
+        public final ColumnType columnType;
+
+        public FieldPath(long[] columnIndices, ColumnType columnType) {
+            this.columnIndices = columnIndices;
+            this.columnType = columnType;
+        }
+    }
 }
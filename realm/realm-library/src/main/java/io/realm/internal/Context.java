@@ -16,10 +16,9 @@
 
 package io.realm.internal;
 
-import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 
 public class Context {
@@ -30,14 +29,29 @@ public class Context {
     // whose disposal need to be handed over from the garbage 
     // collection thread to the users thread.
 
-    // Reserved to be used only as a placeholder by native references Map to avoid autoboxing allocations
-    static final Integer NATIVE_REFERENCES_VALUE = 0;
+    // Number of references registered between two polls of the reference queue. The queue is also polled by
+    // executeDelayedDisposal(), when the Realm is refreshed and before it is closed.
+    private static final int RECLAIM_INTERVAL = 64;
+    // Maximum number of native objects released by a single JNI call
+    private static final int RECLAIM_BATCH_SIZE = 256;
 
     private List<Long> abandonedTables = new ArrayList<Long>();
     private List<Long> abandonedTableViews = new ArrayList<Long>();
     private List<Long> abandonedQueries = new ArrayList<Long>();
 
-    HashMap<Reference<?>, Integer> rowReferences = new HashMap<Reference<?>, Integer>();
+    // Registry keeping the references of the native row and LinkView accessors reachable until they are enqueued.
+    // Slots of the released references are recycled through a stack of free slot indices.
+    private NativeObjectReference[] references = new NativeObjectReference[RECLAIM_BATCH_SIZE];
+    private int[] freeSlots = new int[RECLAIM_BATCH_SIZE];
+    private int freeSlotsCount = 0;
+    private int usedSlots = 0;
+    private int liveReferenceCount = 0;
+    private long reclaimedReferenceCount = 0;
+    private int registrationsSinceReclaim = 0;
+    // Pointers waiting to be released, one buffer per kind of native object
+    private final long[] rowPointersToClose = new long[RECLAIM_BATCH_SIZE];
+    private final long[] linkViewPointersToClose = new long[RECLAIM_BATCH_SIZE];
+
     ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
 
     private boolean isFinalized = false;
@@ -66,13 +80,117 @@ public class Context {
         }
     }
 
+    /**
+     * Keeps track of a native accessor until its Java object is garbage collected. The accessors released since the
+     * last registrations are reclaimed every {@value #RECLAIM_INTERVAL} registrations.
+     *
+     * @param reference the reference of the accessor.
+     */
+    void addReference(NativeObjectReference reference) {
+        if (++registrationsSinceReclaim >= RECLAIM_INTERVAL) {
+            cleanNativeReferences();
+        }
+
+        int slot;
+        if (freeSlotsCount > 0) {
+            slot = freeSlots[--freeSlotsCount];
+        } else {
+            if (usedSlots == references.length) {
+                references = Arrays.copyOf(references, references.length * 2);
+            }
+            slot = usedSlots++;
+        }
+        references[slot] = reference;
+        reference.slot = slot;
+        liveReferenceCount++;
+    }
+
+    /**
+     * Releases the native accessors whose Java objects have been garbage collected. The native objects are released
+     * in batches, with one JNI call per batch instead of one per accessor.
+     */
     public void cleanNativeReferences() {
+        registrationsSinceReclaim = 0;
+        int rowCount = 0;
+        int linkViewCount = 0;
         NativeObjectReference reference = (NativeObjectReference) referenceQueue.poll();
         while (reference != null) {
-            reference.clear();
-            rowReferences.remove(reference);
+            if (reference.type == NativeObjectReference.TYPE_LINK_VIEW) {
+                linkViewPointersToClose[linkViewCount++] = reference.nativePointer;
+                if (linkViewCount == RECLAIM_BATCH_SIZE) {
+                    LinkView.nativeCloseAll(linkViewPointersToClose, linkViewCount);
+                    linkViewCount = 0;
+                }
+            } else {
+                rowPointersToClose[rowCount++] = reference.nativePointer;
+                if (rowCount == RECLAIM_BATCH_SIZE) {
+                    UncheckedRow.nativeCloseAll(rowPointersToClose, rowCount);
+                    rowCount = 0;
+                }
+            }
+            reference.clearReferent();
+            releaseSlot(reference);
             reference = (NativeObjectReference) referenceQueue.poll();
         }
+        if (rowCount > 0) {
+            UncheckedRow.nativeCloseAll(rowPointersToClose, rowCount);
+        }
+        if (linkViewCount > 0) {
+            LinkView.nativeCloseAll(linkViewPointersToClose, linkViewCount);
+        }
+        shrinkReferences();
+    }
+
+    /**
+     * Compacts the registry once at most a quarter of its slots are still in use, so it doesn't keep the size reached
+     * by a burst of accessors.
+     */
+    private void shrinkReferences() {
+        if (references.length <= RECLAIM_BATCH_SIZE || liveReferenceCount > references.length / 4) {
+            return;
+        }
+        NativeObjectReference[] compacted = new NativeObjectReference[references.length / 2];
+        int count = 0;
+        for (int i = 0; i < usedSlots; i++) {
+            NativeObjectReference reference = references[i];
+            if (reference != null) {
+                reference.slot = count;
+                compacted[count++] = reference;
+            }
+        }
+        references = compacted;
+        usedSlots = count;
+        freeSlots = new int[compacted.length];
+        freeSlotsCount = 0;
+    }
+
+    private void releaseSlot(NativeObjectReference reference) {
+        if (freeSlotsCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        references[reference.slot] = null;
+        freeSlots[freeSlotsCount++] = reference.slot;
+        reference.slot = -1;
+        liveReferenceCount--;
+        reclaimedReferenceCount++;
+    }
+
+    /**
+     * Returns the number of native row and LinkView accessors which haven't been released yet.
+     *
+     * @return the number of live native accessors.
+     */
+    public int getLiveReferenceCount() {
+        return liveReferenceCount;
+    }
+
+    /**
+     * Returns the number of native row and LinkView accessors released since this Context was created.
+     *
+     * @return the number of released native accessors.
+     */
+    public long getReclaimedReferenceCount() {
+        return reclaimedReferenceCount;
     }
 
     public void asyncDisposeTable(long nativePointer, boolean isRoot) {
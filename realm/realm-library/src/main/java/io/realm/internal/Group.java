@@ -103,6 +103,7 @@ public class Group implements Closeable {
     public void close() {
         synchronized (context) {
             if (nativePtr != 0) {
+                context.executeDelayedDisposal();
                 nativeClose(nativePtr);
                 nativePtr = 0;
             }
@@ -27,7 +27,7 @@ public class LinkView extends NativeObject {
 
         public LinkViewReference(NativeObject referent,
                                  ReferenceQueue<? super NativeObject> referenceQueue) {
-            super(referent, referenceQueue);
+            super(referent, referenceQueue, TYPE_LINK_VIEW);
         }
 
         @Override
@@ -46,9 +46,7 @@ public class LinkView extends NativeObject {
         this.columnIndexInParent = columnIndexInParent;
         this.nativePointer = nativeLinkViewPtr;
 
-        context.cleanNativeReferences();
-        context.rowReferences.put(new LinkViewReference(this, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new LinkViewReference(this, context.referenceQueue));
     }
 
     /**
@@ -123,7 +121,7 @@ public class LinkView extends NativeObject {
         this.context.executeDelayedDisposal();
         long nativeQueryPtr = nativeWhere(nativePointer);
         try {
-            return new TableQuery(this.context, this.parent, nativeQueryPtr);
+            return new TableQuery(this.context, this.parent, nativeQueryPtr, this);
         } catch (RuntimeException e) {
             TableQuery.nativeClose(nativeQueryPtr);
             throw e;
@@ -148,6 +146,7 @@ public class LinkView extends NativeObject {
     }
 
     private static native void nativeClose(long nativeLinkViewPtr);
+    static native void nativeCloseAll(long[] nativeLinkViewPtrs, int count);
     native long nativeGetRow(long nativeLinkViewPtr, long pos);
     private native long nativeGetTargetRowIndex(long nativeLinkViewPtr, long pos);
     private native void nativeAdd(long nativeLinkViewPtr, long rowIndex);
@@ -24,12 +24,21 @@ import java.lang.ref.ReferenceQueue;
  */
 public abstract class NativeObjectReference extends PhantomReference<NativeObject> {
 
+    // Kinds of native objects, references of the same kind are released together by the Context
+    static final int TYPE_ROW = 0;
+    static final int TYPE_LINK_VIEW = 1;
+
     // The pointer to the native object to be handled
     protected final long nativePointer;
+    final int type;
+    // Slot of this reference in the registry of its Context
+    int slot = -1;
 
-    public NativeObjectReference(NativeObject referent, ReferenceQueue<? super NativeObject> referenceQueue) {
+    public NativeObjectReference(NativeObject referent, ReferenceQueue<? super NativeObject> referenceQueue,
+                                 int type) {
         super(referent, referenceQueue);
         nativePointer = referent.nativePointer;
+        this.type = type;
     }
 
     /**
@@ -43,4 +52,12 @@ public abstract class NativeObjectReference extends PhantomReference<NativeObjec
         cleanup();
         super.clear();
     }
+
+    /**
+     * Clears the reference without releasing the native object, used once the native object has been released
+     * together with others.
+     */
+    void clearReferent() {
+        super.clear();
+    }
 }
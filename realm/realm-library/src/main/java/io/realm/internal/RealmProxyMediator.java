@@ -103,6 +103,57 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Returns the primary key value of an object, either a {@link String} or a {@link Long}.
+     *
+     * @param clazz the class of the object.
+     * @param object the object to read the primary key of.
+     * @return the primary key value.
+     * @throws IllegalArgumentException if the class has no primary key.
+     */
+    public abstract Object getPrimaryKeyValue(Class<? extends RealmObject> clazz, RealmObject object);
+
+    /**
+     * Copies the properties of an object into an existing Realm object with the same primary key.
+     *
+     * @param clazz the class of both objects.
+     * @param realm the reference to the {@link Realm} holding {@code realmObject}.
+     * @param realmObject the managed object to update.
+     * @param newObject the object to copy properties from.
+     * @param cache the cache for mapping between standalone objects and their {@link RealmProxy} representation.
+     * @return the updated Realm object.
+     * @throws IllegalArgumentException if the class has no primary key.
+     */
+    public abstract <E extends RealmObject> E update(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache);
+
+    /**
+     * Copies the value fields of objects into existing Realm objects with the same primary keys. Each field is written
+     * for all the objects at once with the bulk setters of {@link Table}. Links and lists aren't copied, see
+     * {@link #updateLinks(Class, Realm, RealmObject, RealmObject, Map)}.
+     *
+     * @param clazz the class of the objects.
+     * @param realm the reference to the {@link Realm} holding the rows.
+     * @param newObjects the objects to copy the fields from.
+     * @param rowIndices the index of the row to update for each object. Objects with the same row are written in the
+     *                   order of {@code newObjects}.
+     * @throws IllegalArgumentException if the class has no primary key or a required field is {@code null}.
+     */
+    public abstract <E extends RealmObject> void updateColumns(Class<E> clazz, Realm realm, List<E> newObjects, long[] rowIndices);
+
+    /**
+     * Copies the links and lists of an object into an existing Realm object with the same primary key. The linked
+     * objects are copied or updated too.
+     *
+     * @param clazz the class of both objects.
+     * @param realm the reference to the {@link Realm} holding {@code realmObject}.
+     * @param realmObject the managed object to update.
+     * @param newObject the object to copy the links from.
+     * @param cache the cache for mapping between standalone objects and their {@link RealmProxy} representation.
+     * @return the updated Realm object.
+     * @throws IllegalArgumentException if the class has no primary key.
+     */
+    public abstract <E extends RealmObject> E updateLinks(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache);
+
     /**
      * Creates or updates a {@link RealmObject} using the provided JSON data.
      *
@@ -150,4 +201,8 @@ public abstract class RealmProxyMediator {
     protected static RealmException getMissingProxyClassException(Class<? extends RealmObject> clazz) {
         return new RealmException(clazz + " is not part of the schema for this Realm.");
     }
+
+    protected static IllegalArgumentException getMissingPrimaryKeyException(Class<? extends RealmObject> clazz) {
+        return new IllegalArgumentException(clazz.getSimpleName() + " does not have a primary key.");
+    }
 }
@@ -83,10 +83,12 @@ public class SharedGroup implements Closeable {
     }
 
     void advanceRead() {
+        context.cleanNativeReferences();
         nativeAdvanceRead(nativePtr, nativeReplicationPtr);
     }
 
     void advanceRead(VersionID versionID) {
+        context.cleanNativeReferences();
         nativeAdvanceReadToVersion(nativePtr, nativeReplicationPtr, versionID.version,
                 versionID.index);
     }
@@ -160,6 +162,7 @@ public class SharedGroup implements Closeable {
     public void close() {
         synchronized (context) {
             if (nativePtr != 0) {
+                context.executeDelayedDisposal();
                 nativeClose(nativePtr);
                 nativePtr = 0;
                 if (implicitTransactionsEnabled && nativeReplicationPtr != 0) {
@@ -249,6 +252,18 @@ public class SharedGroup implements Closeable {
         return new VersionID (versionId[0], versionId[1]);
 
     }
+
+    /**
+     * Positions the read transaction at the given version, then advances it to the latest version while collecting
+     * the tables modified by the transaction logs in between. The SharedGroup is left on the latest version.
+     *
+     * @param versionID the version to compare against. It must still be held by a read transaction somewhere.
+     * @return the names of the tables modified since {@code versionID}, or {@code null} if tables were added, removed
+     * or renamed in the meantime, so the changes cannot be attributed to individual tables.
+     */
+    public String[] getTablesChangedSince(VersionID versionID) {
+        return nativeGetChangedTables(nativePtr, nativeReplicationPtr, versionID.version, versionID.index);
+    }
     
     public static class VersionID implements Comparable<VersionID> {
         final long version;
@@ -303,6 +318,8 @@ public class SharedGroup implements Closeable {
     private native void nativeCloseReplication(long nativeReplicationPtr);
     private native void nativeRollbackAndContinueAsRead(long nativePtr, long nativeReplicationPtr);
     private native long[] nativeGetVersionID (long nativePtr);
+    private native String[] nativeGetChangedTables(long nativePtr, long nativeReplicationPtr,
+                                                   long version, long index);
     private native void nativeAdvanceRead(long nativePtr, long nativeReplicationPtr);
     private native void nativeAdvanceReadToVersion(long nativePtr, long nativeReplicationPtr,
                                                    long version, long index);
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.RealmConfiguration;
+
+/**
+ * Pool of {@link SharedGroup}s used by the worker threads of the async executor.
+ * <p>
+ * Opening a SharedGroup means opening the Realm file and going through the lock file handshake, which is expensive
+ * compared to the queries being run by the workers. Instead of opening a new SharedGroup for each task, a worker
+ * borrows an idle one with {@link #acquire(RealmConfiguration)} and gives it back with
+ * {@link #release(RealmConfiguration, SharedGroup)}. A borrowed SharedGroup is only used by one worker thread at a time.
+ * The worker repositions the read transaction to the version of the handed over query, so no re-opening is needed.
+ * <p>
+ * A pool is kept per canonical path, as all configurations pointing to the same file must share the same key and
+ * durability. Pools are opened when the first Realm instance for a path is opened and torn down when the last one is
+ * closed. SharedGroups returned after that are closed instead of being pooled.
+ */
+public final class SharedGroupPool {
+
+    // Map between canonical paths and the idle SharedGroups for that file. Guarded by the class lock.
+    private static final Map<String, Deque<SharedGroup>> pools = new HashMap<String, Deque<SharedGroup>>();
+
+    private SharedGroupPool() {
+    }
+
+    /**
+     * Enables pooling for the given Realm file. Called when the first Realm instance for the file is opened.
+     */
+    public static synchronized void open(String canonicalPath) {
+        if (!pools.containsKey(canonicalPath)) {
+            pools.put(canonicalPath, new ArrayDeque<SharedGroup>());
+        }
+    }
+
+    /**
+     * Closes all idle SharedGroups for the given Realm file and disables pooling for it. Called when the last Realm
+     * instance for the file is closed. SharedGroups still borrowed by a worker are closed when they are released.
+     */
+    public static void close(String canonicalPath) {
+        Deque<SharedGroup> idleSharedGroups;
+        synchronized (SharedGroupPool.class) {
+            idleSharedGroups = pools.remove(canonicalPath);
+        }
+        if (idleSharedGroups != null) {
+            for (SharedGroup sharedGroup : idleSharedGroups) {
+                sharedGroup.close();
+            }
+        }
+    }
+
+    /**
+     * Borrows a SharedGroup for the given configuration. A new one is opened if no idle SharedGroup is available.
+     *
+     * @param configuration the configuration of the Realm being queried.
+     * @return a SharedGroup with implicit transactions enabled. It must be given back using
+     * {@link #release(RealmConfiguration, SharedGroup)} or closed if it is left in an unknown state.
+     */
+    public static SharedGroup acquire(RealmConfiguration configuration) {
+        SharedGroup sharedGroup = null;
+        synchronized (SharedGroupPool.class) {
+            Deque<SharedGroup> idleSharedGroups = pools.get(configuration.getPath());
+            if (idleSharedGroups != null) {
+                sharedGroup = idleSharedGroups.poll();
+            }
+        }
+        if (sharedGroup == null) {
+            sharedGroup = new SharedGroup(configuration.getPath(),
+                    SharedGroup.IMPLICIT_TRANSACTION,
+                    configuration.getDurability(),
+                    configuration.getEncryptionKey());
+        }
+        return sharedGroup;
+    }
+
+    /**
+     * Gives back a SharedGroup borrowed with {@link #acquire(RealmConfiguration)}. The read transaction is ended so the
+     * idle SharedGroup doesn't keep an old version of the file alive.
+     *
+     * @param configuration the configuration used to acquire the SharedGroup.
+     * @param sharedGroup the SharedGroup to give back.
+     */
+    public static void release(RealmConfiguration configuration, SharedGroup sharedGroup) {
+        if (sharedGroup.isClosed()) {
+            return;
+        }
+        sharedGroup.endRead();
+        synchronized (SharedGroupPool.class) {
+            Deque<SharedGroup> idleSharedGroups = pools.get(configuration.getPath());
+            if (idleSharedGroups != null) {
+                idleSharedGroups.push(sharedGroup);
+                return;
+            }
+        }
+        sharedGroup.close();
+    }
+}
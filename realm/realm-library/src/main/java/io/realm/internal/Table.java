@@ -17,6 +17,10 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -44,6 +48,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
     private static final String PRIMARY_KEY_FIELD_COLUMN_NAME = "pk_property";
     private static final long PRIMARY_KEY_FIELD_COLUMN_INDEX = 1;
     private static final long NO_PRIMARY_KEY = -2;
+    // a null date for the bulk date accessors, no Date is that many seconds away from the epoch
+    private static final long NULL_DATE_SECONDS = Long.MIN_VALUE;
 
     protected long nativePtr;
 
@@ -760,6 +766,71 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex, long rowIndex);
 
+    // Bulk getters
+
+    @Override
+    public long[] getLongs(long columnIndex) {
+        return nativeGetLongs(nativePtr, columnIndex);
+    }
+
+    @Override
+    public double[] getDoubles(long columnIndex) {
+        return nativeGetDoubles(nativePtr, columnIndex);
+    }
+
+    @Override
+    public Date[] getDates(long columnIndex) {
+        return toDates(nativeGetDateTimes(nativePtr, columnIndex));
+    }
+
+    @Override
+    public String[] getStrings(long columnIndex) {
+        return nativeGetStrings(nativePtr, columnIndex);
+    }
+
+    @Override
+    public void getLongs(long columnIndex, LongBuffer buffer) {
+        int size = (int) size();
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder()) {
+            nativeFillLongs(nativePtr, columnIndex, buffer, buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            buffer.put(getLongs(columnIndex));
+        }
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, DoubleBuffer buffer) {
+        int size = (int) size();
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder()) {
+            nativeFillDoubles(nativePtr, columnIndex, buffer, buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            buffer.put(getDoubles(columnIndex));
+        }
+    }
+
+    static Date[] toDates(long[] seconds) {
+        Date[] dates = new Date[seconds.length];
+        for (int i = 0; i < seconds.length; i++) {
+            dates[i] = (seconds[i] == NULL_DATE_SECONDS) ? null : new Date(seconds[i] * 1000);
+        }
+        return dates;
+    }
+
+    protected native long[] nativeGetLongs(long nativeTablePtr, long columnIndex);
+    protected native double[] nativeGetDoubles(long nativeTablePtr, long columnIndex);
+    protected native long[] nativeGetDateTimes(long nativeTablePtr, long columnIndex);
+    protected native String[] nativeGetStrings(long nativeTablePtr, long columnIndex);
+    protected native void nativeFillLongs(long nativeTablePtr, long columnIndex, LongBuffer buffer, long position);
+    protected native void nativeFillDoubles(long nativeTablePtr, long columnIndex, DoubleBuffer buffer, long position);
+
     @Override
     public Mixed getMixed(long columnIndex, long rowIndex) {
         return nativeGetMixed(nativePtr, columnIndex, rowIndex);
@@ -941,6 +1012,238 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native void nativeSetDate(long nativeTablePtr, long columnIndex, long rowIndex, long dateTimeValue);
 
+    // Bulk setters
+    //
+    // The values of an array are set in consecutive rows, or in the rows given by their indices, with a single JNI
+    // call. The values set in the same row overwrite each other in the order of the array. They can't be used on the
+    // primary key column, use addEmptyRowsWithPrimaryKeys() to add rows with their primary keys instead.
+
+    public void setLongs(long columnIndex, long startRowIndex, long[] values) {
+        checkBulkSetter(columnIndex);
+        nativeSetLongs(nativePtr, columnIndex, startRowIndex, values);
+    }
+
+    public void setBooleans(long columnIndex, long startRowIndex, boolean[] values) {
+        checkBulkSetter(columnIndex);
+        nativeSetBooleans(nativePtr, columnIndex, startRowIndex, values);
+    }
+
+    public void setFloats(long columnIndex, long startRowIndex, float[] values) {
+        checkBulkSetter(columnIndex);
+        nativeSetFloats(nativePtr, columnIndex, startRowIndex, values);
+    }
+
+    public void setDoubles(long columnIndex, long startRowIndex, double[] values) {
+        checkBulkSetter(columnIndex);
+        nativeSetDoubles(nativePtr, columnIndex, startRowIndex, values);
+    }
+
+    public void setDates(long columnIndex, long startRowIndex, Date[] values) {
+        checkBulkSetter(columnIndex);
+        boolean isNullable = isColumnNullable(columnIndex);
+        long[] seconds = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                seconds[i] = values[i].getTime() / 1000;
+            } else if (isNullable) {
+                seconds[i] = NULL_DATE_SECONDS;
+            } else {
+                throw new IllegalArgumentException("Null Date is not allowed.");
+            }
+        }
+        nativeSetDates(nativePtr, columnIndex, startRowIndex, seconds);
+    }
+
+    public void setStrings(long columnIndex, long startRowIndex, String[] values) {
+        checkBulkSetter(columnIndex);
+        nativeSetStrings(nativePtr, columnIndex, startRowIndex, values);
+    }
+
+    public void setLongs(long columnIndex, long[] rowIndices, long[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        nativeSetLongsInRows(nativePtr, columnIndex, rowIndices, values, null);
+    }
+
+    public void setLongs(long columnIndex, long[] rowIndices, Long[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        long[] longs = new long[values.length];
+        boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                longs[i] = values[i];
+            } else {
+                nulls[i] = true;
+            }
+        }
+        nativeSetLongsInRows(nativePtr, columnIndex, rowIndices, longs, nulls);
+    }
+
+    public void setBooleans(long columnIndex, long[] rowIndices, boolean[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        nativeSetBooleansInRows(nativePtr, columnIndex, rowIndices, values, null);
+    }
+
+    public void setBooleans(long columnIndex, long[] rowIndices, Boolean[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        boolean[] booleans = new boolean[values.length];
+        boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                booleans[i] = values[i];
+            } else {
+                nulls[i] = true;
+            }
+        }
+        nativeSetBooleansInRows(nativePtr, columnIndex, rowIndices, booleans, nulls);
+    }
+
+    public void setFloats(long columnIndex, long[] rowIndices, float[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        nativeSetFloatsInRows(nativePtr, columnIndex, rowIndices, values, null);
+    }
+
+    public void setFloats(long columnIndex, long[] rowIndices, Float[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        float[] floats = new float[values.length];
+        boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                floats[i] = values[i];
+            } else {
+                nulls[i] = true;
+            }
+        }
+        nativeSetFloatsInRows(nativePtr, columnIndex, rowIndices, floats, nulls);
+    }
+
+    public void setDoubles(long columnIndex, long[] rowIndices, double[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        nativeSetDoublesInRows(nativePtr, columnIndex, rowIndices, values, null);
+    }
+
+    public void setDoubles(long columnIndex, long[] rowIndices, Double[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        double[] doubles = new double[values.length];
+        boolean[] nulls = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                doubles[i] = values[i];
+            } else {
+                nulls[i] = true;
+            }
+        }
+        nativeSetDoublesInRows(nativePtr, columnIndex, rowIndices, doubles, nulls);
+    }
+
+    public void setDates(long columnIndex, long[] rowIndices, Date[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        long[] seconds = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            // the native setter throws if the column isn't nullable
+            seconds[i] = (values[i] != null) ? values[i].getTime() / 1000 : NULL_DATE_SECONDS;
+        }
+        nativeSetDatesInRows(nativePtr, columnIndex, rowIndices, seconds);
+    }
+
+    public void setStrings(long columnIndex, long[] rowIndices, String[] values) {
+        checkBulkSetter(columnIndex, rowIndices, values.length);
+        nativeSetStringsInRows(nativePtr, columnIndex, rowIndices, values);
+    }
+
+    private void checkBulkSetter(long columnIndex, long[] rowIndices, int numberOfValues) {
+        checkBulkSetter(columnIndex);
+        if (rowIndices.length != numberOfValues) {
+            throw new IllegalArgumentException(String.format(
+                    "%d row indices are given for %d values.", rowIndices.length, numberOfValues));
+        }
+    }
+
+    private void checkBulkSetter(long columnIndex) {
+        checkImmutable();
+        if (isPrimaryKeyColumn(columnIndex)) {
+            throw new IllegalArgumentException("Primary key values can only be set by addEmptyRowsWithPrimaryKeys().");
+        }
+    }
+
+    /**
+     * Adds one row for each of the given integer primary keys. The keys are checked against the rows of the table
+     * and against each other in a single JNI call, before any row is added.
+     *
+     * @param primaryKeys the primary keys of the new rows.
+     * @return the index of the first added row, the other rows follow it.
+     * @throws RealmPrimaryKeyConstraintException if a key already exists or is given twice.
+     */
+    public long addEmptyRowsWithPrimaryKeys(long[] primaryKeys) {
+        checkImmutable();
+        checkHasPrimaryKey();
+        long primaryKeyColumnIndex = getPrimaryKey();
+        if (getColumnType(primaryKeyColumnIndex) != ColumnType.INTEGER) {
+            throw new IllegalArgumentException("Primary key of " + getName() + " is not an integer.");
+        }
+        if (primaryKeys.length == 0) {
+            return size();
+        }
+        long duplicate = nativeFindFirstDuplicateLong(nativePtr, primaryKeyColumnIndex, primaryKeys);
+        if (duplicate != NO_MATCH) {
+            throwDuplicatePrimaryKeyException(primaryKeys[(int) duplicate]);
+        }
+        long startRowIndex = nativeAddEmptyRow(nativePtr, primaryKeys.length);
+        nativeSetLongs(nativePtr, primaryKeyColumnIndex, startRowIndex, primaryKeys);
+        return startRowIndex;
+    }
+
+    /**
+     * Adds one row for each of the given string primary keys. The keys are checked against the rows of the table
+     * and against each other in a single JNI call, before any row is added.
+     *
+     * @param primaryKeys the primary keys of the new rows.
+     * @return the index of the first added row, the other rows follow it.
+     * @throws RealmPrimaryKeyConstraintException if a key already exists or is given twice.
+     */
+    public long addEmptyRowsWithPrimaryKeys(String[] primaryKeys) {
+        checkImmutable();
+        checkHasPrimaryKey();
+        long primaryKeyColumnIndex = getPrimaryKey();
+        if (getColumnType(primaryKeyColumnIndex) != ColumnType.STRING) {
+            throw new IllegalArgumentException("Primary key of " + getName() + " is not a String.");
+        }
+        for (String primaryKey : primaryKeys) {
+            if (primaryKey == null) {
+                throw new IllegalArgumentException("Null primary keys are not allowed.");
+            }
+        }
+        if (primaryKeys.length == 0) {
+            return size();
+        }
+        long duplicate = nativeFindFirstDuplicateString(nativePtr, primaryKeyColumnIndex, primaryKeys);
+        if (duplicate != NO_MATCH) {
+            throwDuplicatePrimaryKeyException(primaryKeys[(int) duplicate]);
+        }
+        long startRowIndex = nativeAddEmptyRow(nativePtr, primaryKeys.length);
+        nativeSetStrings(nativePtr, primaryKeyColumnIndex, startRowIndex, primaryKeys);
+        return startRowIndex;
+    }
+
+    protected native void nativeSetLongs(long nativeTablePtr, long columnIndex, long startRowIndex, long[] values);
+    protected native void nativeSetBooleans(long nativeTablePtr, long columnIndex, long startRowIndex, boolean[] values);
+    protected native void nativeSetFloats(long nativeTablePtr, long columnIndex, long startRowIndex, float[] values);
+    protected native void nativeSetDoubles(long nativeTablePtr, long columnIndex, long startRowIndex, double[] values);
+    protected native void nativeSetDates(long nativeTablePtr, long columnIndex, long startRowIndex, long[] values);
+    protected native void nativeSetStrings(long nativeTablePtr, long columnIndex, long startRowIndex, String[] values);
+    protected native void nativeSetLongsInRows(long nativeTablePtr, long columnIndex, long[] rowIndices, long[] values,
+                                               boolean[] nulls);
+    protected native void nativeSetBooleansInRows(long nativeTablePtr, long columnIndex, long[] rowIndices,
+                                                  boolean[] values, boolean[] nulls);
+    protected native void nativeSetFloatsInRows(long nativeTablePtr, long columnIndex, long[] rowIndices,
+                                                float[] values, boolean[] nulls);
+    protected native void nativeSetDoublesInRows(long nativeTablePtr, long columnIndex, long[] rowIndices,
+                                                 double[] values, boolean[] nulls);
+    protected native void nativeSetDatesInRows(long nativeTablePtr, long columnIndex, long[] rowIndices, long[] values);
+    protected native void nativeSetStringsInRows(long nativeTablePtr, long columnIndex, long[] rowIndices,
+                                                 String[] values);
+    protected native long nativeFindFirstDuplicateLong(long nativeTablePtr, long columnIndex, long[] keys);
+    protected native long nativeFindFirstDuplicateString(long nativeTablePtr, long columnIndex, String[] keys);
+
     @Override
     public void setString(long columnIndex, long rowIndex, String value) {
         checkImmutable();
@@ -1342,6 +1645,36 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native long nativeFindFirstString(long nativeTablePtr, long columnIndex, String value);
 
+    /**
+     * Finds the first row matching each of the given values, in a single JNI call.
+     *
+     * @param columnIndex the index of a long column.
+     * @param values the values to look up.
+     * @return the index of the first matching row of each value, or {@link #NO_MATCH} for the values not found.
+     */
+    public long[] findFirstLongs(long columnIndex, long[] values) {
+        return nativeFindFirstLongs(nativePtr, columnIndex, values);
+    }
+
+    /**
+     * Finds the first row matching each of the given values, in a single JNI call.
+     *
+     * @param columnIndex the index of a String column.
+     * @param values the values to look up, none of them can be {@code null}.
+     * @return the index of the first matching row of each value, or {@link #NO_MATCH} for the values not found.
+     */
+    public long[] findFirstStrings(long columnIndex, String[] values) {
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("null is not supported");
+            }
+        }
+        return nativeFindFirstStrings(nativePtr, columnIndex, values);
+    }
+
+    protected native long[] nativeFindFirstLongs(long nativeTablePtr, long columnIndex, long[] values);
+    protected native long[] nativeFindFirstStrings(long nativeTablePtr, long columnIndex, String[] values);
+
     @Override
     public TableView findAllLong(long columnIndex, long value) {
         context.executeDelayedDisposal();
@@ -1542,4 +1875,22 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     protected native boolean nativeHasSameSchema(long thisTable, long otherTable);
+
+    /**
+     * Checks whether the table has the given columns, in the given order, with a single native call. Proxies use it
+     * to recognize the tables they have created, whose column indices are known.
+     *
+     * @param columnNames the expected names of all the columns.
+     * @param columnTypes the expected types of all the columns.
+     * @return {@code true} if the table has exactly these columns, in this order.
+     */
+    public boolean hasColumnLayout(String[] columnNames, ColumnType[] columnTypes) {
+        long[] types = new long[columnTypes.length];
+        for (int i = 0; i < columnTypes.length; i++) {
+            types[i] = columnTypes[i].getValue();
+        }
+        return nativeHasColumnLayout(nativePtr, columnNames, types);
+    }
+
+    protected native boolean nativeHasColumnLayout(long nativeTablePtr, String[] columnNames, long[] columnTypes);
 }
@@ -16,6 +16,8 @@
 
 package io.realm.internal;
 
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Date;
 
 /**
@@ -134,6 +136,59 @@ public interface TableOrView {
 
     byte[] getBinaryByteArray(long columnIndex, long rowIndex);
 
+    /**
+     * Returns the values of an integer column in all the rows, read with a single JNI call. {@code null} values are
+     * read as 0.
+     *
+     * @param columnIndex the index of the column.
+     * @return the values, in row order.
+     */
+    long[] getLongs(long columnIndex);
+
+    /**
+     * Returns the values of a float or double column in all the rows, read with a single JNI call.
+     *
+     * @param columnIndex the index of the column.
+     * @return the values, in row order.
+     */
+    double[] getDoubles(long columnIndex);
+
+    /**
+     * Returns the values of a date column in all the rows, read with a single JNI call.
+     *
+     * @param columnIndex the index of the column.
+     * @return the values, in row order, with {@code null} for the null values.
+     */
+    Date[] getDates(long columnIndex);
+
+    /**
+     * Returns the values of a string column in all the rows, read with a single JNI call.
+     *
+     * @param columnIndex the index of the column.
+     * @return the values, in row order.
+     */
+    String[] getStrings(long columnIndex);
+
+    /**
+     * Puts the values of an integer column in all the rows into a buffer, starting at its current position. Direct
+     * buffers in the native byte order are filled by the JNI call without any intermediate array.
+     *
+     * @param columnIndex the index of the column.
+     * @param buffer the buffer to fill, its position is advanced by the number of rows.
+     * @throws java.nio.BufferOverflowException if the buffer has less room than the number of rows.
+     */
+    void getLongs(long columnIndex, LongBuffer buffer);
+
+    /**
+     * Puts the values of a float or double column in all the rows into a buffer, starting at its current position.
+     * Direct buffers in the native byte order are filled by the JNI call without any intermediate array.
+     *
+     * @param columnIndex the index of the column.
+     * @param buffer the buffer to fill, its position is advanced by the number of rows.
+     * @throws java.nio.BufferOverflowException if the buffer has less room than the number of rows.
+     */
+    void getDoubles(long columnIndex, DoubleBuffer buffer);
+
     Mixed getMixed(long columnIndex, long rowIndex);
 
     /**
@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.Date;
 
 public class TableQuery implements Closeable {
@@ -28,6 +29,7 @@ public class TableQuery implements Closeable {
     // Core requests Query to hold the TableView reference which it is built from.
     @SuppressWarnings({"unused"})
     private final TableOrView origin; // Table or TableView which created this TableQuery
+    private final LinkView originLinkView; // LinkView which created this TableQuery
     private final Context context;
 
     // All actions (find(), findAll(), sum(), etc.) must call validateQuery() before performing
@@ -35,6 +37,13 @@ public class TableQuery implements Closeable {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // Describes the predicates added to this query, so identical queries can be recognised. Null if the query is
+    // restricted to a TableView, as the rows of the view aren't part of the description.
+    private StringBuilder description = new StringBuilder();
+
+    // Whether a predicate was added, kept apart from the description which is dropped by tableview()
+    private boolean hasConditions = false;
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table table, long nativeQueryPtr) {
         if (DEBUG) {
@@ -44,6 +53,7 @@ public class TableQuery implements Closeable {
         this.table = table;
         this.nativePtr = nativeQueryPtr;
         this.origin = null;
+        this.originLinkView = null;
     }
 
     public TableQuery(Context context, Table table, long nativeQueryPtr, TableOrView origin) {
@@ -54,6 +64,21 @@ public class TableQuery implements Closeable {
         this.table = table;
         this.nativePtr = nativeQueryPtr;
         this.origin = origin;
+        this.originLinkView = null;
+        if (origin instanceof TableView) {
+            this.description = null;
+        }
+    }
+
+    public TableQuery(Context context, Table table, long nativeQueryPtr, LinkView originLinkView) {
+        if (DEBUG) {
+            System.err.println("++++++ new TableQuery, ptr= " + nativeQueryPtr);
+        }
+        this.context = context;
+        this.table = table;
+        this.nativePtr = nativeQueryPtr;
+        this.origin = null;
+        this.originLinkView = originLinkView;
     }
 
 
@@ -92,9 +117,64 @@ public class TableQuery implements Closeable {
         }
     }
 
+    private void describe(String predicate, Object... arguments) {
+        hasConditions = true;
+        if (description == null) {
+            return;
+        }
+        description.append(predicate).append('(');
+        for (Object argument : arguments) {
+            if (argument instanceof long[]) {
+                description.append(Arrays.toString((long[]) argument));
+            } else if (argument instanceof String) {
+                describeString((String) argument);
+            } else if (argument instanceof String[]) {
+                description.append('[');
+                for (String value : (String[]) argument) {
+                    describeString(value);
+                    description.append(',');
+                }
+                description.append(']');
+            } else {
+                description.append(argument);
+            }
+            description.append(',');
+        }
+        description.append(')');
+    }
+
+    private void describeString(String value) {
+        if (value == null) {
+            description.append(value);
+        } else {
+            // length prefixed, so the content of the string can't be confused with the separators
+            description.append(value.length()).append('"').append(value);
+        }
+    }
+
+    /**
+     * Returns a description of the predicates of this query. Queries on the same table with equal descriptions match
+     * the same rows.
+     *
+     * @return the description of the query, or {@code null} if it is restricted to a TableView.
+     */
+    public String getDescription() {
+        return (description != null) ? description.toString() : null;
+    }
+
+    /**
+     * Checks if predicates were added to this query. Restricting the query to a TableView doesn't count as one.
+     *
+     * @return {@code true} if a predicate, a group or an operator was added, {@code false} otherwise.
+     */
+    public boolean hasConditions() {
+        return hasConditions;
+    }
+
     // Query TableView
     public TableQuery tableview(TableView tv) {
         nativeTableview(nativePtr, tv.nativePtr);
+        description = null;
         return this;
     }
 
@@ -102,36 +182,42 @@ public class TableQuery implements Closeable {
 
     public TableQuery group() {
         nativeGroup(nativePtr);
+        describe("Group");
         queryValidated = false;
         return this;
     }
 
     public TableQuery endGroup() {
         nativeEndGroup(nativePtr);
+        describe("EndGroup");
         queryValidated = false;
         return this;
     }
 
     public TableQuery subtable(long columnIndex) {
         nativeSubtable(nativePtr, columnIndex);
+        describe("Subtable", columnIndex);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endSubtable() {
         nativeParent(nativePtr);
+        describe("Parent");
         queryValidated = false;
         return this;
     }
 
     public TableQuery or() {
         nativeOr(nativePtr);
+        describe("Or");
         queryValidated = false;
         return this;
     }
 
     public TableQuery not() {
         nativeNot(nativePtr);
+        describe("Not");
         queryValidated = false;
         return this;
     }
@@ -140,42 +226,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndexes[], long value) {
         nativeEqual(nativePtr, columnIndexes, value);
+        describe("Equal", columnIndexes, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], long value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        describe("NotEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], long value) {
         nativeGreater(nativePtr, columnIndex, value);
+        describe("Greater", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], long value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        describe("GreaterEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], long value) {
         nativeLess(nativePtr, columnIndex, value);
+        describe("Less", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], long value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        describe("LessEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], long value1, long value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        describe("Between", columnIndex, value1, value2);
         queryValidated = false;
         return this;
     }
@@ -184,42 +277,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], float value) {
         nativeEqual(nativePtr, columnIndex, value);
+        describe("Equal", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], float value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        describe("NotEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], float value) {
         nativeGreater(nativePtr, columnIndex, value);
+        describe("Greater", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], float value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        describe("GreaterEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], float value) {
         nativeLess(nativePtr, columnIndex, value);
+        describe("Less", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], float value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        describe("LessEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], float value1, float value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        describe("Between", columnIndex, value1, value2);
         queryValidated = false;
         return this;
     }
@@ -228,42 +328,49 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], double value) {
         nativeEqual(nativePtr, columnIndex, value);
+        describe("Equal", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery notEqualTo(long columnIndex[], double value) {
         nativeNotEqual(nativePtr, columnIndex, value);
+        describe("NotEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThan(long columnIndex[], double value) {
         nativeGreater(nativePtr, columnIndex, value);
+        describe("Greater", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery greaterThanOrEqual(long columnIndex[], double value) {
         nativeGreaterEqual(nativePtr, columnIndex, value);
+        describe("GreaterEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThan(long columnIndex[], double value) {
         nativeLess(nativePtr, columnIndex, value);
+        describe("Less", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery lessThanOrEqual(long columnIndex[], double value) {
         nativeLessEqual(nativePtr, columnIndex, value);
+        describe("LessEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
 
     public TableQuery between(long columnIndex[], double value1, double value2) {
         nativeBetween(nativePtr, columnIndex, value1, value2);
+        describe("Between", columnIndex, value1, value2);
         queryValidated = false;
         return this;
     }
@@ -272,6 +379,14 @@ public class TableQuery implements Closeable {
 
     public TableQuery equalTo(long columnIndex[], boolean value) {
         nativeEqual(nativePtr, columnIndex, value);
+        describe("Equal", columnIndex, value);
+        queryValidated = false;
+        return this;
+    }
+
+    public TableQuery notEqualTo(long columnIndex[], boolean value) {
+        nativeNotEqual(nativePtr, columnIndex, value);
+        describe("NotEqual", columnIndex, value);
         queryValidated = false;
         return this;
     }
@@ -283,8 +398,10 @@ public class TableQuery implements Closeable {
     public TableQuery equalTo(long columnIndex[], Date value){
         if (value == null) {
             nativeIsNull(nativePtr, columnIndex);
+            describe("IsNull", columnIndex);
         } else {
             nativeEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+            describe("EqualDateTime", columnIndex, value.getTime()/1000);
         }
         queryValidated = false;
         return this;
@@ -294,6 +411,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeNotEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        describe("NotEqualDateTime", columnIndex, value.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -302,6 +420,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeGreaterDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        describe("GreaterDateTime", columnIndex, value.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -310,6 +429,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeGreaterEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        describe("GreaterEqualDateTime", columnIndex, value.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -318,6 +438,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeLessDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        describe("LessDateTime", columnIndex, value.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -326,6 +447,7 @@ public class TableQuery implements Closeable {
         if (value == null)
             throw new IllegalArgumentException(DATE_NULL_ERROR_MESSAGE);
         nativeLessEqualDateTime(nativePtr, columnIndex, value.getTime()/1000);
+        describe("LessEqualDateTime", columnIndex, value.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -334,6 +456,7 @@ public class TableQuery implements Closeable {
         if (value1 == null || value2 == null)
             throw new IllegalArgumentException("Date values in query criteria must not be null."); // Different text
         nativeBetweenDateTime(nativePtr, columnIndex, value1.getTime()/1000, value2.getTime()/1000);
+        describe("BetweenDateTime", columnIndex, value1.getTime()/1000, value2.getTime()/1000);
         queryValidated = false;
         return this;
     }
@@ -345,12 +468,14 @@ public class TableQuery implements Closeable {
     // Equal
     public TableQuery equalTo(long[] columnIndexes, String value, boolean caseSensitive) {
         nativeEqual(nativePtr, columnIndexes, value, caseSensitive);
+        describe("Equal", columnIndexes, value, caseSensitive);
         queryValidated = false;
         return this;
     }
 
     public TableQuery equalTo(long[] columnIndexes, String value) {
         nativeEqual(nativePtr, columnIndexes, value, true);
+        describe("Equal", columnIndexes, value, true);
         queryValidated = false;
         return this;
     }
@@ -358,53 +483,78 @@ public class TableQuery implements Closeable {
     // Not Equal
     public TableQuery notEqualTo(long columnIndex[], String value, boolean caseSensitive) {
         nativeNotEqual(nativePtr, columnIndex, value, caseSensitive);
+        describe("NotEqual", columnIndex, value, caseSensitive);
         queryValidated = false;
         return this;
     }
     public TableQuery notEqualTo(long columnIndex[], String value) {
         nativeNotEqual(nativePtr, columnIndex, value, true);
+        describe("NotEqual", columnIndex, value, true);
         queryValidated = false;
         return this;
     }
 
     public TableQuery beginsWith(long columnIndices[], String value, boolean caseSensitive) {
         nativeBeginsWith(nativePtr, columnIndices, value, caseSensitive);
+        describe("BeginsWith", columnIndices, value, caseSensitive);
         queryValidated = false;
         return this;
     }
 
     public TableQuery beginsWith(long columnIndices[], String value) {
         nativeBeginsWith(nativePtr, columnIndices, value, true);
+        describe("BeginsWith", columnIndices, value, true);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endsWith(long columnIndices[], String value, boolean caseSensitive) {
         nativeEndsWith(nativePtr, columnIndices, value, caseSensitive);
+        describe("EndsWith", columnIndices, value, caseSensitive);
         queryValidated = false;
         return this;
     }
 
     public TableQuery endsWith(long columnIndices[], String value) {
         nativeEndsWith(nativePtr, columnIndices, value, true);
+        describe("EndsWith", columnIndices, value, true);
         queryValidated = false;
         return this;
     }
 
     public TableQuery contains(long columnIndices[], String value, boolean caseSensitive) {
         nativeContains(nativePtr, columnIndices, value, caseSensitive);
+        describe("Contains", columnIndices, value, caseSensitive);
         queryValidated = false;
         return this;
     }
 
     public TableQuery contains(long columnIndices[], String value) {
         nativeContains(nativePtr, columnIndices, value, true);
+        describe("Contains", columnIndices, value, true);
         queryValidated = false;
         return this;
     }
 
     public TableQuery isEmpty(long[] columnIndices) {
         nativeIsEmpty(nativePtr, columnIndices);
+        describe("IsEmpty", columnIndices);
+        queryValidated = false;
+        return this;
+    }
+
+    // In, the values are added as a group of Equal conditions by a single native call
+
+    public TableQuery in(long[] columnIndices, long[] values) {
+        nativeIn(nativePtr, columnIndices, values);
+        describe("In", columnIndices, values);
+        queryValidated = false;
+        return this;
+    }
+
+    public TableQuery in(long[] columnIndices, String[] values, boolean caseSensitive) {
+        nativeIn(nativePtr, columnIndices, values, caseSensitive);
+        describe("In", columnIndices, values, caseSensitive);
         queryValidated = false;
         return this;
     }
@@ -464,6 +614,46 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Finds the first matches of the query in the order of a column, without sorting all the matches. The matches
+     * with the same value as the last of them are returned too, so the TableView can hold more than {@code limit}
+     * rows. Matches without a value are left out when more than {@code limit} rows match.
+     * <p>
+     * The query runs once, and the TableView is the result of a query with the conditions of this one and a cut-off on
+     * the value of the last match kept, so rows updated or added before the cut-off are part of it once it syncs. The
+     * cut-off is not selected again when the TableView syncs.
+     *
+     * @param columnIndex index of the integer, float, double or date column to sort on.
+     * @param ascending sort order.
+     * @param limit number of matches to keep, 1 or higher.
+     * @return the TableView of the first matches, sorted on the column.
+     */
+    public TableView findAllSorted(long columnIndex, boolean ascending, long limit) {
+        validateQuery();
+
+        // the conditions of this query and the cut-off are added to a query over the same rows, which the TableView
+        // keeps to stay up to date
+        TableQuery top = whereSameRows();
+        long nativeViewPtr = nativeFindAllSortedTop(nativePtr, top.nativePtr, columnIndex, ascending, limit);
+        try {
+            return new TableView(this.context, this.table, nativeViewPtr, top);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    // Creates a query without conditions over the rows this query is restricted to.
+    private TableQuery whereSameRows() {
+        if (origin instanceof TableView) {
+            return ((TableView) origin).where();
+        }
+        if (originLinkView != null) {
+            return originLinkView.where();
+        }
+        return table.where();
+    }
+
     // handover find* methods
     // this will use a background SharedGroup to import the query (using the handover object)
     // run the query, and return the table view to the caller SharedGroup using the handover object.
@@ -474,6 +664,13 @@ public class TableQuery implements Closeable {
         return nativeFindAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE);
     }
 
+    public long findAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long offset, long limit) {
+        validateQuery();
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        return nativeFindAllWindowWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, offset, limit);
+    }
+
     public long findDistinctWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long columnIndex) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
@@ -488,6 +685,16 @@ public class TableQuery implements Closeable {
         return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndex, ascending);
     }
 
+    public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long columnIndex, boolean ascending, long limit) {
+        if (limit == Table.INFINITE) {
+            return findAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex, ascending);
+        }
+        validateQuery();
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        return nativeFindAllSortedTopWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex, ascending, limit);
+    }
+
     public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long[] columnIndices, boolean[] ascending) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
@@ -676,12 +883,14 @@ public class TableQuery implements Closeable {
     // isNull and isNotNull
     public TableQuery isNull(long columnIndices[]) {
         nativeIsNull(nativePtr, columnIndices);
+        describe("IsNull", columnIndices);
         queryValidated = false;
         return this;
     }
 
     public TableQuery isNotNull(long columnIndices[]) {
         nativeIsNotNull(nativePtr, columnIndices);
+        describe("IsNotNull", columnIndices);
         queryValidated = false;
         return this;
     }
@@ -747,6 +956,7 @@ public class TableQuery implements Closeable {
     private native void nativeLessEqual(long nativeQueryPtr, long columnIndex[], double value);
     private native void nativeBetween(long nativeQueryPtr, long columnIndex[], double value1, double value2);
     private native void nativeEqual(long nativeQueryPtr, long columnIndex[], boolean value);
+    private native void nativeNotEqual(long nativeQueryPtr, long columnIndex[], boolean value);
     private native void nativeEqualDateTime(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeNotEqualDateTime(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeGreaterDateTime(long nativeQueryPtr, long columnIndex[], long value);
@@ -760,8 +970,11 @@ public class TableQuery implements Closeable {
     private native void nativeEndsWith(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeContains(long nativeQueryPtr, long columnIndices[], String value, boolean caseSensitive);
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices);
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, long[] values);
+    private native void nativeIn(long nativeQueryPtr, long[] columnIndices, String[] values, boolean caseSensitive);
     private native long nativeFind(long nativeQueryPtr, long fromTableRow);
     private native long nativeFindAll(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeFindAllSortedTop(long nativeQueryPtr, long nativeTopPtr, long columnIndex, boolean ascending, long limit);
     private native long nativeSumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
@@ -787,6 +1000,14 @@ public class TableQuery implements Closeable {
     public static native long nativeGetDistinctViewWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
     public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long fromTableRow);
     public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending);
+    public static native long nativeFindAllWindowWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long offset, long limit);
+    public static native long nativeFindAllSortedTopWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex, boolean ascending, long limit);
+    public static native long[] nativeFindAllWithHandoverAndChanges(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long[] columnIndices, boolean[] ascending, long offset, long limit);
+    public static native Object nativeSumWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
+    public static native Object nativeAverageWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
+    public static native Object nativeMinimumWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
+    public static native Object nativeMaximumWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
+    public static native long nativeCountWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr);
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover (long nativePtr);
 }
@@ -17,6 +17,10 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
 import java.util.Date;
 import java.util.List;
 
@@ -319,6 +323,63 @@ public class TableView implements TableOrView, Closeable {
 
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex, long rowIndex);
 
+    // Bulk getters
+
+    @Override
+    public long[] getLongs(long columnIndex) {
+        return nativeGetLongs(nativePtr, columnIndex);
+    }
+
+    @Override
+    public double[] getDoubles(long columnIndex) {
+        return nativeGetDoubles(nativePtr, columnIndex);
+    }
+
+    @Override
+    public Date[] getDates(long columnIndex) {
+        return Table.toDates(nativeGetDateTimes(nativePtr, columnIndex));
+    }
+
+    @Override
+    public String[] getStrings(long columnIndex) {
+        return nativeGetStrings(nativePtr, columnIndex);
+    }
+
+    @Override
+    public void getLongs(long columnIndex, LongBuffer buffer) {
+        int size = (int) size();
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder()) {
+            nativeFillLongs(nativePtr, columnIndex, buffer, buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            buffer.put(getLongs(columnIndex));
+        }
+    }
+
+    @Override
+    public void getDoubles(long columnIndex, DoubleBuffer buffer) {
+        int size = (int) size();
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder()) {
+            nativeFillDoubles(nativePtr, columnIndex, buffer, buffer.position());
+            buffer.position(buffer.position() + size);
+        } else {
+            buffer.put(getDoubles(columnIndex));
+        }
+    }
+
+    protected native long[] nativeGetLongs(long nativeViewPtr, long columnIndex);
+    protected native double[] nativeGetDoubles(long nativeViewPtr, long columnIndex);
+    protected native long[] nativeGetDateTimes(long nativeViewPtr, long columnIndex);
+    protected native String[] nativeGetStrings(long nativeViewPtr, long columnIndex);
+    protected native void nativeFillLongs(long nativeViewPtr, long columnIndex, LongBuffer buffer, long position);
+    protected native void nativeFillDoubles(long nativeViewPtr, long columnIndex, DoubleBuffer buffer, long position);
+
     @Override
     public ColumnType getMixedType(long columnIndex, long rowIndex) {
         return ColumnType.fromNativeValue(nativeGetMixedType(nativePtr, columnIndex, rowIndex));
@@ -952,6 +1013,25 @@ public class TableView implements TableOrView, Closeable {
 
     protected native void nativePivot(long nativeTablePtr, long stringCol, long intCol, int pivotType, long result);
 
+    /**
+     * Groups the rows of the view by the value of a column and aggregates another column for each group, in a single
+     * pass over the view. Rows where the key is {@code null} are left out, and so are {@code null} values.
+     *
+     * @param keyColumnIndex index of the integer, date or String column to group by.
+     * @param bucketSeconds size of the buckets dates are grouped in, counted from the epoch. Ignored for other columns.
+     * @param pivotType the aggregate to compute for each group.
+     * @param valueColumnIndex index of the integer, float or double column to aggregate. Ignored when counting.
+     * @return the keys of the groups in ascending order, a long[] (dates in milliseconds) or a String[], and their
+     * values, a long[] for counts and for the sum, minimum and maximum of integers, a double[] otherwise. The minimum
+     * and maximum leave out groups without any value.
+     */
+    public Object[] groupBy(long keyColumnIndex, long bucketSeconds, PivotType pivotType, long valueColumnIndex) {
+        return nativeGroupBy(nativePtr, keyColumnIndex, bucketSeconds, pivotType.value, valueColumnIndex);
+    }
+
+    private native Object[] nativeGroupBy(long nativeViewPtr, long keyColumnIndex, long bucketSeconds, int pivotType,
+                                          long valueColumnIndex);
+
 
     @Override
     public long sync() {
@@ -959,4 +1039,23 @@ public class TableView implements TableOrView, Closeable {
     }
 
     protected native long nativeSync(long nativeTablePtr);
+
+    /**
+     * Creates a new TableView with the same rows, in the same order, as this one. This is much cheaper than running
+     * the query again.
+     *
+     * @return the copy of this TableView.
+     */
+    public TableView copy() {
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeCopy(nativePtr);
+        try {
+            return new TableView(this.context, this.parent, nativeViewPtr, this.query);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    protected native long nativeCopy(long nativeViewPtr);
 }
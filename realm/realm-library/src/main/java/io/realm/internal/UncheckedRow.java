@@ -33,7 +33,7 @@ public class UncheckedRow extends NativeObject implements Row {
     protected static class UncheckedRowNativeObjectReference extends NativeObjectReference {
         public UncheckedRowNativeObjectReference(NativeObject referent,
                                                  ReferenceQueue<? super NativeObject> referenceQueue) {
-            super(referent, referenceQueue);
+            super(referent, referenceQueue, TYPE_ROW);
         }
 
         @Override
@@ -49,8 +49,6 @@ public class UncheckedRow extends NativeObject implements Row {
         this.context = context;
         this.parent = parent;
         this.nativePointer = nativePtr;
-
-        context.cleanNativeReferences();
     }
 
     /**
@@ -64,8 +62,7 @@ public class UncheckedRow extends NativeObject implements Row {
     public static UncheckedRow getByRowIndex(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -79,8 +76,7 @@ public class UncheckedRow extends NativeObject implements Row {
      */
     public static UncheckedRow getByRowPointer(Context context, Table table, long nativeRowPointer) {
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -96,8 +92,7 @@ public class UncheckedRow extends NativeObject implements Row {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativePointer, index);
         UncheckedRow row = new UncheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent),
                 nativeRowPointer);
-        context.rowReferences.put(new UncheckedRowNativeObjectReference(row, context.referenceQueue),
-                Context.NATIVE_REFERENCES_VALUE);
+        context.addReference(new UncheckedRowNativeObjectReference(row, context.referenceQueue));
         return row;
     }
 
@@ -298,6 +293,16 @@ public class UncheckedRow extends NativeObject implements Row {
         return nativeHasColumn(nativePointer, fieldName);
     }
 
+    /**
+     * Moves this accessor to another row of the same table. The native accessor is reused, so a single Row can be
+     * used to read many rows without creating a native accessor and a reference for each one of them.
+     *
+     * @param rowIndex the index of the row in the parent table.
+     */
+    public void moveToRowIndex(long rowIndex) {
+        nativeMoveTo(nativePointer, parent.nativePtr, rowIndex);
+    }
+
     protected native long nativeGetColumnCount(long nativeTablePtr);
     protected native String nativeGetColumnName(long nativeTablePtr, long columnIndex);
     protected native long nativeGetColumnIndex(long nativeTablePtr, String columnName);
@@ -326,6 +331,8 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native void nativeSetLink(long nativeRowPtr, long columnIndex, long value);
     protected native void nativeNullifyLink(long nativeRowPtr, long columnIndex);
     private static native void nativeClose(long nativeRowPtr);
+    static native void nativeCloseAll(long[] nativeRowPtrs, int count);
+    protected native void nativeMoveTo(long nativeRowPtr, long nativeTablePtr, long rowIndex);
     protected native boolean nativeIsAttached(long nativeRowPtr);
     protected native boolean nativeHasColumn(long nativeRowPtr, String columnName);
     protected native boolean nativeIsNull(long nativeRowPtr, long columnIndex);
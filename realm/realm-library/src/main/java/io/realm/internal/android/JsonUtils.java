@@ -16,8 +16,17 @@
 
 package io.realm.internal.android;
 
+import android.annotation.TargetApi;
+import android.os.Build;
 import android.util.Base64;
+import android.util.JsonReader;
+import android.util.JsonToken;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
 import java.util.Date;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -56,4 +65,63 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Reads the next JSON object of a stream. Only this object is held in memory, so the objects of a large array
+     * can be read one at a time.
+     *
+     * @param reader the reader positioned before the object.
+     * @return the JSONObject holding the properties of the object.
+     * @throws IOException if an error occurs with the stream or it isn't well-formed JSON.
+     * @throws JSONException if the next value isn't an object or one of its numbers isn't a valid JSON number.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public static JSONObject readJsonObject(JsonReader reader) throws IOException, JSONException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JSONException("Expected an object but was " + reader.peek());
+        }
+        JSONObject object = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            object.put(name, readJsonValue(reader));
+        }
+        reader.endObject();
+        return object;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static JSONArray readJsonArray(JsonReader reader) throws IOException, JSONException {
+        JSONArray array = new JSONArray();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            array.put(readJsonValue(reader));
+        }
+        reader.endArray();
+        return array;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static Object readJsonValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readJsonObject(reader);
+            case BEGIN_ARRAY:
+                return readJsonArray(reader);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                String number = reader.nextString();
+                try {
+                    return Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    return Double.parseDouble(number);
+                }
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                return reader.nextString();
+        }
+    }
 }
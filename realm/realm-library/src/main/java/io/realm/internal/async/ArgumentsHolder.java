@@ -16,6 +16,11 @@
 
 
 package io.realm.internal.async;
+
+import java.util.Arrays;
+
+import io.realm.internal.Table;
+
 /**
  * Value holder class to encapsulate the arguments of a RealmQuery (in case we want to re-query).
  */
@@ -25,14 +30,52 @@ public class ArgumentsHolder {
     public final static int TYPE_FIND_ALL_MULTI_SORTED = 2;
     public final static int TYPE_FIND_FIRST = 3;
     public final static int TYPE_DISTINCT = 4;
+    public final static int TYPE_SUM = 5;
+    public final static int TYPE_AVERAGE = 6;
+    public final static int TYPE_MINIMUM = 7;
+    public final static int TYPE_MAXIMUM = 8;
+    public final static int TYPE_COUNT = 9;
+    public final static int TYPE_MINIMUM_DATE = 10;
+    public final static int TYPE_MAXIMUM_DATE = 11;
 
     public final int type;
     public long columnIndex;
     public boolean ascending;
     public long[] columnIndices;
     public boolean[] ascendings;
+    // window of the matches returned by TYPE_FIND_ALL, or number of first matches kept by TYPE_FIND_ALL_SORTED
+    public long offset = 0;
+    public long limit = Table.INFINITE;
 
     public ArgumentsHolder(int type) {
         this.type = type;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ArgumentsHolder that = (ArgumentsHolder) o;
+
+        if (type != that.type) return false;
+        if (columnIndex != that.columnIndex) return false;
+        if (ascending != that.ascending) return false;
+        if (offset != that.offset) return false;
+        if (limit != that.limit) return false;
+        if (!Arrays.equals(columnIndices, that.columnIndices)) return false;
+        return Arrays.equals(ascendings, that.ascendings);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type;
+        result = 31 * result + (int) (columnIndex ^ (columnIndex >>> 32));
+        result = 31 * result + (ascending ? 1 : 0);
+        result = 31 * result + (int) (offset ^ (offset >>> 32));
+        result = 31 * result + (int) (limit ^ (limit >>> 32));
+        result = 31 * result + Arrays.hashCode(columnIndices);
+        result = 31 * result + Arrays.hashCode(ascendings);
+        return result;
+    }
 }
@@ -20,13 +20,21 @@ import android.os.Handler;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
+import io.realm.RealmAggregate;
 import io.realm.RealmConfiguration;
 import io.realm.RealmObject;
 import io.realm.RealmResults;
+import io.realm.RealmResultsChangeSet;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.log.RealmLog;
@@ -35,7 +43,7 @@ import io.realm.internal.log.RealmLog;
  * Manage the update of async queries.
  */
 public class QueryUpdateTask implements Runnable {
-    // true if updating RealmResults, false if updating RealmObject, can't mix both
+    // true if updating RealmResults (and aggregates), false if updating RealmObject, can't mix both
     // the builder pattern will prevent this.
     private final static int MODE_UPDATE_REALM_RESULTS = 0;
     private final static int MODE_UPDATE_REALM_OBJECT = 1;
@@ -44,6 +52,8 @@ public class QueryUpdateTask implements Runnable {
     private RealmConfiguration realmConfiguration;
     private List<Builder.QueryEntry> realmResultsEntries;
     private Builder.QueryEntry realmObjectEntry;
+    // version of the caller, used to skip the queries not depending on any of the tables changed since
+    private SharedGroup.VersionID callerVersion;
     private WeakReference<Handler> callerHandler;
     private int message;
 
@@ -51,12 +61,14 @@ public class QueryUpdateTask implements Runnable {
                              RealmConfiguration realmConfiguration,
                              List<Builder.QueryEntry> listOfRealmResults,
                              Builder.QueryEntry realmObject,
+                             SharedGroup.VersionID callerVersion,
                              WeakReference<Handler> handler,
                              int message) {
         this.updateMode = mode;
         this.realmConfiguration = realmConfiguration;
         this.realmResultsEntries = listOfRealmResults;
         this.realmObjectEntry = realmObject;
+        this.callerVersion = callerVersion;
         this.callerHandler = handler;
         this.message = message;
     }
@@ -69,10 +81,7 @@ public class QueryUpdateTask implements Runnable {
     public void run() {
         SharedGroup sharedGroup = null;
         try {
-            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                    SharedGroup.IMPLICIT_TRANSACTION,
-                    realmConfiguration.getDurability(),
-                    realmConfiguration.getEncryptionKey());
+            sharedGroup = SharedGroupPool.acquire(realmConfiguration);
 
             Result result;
             boolean updateSuccessful = false;
@@ -95,80 +104,316 @@ public class QueryUpdateTask implements Runnable {
         } catch (Exception e) {
             RealmLog.e(e.getMessage());
             e.fillInStackTrace();
+            // don't give back a SharedGroup left in an unknown state
+            if (sharedGroup != null) {
+                sharedGroup.close();
+            }
 
         } finally {
             if (sharedGroup != null) {
-                sharedGroup.close();
+                SharedGroupPool.release(realmConfiguration, sharedGroup);
             }
         }
     }
 
-    @SuppressWarnings("unchecked")
     private boolean updateRealmResultsQueries(SharedGroup sharedGroup, Result result) {
+        Set<String> changedTables = null;
+        SharedGroup.VersionID changesVersion = null;
+        if (callerVersion != null) {
+            String[] tableNames = sharedGroup.getTablesChangedSince(callerVersion);
+            if (tableNames != null) {
+                changedTables = new HashSet<String>(Arrays.asList(tableNames));
+                changesVersion = sharedGroup.getVersion();
+            }
+        }
+
+        List<Builder.QueryEntry> unchangedEntries = null;
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
-            if (!isTaskCancelled()) {
-                switch (queryEntry.queryArguments.type) {
-                    case ArgumentsHolder.TYPE_FIND_ALL: {
-                        long handoverTableViewPointer = TableQuery.nativeFindAllWithHandover
-                                (sharedGroup.getNativePointer(),
-                                        sharedGroup.getNativeReplicationPointer(),
-                                        queryEntry.handoverQueryPointer, 0, Table.INFINITE, Table.INFINITE);
-                        result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
-                        // invalidate the handover query pointer, in case this task is cancelled
-                        // we will not try to close/delete a consumed pointer
-                        queryEntry.handoverQueryPointer = 0L;
-                        break;
-                    }
-                    case ArgumentsHolder.TYPE_DISTINCT: {
-                        long handoverTableViewPointer = TableQuery.nativeGetDistinctViewWithHandover
-                                (sharedGroup.getNativePointer(),
-                                        sharedGroup.getNativeReplicationPointer(),
-                                        queryEntry.handoverQueryPointer,
-                                        queryEntry.queryArguments.columnIndex);
-                        result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
-                        // invalidate the handover query pointer, in case this task is cancelled
-                        // we will not try to close/delete a consumed pointer
-                        queryEntry.handoverQueryPointer = 0L;
-                        break;
+            if (isTaskCancelled()) {
+                closeHandoverPointers(result, unchangedEntries);
+                return false;
+            }
+            if (changedTables != null && queryEntry.observedTables != null
+                    && Collections.disjoint(queryEntry.observedTables, changedTables)) {
+                // none of the tables this query depends on were written, so the caller can keep its TableView
+                if (unchangedEntries == null) {
+                    unchangedEntries = new ArrayList<Builder.QueryEntry>();
+                }
+                unchangedEntries.add(queryEntry);
+            } else {
+                updateRealmResultsQuery(sharedGroup, queryEntry, result);
+            }
+        }
+
+        if (unchangedEntries != null) {
+            if (sharedGroup.getVersion().compareTo(changesVersion) != 0) {
+                // something was committed while running the queries, the set of changed tables no longer covers
+                // the version the caller will advance to
+                for (Builder.QueryEntry queryEntry : unchangedEntries) {
+                    if (isTaskCancelled()) {
+                        closeHandoverPointers(result, unchangedEntries);
+                        return false;
                     }
-                    case ArgumentsHolder.TYPE_FIND_ALL_SORTED: {
-                        long handoverTableViewPointer = TableQuery.nativeFindAllSortedWithHandover(
-                                sharedGroup.getNativePointer(),
+                    updateRealmResultsQuery(sharedGroup, queryEntry, result);
+                }
+            } else {
+                closeHandoverPointers(null, unchangedEntries);
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateRealmResultsQuery(SharedGroup sharedGroup, Builder.QueryEntry queryEntry, Result result) {
+        if (queryEntry.sharingElements != null) {
+            result.sharedTableViews.put(queryEntry.element, queryEntry.sharingElements);
+        }
+        if (queryEntry.computeChangeSet && queryEntry.queryArguments.type != ArgumentsHolder.TYPE_DISTINCT) {
+            updateRealmResultsQueryWithChangeSet(sharedGroup, queryEntry, result);
+            return;
+        }
+        switch (queryEntry.queryArguments.type) {
+            case ArgumentsHolder.TYPE_FIND_ALL: {
+                long handoverTableViewPointer = TableQuery.nativeFindAllWindowWithHandover
+                        (sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(),
                                 queryEntry.handoverQueryPointer,
-                                0, Table.INFINITE, Table.INFINITE,
-                                queryEntry.queryArguments.columnIndex,
-                                queryEntry.queryArguments.ascending);
-
-                        result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
-                        queryEntry.handoverQueryPointer = 0L;
-                        break;
-                    }
-                    case ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED:
-                        long handoverTableViewPointer = TableQuery.nativeFindAllMultiSortedWithHandover(
-                                sharedGroup.getNativePointer(),
+                                queryEntry.queryArguments.offset,
+                                queryEntry.queryArguments.limit);
+                result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
+                // invalidate the handover query pointer, in case this task is cancelled
+                // we will not try to close/delete a consumed pointer
+                queryEntry.handoverQueryPointer = 0L;
+                break;
+            }
+            case ArgumentsHolder.TYPE_DISTINCT: {
+                long handoverTableViewPointer = TableQuery.nativeGetDistinctViewWithHandover
+                        (sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(),
                                 queryEntry.handoverQueryPointer,
-                                0, Table.INFINITE, Table.INFINITE,
-                                queryEntry.queryArguments.columnIndices,
-                                queryEntry.queryArguments.ascendings);
-
-                        result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
-                        queryEntry.handoverQueryPointer = 0L;
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
+                                queryEntry.queryArguments.columnIndex);
+                result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
+                // invalidate the handover query pointer, in case this task is cancelled
+                // we will not try to close/delete a consumed pointer
+                queryEntry.handoverQueryPointer = 0L;
+                break;
+            }
+            case ArgumentsHolder.TYPE_FIND_ALL_SORTED: {
+                long handoverTableViewPointer;
+                if (queryEntry.queryArguments.limit == Table.INFINITE) {
+                    handoverTableViewPointer = TableQuery.nativeFindAllSortedWithHandover(
+                            sharedGroup.getNativePointer(),
+                            sharedGroup.getNativeReplicationPointer(),
+                            queryEntry.handoverQueryPointer,
+                            0, Table.INFINITE, Table.INFINITE,
+                            queryEntry.queryArguments.columnIndex,
+                            queryEntry.queryArguments.ascending);
+                } else {
+                    handoverTableViewPointer = TableQuery.nativeFindAllSortedTopWithHandover(
+                            sharedGroup.getNativePointer(),
+                            sharedGroup.getNativeReplicationPointer(),
+                            queryEntry.handoverQueryPointer,
+                            queryEntry.queryArguments.columnIndex,
+                            queryEntry.queryArguments.ascending,
+                            queryEntry.queryArguments.limit);
                 }
-            } else {
-                for (Long handoverQueryPointer : result.updatedTableViews.values()) {
-                    if (handoverQueryPointer != 0) {
-                        TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
-                    }
+
+                result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
+                queryEntry.handoverQueryPointer = 0L;
+                break;
+            }
+            case ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED:
+                long handoverTableViewPointer = TableQuery.nativeFindAllMultiSortedWithHandover(
+                        sharedGroup.getNativePointer(),
+                        sharedGroup.getNativeReplicationPointer(),
+                        queryEntry.handoverQueryPointer,
+                        0, Table.INFINITE, Table.INFINITE,
+                        queryEntry.queryArguments.columnIndices,
+                        queryEntry.queryArguments.ascendings);
+
+                result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
+                queryEntry.handoverQueryPointer = 0L;
+                break;
+            case ArgumentsHolder.TYPE_SUM:
+            case ArgumentsHolder.TYPE_AVERAGE:
+            case ArgumentsHolder.TYPE_MINIMUM:
+            case ArgumentsHolder.TYPE_MAXIMUM:
+            case ArgumentsHolder.TYPE_COUNT:
+            case ArgumentsHolder.TYPE_MINIMUM_DATE:
+            case ArgumentsHolder.TYPE_MAXIMUM_DATE:
+                result.updatedAggregates.put(queryEntry.element, runAggregate(sharedGroup, queryEntry));
+                queryEntry.handoverQueryPointer = 0L;
+                break;
+            default:
+                throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
+        }
+    }
+
+    private static Object runAggregate(SharedGroup sharedGroup, Builder.QueryEntry queryEntry) {
+        long sharedGroupPointer = sharedGroup.getNativePointer();
+        long replicationPointer = sharedGroup.getNativeReplicationPointer();
+        long columnIndex = queryEntry.queryArguments.columnIndex;
+        switch (queryEntry.queryArguments.type) {
+            case ArgumentsHolder.TYPE_SUM:
+                return TableQuery.nativeSumWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex);
+            case ArgumentsHolder.TYPE_AVERAGE:
+                return TableQuery.nativeAverageWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex);
+            case ArgumentsHolder.TYPE_MINIMUM:
+                return TableQuery.nativeMinimumWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex);
+            case ArgumentsHolder.TYPE_MAXIMUM:
+                return TableQuery.nativeMaximumWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex);
+            case ArgumentsHolder.TYPE_COUNT:
+                return TableQuery.nativeCountWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer);
+            case ArgumentsHolder.TYPE_MINIMUM_DATE:
+                return toDate(TableQuery.nativeMinimumWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex));
+            case ArgumentsHolder.TYPE_MAXIMUM_DATE:
+                return toDate(TableQuery.nativeMaximumWithHandover(sharedGroupPointer, replicationPointer,
+                        queryEntry.handoverQueryPointer, columnIndex));
+            default:
+                throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
+        }
+    }
+
+    // the minimum and maximum of a date column are returned in seconds, like TableQuery.nativeMinimumDate()
+    private static Date toDate(Object seconds) {
+        return (seconds != null) ? new Date((Long) seconds * 1000) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void updateRealmResultsQueryWithChangeSet(SharedGroup sharedGroup, Builder.QueryEntry queryEntry,
+                                                      Result result) {
+        long[] columnIndices;
+        boolean[] ascendings;
+        switch (queryEntry.queryArguments.type) {
+            case ArgumentsHolder.TYPE_FIND_ALL:
+                columnIndices = new long[0];
+                ascendings = new boolean[0];
+                break;
+            case ArgumentsHolder.TYPE_FIND_ALL_SORTED:
+                columnIndices = new long[] {queryEntry.queryArguments.columnIndex};
+                ascendings = new boolean[] {queryEntry.queryArguments.ascending};
+                break;
+            case ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED:
+                columnIndices = queryEntry.queryArguments.columnIndices;
+                ascendings = queryEntry.queryArguments.ascendings;
+                break;
+            default:
+                throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
+        }
+
+        // the query is run against the version of the caller too, in order to know where the rows were before
+        long[] changes = TableQuery.nativeFindAllWithHandoverAndChanges(
+                sharedGroup.getNativePointer(),
+                sharedGroup.getNativeReplicationPointer(),
+                queryEntry.handoverQueryPointer,
+                columnIndices,
+                ascendings,
+                queryEntry.queryArguments.offset,
+                queryEntry.queryArguments.limit);
+        result.updatedTableViews.put(queryEntry.element, changes[0]);
+        queryEntry.handoverQueryPointer = 0L;
+        if (changes.length > 1) {
+            result.changeSets.put(queryEntry.element, computeChangeSet(changes));
+        }
+    }
+
+    /**
+     * Computes the change set from the row mapping returned by
+     * {@link TableQuery#nativeFindAllWithHandoverAndChanges(long, long, long, long[], boolean[], long, long)}.
+     * <p>
+     * The rows kept at the same relative position are the longest increasing subsequence of their previous positions,
+     * all the other rows of the previous results are deleted and all the other rows of the new results are inserted.
+     */
+    private static RealmResultsChangeSet computeChangeSet(long[] changes) {
+        int previousSize = (int) changes[1];
+        int size = changes.length - 2;
+
+        // previous position of each new row kept from the previous results, in the order of the new results
+        int[] newPositions = new int[size];
+        int[] previousPositions = new int[size];
+        int keptRows = 0;
+        for (int i = 0; i < size; i++) {
+            long previousPosition = changes[i + 2];
+            if (previousPosition != -1) {
+                newPositions[keptRows] = i;
+                previousPositions[keptRows] = (int) (previousPosition >= 0 ? previousPosition : -previousPosition - 2);
+                keptRows++;
+            }
+        }
+
+        // longest increasing subsequence, O(n log(n))
+        int[] tails = new int[keptRows]; // index of the smallest tail of the subsequences of each length
+        int[] predecessors = new int[keptRows];
+        int length = 0;
+        for (int i = 0; i < keptRows; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (previousPositions[tails[middle]] < previousPositions[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = (low > 0) ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] unmovedPrevious = new boolean[previousSize];
+        boolean[] unmovedNew = new boolean[size];
+        int modifiedRows = 0;
+        for (int i = (length > 0) ? tails[length - 1] : -1; i != -1; i = predecessors[i]) {
+            unmovedPrevious[previousPositions[i]] = true;
+            unmovedNew[newPositions[i]] = true;
+            if (changes[newPositions[i] + 2] < -1) {
+                modifiedRows++;
+            }
+        }
+
+        int[] deletions = new int[previousSize - length];
+        for (int i = 0, j = 0; i < previousSize; i++) {
+            if (!unmovedPrevious[i]) {
+                deletions[j++] = i;
+            }
+        }
+        int[] insertions = new int[size - length];
+        int[] modifications = new int[modifiedRows];
+        for (int i = 0, j = 0, k = 0; i < size; i++) {
+            if (!unmovedNew[i]) {
+                insertions[j++] = i;
+            } else if (changes[i + 2] < -1) {
+                modifications[k++] = i;
+            }
+        }
+        return new RealmResultsChangeSet(previousSize, deletions, insertions, modifications);
+    }
+
+    private void closeHandoverPointers(Result result, List<Builder.QueryEntry> pendingEntries) {
+        if (result != null) {
+            for (Long handoverQueryPointer : result.updatedTableViews.values()) {
+                if (handoverQueryPointer != 0) {
+                    TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
+                }
+            }
+        }
+        if (pendingEntries != null) {
+            for (Builder.QueryEntry queryEntry : pendingEntries) {
+                if (queryEntry.handoverQueryPointer != 0) {
+                    TableQuery.nativeCloseQueryHandover(queryEntry.handoverQueryPointer);
+                    queryEntry.handoverQueryPointer = 0L;
                 }
-                return false;
             }
         }
-        return true;
     }
 
     private boolean updateRealmObjectQuery(SharedGroup sharedGroup, Result result) {
@@ -205,11 +450,23 @@ public class QueryUpdateTask implements Runnable {
     public static class Result {
         public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, Long> updatedTableViews;
         public IdentityHashMap<WeakReference<? extends RealmObject>, Long> updatedRow;
+        // rows changed in the RealmResults requesting a change set, when they could be determined
+        public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, RealmResultsChangeSet> changeSets;
+        // the other RealmResults of the batch sharing the TableView of a RealmResults of updatedTableViews, as their
+        // queries are identical
+        public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>,
+                List<WeakReference<RealmResults<? extends RealmObject>>>> sharedTableViews;
+        // values of the aggregates, null when there is no minimum or maximum
+        public IdentityHashMap<WeakReference<RealmAggregate<?>>, Object> updatedAggregates;
         public SharedGroup.VersionID versionID;
 
         public static Result newRealmResultsResponse() {
             Result result = new Result();
             result.updatedTableViews = new IdentityHashMap<WeakReference<RealmResults<?>>, Long>(1);
+            result.changeSets = new IdentityHashMap<WeakReference<RealmResults<?>>, RealmResultsChangeSet>(1);
+            result.sharedTableViews = new IdentityHashMap<WeakReference<RealmResults<?>>,
+                    List<WeakReference<RealmResults<?>>>>(1);
+            result.updatedAggregates = new IdentityHashMap<WeakReference<RealmAggregate<?>>, Object>(1);
             return result;
         }
 
@@ -226,8 +483,15 @@ public class QueryUpdateTask implements Runnable {
       Example of call:
       QueryUpdateTask task = QueryUpdateTask.newBuilder()
          .realmConfiguration(null, null)
-         .add(null, 0, null)
-         .add(null, 0, null)
+         .add(null, 0, null, null, false, null)
+         .add(null, 0, null, null, false, null)
+         .sendToHandler(null, 0)
+         .build();
+
+     QueryUpdateTask task1 = QueryUpdateTask.newBuilder()
+         .realmConfiguration(null, null)
+         .add(null, 0, null, null, true, null)
+         .skipUnchangedSince(null)
          .sendToHandler(null, 0)
          .build();
 
@@ -243,18 +507,56 @@ public class QueryUpdateTask implements Runnable {
         }
 
         public interface UpdateQueryStep {
+            /**
+             * Adds a query to re-run for a RealmResults.
+             *
+             * @param observedTables the names of the tables the results depend on, or {@code null} if the query must
+             *                       always be re-run. Only used together with
+             *                       {@link RealmResultsQueryStep#skipUnchangedSince(SharedGroup.VersionID)}.
+             * @param computeChangeSet {@code true} to compute the rows changed since the version the query was
+             *                         handed over from, see {@link Result#changeSets}.
+             * @param sharingReferences the other RealmResults with the same query, which share the result of this
+             *                          one, or {@code null}. They are given back in {@link Result#sharedTableViews}.
+             */
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
-                                          ArgumentsHolder queryArguments);
+                                          ArgumentsHolder queryArguments,
+                                          Set<String> observedTables,
+                                          boolean computeChangeSet,
+                                          List<WeakReference<RealmResults<? extends RealmObject>>> sharingReferences);
             HandlerStep addObject(WeakReference<? extends RealmObject> weakReference,
                                   long handoverQueryPointer,
                                   ArgumentsHolder queryArguments);// can only update 1 element
+
+            /**
+             * Adds an aggregate query to re-run, its value is returned in {@link Result#updatedAggregates}.
+             *
+             * @param observedTables see {@link #add(WeakReference, long, ArgumentsHolder, Set, boolean, List)}.
+             */
+            RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                               long handoverQueryPointer,
+                                               ArgumentsHolder queryArguments,
+                                               Set<String> observedTables);
         }
 
         public interface RealmResultsQueryStep {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
-                                          ArgumentsHolder queryArguments);
+                                          ArgumentsHolder queryArguments,
+                                          Set<String> observedTables,
+                                          boolean computeChangeSet,
+                                          List<WeakReference<RealmResults<? extends RealmObject>>> sharingReferences);
+            RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                               long handoverQueryPointer,
+                                               ArgumentsHolder queryArguments,
+                                               Set<String> observedTables);
+
+            /**
+             * Only re-runs the queries observing a table modified since the given version of the caller. The
+             * RealmResults of the other queries are left out of the result, as their TableViews stay valid once the
+             * caller advances.
+             */
+            HandlerStep skipUnchangedSince(SharedGroup.VersionID callerVersion);
             BuilderStep sendToHandler(Handler handler, int message);
         }
 
@@ -270,6 +572,7 @@ public class QueryUpdateTask implements Runnable {
             private RealmConfiguration realmConfiguration;
             private List<QueryEntry> realmResultsEntries;
             private QueryEntry realmObjectEntry;
+            private SharedGroup.VersionID callerVersion;
             private WeakReference<Handler> callerHandler;
             private int message;
 
@@ -282,11 +585,34 @@ public class QueryUpdateTask implements Runnable {
             @Override
             public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
                                              long handoverQueryPointer,
-                                             ArgumentsHolder queryArguments) {
+                                             ArgumentsHolder queryArguments,
+                                             Set<String> observedTables,
+                                             boolean computeChangeSet,
+                                             List<WeakReference<RealmResults<?>>> sharingReferences) {
                 if (this.realmResultsEntries == null) {
                     this.realmResultsEntries = new ArrayList<QueryEntry>(1);
                 }
-                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments));
+                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments,
+                        observedTables, computeChangeSet, sharingReferences));
+                return this;
+            }
+
+            @Override
+            public RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                                      long handoverQueryPointer,
+                                                      ArgumentsHolder queryArguments,
+                                                      Set<String> observedTables) {
+                if (this.realmResultsEntries == null) {
+                    this.realmResultsEntries = new ArrayList<QueryEntry>(1);
+                }
+                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments,
+                        observedTables, false, null));
+                return this;
+            }
+
+            @Override
+            public HandlerStep skipUnchangedSince(SharedGroup.VersionID callerVersion) {
+                this.callerVersion = callerVersion;
                 return this;
             }
 
@@ -295,7 +621,7 @@ public class QueryUpdateTask implements Runnable {
                                          long handoverQueryPointer,
                                          ArgumentsHolder queryArguments) {
                 realmObjectEntry =
-                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments);
+                        new QueryEntry(weakReference, handoverQueryPointer, queryArguments, null, false, null);
                 return this;
             }
 
@@ -313,6 +639,7 @@ public class QueryUpdateTask implements Runnable {
                         realmConfiguration,
                         realmResultsEntries,
                         realmObjectEntry,
+                        callerVersion,
                         callerHandler,
                         message);
             }
@@ -322,11 +649,18 @@ public class QueryUpdateTask implements Runnable {
             final WeakReference element;
             long handoverQueryPointer;
             final ArgumentsHolder queryArguments;
+            final Set<String> observedTables;
+            final boolean computeChangeSet;
+            final List sharingElements;
 
-            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments) {
+            private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments,
+                               Set<String> observedTables, boolean computeChangeSet, List sharingElements) {
                 this.element = element;
                 this.handoverQueryPointer = handoverQueryPointer;
                 this.queryArguments = queryArguments;
+                this.observedTables = observedTables;
+                this.computeChangeSet = computeChangeSet;
+                this.sharingElements = sharingElements;
             }
         }
     }
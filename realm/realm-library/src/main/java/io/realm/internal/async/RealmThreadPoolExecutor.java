@@ -16,61 +16,210 @@
 
 package io.realm.internal.async;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.realm.AsyncExecutorOptions;
+import io.realm.AsyncExecutorOptions.OverflowPolicy;
+
 /**
  * Custom thread pool settings, instances of this executor can be paused, and resumed, this will also set
  * appropriate number of Threads & wrap submitted tasks to set the thread priority according to
  * <a href="https://developer.android.com/training/multiple-threads/define-runnable.html"> Androids recommendation</a>.
+ * <p>
+ * Waiting tasks are ordered by priority ({@link #PRIORITY_QUERY} first), then by submission order. A task submitted
+ * with a coalescing key supersedes the pending task submitted with the same key, which is cancelled. Once the queue is
+ * full the {@link OverflowPolicy} of the executor decides what happens to new tasks.
+ *
+ * @see AsyncExecutorOptions
  */
 public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     // reduce context switch by using a number of thread proportionate to the number of cores
     // from AOSP https://android.googlesource.com/platform/frameworks/base/+/refs/heads/master/core/java/android/os/AsyncTask.java#182
     private static final int CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2 + 1;
     private static final int QUEUE_SIZE = 100;
+    private static final long FALLBACK_KEEP_ALIVE_SECONDS = 30;
+    private static final int FALLBACK_QUEUE_SIZE = 100;
+
+    /**
+     * Priority of the queries a thread is waiting for, i.e async queries and their updates.
+     */
+    public static final int PRIORITY_QUERY = 0;
+    /**
+     * Priority of async transactions.
+     */
+    public static final int PRIORITY_WRITE = 1;
+
+    private static final AsyncExecutorOptions DEFAULT_OPTIONS =
+            new AsyncExecutorOptions(CORE_POOL_SIZE, QUEUE_SIZE, OverflowPolicy.FALLBACK_THREAD);
+    private static final RejectedExecutionHandler FALLBACK_THREAD_POLICY = new FallbackThreadPolicy();
+
+    private static final Comparator<Runnable> TASK_ORDER = new Comparator<Runnable>() {
+        @Override
+        public int compare(Runnable lhs, Runnable rhs) {
+            PrioritizedFutureTask<?> lhsTask = (PrioritizedFutureTask<?>) lhs;
+            PrioritizedFutureTask<?> rhsTask = (PrioritizedFutureTask<?>) rhs;
+            if (lhsTask.priority != rhsTask.priority) {
+                return lhsTask.priority < rhsTask.priority ? -1 : 1;
+            }
+            return lhsTask.sequenceNumber < rhsTask.sequenceNumber ? -1 :
+                    (lhsTask.sequenceNumber == rhsTask.sequenceNumber ? 0 : 1);
+        }
+    };
 
     private boolean isPaused;
     private ReentrantLock pauseLock = new ReentrantLock();
     private Condition unpaused = pauseLock.newCondition();
 
-    private static volatile RealmThreadPoolExecutor instance;
+    private final AtomicLong sequence = new AtomicLong();
+    // the last task submitted for each coalescing key, until it completes or is cancelled
+    private final ConcurrentMap<Object, PrioritizedFutureTask<?>> coalescedTasks =
+            new ConcurrentHashMap<Object, PrioritizedFutureTask<?>>();
+
+    // the executors are shared by the Realms configured with equal options, they are never shut down
+    private static final Map<AsyncExecutorOptions, RealmThreadPoolExecutor> instances =
+            new HashMap<AsyncExecutorOptions, RealmThreadPoolExecutor>();
 
     public static RealmThreadPoolExecutor getInstance() {
-           if (instance == null) {
-               synchronized (RealmThreadPoolExecutor.class) {
-                   if (instance == null) {
-                       instance = new RealmThreadPoolExecutor();
-                   }
-               }
-           }
-        return instance;
-    }
-
-    private RealmThreadPoolExecutor() {
-        super(CORE_POOL_SIZE, CORE_POOL_SIZE,
+        return getInstance(DEFAULT_OPTIONS);
+    }
+
+    /**
+     * Returns the executor shared by the Realms configured with the given options.
+     *
+     * @param options the settings of the executor.
+     * @return the executor with these settings.
+     */
+    public static RealmThreadPoolExecutor getInstance(AsyncExecutorOptions options) {
+        synchronized (instances) {
+            RealmThreadPoolExecutor executor = instances.get(options);
+            if (executor == null) {
+                executor = newInstance(options);
+                instances.put(options, executor);
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Creates an executor which isn't shared, to be shut down by the caller.
+     *
+     * @param options the settings of the executor.
+     * @return the new executor.
+     */
+    public static RealmThreadPoolExecutor newInstance(AsyncExecutorOptions options) {
+        return new RealmThreadPoolExecutor(options.getPoolSize(), options.getQueueSize(),
+                newRejectedExecutionHandler(options.getOverflowPolicy()));
+    }
+
+    private static RejectedExecutionHandler newRejectedExecutionHandler(OverflowPolicy overflowPolicy) {
+        switch (overflowPolicy) {
+            case FALLBACK_THREAD:
+                return FALLBACK_THREAD_POLICY;
+            case CALLER_RUNS:
+                return new CallerRunsPolicy();
+            case ABORT:
+                return new AbortPolicy();
+            default:
+                throw new IllegalArgumentException("Unknown OverflowPolicy: " + overflowPolicy);
+        }
+    }
+
+    private RealmThreadPoolExecutor(int poolSize, int queueSize, RejectedExecutionHandler overflowHandler) {
+        super(poolSize, poolSize,
                 0L, TimeUnit.MILLISECONDS, //terminated idle thread
-                new ArrayBlockingQueue<Runnable>(QUEUE_SIZE));
+                new BoundedPriorityBlockingQueue(queueSize),
+                overflowHandler);
     }
 
     @Override
     public Future<?> submit(Runnable task) {
-        return super.submit(new BgPriorityRunnable(task));
+        return submit(task, PRIORITY_QUERY, null);
     }
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return super.submit(new BgPriorityCallable<T>(task));
+        return submit(task, PRIORITY_QUERY, null);
+    }
+
+    /**
+     * Submits a task with the given priority.
+     *
+     * @param task the task to run.
+     * @param priority either {@link #PRIORITY_QUERY} or {@link #PRIORITY_WRITE}.
+     * @param coalescingKey if not {@code null}, the task previously submitted with an identical key is cancelled if
+     *                      it didn't complete yet, as this task supersedes it.
+     * @return a Future representing the pending task.
+     */
+    public Future<?> submit(Runnable task, int priority, Object coalescingKey) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        return schedule(new PrioritizedFutureTask<Object>(new BgPriorityRunnable(task), priority, coalescingKey));
+    }
+
+    /**
+     * Submits a task with the given priority.
+     *
+     * @see #submit(Runnable, int, Object)
+     */
+    public <T> Future<T> submit(Callable<T> task, int priority, Object coalescingKey) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        return schedule(new PrioritizedFutureTask<T>(new BgPriorityCallable<T>(task), priority, coalescingKey));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command instanceof PrioritizedFutureTask) {
+            super.execute(command);
+        } else {
+            submit(command);
+        }
+    }
+
+    private <T> Future<T> schedule(PrioritizedFutureTask<T> task) {
+        if (task.coalescingKey != null) {
+            PrioritizedFutureTask<?> supersededTask = coalescedTasks.put(task.coalescingKey, task);
+            if (supersededTask != null) {
+                supersededTask.cancel(true);
+                getQueue().remove(supersededTask);
+            }
+        }
+        try {
+            super.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (task.coalescingKey != null) {
+                coalescedTasks.remove(task.coalescingKey, task);
+            }
+            throw e;
+        }
+        return task;
     }
 
     @Override
     protected void beforeExecute(Thread t, Runnable r) {
             super.beforeExecute(t, r);
+        awaitResume(t);
+    }
+
+    private void awaitResume(Thread t) {
         pauseLock.lock();
         try {
             while (isPaused) unpaused.await();
@@ -99,4 +248,80 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
             pauseLock.unlock();
         }
     }
+
+    private class PrioritizedFutureTask<T> extends FutureTask<T> {
+        final int priority;
+        final long sequenceNumber;
+        final Object coalescingKey;
+
+        PrioritizedFutureTask(Callable<T> callable, int priority, Object coalescingKey) {
+            super(callable);
+            this.priority = priority;
+            this.sequenceNumber = sequence.getAndIncrement();
+            this.coalescingKey = coalescingKey;
+        }
+
+        PrioritizedFutureTask(Runnable runnable, int priority, Object coalescingKey) {
+            super(runnable, null);
+            this.priority = priority;
+            this.sequenceNumber = sequence.getAndIncrement();
+            this.coalescingKey = coalescingKey;
+        }
+
+        @Override
+        protected void done() {
+            if (coalescingKey != null) {
+                // only if it wasn't superseded already
+                coalescedTasks.remove(coalescingKey, this);
+            }
+        }
+    }
+
+    // Runs the tasks refused by a full queue on a single thread, which is released once idle. The tasks wait for a
+    // paused executor to resume, like the ones run by its worker threads. The queue of the fallback thread is bounded
+    // too, once it is full the tasks are rejected with a RejectedExecutionException.
+    private static class FallbackThreadPolicy implements RejectedExecutionHandler {
+        private ThreadPoolExecutor fallbackExecutor;
+
+        @Override
+        public synchronized void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The executor is shut down.");
+            }
+            if (fallbackExecutor == null) {
+                fallbackExecutor = new ThreadPoolExecutor(1, 1,
+                        FALLBACK_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>(FALLBACK_QUEUE_SIZE));
+                fallbackExecutor.allowCoreThreadTimeOut(true);
+            }
+            fallbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ((RealmThreadPoolExecutor) executor).awaitResume(Thread.currentThread());
+                    task.run();
+                }
+            });
+        }
+    }
+
+    // PriorityBlockingQueue is unbounded, refusing to queue new tasks once full lets the executor apply the
+    // OverflowPolicy. The bound can be exceeded by a few tasks submitted concurrently.
+    private static class BoundedPriorityBlockingQueue extends PriorityBlockingQueue<Runnable> {
+        private final int capacity;
+
+        BoundedPriorityBlockingQueue(int capacity) {
+            super(capacity, TASK_ORDER);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(Runnable runnable) {
+            return size() < capacity && super.offer(runnable);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Math.max(0, capacity - size());
+        }
+    }
 }
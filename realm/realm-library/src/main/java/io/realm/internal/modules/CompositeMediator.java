@@ -91,6 +91,30 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public Object getPrimaryKeyValue(Class<? extends RealmObject> clazz, RealmObject object) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getPrimaryKeyValue(clazz, object);
+    }
+
+    @Override
+    public <E extends RealmObject> E update(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.update(clazz, realm, realmObject, newObject, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void updateColumns(Class<E> clazz, Realm realm, List<E> newObjects, long[] rowIndices) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.updateColumns(clazz, realm, newObjects, rowIndices);
+    }
+
+    @Override
+    public <E extends RealmObject> E updateLinks(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.updateLinks(clazz, realm, realmObject, newObject, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -109,6 +109,30 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public Object getPrimaryKeyValue(Class<? extends RealmObject> clazz, RealmObject object) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getPrimaryKeyValue(clazz, object);
+    }
+
+    @Override
+    public <E extends RealmObject> E update(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.update(clazz, realm, realmObject, newObject, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void updateColumns(Class<E> clazz, Realm realm, List<E> newObjects, long[] rowIndices) {
+        checkSchemaHasClass(clazz);
+        originalMediator.updateColumns(clazz, realm, newObjects, rowIndices);
+    }
+
+    @Override
+    public <E extends RealmObject> E updateLinks(Class<E> clazz, Realm realm, E realmObject, E newObject, Map<RealmObject, RealmObjectProxy> cache) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.updateLinks(clazz, realm, realmObject, newObject, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);